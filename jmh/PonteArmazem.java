@@ -0,0 +1,55 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * Ponte dos benchmarks do armazém de produtos fora do heap (ver desempenho.Armazem).
+ */
+public class PonteArmazem {
+
+	/**
+	 * @param forma HEAP (um vetor de {@link Produto}, lido por {@link LeitorProdutosMapeado#lerProdutos(Path)})
+	 * ou ARMAZEM (um {@link ArmazemProdutos}, lido por {@link LeitorProdutosMapeado#lerArmazem(Path)}).
+	 * @return função que lê os produtos do arquivo informado e retorna o percurso que soma o valor de venda de todos eles
+	 * (o percurso mantém os produtos lidos em memória).
+	 */
+	public static Function<Path, DoubleSupplier> criar(String forma) {
+
+		return switch (forma) {
+			case "HEAP" -> arquivo -> {
+				Produto[] produtos = ler(() -> LeitorProdutosMapeado.lerProdutos(arquivo));
+				return () -> {
+					double soma = 0;
+					for (Produto produto : produtos)
+						soma += produto.valorDeVenda();
+					return soma;
+				};
+			};
+			case "ARMAZEM" -> arquivo -> {
+				ArmazemProdutos armazem = ler(() -> LeitorProdutosMapeado.lerArmazem(arquivo));
+				return () -> {
+					double soma = 0;
+					for (int linha = 0; linha < armazem.tamanho(); linha++)
+						soma += armazem.valorDeVenda(linha);
+					return soma;
+				};
+			};
+			default -> throw new IllegalArgumentException("Forma de armazenamento desconhecida: " + forma);
+		};
+	}
+
+	private interface Leitura<T> {
+		T ler() throws IOException;
+	}
+
+	private static <T> T ler(Leitura<T> leitura) {
+
+		try {
+			return leitura.ler();
+		} catch (IOException excecao) {
+			throw new UncheckedIOException(excecao);
+		}
+	}
+}
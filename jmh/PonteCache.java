@@ -0,0 +1,39 @@
+import java.util.function.IntFunction;
+
+/**
+ * Ponte dos benchmarks do cache de pesquisas por id (ver desempenho.CacheProdutos).
+ */
+public class PonteCache {
+
+	/**
+	 * Cria uma {@link AVLInt} com os identificadores 10_000, 10_001, ..., como os ids dos produtos, e, à sua frente,
+	 * o cache informado.
+	 * @param estrutura AVL_INT (a árvore, sem cache), CACHE_INT ({@link CacheInt}, pesquisado por int, como no App)
+	 * ou CACHE ({@link CacheMapeamento}, pesquisado por Integer).
+	 * @param tamanho quantidade de identificadores na árvore.
+	 * @param capacidade capacidade do cache.
+	 * @return pesquisa de um identificador, que retorna o item encontrado ou null.
+	 */
+	public static IntFunction<Object> criar(String estrutura, int tamanho, int capacidade) {
+
+		Integer[] itens = new Integer[tamanho];
+		AVLInt<Object> arvore;
+
+		for (int i = 0; i < tamanho; i++)
+			itens[i] = 10_000 + i;
+		arvore = new AVLInt<>(itens, item -> (Integer) item);
+
+		return switch (estrutura) {
+			case "AVL_INT" -> chave -> arvore.pesquisarOuPadrao(chave, null);
+			case "CACHE_INT" -> {
+				CacheInt<Object> cache = new CacheInt<>(arvore, capacidade);
+				yield chave -> cache.pesquisarOuPadrao(chave, null);
+			}
+			case "CACHE" -> {
+				CacheMapeamento<Integer, Object> cache = new CacheMapeamento<>(arvore, capacidade);
+				yield chave -> cache.pesquisarOuPadrao(chave, null);
+			}
+			default -> throw new IllegalArgumentException("Estrutura desconhecida: " + estrutura);
+		};
+	}
+}
@@ -0,0 +1,81 @@
+import desempenho.AlvoConcorrente;
+
+/**
+ * Ponte dos benchmarks de escalabilidade (ver desempenho.EscalabilidadeTabelaHash e desempenho.EscalabilidadeAVL): cria as estruturas concorrentes
+ * e, para comparação, as estruturas sequenciais protegidas por uma única trava, adaptadas à interface {@link AlvoConcorrente}.
+ */
+public class PonteConcorrentes {
+
+	/**
+	 * @param estrutura nome da estrutura: TABELA_HASH_CONCORRENTE, TABELA_HASH_SINCRONIZADA, AVL_CONCORRENTE ou AVL_SINCRONIZADA.
+	 * @param tamanho quantidade de chaves inseridas previamente (0, 1, ..., tamanho - 1).
+	 * @return a estrutura preenchida.
+	 */
+	public static AlvoConcorrente criar(String estrutura, int tamanho) {
+
+		return switch (estrutura) {
+			case "TABELA_HASH_CONCORRENTE" -> tabelaConcorrente(preencher(new TabelaHashConcorrente<>(tamanho), tamanho));
+			case "TABELA_HASH_SINCRONIZADA" -> tabelaSincronizada(preencher(new TabelaHash<>(tamanho), tamanho));
+			case "AVL_CONCORRENTE" -> arvoreConcorrente(preencher(new AVLConcorrente<>(), tamanho));
+			case "AVL_SINCRONIZADA" -> arvoreSincronizada(preencher(new AVL<>(), tamanho));
+			default -> throw new IllegalArgumentException("Estrutura desconhecida: " + estrutura);
+		};
+	}
+
+	private static <T extends IMapeamento<Integer, Object>> T preencher(T estrutura, int tamanho) {
+
+		for (int i = 0; i < tamanho; i++)
+			estrutura.inserir(i, i);
+		return estrutura;
+	}
+
+	/// a escrita das tabelas é a criação atômica de um item ausente (padrão de App.inserirNaTabela).
+	private static AlvoConcorrente tabelaConcorrente(TabelaHashConcorrente<Integer, Object> tabela) {
+
+		return new AlvoConcorrente() {
+			public Object pesquisar(Integer chave) { return tabela.pesquisarOuPadrao(chave, null); }
+			public Object escrever(Integer chave) { return tabela.computeIfAbsent(chave, novaChave -> novaChave); }
+		};
+	}
+
+	private static AlvoConcorrente tabelaSincronizada(TabelaHash<Integer, Object> tabela) {
+
+		return new AlvoConcorrente() {
+			public Object pesquisar(Integer chave) {
+				synchronized (tabela) {
+					return tabela.pesquisarOuPadrao(chave, null);
+				}
+			}
+			public Object escrever(Integer chave) {
+				synchronized (tabela) {
+					return tabela.computeIfAbsent(chave, novaChave -> novaChave);
+				}
+			}
+		};
+	}
+
+	/// a escrita das árvores insere a chave, caso esteja ausente, ou a remove, caso esteja presente.
+	private static AlvoConcorrente arvoreConcorrente(AVLConcorrente<Integer, Object> arvore) {
+
+		return new AlvoConcorrente() {
+			public Object pesquisar(Integer chave) { return arvore.pesquisarOuPadrao(chave, null); }
+			public Object escrever(Integer chave) { return (arvore.upsert(chave, chave) == null) ? null : arvore.remover(chave); }
+		};
+	}
+
+	private static AlvoConcorrente arvoreSincronizada(AVL<Integer, Object> arvore) {
+
+		return new AlvoConcorrente() {
+			public Object pesquisar(Integer chave) {
+				synchronized (arvore) {
+					return arvore.pesquisarOuPadrao(chave, null);
+				}
+			}
+			public Object escrever(Integer chave) {
+				synchronized (arvore) {
+					return (arvore.upsert(chave, chave) == null) ? null : arvore.remover(chave);
+				}
+			}
+		};
+	}
+}
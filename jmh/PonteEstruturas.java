@@ -0,0 +1,60 @@
+import java.util.function.Supplier;
+
+import desempenho.Alvo;
+
+/**
+ * Ponte dos benchmarks de estruturas de busca (ver desempenho.Estruturas): cria as estruturas medidas,
+ * adaptadas à interface {@link Alvo}.
+ */
+public class PonteEstruturas {
+
+	/**
+	 * @param estrutura nome da estrutura: ABB, AVL, AVL_INT, AVL_CONCORRENTE, AVL_PERSISTENTE, TABELA_HASH,
+	 * TABELA_HASH_ABERTA, TABELA_HASH_CONCORRENTE ou LISTA.
+	 * @return fábrica de estruturas vazias.
+	 */
+	public static Supplier<Alvo> criar(String estrutura) {
+
+		return switch (estrutura) {
+			case "ABB" -> () -> mapeamento(new ABB<Integer, Object>());
+			case "AVL" -> () -> mapeamento(new AVL<Integer, Object>());
+			case "AVL_CONCORRENTE" -> () -> mapeamento(new AVLConcorrente<Integer, Object>());
+			case "AVL_PERSISTENTE" -> () -> mapeamento(new AVLPersistente<Integer, Object>());
+			case "AVL_INT" -> () -> mapeamento(new AVLInt<Object>());
+			/// capacidade inicial pequena: o redimensionamento faz parte do custo medido da inserção.
+			case "TABELA_HASH" -> () -> mapeamento(new TabelaHash<Integer, Object>(17));
+			case "TABELA_HASH_ABERTA" -> () -> mapeamento(new TabelaHashAberta<Integer, Object>(16));
+			case "TABELA_HASH_CONCORRENTE" -> () -> mapeamento(new TabelaHashConcorrente<Integer, Object>(16));
+			case "LISTA" -> () -> lista(new Lista<>(new Medidor()));
+			default -> throw new IllegalArgumentException("Estrutura desconhecida: " + estrutura);
+		};
+	}
+
+	private static Alvo mapeamento(IMapeamento<Integer, Object> estrutura) {
+
+		return new Alvo() {
+			public void inserir(Integer chave, Object item) { estrutura.inserir(chave, item); }
+			public Object pesquisar(Integer chave) { return estrutura.pesquisarOuPadrao(chave, null); }
+			public Object remover(Integer chave) { return estrutura.remover(chave); }
+			public long percorrer() {
+				long[] visitados = {0};
+				estrutura.paraCada(item -> visitados[0]++);
+				return visitados[0];
+			}
+		};
+	}
+
+	private static Alvo lista(Lista<Entrada<Integer, Object>> estrutura) {
+
+		return new Alvo() {
+			public void inserir(Integer chave, Object item) { estrutura.inserirFinal(new Entrada<>(chave, item)); }
+			public Object pesquisar(Integer chave) { return estrutura.pesquisarOuPadrao(new Entrada<>(chave, null), null); }
+			public Object remover(Integer chave) { return estrutura.remover(new Entrada<Integer, Object>(chave, null)); }
+			public long percorrer() {
+				long[] visitados = {0};
+				estrutura.paraCada(item -> visitados[0]++);
+				return visitados[0];
+			}
+		};
+	}
+}
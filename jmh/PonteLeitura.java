@@ -0,0 +1,52 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Ponte dos benchmarks de leitura do arquivo de produtos (ver desempenho.Leitura).
+ */
+public class PonteLeitura {
+
+	/**
+	 * @param leitor SCANNER (linha a linha, com {@link Produto#criarDoTexto(String)}, como App.lerProdutos antes do leitor mapeado),
+	 * MAPEADO ({@link LeitorProdutosMapeado#lerProdutos(Path)}) ou MAPEADO_PARALELO (pelo ForkJoinPool comum).
+	 * @return função que lê os produtos do arquivo informado.
+	 */
+	public static Function<Path, Object[]> criar(String leitor) {
+
+		Leitor escolhido = switch (leitor) {
+			case "SCANNER" -> PonteLeitura::lerComScanner;
+			case "MAPEADO" -> LeitorProdutosMapeado::lerProdutos;
+			case "MAPEADO_PARALELO" -> arquivo -> LeitorProdutosMapeado.lerProdutosEmParalelo(arquivo, ForkJoinPool.commonPool());
+			default -> throw new IllegalArgumentException("Leitor desconhecido: " + leitor);
+		};
+
+		return arquivo -> {
+			try {
+				return escolhido.ler(arquivo);
+			} catch (IOException excecao) {
+				throw new UncheckedIOException(excecao);
+			}
+		};
+	}
+
+	private interface Leitor {
+		Produto[] ler(Path arquivo) throws IOException;
+	}
+
+	private static Produto[] lerComScanner(Path arquivo) throws IOException {
+
+		Produto[] produtos;
+
+		try (Scanner leitor = new Scanner(arquivo, Charset.forName("UTF-8"))) {
+			produtos = new Produto[Integer.parseInt(leitor.nextLine())];
+			for (int i = 0; i < produtos.length; i++)
+				produtos[i] = Produto.criarDoTexto(leitor.nextLine());
+		}
+		return produtos;
+	}
+}
@@ -0,0 +1,67 @@
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Ponte dos benchmarks de cálculo de preços (ver desempenho.Precos).
+ */
+public class PontePrecos {
+
+	/**
+	 * Cria um catálogo sintético com a quantidade informada de produtos (20% perecíveis), como objetos e em um
+	 * {@link ArmazemProdutos}, e um quarto desse número de pedidos, com 1 a 8 produtos do catálogo cada.
+	 * @param forma PRODUTO_A_PRODUTO ({@link Produto#valorDeVenda()} de cada produto), MOTOR e MOTOR_ARMAZEM
+	 * ({@link MotorPrecos#avaliarCatalogo}, sobre os objetos e sobre o armazém), PEDIDO_A_PEDIDO ({@link Pedido#valorFinal()},
+	 * com o total mantido pelo pedido), PEDIDO_RECALCULADO ({@link MotorPrecos#valorFinal(Pedido)}, com o recálculo
+	 * completo de cada pedido) ou MOTOR_PEDIDOS ({@link MotorPrecos#calcularValoresFinais}, em lote).
+	 * @param tamanho quantidade de produtos do catálogo.
+	 * @return cálculo que retorna o valor total do catálogo (nas três primeiras formas) ou dos pedidos (nas demais).
+	 */
+	public static DoubleSupplier criar(String forma, int tamanho) {
+
+		Random sorteio = new Random(42);
+		Produto[] produtos = new Produto[tamanho];
+		ArmazemProdutos armazem = new ArmazemProdutos(tamanho);
+		Lista<Pedido> pedidos = new Lista<>(Medidor.INATIVO);
+		LocalDate hoje = LocalDate.now();
+		Pedido pedido;
+
+		for (int i = 0; i < tamanho; i++) {
+			if (sorteio.nextInt(5) == 0)
+				produtos[i] = new ProdutoPerecivel("Perecível " + i, 1 + sorteio.nextInt(50_000) / 100.0, 0.1 + sorteio.nextInt(90) / 100.0,
+						hoje.plusDays(sorteio.nextInt(60)));
+			else
+				produtos[i] = new ProdutoNaoPerecivel("Produto " + i, 1 + sorteio.nextInt(50_000) / 100.0, 0.1 + sorteio.nextInt(90) / 100.0);
+			armazem.incluir(produtos[i]);
+		}
+		for (int i = 0; i < tamanho / 4; i++) {
+			pedido = new Pedido(hoje, 1 + sorteio.nextInt(2));
+			for (int j = sorteio.nextInt(8); j >= 0; j--)
+				pedido.incluirProduto(produtos[sorteio.nextInt(tamanho)]);
+			pedidos.inserirFinal(pedido);
+		}
+
+		return switch (forma) {
+			case "PRODUTO_A_PRODUTO" -> () -> {
+				double soma = 0;
+				for (Produto produto : produtos)
+					soma += produto.valorDeVenda();
+				return soma;
+			};
+			case "MOTOR" -> () -> new MotorPrecos().avaliarCatalogo(produtos);
+			case "MOTOR_ARMAZEM" -> () -> new MotorPrecos().avaliarCatalogo(armazem);
+			case "PEDIDO_A_PEDIDO" -> () -> pedidos.somar(Pedido::valorFinal);
+			case "PEDIDO_RECALCULADO" -> () -> {
+				MotorPrecos motor = new MotorPrecos();
+				return pedidos.somar(motor::valorFinal);
+			};
+			case "MOTOR_PEDIDOS" -> () -> {
+				double soma = 0;
+				for (double valor : new MotorPrecos().calcularValoresFinais(pedidos))
+					soma += valor;
+				return soma;
+			};
+			default -> throw new IllegalArgumentException("Forma de cálculo desconhecida: " + forma);
+		};
+	}
+}
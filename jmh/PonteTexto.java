@@ -0,0 +1,79 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Ponte dos benchmarks de pesquisa nas descrições dos produtos (ver desempenho.BuscaTexto).
+ */
+public class PonteTexto {
+
+	/**
+	 * Indexa as descrições dos produtos do arquivo informado e prepara as consultas, sorteadas entre as descrições,
+	 * como as digitadas no App.
+	 * @param busca PREFIXO (início de 3 a 6 caracteres de uma descrição, em {@link TrieRadix#prefixo(String, int)})
+	 * ou APROXIMADO (uma descrição com um ou dois erros de digitação, em {@link IndiceAproximado#pesquisar(String, int, int)},
+	 * com a distância máxima do App).
+	 * @param arquivo arquivo de produtos.
+	 * @param quantasConsultas quantidade de consultas preparadas (potência de 2).
+	 * @return execução da consulta de índice informado, que retorna os itens encontrados.
+	 */
+	public static IntFunction<Object> criar(String busca, String arquivo, int quantasConsultas) {
+
+		Produto[] lidos;
+		AVLInt<Produto> produtos;
+		String[] consultas = new String[quantasConsultas];
+		Random sorteio = new Random(42);
+		String descricao;
+
+		try {
+			lidos = LeitorProdutosMapeado.lerProdutos(Path.of(arquivo));
+		} catch (IOException excecao) {
+			throw new UncheckedIOException(excecao);
+		}
+		produtos = new AVLInt<>(lidos, Produto::hashCode);
+		for (int i = 0; i < quantasConsultas; i++) {
+			descricao = TrieRadix.normalizar(lidos[sorteio.nextInt(lidos.length)].getDescricao());
+			consultas[i] = switch (busca) {
+				case "PREFIXO" -> descricao.substring(0, Math.min(descricao.length(), 3 + sorteio.nextInt(4)));
+				case "APROXIMADO" -> digitarComErros(descricao, 1 + sorteio.nextInt(App.DISTANCIA_MAXIMA), sorteio);
+				default -> throw new IllegalArgumentException("Busca desconhecida: " + busca);
+			};
+		}
+
+		return switch (busca) {
+			case "PREFIXO" -> {
+				TrieRadix<Produto> trie = new TrieRadix<>(produtos, produto -> produto.getDescricao());
+				yield consulta -> trie.prefixo(consultas[consulta], App.MAXIMO_SUGESTOES);
+			}
+			case "APROXIMADO" -> {
+				IndiceAproximado<Produto> indice = new IndiceAproximado<>(produtos, Produto::getDescricao);
+				yield consulta -> indice.pesquisar(consultas[consulta], App.DISTANCIA_MAXIMA, App.MAXIMO_SUGESTOES);
+			}
+			default -> throw new IllegalArgumentException("Busca desconhecida: " + busca);
+		};
+	}
+
+	/// substitui, omite ou troca de posição caracteres em posições sorteadas do texto.
+	private static String digitarComErros(String texto, int erros, Random sorteio) {
+
+		StringBuilder digitado = new StringBuilder(texto);
+		int posicao;
+		char trocado;
+
+		for (int i = 0; (i < erros) && (digitado.length() > 1); i++) {
+			posicao = sorteio.nextInt(digitado.length() - 1);
+			switch (sorteio.nextInt(3)) {
+				case 0 -> digitado.setCharAt(posicao, (char) ('a' + sorteio.nextInt(26)));
+				case 1 -> digitado.deleteCharAt(posicao);
+				default -> {
+					trocado = digitado.charAt(posicao);
+					digitado.setCharAt(posicao, digitado.charAt(posicao + 1));
+					digitado.setCharAt(posicao + 1, trocado);
+				}
+			}
+		}
+		return digitado.toString();
+	}
+}
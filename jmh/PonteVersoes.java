@@ -0,0 +1,40 @@
+import java.util.function.Supplier;
+
+/**
+ * Ponte dos benchmarks de compartilhamento de nós entre versões da {@link AVLPersistente} (ver desempenho.Compartilhamento).
+ */
+public class PonteVersoes {
+
+	/**
+	 * Cria uma árvore persistente com a quantidade informada de chaves.
+	 * @param forma VERSAO_INCREMENTAL (uma cópia da versão atual, seguida de 1% de escritas na árvore, metade inserções de chaves
+	 * maiores e metade remoções das menores, de modo que as escritas alcancem posições diferentes da árvore)
+	 * ou COPIA_COMPLETA (uma nova árvore com os mesmos itens, construída em lote, em tempo linear).
+	 * @param tamanho quantidade de chaves da árvore.
+	 * @return criação de uma nova versão da árvore.
+	 */
+	public static Supplier<Object> criar(String forma, int tamanho) {
+
+		AVLPersistente<Integer, Integer> arvore = new AVLPersistente<>();
+		int escritas = Math.max(2, tamanho / 100);
+		int[] proximaChave = {tamanho};
+		int[] menorChave = {0};
+
+		for (int i = 0; i < tamanho; i++)
+			arvore.inserir(i, i);
+
+		return switch (forma) {
+			case "VERSAO_INCREMENTAL" -> () -> {
+				AVLPersistente<Integer, Integer> versao = arvore.snapshot();
+				for (int i = 0; i < escritas / 2; i++) {
+					arvore.inserir(proximaChave[0], proximaChave[0]);
+					proximaChave[0]++;
+					arvore.remover(menorChave[0]++);
+				}
+				return versao;
+			};
+			case "COPIA_COMPLETA" -> () -> new AVLPersistente<>(arvore, item -> item, Integer::compare);
+			default -> throw new IllegalArgumentException("Forma de versão desconhecida: " + forma);
+		};
+	}
+}
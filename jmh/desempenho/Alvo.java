@@ -0,0 +1,23 @@
+package desempenho;
+
+/**
+ * Interface uniforme das estruturas de busca medidas: chaves inteiras previamente convertidas para Integer,
+ * de modo que a conversão não seja contada como alocação da estrutura.
+ */
+public interface Alvo {
+
+	void inserir(Integer chave, Object item);
+
+	/**
+	 * @return o item associado à chave, ou null, caso a chave não esteja presente.
+	 */
+	Object pesquisar(Integer chave);
+
+	Object remover(Integer chave);
+
+	/**
+	 * Percorre todos os itens da estrutura.
+	 * @return a quantidade de itens visitados.
+	 */
+	long percorrer();
+}
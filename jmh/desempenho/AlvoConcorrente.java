@@ -0,0 +1,18 @@
+package desempenho;
+
+/**
+ * Interface uniforme das estruturas medidas nos benchmarks de escalabilidade, compartilhadas por todas as threads.
+ */
+public interface AlvoConcorrente {
+
+	/**
+	 * @return o item associado à chave, ou null, caso a chave não esteja presente.
+	 */
+	Object pesquisar(Integer chave);
+
+	/**
+	 * Escrita da carga de trabalho da estrutura (ver a ponte que a cria).
+	 * @return um valor derivado da escrita, para que ela não seja descartada como código morto.
+	 */
+	Object escrever(Integer chave);
+}
@@ -0,0 +1,84 @@
+package desempenho;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Produtos como objetos no heap e no ArmazemProdutos, fora dele: tempo de leitura do arquivo, tempo de um percurso
+ * com o cálculo do valor de venda de cada produto e custo da coleta de lixo (gc.count e gc.time, do profiler)
+ * durante uma carga de trabalho que aloca objetos temporários enquanto os produtos permanecem em memória.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Armazem {
+
+	/** Quantidade de objetos de vida média mantidos pela carga de trabalho */
+	private static final int RETIDOS = 1 << 16;
+
+	@Param({"HEAP", "ARMAZEM"})
+	public String forma;
+
+	@Param({"produtos.txt", "10000", "100000", "1000000", "10000000"})
+	public String arquivo;
+
+	private Path caminho;
+	private Function<Path, DoubleSupplier> leitura;
+	private DoubleSupplier percurso;
+	private final Object[] retidos = new Object[RETIDOS];
+	private int proximo;
+
+	@Setup
+	public void preparar() throws IOException {
+		leitura = Ponte.criar("PonteArmazem", forma);
+		caminho = ArquivoProdutos.preparar(arquivo);
+		percurso = leitura.apply(caminho);
+	}
+
+	@TearDown
+	public void descartar() throws IOException {
+		ArquivoProdutos.descartar(arquivo, caminho);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public DoubleSupplier ler() {
+		return leitura.apply(caminho);
+	}
+
+	@Benchmark
+	public double percorrer() {
+		return percurso.getAsDouble();
+	}
+
+	/// objetos de vida curta e, substituídos a cada RETIDOS alocações, de vida média: cada coleta percorre os objetos vivos.
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Object cargaDeTrabalho() {
+
+		Object novo = new long[4];
+
+		retidos[proximo] = novo;
+		proximo = (proximo + 1) & (RETIDOS - 1);
+		return novo;
+	}
+}
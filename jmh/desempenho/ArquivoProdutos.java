@@ -0,0 +1,61 @@
+package desempenho;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Arquivos de produtos usados pelos benchmarks de leitura: produtos.txt ou um arquivo sintético temporário.
+ */
+final class ArquivoProdutos {
+
+	private ArquivoProdutos() {
+	}
+
+	/**
+	 * @param arquivo "produtos.txt", ou a quantidade de produtos de um arquivo sintético.
+	 * @return o caminho do arquivo (o arquivo sintético deve ser apagado com {@link #descartar(String, Path)}).
+	 */
+	static Path preparar(String arquivo) throws IOException {
+
+		if (arquivo.endsWith(".txt"))
+			return Path.of(arquivo);
+		return gerar(Integer.parseInt(arquivo), new Random(42));
+	}
+
+	static void descartar(String arquivo, Path caminho) throws IOException {
+
+		if (!arquivo.endsWith(".txt"))
+			Files.delete(caminho);
+	}
+
+	/**
+	 * Gera um arquivo temporário com a quantidade informada de produtos: 80% não perecíveis e 20% perecíveis,
+	 * com descrições, preços e margens sorteados.
+	 */
+	private static Path gerar(int quantidade, Random sorteio) throws IOException {
+
+		Path arquivo = Files.createTempFile("produtos", ".txt");
+		String[] nomes = {"Caneta", "Caderno", "Leite", "Pão de forma", "Iogurte", "Régua", "Queijo", "Tesoura"};
+		boolean perecivel;
+
+		try (BufferedWriter escritor = Files.newBufferedWriter(arquivo, Charset.forName("UTF-8"))) {
+			escritor.append(Integer.toString(quantidade)).append('\n');
+			for (int i = 0; i < quantidade; i++) {
+				perecivel = (sorteio.nextInt(5) == 0);
+				escritor.append(perecivel ? "2;" : "1;")
+						.append(nomes[sorteio.nextInt(nomes.length)]).append(' ').append(Integer.toString(i)).append(';')
+						.append(Integer.toString(1 + sorteio.nextInt(500))).append('.').append(Integer.toString(10 + sorteio.nextInt(90))).append(';')
+						.append("0.").append(Integer.toString(10 + sorteio.nextInt(90)));
+				/// validades futuras: produtos com validade vencida são rejeitados na criação.
+				if (perecivel)
+					escritor.append(';').append(String.format("%02d/%02d/20%d", 1 + sorteio.nextInt(28), 1 + sorteio.nextInt(12), 50 + sorteio.nextInt(50)));
+				escritor.append('\n');
+			}
+		}
+		return arquivo;
+	}
+}
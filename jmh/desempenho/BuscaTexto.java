@@ -0,0 +1,55 @@
+package desempenho;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pesquisas nas descrições dos produtos de produtos.txt, como as do autocompletar do App: cada consulta retorna
+ * até App.MAXIMO_SUGESTOES itens. As consultas são sorteadas entre as descrições (ver PonteTexto) e repetidas em ciclo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuscaTexto {
+
+	/** Quantidade de consultas preparadas */
+	private static final int QUANTAS_CONSULTAS = 1 << 10;
+
+	@State(Scope.Thread)
+	public static class Cenario {
+
+		@Param({"PREFIXO", "APROXIMADO"})
+		public String busca;
+
+		IntFunction<Object> consulta;
+		int proxima;
+
+		@Setup
+		public void preparar() {
+			consulta = Ponte.criar("PonteTexto", busca, "produtos.txt", QUANTAS_CONSULTAS);
+		}
+	}
+
+	@Benchmark
+	public Object pesquisar(Cenario cenario) {
+
+		int indice = cenario.proxima;
+
+		cenario.proxima = (cenario.proxima + 1) & (QUANTAS_CONSULTAS - 1);
+		return cenario.consulta.apply(indice);
+	}
+}
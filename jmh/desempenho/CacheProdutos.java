@@ -0,0 +1,80 @@
+package desempenho;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pesquisas por id com distribuição Zipf: a AVLInt, sem cache, e com o cache W-TinyLFU à sua frente,
+ * pesquisado por int (CacheInt) e por Integer (CacheMapeamento). Todas as pesquisas encontram o item;
+ * as falhas do cache incluem o custo da pesquisa na árvore e da admissão. Com a quantidade de produtos
+ * de produtos.txt, a árvore inteira cabe na cache do processador e o cache não compensa; com um milhão de ids
+ * e capacidade suficiente para as chaves mais procuradas, os acertos evitam percursos com falhas de cache
+ * do processador. A alocação por pesquisa é informada pelo profiler de coleta de lixo (gc.alloc.rate.norm),
+ * com "gradle jmh".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheProdutos {
+
+	/** Quantidade de ids sorteados (a sequência é repetida) */
+	private static final int QUANTAS_PESQUISAS = 1 << 20;
+
+	@State(Scope.Thread)
+	public static class Cenario {
+
+		@Param({"AVL_INT", "CACHE_INT", "CACHE"})
+		public String estrutura;
+
+		/** Quantidade de produtos de produtos.txt e um catálogo que não cabe na cache do processador */
+		@Param({"7750", "1000000"})
+		public int tamanho;
+
+		/** Capacidade do cache */
+		@Param({"512", "16384"})
+		public int capacidade;
+
+		IntFunction<Object> pesquisa;
+		int[] ids;
+		int proxima;
+
+		@Setup
+		public void preparar() {
+
+			Integer[] chaves = new Integer[tamanho];
+			Integer[] sorteados;
+
+			pesquisa = Ponte.criar("PonteCache", estrutura, tamanho, capacidade);
+			for (int i = 0; i < tamanho; i++)
+				chaves[i] = 10_000 + i;
+			sorteados = Distribuicao.ZIPF.sequenciaPesquisas(chaves, QUANTAS_PESQUISAS, new Random(42));
+			ids = new int[QUANTAS_PESQUISAS];
+			for (int i = 0; i < QUANTAS_PESQUISAS; i++)
+				ids[i] = sorteados[i];
+		}
+	}
+
+	@Benchmark
+	public Object pesquisar(Cenario cenario) {
+
+		int id = cenario.ids[cenario.proxima];
+
+		cenario.proxima = (cenario.proxima + 1) & (QUANTAS_PESQUISAS - 1);
+		return cenario.pesquisa.apply(id);
+	}
+}
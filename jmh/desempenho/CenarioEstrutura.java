@@ -0,0 +1,134 @@
+package desempenho;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cenário dos benchmarks de estruturas de busca: a estrutura medida, o catálogo de chaves e a distribuição das chaves.
+ *
+ * Catálogos: "produtos.txt" (os identificadores dos produtos do arquivo de dados) ou a quantidade de chaves
+ * de um catálogo sintético, com as chaves pares 0, 2, ..., 2(n - 1).
+ * As chaves ausentes são sorteadas no mesmo intervalo das presentes (ampliado), de modo que as pesquisas com falha
+ * também percorram o interior das estruturas.
+ */
+public abstract class CenarioEstrutura {
+
+	/** Quantidade máxima de chaves sorteadas para as pesquisas de cada cenário (a sequência é repetida) */
+	private static final int MAXIMO_PESQUISAS = 1_000_000;
+
+	private Supplier<Alvo> fabrica;
+	private Integer[] chaves;
+	private Object[] itens;
+	private int[] insercao;
+	private int[] remocao;
+	private Integer[] acertos;
+	private Integer[] falhas;
+	private int proximoAcerto;
+	private int proximaFalha;
+
+	/** Estrutura com todas as chaves do catálogo, usada nas pesquisas e no percurso */
+	private Alvo alvo;
+
+	protected void preparar(String estrutura, String catalogo, String distribuicao) {
+
+		Random sorteio = new Random(42);
+		Distribuicao tipo = Distribuicao.valueOf(distribuicao);
+		int quantasPesquisas;
+
+		fabrica = Ponte.criar("PonteEstruturas", estrutura);
+		if (catalogo.endsWith(".txt"))
+			carregarArquivo(catalogo);
+		else
+			carregarSintetico(Integer.parseInt(catalogo));
+
+		quantasPesquisas = Math.min(chaves.length, MAXIMO_PESQUISAS);
+		insercao = tipo.ordemInsercao(chaves.length, sorteio);
+		remocao = Distribuicao.UNIFORME.ordemInsercao(chaves.length, sorteio);
+		acertos = tipo.sequenciaPesquisas(chaves, quantasPesquisas, sorteio);
+		falhas = tipo.sequenciaPesquisas(ausentes(sorteio), quantasPesquisas, sorteio);
+		alvo = preenchida();
+	}
+
+	/// os produtos do arquivo de dados, indexados pelos seus identificadores (gerados em ordem crescente).
+	private void carregarArquivo(String arquivo) {
+
+		Function<Path, Object[]> leitura = Ponte.criar("PonteLeitura", "MAPEADO");
+
+		itens = leitura.apply(Path.of(arquivo));
+		chaves = new Integer[itens.length];
+		for (int i = 0; i < itens.length; i++)
+			chaves[i] = itens[i].hashCode();
+	}
+
+	private void carregarSintetico(int quantidade) {
+
+		chaves = new Integer[quantidade];
+		for (int i = 0; i < quantidade; i++)
+			chaves[i] = 2 * i;
+		itens = chaves;
+	}
+
+	private Integer[] ausentes(Random sorteio) {
+
+		Integer[] ausentes = new Integer[chaves.length];
+		int minimo = chaves[0], maximo = chaves[chaves.length - 1];
+		long amplitude = (long) maximo - minimo + 2L * chaves.length;
+		int candidata;
+
+		for (int i = 0; i < ausentes.length; i++) {
+			do {
+				candidata = (int) (minimo - chaves.length + (long) (sorteio.nextDouble() * amplitude));
+			} while (Arrays.binarySearch(chaves, candidata) >= 0);
+			ausentes[i] = candidata;
+		}
+		return ausentes;
+	}
+
+	/**
+	 * Cria uma nova estrutura e insere nela todas as chaves do catálogo, na ordem de inserção da distribuição.
+	 */
+	Alvo preenchida() {
+
+		Alvo nova = fabrica.get();
+
+		for (int posicao : insercao)
+			nova.inserir(chaves[posicao], itens[posicao]);
+		return nova;
+	}
+
+	/**
+	 * Remove todas as chaves da estrutura informada, em ordem aleatória.
+	 * @return a quantidade de chaves removidas.
+	 */
+	long removerTodas(Alvo preenchida) {
+
+		for (int posicao : remocao)
+			preenchida.remover(chaves[posicao]);
+		return remocao.length;
+	}
+
+	Object pesquisarAcerto() {
+
+		Integer chave = acertos[proximoAcerto];
+
+		if (++proximoAcerto == acertos.length)
+			proximoAcerto = 0;
+		return alvo.pesquisar(chave);
+	}
+
+	Object pesquisarFalha() {
+
+		Integer chave = falhas[proximaFalha];
+
+		if (++proximaFalha == falhas.length)
+			proximaFalha = 0;
+		return alvo.pesquisar(chave);
+	}
+
+	long percorrer() {
+		return alvo.percorrer();
+	}
+}
@@ -0,0 +1,118 @@
+package desempenho;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compara os resultados de uma execução dos benchmarks com uma linha de base gravada anteriormente, ambos no formato CSV do JMH:
+ * para cada benchmark (e métrica secundária, como as do profiler de coleta de lixo) e combinação de parâmetros presente
+ * nos dois arquivos, mostra o resultado, o da linha de base e a variação.
+ * Uso: java desempenho.CompararBase resultados.csv linha-de-base.csv
+ */
+public class CompararBase {
+
+	/**
+	 * Resultado de um benchmark: valor e unidade.
+	 */
+	private record Resultado(double valor, String unidade) {
+	}
+
+	public static void main(String[] args) throws IOException {
+
+		Map<String, Resultado> resultados, base;
+		Resultado anterior;
+		String linha;
+
+		if (args.length != 2)
+			throw new IllegalArgumentException("Uso: java desempenho.CompararBase resultados.csv linha-de-base.csv");
+		if (!Files.exists(Path.of(args[1]))) {
+			System.out.println("Linha de base não encontrada: " + args[1]);
+			return;
+		}
+
+		resultados = ler(Path.of(args[0]));
+		base = ler(Path.of(args[1]));
+		System.out.println("Comparação com a linha de base " + args[1] + ":");
+		for (Map.Entry<String, Resultado> resultado : resultados.entrySet()) {
+			anterior = base.get(resultado.getKey());
+			if (anterior == null)
+				continue;
+			linha = String.format(Locale.ROOT, "%s: %.3f %s (linha de base: %.3f %s", resultado.getKey(), resultado.getValue().valor(),
+					resultado.getValue().unidade(), anterior.valor(), anterior.unidade());
+			if (anterior.unidade().equals(resultado.getValue().unidade()) && (anterior.valor() != 0))
+				linha += String.format(Locale.ROOT, ", %+.1f%%", 100.0 * (resultado.getValue().valor() - anterior.valor()) / anterior.valor());
+			System.out.println(linha + ")");
+		}
+	}
+
+	/**
+	 * Lê um arquivo CSV do JMH: para cada benchmark, identificado pelo nome, pelo modo, pela quantidade de threads
+	 * e pelos valores dos parâmetros, o resultado e a unidade.
+	 */
+	private static Map<String, Resultado> ler(Path arquivo) throws IOException {
+
+		List<String> linhas = Files.readAllLines(arquivo, StandardCharsets.UTF_8);
+		Map<String, Resultado> resultados = new LinkedHashMap<>();
+		List<String> cabecalho, campos;
+		StringBuilder chave;
+		int nome, modo, threads, valor, unidade;
+
+		if (linhas.isEmpty())
+			return resultados;
+		cabecalho = campos(linhas.get(0));
+		nome = cabecalho.indexOf("Benchmark");
+		modo = cabecalho.indexOf("Mode");
+		threads = cabecalho.indexOf("Threads");
+		valor = cabecalho.indexOf("Score");
+		unidade = cabecalho.indexOf("Unit");
+		if ((nome < 0) || (modo < 0) || (threads < 0) || (valor < 0) || (unidade < 0))
+			throw new IllegalArgumentException("O arquivo " + arquivo + " não está no formato CSV do JMH.");
+
+		for (String linha : linhas.subList(1, linhas.size())) {
+			campos = campos(linha);
+			if (campos.size() != cabecalho.size())
+				continue;
+			chave = new StringBuilder(campos.get(nome)).append(" [").append(campos.get(modo)).append(", ")
+					.append(campos.get(threads)).append(" thread(s)");
+			/// os parâmetros são as colunas "Param: nome"; cada benchmark preenche apenas as colunas dos seus parâmetros.
+			for (int coluna = 0; coluna < cabecalho.size(); coluna++)
+				if (cabecalho.get(coluna).startsWith("Param: ") && !campos.get(coluna).isEmpty())
+					chave.append(", ").append(cabecalho.get(coluna).substring(7)).append('=').append(campos.get(coluna));
+			chave.append(']');
+			resultados.put(chave.toString(), new Resultado(Double.parseDouble(campos.get(valor)), campos.get(unidade)));
+		}
+		return resultados;
+	}
+
+	/// separa os campos de uma linha CSV; os campos podem estar entre aspas.
+	private static List<String> campos(String linha) {
+
+		List<String> campos = new ArrayList<>();
+		StringBuilder atual = new StringBuilder();
+		boolean entreAspas = false;
+		char caractere;
+
+		for (int i = 0; i < linha.length(); i++) {
+			caractere = linha.charAt(i);
+			if (caractere == '"') {
+				if (entreAspas && (i + 1 < linha.length()) && (linha.charAt(i + 1) == '"'))
+					atual.append(linha.charAt(++i));
+				else
+					entreAspas = !entreAspas;
+			} else if ((caractere == ',') && !entreAspas) {
+				campos.add(atual.toString());
+				atual.setLength(0);
+			} else
+				atual.append(caractere);
+		}
+		campos.add(atual.toString());
+		return campos;
+	}
+}
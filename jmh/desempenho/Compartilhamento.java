@@ -0,0 +1,48 @@
+package desempenho;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Memória economizada pelo compartilhamento de nós entre as versões da AVLPersistente: os bytes alocados por versão
+ * (gc.alloc.rate.norm, do profiler) de uma versão incremental, com 1% de escritas, e de uma cópia completa da árvore
+ * (ver PonteVersoes).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Compartilhamento {
+
+	@Param({"VERSAO_INCREMENTAL", "COPIA_COMPLETA"})
+	public String forma;
+
+	@Param({"10000", "100000", "1000000"})
+	public int tamanho;
+
+	private Supplier<Object> versao;
+
+	@Setup
+	public void preparar() {
+		versao = Ponte.criar("PonteVersoes", forma, tamanho);
+	}
+
+	@Benchmark
+	public Object criarVersao() {
+		return versao.get();
+	}
+}
@@ -0,0 +1,78 @@
+package desempenho;
+
+import java.util.Random;
+
+/**
+ * Distribuição das chaves de um cenário: a ordem de inserção e a sequência de chaves pesquisadas.
+ */
+public enum Distribuicao {
+	SEQUENCIAL, UNIFORME, ZIPF;
+
+	/**
+	 * Ordem em que as n chaves do catálogo são inseridas, como uma permutação das suas posições:
+	 * crescente, na distribuição sequencial; aleatória, nas demais.
+	 */
+	int[] ordemInsercao(int n, Random sorteio) {
+
+		int[] ordem = new int[n];
+		int auxiliar, j;
+
+		for (int i = 0; i < n; i++)
+			ordem[i] = i;
+		if (this != SEQUENCIAL) {
+			for (int i = n - 1; i > 0; i--) {
+				j = sorteio.nextInt(i + 1);
+				auxiliar = ordem[i];
+				ordem[i] = ordem[j];
+				ordem[j] = auxiliar;
+			}
+		}
+		return ordem;
+	}
+
+	/**
+	 * Sequência de chaves pesquisadas, sorteadas dentre as chaves informadas.
+	 * Na distribuição Zipf (expoente 1), a chave de posição k é sorteada com probabilidade proporcional a 1/k.
+	 */
+	Integer[] sequenciaPesquisas(Integer[] chaves, int quantidade, Random sorteio) {
+
+		Integer[] sequencia = new Integer[quantidade];
+		Integer[] ranking;
+		double logaritmo = Math.log(chaves.length + 1.0);
+		int posicao;
+
+		switch (this) {
+			case SEQUENCIAL -> {
+				for (int i = 0; i < quantidade; i++)
+					sequencia[i] = chaves[i % chaves.length];
+			}
+			case UNIFORME -> {
+				for (int i = 0; i < quantidade; i++)
+					sequencia[i] = chaves[sorteio.nextInt(chaves.length)];
+			}
+			case ZIPF -> {
+				/// as chaves mais frequentes ficam espalhadas pela estrutura, e não concentradas no início da ordem.
+				ranking = chaves.clone();
+				embaralhar(ranking, sorteio);
+				for (int i = 0; i < quantidade; i++) {
+					posicao = (int) Math.exp(sorteio.nextDouble() * logaritmo);
+					sequencia[i] = ranking[Math.min(Math.max(posicao, 1), ranking.length) - 1];
+				}
+			}
+		}
+		return sequencia;
+	}
+
+	private static void embaralhar(Object[] vetor, Random sorteio) {
+
+		Object auxiliar;
+		int j;
+
+		for (int i = vetor.length - 1; i > 0; i--) {
+			j = sorteio.nextInt(i + 1);
+			auxiliar = vetor[i];
+			vetor[i] = vetor[j];
+			vetor[j] = auxiliar;
+		}
+	}
+}
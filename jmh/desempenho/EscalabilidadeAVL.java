@@ -0,0 +1,81 @@
+package desempenho;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Vazão das pesquisas na árvore AVL concorrente, comparada à de uma árvore AVL protegida por uma única trava,
+ * com uma escrita (inserção ou remoção) a cada 1000 operações, com chaves uniformes (metade delas presentes).
+ * A quantidade de threads é a da execução (opção -t do JMH); "gradle escalabilidade" executa com de 1 até N threads
+ * (ver MedirEscalabilidade).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EscalabilidadeAVL {
+
+	/**
+	 * Árvore compartilhada por todas as threads.
+	 */
+	@State(Scope.Benchmark)
+	public static class Arvore {
+
+		@Param({"AVL_CONCORRENTE", "AVL_SINCRONIZADA"})
+		public String estrutura;
+
+		@Param({"1000000"})
+		public int tamanho;
+
+		AlvoConcorrente alvo;
+		Integer[] chaves;
+
+		@Setup
+		public void preparar() {
+
+			alvo = Ponte.criar("PonteConcorrentes", estrutura, tamanho);
+			chaves = new Integer[2 * tamanho];
+			for (int i = 0; i < chaves.length; i++)
+				chaves[i] = i;
+		}
+	}
+
+	/**
+	 * Sorteio das chaves e contagem das operações de cada thread.
+	 */
+	@State(Scope.Thread)
+	public static class Sorteio {
+
+		Random sorteio;
+		long realizadas;
+
+		@Setup
+		public void preparar(ThreadParams thread) {
+			sorteio = new Random(thread.getThreadIndex());
+		}
+	}
+
+	@Benchmark
+	public Object operar(Arvore arvore, Sorteio sorteio) {
+
+		Integer chave = arvore.chaves[sorteio.sorteio.nextInt(arvore.chaves.length)];
+
+		if (++sorteio.realizadas % 1000 == 0)
+			return arvore.alvo.escrever(chave);
+		return arvore.alvo.pesquisar(chave);
+	}
+}
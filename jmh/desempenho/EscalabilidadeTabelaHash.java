@@ -0,0 +1,80 @@
+package desempenho;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Vazão da tabela hash concorrente, comparada à da tabela hash sequencial protegida por uma única trava,
+ * com uma carga de 90% de pesquisas e 10% de computeIfAbsent, com chaves uniformes (metade delas presentes).
+ * A quantidade de threads é a da execução (opção -t do JMH); "gradle escalabilidade" executa com de 1 até N threads
+ * (ver MedirEscalabilidade).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EscalabilidadeTabelaHash {
+
+	/**
+	 * Estrutura compartilhada por todas as threads.
+	 */
+	@State(Scope.Benchmark)
+	public static class Tabela {
+
+		@Param({"TABELA_HASH_CONCORRENTE", "TABELA_HASH_SINCRONIZADA"})
+		public String estrutura;
+
+		@Param({"1000000"})
+		public int tamanho;
+
+		AlvoConcorrente alvo;
+		Integer[] chaves;
+
+		@Setup
+		public void preparar() {
+
+			alvo = Ponte.criar("PonteConcorrentes", estrutura, tamanho);
+			chaves = new Integer[2 * tamanho];
+			for (int i = 0; i < chaves.length; i++)
+				chaves[i] = i;
+		}
+	}
+
+	/**
+	 * Sorteio das chaves e das operações de cada thread.
+	 */
+	@State(Scope.Thread)
+	public static class Sorteio {
+
+		Random sorteio;
+
+		@Setup
+		public void preparar(ThreadParams thread) {
+			sorteio = new Random(thread.getThreadIndex());
+		}
+	}
+
+	@Benchmark
+	public Object operar(Tabela tabela, Sorteio sorteio) {
+
+		Integer chave = tabela.chaves[sorteio.sorteio.nextInt(tabela.chaves.length)];
+
+		if (sorteio.sorteio.nextInt(10) == 0)
+			return tabela.alvo.escrever(chave);
+		return tabela.alvo.pesquisar(chave);
+	}
+}
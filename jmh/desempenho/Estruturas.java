@@ -0,0 +1,92 @@
+package desempenho;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks das estruturas de busca com pesquisa logarítmica ou constante, nos catálogos de 10^4 a 10^7 chaves
+ * e em produtos.txt, com as três distribuições de chaves (ver {@link CenarioEstrutura}).
+ * As pesquisas são medidas por operação; a inserção, o percurso e a remoção, por catálogo completo
+ * (divida pelo tamanho do catálogo para obter o tempo por chave).
+ * A alocação por operação é informada pelo profiler de coleta de lixo (gc.alloc.rate.norm), com "gradle jmh".
+ * A lista e a ABB estão em {@link EstruturasLineares}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Estruturas {
+
+	@State(Scope.Thread)
+	public static class Cenario extends CenarioEstrutura {
+
+		@Param({"AVL", "AVL_INT", "AVL_CONCORRENTE", "AVL_PERSISTENTE", "TABELA_HASH", "TABELA_HASH_ABERTA", "TABELA_HASH_CONCORRENTE"})
+		public String estrutura;
+
+		@Param({"produtos.txt", "10000", "100000", "1000000", "10000000"})
+		public String catalogo;
+
+		@Param({"SEQUENCIAL", "UNIFORME", "ZIPF"})
+		public String distribuicao;
+
+		@Setup
+		public void preparar() {
+			preparar(estrutura, catalogo, distribuicao);
+		}
+	}
+
+	/**
+	 * Estrutura com todas as chaves do catálogo, recriada antes de cada remoção completa.
+	 */
+	@State(Scope.Thread)
+	public static class Preenchida {
+
+		Alvo alvo;
+
+		@Setup(Level.Invocation)
+		public void preencher(Cenario cenario) {
+			alvo = cenario.preenchida();
+		}
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public Alvo inserir(Cenario cenario) {
+		return cenario.preenchida();
+	}
+
+	@Benchmark
+	public Object pesquisarAcerto(Cenario cenario) {
+		return cenario.pesquisarAcerto();
+	}
+
+	@Benchmark
+	public Object pesquisarFalha(Cenario cenario) {
+		return cenario.pesquisarFalha();
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public long percorrer(Cenario cenario) {
+		return cenario.percorrer();
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public long remover(Cenario cenario, Preenchida preenchida) {
+		return cenario.removerTodas(preenchida.alvo);
+	}
+}
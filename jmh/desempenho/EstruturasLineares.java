@@ -0,0 +1,88 @@
+package desempenho;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks das estruturas com pesquisa linear, ou degeneradas com chaves inseridas em ordem (a lista e a ABB),
+ * limitados aos catálogos de até 10^4 chaves. As operações medidas são as de {@link Estruturas}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EstruturasLineares {
+
+	@State(Scope.Thread)
+	public static class Cenario extends CenarioEstrutura {
+
+		@Param({"ABB", "LISTA"})
+		public String estrutura;
+
+		@Param({"produtos.txt", "10000"})
+		public String catalogo;
+
+		@Param({"SEQUENCIAL", "UNIFORME", "ZIPF"})
+		public String distribuicao;
+
+		@Setup
+		public void preparar() {
+			preparar(estrutura, catalogo, distribuicao);
+		}
+	}
+
+	/**
+	 * Estrutura com todas as chaves do catálogo, recriada antes de cada remoção completa.
+	 */
+	@State(Scope.Thread)
+	public static class Preenchida {
+
+		Alvo alvo;
+
+		@Setup(Level.Invocation)
+		public void preencher(Cenario cenario) {
+			alvo = cenario.preenchida();
+		}
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public Alvo inserir(Cenario cenario) {
+		return cenario.preenchida();
+	}
+
+	@Benchmark
+	public Object pesquisarAcerto(Cenario cenario) {
+		return cenario.pesquisarAcerto();
+	}
+
+	@Benchmark
+	public Object pesquisarFalha(Cenario cenario) {
+		return cenario.pesquisarFalha();
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public long percorrer(Cenario cenario) {
+		return cenario.percorrer();
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public long remover(Cenario cenario, Preenchida preenchida) {
+		return cenario.removerTodas(preenchida.alvo);
+	}
+}
@@ -0,0 +1,58 @@
+package desempenho;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Leitura do arquivo de produtos (produtos.txt, ou um arquivo sintético de 10^4 a 10^7 linhas) pelo Scanner,
+ * com Produto.criarDoTexto, e pelo LeitorProdutosMapeado, com uma thread e em paralelo.
+ * Na leitura em paralelo, a alocação informada pelo profiler inclui a das threads do ForkJoinPool.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Leitura {
+
+	@Param({"SCANNER", "MAPEADO", "MAPEADO_PARALELO"})
+	public String leitor;
+
+	@Param({"produtos.txt", "10000", "100000", "1000000", "10000000"})
+	public String arquivo;
+
+	private Path caminho;
+	private Function<Path, Object[]> leitura;
+
+	@Setup
+	public void preparar() throws IOException {
+		leitura = Ponte.criar("PonteLeitura", leitor);
+		caminho = ArquivoProdutos.preparar(arquivo);
+	}
+
+	@TearDown
+	public void descartar() throws IOException {
+		ArquivoProdutos.descartar(arquivo, caminho);
+	}
+
+	@Benchmark
+	public Object[] ler() {
+		return leitura.apply(caminho);
+	}
+}
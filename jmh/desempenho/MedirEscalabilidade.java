@@ -0,0 +1,39 @@
+package desempenho;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Executa os benchmarks de escalabilidade com 1, 2, 4, ... threads, até a quantidade de processadores,
+ * e mostra, ao final, a vazão de cada estrutura para cada quantidade de threads.
+ * Uso: java desempenho.MedirEscalabilidade [expressão regular dos benchmarks]
+ */
+public class MedirEscalabilidade {
+
+	public static void main(String[] args) throws RunnerException {
+
+		String benchmarks = (args.length > 0) ? args[0] : "Escalabilidade";
+		int processadores = Runtime.getRuntime().availableProcessors();
+		List<Integer> quantidadesThreads = new ArrayList<>();
+		List<String> linhas = new ArrayList<>();
+
+		for (int quantasThreads = 1; quantasThreads < processadores; quantasThreads *= 2)
+			quantidadesThreads.add(quantasThreads);
+		quantidadesThreads.add(processadores);
+
+		for (int quantasThreads : quantidadesThreads)
+			for (RunResult resultado : new Runner(new OptionsBuilder().include(benchmarks).threads(quantasThreads)
+					.addProfiler(GCProfiler.class).shouldFailOnError(true).build()).run())
+				linhas.add(resultado.getParams().getBenchmark() + ";" + resultado.getParams().getParam("estrutura") + ";" + quantasThreads
+						+ ";" + Math.round(resultado.getPrimaryResult().getScore()));
+
+		System.out.println("benchmark;estrutura;threads;operacoes_por_segundo");
+		linhas.forEach(System.out::println);
+	}
+}
@@ -0,0 +1,41 @@
+package desempenho;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Acesso às classes do projeto, que estão no pacote padrão.
+ *
+ * O JMH exige que os benchmarks estejam em um pacote nomeado, e classes de um pacote nomeado não podem importar classes
+ * do pacote padrão. Por isso, cada grupo de benchmarks tem uma classe de ponte no pacote padrão (em jmh/, com o prefixo Ponte),
+ * que cria as estruturas medidas e as expõe por meio de interfaces deste pacote ou do JDK.
+ * A ponte é chamada por reflexão uma única vez, na preparação do benchmark: as operações medidas são chamadas diretas de interface.
+ */
+final class Ponte {
+
+	private Ponte() {
+	}
+
+	/**
+	 * Executa o método estático "criar" da classe de ponte informada.
+	 * @param classe nome da classe de ponte, no pacote padrão.
+	 * @param argumentos argumentos do método.
+	 * @return o valor retornado pelo método.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T criar(String classe, Object... argumentos) {
+
+		try {
+			for (Method metodo : Class.forName(classe).getMethods())
+				if (metodo.getName().equals("criar") && (metodo.getParameterCount() == argumentos.length))
+					return (T) metodo.invoke(null, argumentos);
+			throw new IllegalArgumentException("A classe " + classe + " não possui um método criar com " + argumentos.length + " parâmetros.");
+		} catch (InvocationTargetException excecao) {
+			if (excecao.getCause() instanceof RuntimeException erro)
+				throw erro;
+			throw new IllegalStateException(excecao.getCause());
+		} catch (ReflectiveOperationException excecao) {
+			throw new IllegalStateException(excecao);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package desempenho;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Valor total de um catálogo sintético, produto a produto e pelo MotorPrecos (sobre os objetos e sobre um ArmazemProdutos),
+ * e valor final de um quarto desse número de pedidos: pedido a pedido, com o total mantido por cada pedido,
+ * com o recálculo completo de cada pedido e em lote (ver PontePrecos).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Precos {
+
+	@Param({"PRODUTO_A_PRODUTO", "MOTOR", "MOTOR_ARMAZEM", "PEDIDO_A_PEDIDO", "PEDIDO_RECALCULADO", "MOTOR_PEDIDOS"})
+	public String forma;
+
+	@Param({"10000", "100000", "1000000"})
+	public int tamanho;
+
+	private DoubleSupplier calculo;
+
+	@Setup
+	public void preparar() {
+		calculo = Ponte.criar("PontePrecos", forma, tamanho);
+	}
+
+	@Benchmark
+	public double calcular() {
+		return calculo.getAsDouble();
+	}
+}
@@ -1,5 +1,10 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 public class ABB<K, V> implements IMapeamento<K, V>{
@@ -10,6 +15,15 @@ public class ABB<K, V> implements IMapeamento<K, V>{
 	private long comparacoes;
 	private long inicio;
 	private long termino;
+	private final Medidor medidor = new Medidor(); // instrumentação cumulativa de todas as operações da árvore.
+	
+	/// Caminho percorrido na última descida pela árvore: ancestrais do ponto de inserção ou remoção,
+	/// da raiz (posição 0) até o nó mais profundo (posição profundidade - 1). 
+	/// Substitui a pilha de chamadas das versões recursivas e é usado para o rebalanceamento.
+	private No<K, V>[] caminho;
+	private int profundidade;
+	private int ultimaComparacao; // resultado da última comparação realizada na descida.
+	private int descidas; // quantidade de descidas realizadas: revela uma escrita feita durante computeIfAbsent.
 	
 	/**
 	 * Método auxiliar para inicialização da árvore binária de busca.
@@ -22,6 +36,7 @@ public class ABB<K, V> implements IMapeamento<K, V>{
 		raiz = null;
 		tamanho = 0;
 		this.comparador = comparador;
+		caminho = novosNos(32);
 	}
 
 	/**
@@ -45,36 +60,100 @@ public class ABB<K, V> implements IMapeamento<K, V>{
 
     /**
      * Construtor da classe.
-     * Esse construtor cria uma nova árvore binária a partir de uma outra árvore binária de busca,
-     * com os mesmos itens, mas usando uma nova chave.
-     * @param original a árvore binária de busca original.
+     * Esse construtor cria uma nova árvore binária a partir de uma outra estrutura de busca,
+     * com os mesmos itens, mas usando uma nova chave e o comparador informado.
+     * A árvore é construída em lote (ver {@link #carregarEmLote(Entrada[], int)}): 
+     * as novas chaves são ordenadas uma única vez e a árvore resultante é perfeitamente balanceada.
+     * @param original a estrutura de busca original.
      * @param funcaoChave a função que irá extrair a nova chave de cada item para a nova árvore.
+     * @param comparador o comparador a ser utilizado para organizar os elementos da árvore.
+     * @throws IllegalArgumentException se dois itens produzirem a mesma chave.
      */
-    public ABB(ABB<?, V> original, Function<V, K> funcaoChave, Comparator<K> comparador) {
-        ABB<K, V> nova = new ABB<>();
-        nova = copiarArvore(original.raiz, funcaoChave, nova);
-        this.raiz = nova.raiz;
-        this.comparador = comparador;
+    public ABB(IMapeamento<?, V> original, Function<V, K> funcaoChave, Comparator<K> comparador) {
+    	
+    	Entrada<K, V>[] entradas = novasEntradas(original.tamanho());
+    	int[] quantidade = {0};
+    	
+    	init(comparador);
+    	original.paraCada(item -> entradas[quantidade[0]++] = new Entrada<>(funcaoChave.apply(item), item));
+    	carregarEmLote(entradas, quantidade[0]);
     }
     
     /**
-     * Recursivamente, copia os elementos da árvore original para esta, num processo análogo ao caminhamento em ordem.
-     * @param <T> Tipo da nova chave.
-     * @param raizArvore raiz da árvore original que será copiada.
-     * @param funcaoChave função extratora da nova chave para cada item da árvore.
-     * @param novaArvore Nova árvore. Parâmetro usado para permitir o retorno da recursividade.
-     * @return A nova árvore com os itens copiados e usando a chave indicada pela função extratora.
+     * Construtor da classe.
+     * Esse construtor cria uma nova árvore binária com os itens do vetor informado, 
+     * organizados pela chave extraída de cada item. A árvore é construída em lote e é perfeitamente balanceada.
+     * @param itens os itens da nova árvore.
+     * @param funcaoChave a função que irá extrair a chave de cada item.
+     * @param comparador o comparador a ser utilizado para organizar os elementos da árvore.
+     * @throws IllegalArgumentException se dois itens produzirem a mesma chave.
      */
-    private <T> ABB<T, V> copiarArvore(No<?, V> raizArvore, Function<V, T> funcaoChave, ABB<T, V> novaArvore) {
-    	
-        if (raizArvore != null) {
-    		novaArvore = copiarArvore(raizArvore.getEsquerda(), funcaoChave, novaArvore);
-            V item = raizArvore.getItem();
-            T chave = funcaoChave.apply(item);
-    		novaArvore.inserir(chave, item);
-    		novaArvore = copiarArvore(raizArvore.getDireita(), funcaoChave, novaArvore);
-    	}
-        return novaArvore;
+    public ABB(V[] itens, Function<V, K> funcaoChave, Comparator<K> comparador) {
+    	
+    	Entrada<K, V>[] entradas = novasEntradas(itens.length);
+    	
+    	init(comparador);
+    	for (int i = 0; i < itens.length; i++)
+    		entradas[i] = new Entrada<>(funcaoChave.apply(itens[i]), itens[i]);
+    	carregarEmLote(entradas, itens.length);
+    }
+    
+    /// não é possível criar um vetor de um tipo genérico: o vetor é criado com o tipo curinga e convertido.
+    @SuppressWarnings("unchecked")
+    private Entrada<K, V>[] novasEntradas(int quantidade) {
+    	return (Entrada<K, V>[]) new Entrada<?, ?>[quantidade];
+    }
+    
+    /**
+     * Substitui o conteúdo da árvore pelas entradas informadas.
+     * As entradas são ordenadas uma única vez pela chave (em tempo linear, caso já estejam ordenadas;
+     * em paralelo, pelas threads do ForkJoinPool comum, caso sejam muitas)
+     * e a árvore é montada de baixo para cima, em tempo linear, escolhendo a entrada central de cada intervalo como raiz.
+     * Assim, a árvore resultante tem altura mínima e, portanto, também respeita o balanceamento AVL.
+     * @param entradas vetor com as entradas (chave, item) da árvore.
+     * @param quantidade quantidade de posições preenchidas no vetor.
+     * @throws IllegalArgumentException se houver chaves repetidas.
+     */
+    private void carregarEmLote(Entrada<K, V>[] entradas, int quantidade) {
+    	
+    	Arrays.parallelSort(entradas, 0, quantidade, (primeira, segunda) -> comparador.compare(primeira.getChave(), segunda.getChave()));
+    	
+    	for (int i = 1; i < quantidade; i++)
+    		if (comparador.compare(entradas[i - 1].getChave(), entradas[i].getChave()) == 0)
+    			throw new IllegalArgumentException("O item já foi inserido anteriormente na árvore.");
+    	
+    	raiz = construirBalanceada(entradas, 0, quantidade - 1);
+    	tamanho = quantidade;
+    }
+    
+    /**
+     * Monta a sub-árvore perfeitamente balanceada com as entradas ordenadas do intervalo [inicio, fim].
+     * A profundidade da recursão é logarítmica na quantidade de entradas.
+     * @return a raiz da sub-árvore montada, ou null caso o intervalo seja vazio.
+     */
+    private No<K, V> construirBalanceada(Entrada<K, V>[] entradas, int inicio, int fim) {
+    	
+    	int meio;
+    	No<K, V> raizArvore;
+    	
+    	if (inicio > fim)
+    		return null;
+    	
+    	meio = (inicio + fim) >>> 1;
+    	raizArvore = new No<>(entradas[meio].getChave(), entradas[meio].getValor());
+    	raizArvore.setEsquerda(construirBalanceada(entradas, inicio, meio - 1));
+    	raizArvore.setDireita(construirBalanceada(entradas, meio + 1, fim));
+    	raizArvore.setAltura();
+    	return raizArvore;
+    }
+    
+    /**
+     * Cria um vetor de nós (o caminho das descidas e as pilhas dos caminhamentos).
+     * Não é possível criar um vetor de um tipo genérico: o vetor é criado com o tipo curinga e convertido.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> No<K, V>[] novosNos(int quantidade) {
+    	return (No<K, V>[]) new No<?, ?>[quantidade];
     }
     
     /**
@@ -86,101 +165,311 @@ public class ABB<K, V> implements IMapeamento<K, V>{
 	public Boolean vazia() {
 	    return (this.raiz == null);
 	}
+	
+	/**
+	 * Raiz atual da árvore, para as subclasses que implementam seus próprios percursos (por exemplo, pesquisas concorrentes).
+	 */
+	protected No<K, V> getRaiz() {
+		return raiz;
+	}
+	
+	protected Comparator<K> getComparador() {
+		return comparador;
+	}
     
     @Override
     /**
-     * Método que encapsula a pesquisa recursiva de itens na árvore.
+     * Método que encapsula a pesquisa iterativa de itens na árvore.
      * @param chave a chave do item que será pesquisado na árvore.
      * @return o valor associado à chave.
+     * @throws NoSuchElementException se a chave não estiver presente na árvore.
      */
 	public V pesquisar(K chave) {
+    	
+    	No<K, V> procurado = localizarNo(chave);
+    	
+    	if (procurado == null)
+    		throw new NoSuchElementException("O item não foi localizado na árvore!");
+    	return procurado.getItem();
+	}
+    
+    @Override
+    public V pesquisarOuPadrao(K chave, V padrao) {
+    	
+    	No<K, V> procurado = localizarNo(chave);
+    	
+    	return (procurado == null) ? padrao : procurado.getItem();
+    }
+    
+    @Override
+    public boolean contem(K chave) {
+    	return (localizarNo(chave) != null);
+    }
+    
+    /**
+     * Localiza o nó da chave informada, registrando a quantidade de comparações e o tempo da pesquisa.
+     * A pesquisa é iterativa: desce da raiz até o nó procurado ou até uma sub-árvore vazia, 
+     * sem chamadas recursivas, de modo que mesmo uma árvore degenerada não esgota a pilha de execução.
+     * @param chave a chave procurada.
+     * @return o nó que contém a chave, ou null caso ela não esteja presente na árvore.
+     */
+    private No<K, V> localizarNo(K chave) {
+    	
+    	No<K, V> atual = raiz;
+    	int comparacao;
+    	
+    	iniciarMedicao();
+    	
+    	while (true) {
+    		comparacoes++;
+    		if (atual == null)
+    			/// Se a raiz da árvore ou sub-árvore for null, a árvore/sub-árvore está vazia e então o item não foi encontrado.
+    			break;
+    		
+    		comparacao = comparador.compare(chave, atual.getChave());
+    		
+    		if (comparacao == 0)
+    			/// O item procurado foi encontrado.
+    			break;
+    		else if (comparacao < 0)
+    			/// Se o item procurado for menor do que o item armazenado na raiz da árvore:
+                /// pesquise esse item na sub-árvore esquerda.
+    			atual = atual.getEsquerda();
+    		else
+    			/// Se o item procurado for maior do que o item armazenado na raiz da árvore:
+                /// pesquise esse item na sub-árvore direita.
+    			atual = atual.getDireita();
+    	}
+    	
+    	concluirMedicao(Operacao.PESQUISA);
+    	return atual;
+    }
+    
+    /**
+     * Zera a contagem de comparações e registra o início de uma operação.
+     */
+    private void iniciarMedicao() {
     	comparacoes = 0;
     	inicio = System.nanoTime();
-    	V procurado = pesquisar(raiz, chave);
+    }
+    
+    /**
+     * Registra o término da operação iniciada por {@link #iniciarMedicao()}, 
+     * acumulando sua duração e suas comparações no medidor da árvore.
+     * @param operacao tipo da operação concluída.
+     */
+    private void concluirMedicao(Operacao operacao) {
     	termino = System.nanoTime();
-    	return procurado;
-	}
+    	medidor.registrar(operacao, termino - inicio, comparacoes);
+    }
     
-    private V pesquisar(No<K, V> raizArvore, K procurado) {
+    /**
+     * Desce iterativamente da raiz em direção à chave informada, registrando em "caminho" cada nó visitado.
+     * O nó que contém a chave, se existir, não é registrado: ao final, o topo do caminho é o seu pai
+     * ou, caso a chave não exista, o nó ao qual um novo nó com essa chave deve ser ligado.
+     * O sinal da última comparação realizada fica em "ultimaComparacao".
+     * @param chave a chave procurada.
+     * @return o nó que contém a chave, ou null caso ela não esteja presente na árvore.
+     */
+    private No<K, V> descer(K chave) {
     	
-    	int comparacao;
+    	No<K, V> atual = raiz;
     	
-    	comparacoes++;
-    	if (raizArvore == null)
-    		/// Se a raiz da árvore ou sub-árvore for null, a árvore/sub-árvore está vazia e então o item não foi encontrado.
-    		throw new NoSuchElementException("O item não foi localizado na árvore!");
+    	descidas++;
+    	profundidade = 0;
+    	ultimaComparacao = 0;
+    	while (atual != null) {
+    		comparacoes++;
+    		ultimaComparacao = comparador.compare(chave, atual.getChave());
+    		if (ultimaComparacao == 0)
+    			return atual;
+    		empilhar(atual);
+    		atual = (ultimaComparacao < 0) ? atual.getEsquerda() : atual.getDireita();
+    	}
+    	return null;
+    }
+    
+    /**
+     * Registra um nó no topo do caminho percorrido, ampliando o vetor quando necessário.
+     * @param no o nó visitado.
+     */
+    private void empilhar(No<K, V> no) {
+    	
+    	if (profundidade == caminho.length)
+    		caminho = Arrays.copyOf(caminho, caminho.length * 2);
+    	caminho[profundidade++] = no;
+    }
+    
+    /**
+     * Liga um novo nó como filho do nó no topo do caminho (ou como raiz, se a árvore estiver vazia),
+     * do lado indicado pela última comparação da descida.
+     * @param novo o nó a ser ligado à árvore.
+     */
+    private void anexar(No<K, V> novo) {
     	
-    	comparacao = comparador.compare(procurado, raizArvore.getChave());
+    	No<K, V> pai;
     	
-    	if (comparacao == 0)
-    		/// O item procurado foi encontrado.
-    		return raizArvore.getItem();
-    	else if (comparacao < 0)
-    		/// Se o item procurado for menor do que o item armazenado na raiz da árvore:
-            /// pesquise esse item na sub-árvore esquerda.    
-    		return pesquisar(raizArvore.getEsquerda(), procurado);
+    	if (profundidade == 0)
+    		raiz = novo;
+    	else {
+    		pai = caminho[profundidade - 1];
+    		if (ultimaComparacao < 0)
+    			pai.setEsquerda(novo);
+    		else
+    			pai.setDireita(novo);
+    	}
+    	tamanho++;
+    }
+    
+    /**
+     * Substitui, no nó pai informado, a referência ao filho "antigo" pela referência ao filho "novo".
+     * Se o pai for null, o filho antigo é a raiz da árvore, que passa a ser o novo nó.
+     */
+    private void substituirFilho(No<K, V> pai, No<K, V> antigo, No<K, V> novo) {
+    	
+    	if (pai == null)
+    		raiz = novo;
+    	else if (pai.getEsquerda() == antigo)
+    		pai.setEsquerda(novo);
     	else
-    		/// Se o item procurado for maior do que o item armazenado na raiz da árvore:
-            /// pesquise esse item na sub-árvore direita.
-    		return pesquisar(raizArvore.getDireita(), procurado);
+    		pai.setDireita(novo);
+    }
+    
+    /**
+     * Percorre o caminho registrado na última descida, do nó mais profundo até a raiz,
+     * aplicando {@link #balancear(No)} a cada nó e religando a sub-árvore resultante ao seu pai.
+     * Ao final, o caminho é esvaziado.
+     */
+    private void rebalancearCaminho() {
+    	
+    	No<K, V> no, novo;
+    	
+    	for (int i = profundidade - 1; i >= 0; i--) {
+    		no = caminho[i];
+    		novo = balancear(no);
+    		if (novo != no)
+    			substituirFilho((i == 0) ? null : caminho[i - 1], no, novo);
+    		caminho[i] = null;
+    	}
+    	profundidade = 0;
+    }
+    
+    /**
+     * Esvazia o caminho registrado na última descida, sem alterar a árvore.
+     */
+    private void limparCaminho() {
+    	
+    	Arrays.fill(caminho, 0, profundidade, null);
+    	profundidade = 0;
+    }
+    
+    /**
+     * Ponto de extensão executado sobre cada nó do caminho após uma inserção ou remoção, 
+     * do nó mais profundo até a raiz. A árvore binária de busca simples não realiza balanceamento.
+     * @param raizArvore a raiz da sub-árvore afetada pela operação.
+     * @return a raiz (possivelmente nova) da sub-árvore.
+     */
+    protected No<K, V> balancear(No<K, V> raizArvore) {
+    	return raizArvore;
     }
     
     @Override
     /**
-     * Método que encapsula a adição recursiva de itens à árvore, associando-o à chave fornecida.
+     * Método que adiciona, iterativamente, um item à árvore, associando-o à chave fornecida.
      * @param chave a chave associada ao item que será inserido na árvore.
      * @param item o item que será inserido na árvore.
      * 
      * @return o tamanho atualizado da árvore após a execução da operação de inserção.
+     * @throws IllegalArgumentException se um item com a mesma chave já estiver presente na árvore.
      */
     public int inserir(K chave, V item) {
-    	/// Chama o método recursivo "inserir", responsável por adicionar, o item passado como parâmetro, à árvore.
-        /// O método "inserir" recursivo receberá, como primeiro parâmetro, a raiz atual da árvore; 
-    	/// como segundo parâmetro, a chave do item que será adicionado à árvore; e como terceiro parâmetro, o item.
-        /// Por fim, a raiz atual da árvore é atualizada, com a raiz retornada pelo método "inserir" recursivo.
-        this.raiz = inserir(this.raiz, chave, item);
-        tamanho++;
+    	
+    	iniciarMedicao();
+    	/// Desce pela árvore até a sub-árvore vazia em que o novo item deve ficar, registrando o caminho.
+    	if (descer(chave) != null) {
+    		/// A chave do item armazenado em um nó da árvore 
+    		/// é igual à chave do novo item que deveria ser inserido na árvore.
+    		limparCaminho();
+    		concluirMedicao(Operacao.INSERCAO);
+    		throw new IllegalArgumentException("O item já foi inserido anteriormente na árvore.");
+    	}
+    	
+    	anexar(new No<>(chave, item));
+    	rebalancearCaminho();
+    	concluirMedicao(Operacao.INSERCAO);
         return tamanho;
     }
 
+    @Override
     /**
-     * Método recursivo responsável por adicionar um item à árvore.
-     * @param raizArvore a raiz da árvore ou sub-árvore em que o item será adicionado.
-     * @param chave a chave associada ao item que deverá ser inserido.
-     * @param item o item que deverá ser adicionado à árvore.
-     * @return a raiz atualizada da árvore ou sub-árvore em que o item foi adicionado.
-     * @throws RuntimeException se um item com a mesma chave já estiver presente na árvore.
+     * Método que encapsula a pesquisa-ou-inserção: retorna o item associado à chave ou,
+     * caso ela não esteja presente, cria o item e o insere na posição em que a pesquisa terminou.
+     * @param chave a chave do item.
+     * @param funcaoCriacao função que cria o item, chamada apenas se a chave não estiver presente. 
+     * Não deve escrever nesta árvore, mas pode pesquisá-la.
+     * @return o item já existente ou o item recém-criado.
+     * @throws ConcurrentModificationException se a função de criação escrever nesta árvore; o item criado não é inserido.
      */
-    protected No<K, V> inserir(No<K, V> raizArvore, K chave, V item) {
+    public V computeIfAbsent(K chave, Function<? super K, ? extends V> funcaoCriacao) {
     	
-    	int comparacao;
+    	No<K, V> encontrado;
+    	V novo;
+    	int descida;
+    	
+    	iniciarMedicao();
+    	encontrado = descer(chave);
+    	if (encontrado != null) {
+    		limparCaminho();
+    		concluirMedicao(Operacao.ATUALIZACAO);
+    		return encontrado.getItem();
+    	}
     	
-        /// Se a raiz da árvore ou sub-árvore for null, a árvore/sub-árvore está vazia e então um novo item é inserido.
-        if (raizArvore == null)
-            raizArvore = new No<>(chave, item);
-        else {
-        	comparacao = comparador.compare(chave, raizArvore.getChave());
-        
-        	if (comparacao < 0)
-        		/// Se a chave do item que deverá ser inserido na árvore for menor do que 
-        		/// a chave do item armazenado na raiz da árvore:
-        		/// adicione esse novo item à sub-árvore esquerda; 
-        		/// e atualize a referência para a sub-árvore esquerda modificada. 
-        		raizArvore.setEsquerda(inserir(raizArvore.getEsquerda(), chave, item));
-        	else if (comparacao > 0)
-        		/// Se a chave do item que deverá ser inserido na árvore for maior do que 
-        		/// a chave do item armazenado na raiz da árvore:
-        		/// adicione esse novo item à sub-árvore direita; 
-        		/// e atualize a referência para a sub-árvore direita modificada.
-        		raizArvore.setDireita(inserir(raizArvore.getDireita(), chave, item));
-        	else
-        		/// A chave do item armazenado na raiz da árvore 
-        		/// é igual à chave do novo item que deveria ser inserido na árvore.
-        		throw new IllegalArgumentException("O item já foi inserido anteriormente na árvore.");
-        }
-        
-        /// Retorna a raiz atualizada da árvore ou sub-árvore em que o item foi adicionado.
-        return raizArvore;
+    	/// A chave não está presente: o item é criado e inserido exatamente onde a pesquisa terminou.
+    	/// Uma escrita feita pela função desceria novamente pela árvore, substituindo o caminho registrado.
+    	descida = descidas;
+    	try {
+    		novo = funcaoCriacao.apply(chave);
+    	} catch (RuntimeException | Error excecao) {
+    		limparCaminho();
+    		throw excecao;
+    	}
+    	if (descidas != descida) {
+    		limparCaminho();
+    		concluirMedicao(Operacao.ATUALIZACAO);
+    		throw new ConcurrentModificationException("A função de criação alterou a árvore.");
+    	}
+    	anexar(new No<>(chave, novo));
+    	rebalancearCaminho();
+    	concluirMedicao(Operacao.ATUALIZACAO);
+    	return novo;
+    }
+    
+    @Override
+    /**
+     * Método que encapsula a inserção-ou-substituição de um item na árvore.
+     * @param chave a chave do item.
+     * @param item o novo item associado à chave.
+     * @return o item anteriormente associado à chave, ou null caso a chave tenha sido inserida.
+     */
+    public V upsert(K chave, V item) {
+    	
+    	No<K, V> encontrado;
+    	V anterior;
+    	
+    	iniciarMedicao();
+    	encontrado = descer(chave);
+    	if (encontrado != null) {
+    		limparCaminho();
+    		anterior = encontrado.getItem();
+    		encontrado.setItem(item);
+    		concluirMedicao(Operacao.ATUALIZACAO);
+    		return anterior;
+    	}
+    	
+    	anexar(new No<>(chave, item));
+    	rebalancearCaminho();
+    	concluirMedicao(Operacao.ATUALIZACAO);
+    	return null;
     }
 
     @Override 
@@ -193,126 +482,179 @@ public class ABB<K, V> implements IMapeamento<K, V>{
     	return caminhamentoEmOrdem();
     }
 
+    @Override
+    public void percorrer(Appendable destino) throws IOException {
+    	caminhamentoEmOrdem(destino);
+    }
+
     public String caminhamentoEmOrdem() {
     	
+    	StringBuilder resposta = new StringBuilder();
+    	
+    	try {
+    		caminhamentoEmOrdem(resposta);
+    	} catch (IOException excecao) { /// não ocorre: StringBuilder não lança IOException.
+    		throw new UncheckedIOException(excecao);
+    	}
+    	return resposta.toString();
+    }
+
+    /**
+     * Escreve os itens da árvore no destino informado, em ordem crescente de chave, um por linha.
+     * @param destino destino da escrita.
+     * @throws IllegalStateException caso a árvore esteja vazia.
+     * @throws IOException caso ocorra um erro de escrita no destino.
+     */
+    public void caminhamentoEmOrdem(Appendable destino) throws IOException {
+    	
     	if (vazia())
     		throw new IllegalStateException("A árvore está vazia!");
     	
-    	return caminhamentoEmOrdem(raiz);
+    	IMapeamento.super.percorrer(destino);
     }
 
-    private String caminhamentoEmOrdem(No<K, V> raizArvore) {
-    	if (raizArvore != null) {
-    		String resposta = caminhamentoEmOrdem(raizArvore.getEsquerda());
-    		resposta += raizArvore.getItem() + "\n";
-    		resposta += caminhamentoEmOrdem(raizArvore.getDireita());
-    		
-    		return resposta;
-    	} else {
-    		return "";
+    @Override
+    /**
+     * Executa a ação informada sobre cada item da árvore, em ordem crescente de chave (caminhamento em ordem).
+     * O caminhamento é iterativo, com uma pilha explícita dos nós cujas sub-árvores direitas ainda serão visitadas.
+     * @param acao ação a ser executada sobre cada item.
+     */
+    public void paraCada(Consumer<? super V> acao) {
+    	
+    	No<K, V>[] pilha = novosNos(32);
+    	int topo = 0;
+    	No<K, V> atual = raiz;
+    	
+    	while ((atual != null) || (topo > 0)) {
+    		/// desce pela esquerda, empilhando os nós que ainda serão visitados.
+    		while (atual != null) {
+    			if (topo == pilha.length)
+    				pilha = Arrays.copyOf(pilha, pilha.length * 2);
+    			pilha[topo++] = atual;
+    			atual = atual.getEsquerda();
+    		}
+    		/// visita o nó mais à esquerda ainda não visitado e segue para a sua sub-árvore direita.
+    		atual = pilha[--topo];
+    		pilha[topo] = null;
+    		acao.accept(atual.getItem());
+    		atual = atual.getDireita();
     	}
     }
 
-    @Override
     /**
-     * Método que encapsula a remoção recursiva de um item da árvore.
-     * @param chave a chave do item que deverá ser localizado e removido da árvore.
-     * @return o valor associado ao item removido.
+     * Executa a ação informada sobre cada item cuja chave está no intervalo [menor, maior], em ordem crescente de chave.
+     * O caminhamento em ordem é iterativo e podado: as sub-árvores esquerdas de nós com chave menor do que "menor"
+     * não são visitadas, e o percurso termina no primeiro nó com chave maior do que "maior".
+     * Assim, o custo é O(log n + k), sendo k a quantidade de itens do intervalo.
+     * @param menor menor chave do intervalo (inclusive).
+     * @param maior maior chave do intervalo (inclusive).
+     * @param acao ação a ser executada sobre cada item do intervalo.
      */
-    public V remover(K chave) {
+    public void paraCadaEntre(K menor, K maior, Consumer<? super V> acao) {
     	
-    	V removido = pesquisar(chave);
+    	No<K, V>[] pilha = novosNos(32);
+    	int topo = 0;
+    	No<K, V> atual = raiz;
     	
-    	/// Chama o método recursivo "remover", que será responsável por 
-    	/// pesquisar o item que apresenta a chave passada como parâmetro na árvore e retirá-lo da árvore.
-        /// O método "remover" recursivo receberá, como primeiro parâmetro, a raiz atual da árvore; 
-    	/// e, como segundo parâmetro, a chave do item que deverá ser localizado e retirado dessa árvore.
-    	/// Por fim, a raiz atual da árvore é atualizada, com a raiz retornada pelo método "remover" recursivo.
-    	raiz = remover(raiz, chave);
-    	tamanho--;
-    	return removido;
+    	while ((atual != null) || (topo > 0)) {
+    		/// desce pela esquerda, empilhando apenas os nós que não estão antes do intervalo.
+    		while (atual != null) {
+    			if (comparador.compare(atual.getChave(), menor) < 0)
+    				/// o nó e a sua sub-árvore esquerda estão antes do intervalo.
+    				atual = atual.getDireita();
+    			else {
+    				if (topo == pilha.length)
+    					pilha = Arrays.copyOf(pilha, pilha.length * 2);
+    				pilha[topo++] = atual;
+    				atual = atual.getEsquerda();
+    			}
+    		}
+    		if (topo == 0)
+    			break;
+    		atual = pilha[--topo];
+    		pilha[topo] = null;
+    		if (comparador.compare(atual.getChave(), maior) > 0)
+    			/// todos os nós restantes estão depois do intervalo.
+    			break;
+    		acao.accept(atual.getItem());
+    		atual = atual.getDireita();
+    	}
     }
 
+    @Override
     /**
-     * Método recursivo responsável por localizar um item na árvore e retirá-lo da árvore.
-     * @param raizArvore a raiz da árvore ou sub-árvore da qual o item será retirado.
-     * @param chaveRemover a chave do item que deverá ser localizado e removido da árvore.
-     * @return a raiz atualizada da árvore ou sub-árvore da qual o item foi retirado.
+     * Método que localiza, iterativamente, um item na árvore e o retira da árvore.
+     * @param chave a chave do item que deverá ser localizado e removido da árvore.
+     * @return o valor associado ao item removido.
+     * @throws NoSuchElementException se a chave não estiver presente na árvore.
      */
-    protected No<K, V> remover(No<K, V> raizArvore, K chaveRemover) {
+    public V remover(K chave) {
     	
-    	int comparacao;
+    	No<K, V> alvo, filho;
+    	V removido;
+    	
+    	iniciarMedicao();
+    	alvo = descer(chave);
     	
-        /// Se a raiz da árvore ou sub-árvore for null, a árvore está vazia e o item, que deveria ser retirado dessa árvore, não foi encontrado.
+    	/// Se a descida terminou em uma sub-árvore vazia, o item que deveria ser retirado da árvore não foi encontrado.
         /// Nesse caso, deve-se lançar uma exceção.
-        if (raizArvore == null) 
-        	throw new NoSuchElementException("O item a ser removido não foi localizado na árvore!");
-        
-        comparacao = comparador.compare(chaveRemover, raizArvore.getChave());
-        
-        if (comparacao == 0) {
-            /// O item armazenado na raiz da árvore corresponde ao item que deve ser retirado dessa árvore.
-            /// Ou seja, o item que deve ser retirado da árvore foi encontrado.
-        	if (raizArvore.getDireita() == null) {
-        		/// O nó da árvore que será retirado não possui descendentes à direita.
-                /// Nesse caso, os descendentes à esquerda do nó que está sendo retirado da árvore passarão a ser descendentes do nó-pai do nó que está sendo retirado.
-                raizArvore = raizArvore.getEsquerda();
-        	} else if (raizArvore.getEsquerda() == null) {
-                /// O nó da árvore que será retirado não possui descendentes à esquerda.
-                /// Nesse caso, os descendentes à direita do nó que está sendo retirado da árvore passarão a ser descendentes do nó-pai do nó que está sendo retirado.
-                raizArvore = raizArvore.getDireita();
-        	} else {
-            	/// O nó que está sendo retirado da árvore possui descendentes à esquerda e à direita.
-                /// Nesse caso, o antecessor do nó que está sendo retirado é localizado na sub-árvore esquerda desse nó. 
-                /// O antecessor do nó que está sendo retirado da árvore corresponde
-                /// ao nó que armazena o item cuja chave é a maior, 
-                /// dentre as chaves menores do que a do item do nó que está sendo retirado.
-                /// Depois de ser localizado na sub-árvore esquerda do nó que está sendo retirado, 
-                /// o antecessor desse nó o substitui.
-                /// A sub-árvore esquerda do nó que foi retirado é atualizada com a remoção do antecessor.
-                raizArvore.setEsquerda(removerNoAntecessor(raizArvore, raizArvore.getEsquerda()));
-        	}
-        } else if (comparacao < 0)
-        	/// Se a chave do item que deverá ser localizado e retirado da árvore 
-        	/// for menor do que a chave do item armazenado na raiz da árvore:
-        	/// pesquise e retire esse item da sub-árvore esquerda.
-            raizArvore.setEsquerda(remover(raizArvore.getEsquerda(), chaveRemover));
-        else
-        	/// Se a chave do item que deverá ser localizado e retirado da árvore
-        	/// for maior do que a chave do item armazenado na raiz da árvore:
-        	/// pesquise e retire esse item da sub-árvore direita.
-            raizArvore.setDireita(remover(raizArvore.getDireita(), chaveRemover));
-         
-        /// Retorna a raiz atualizada da árvore ou sub-árvore da qual o item foi retirado.
-        return raizArvore;
+    	if (alvo == null) {
+    		limparCaminho();
+    		concluirMedicao(Operacao.REMOCAO);
+    		throw new NoSuchElementException("O item a ser removido não foi localizado na árvore!");
+    	}
+    	
+    	removido = alvo.getItem();
+    	
+    	if ((alvo.getDireita() == null) || (alvo.getEsquerda() == null)) {
+    		/// O nó da árvore que será retirado possui no máximo um descendente.
+            /// Nesse caso, esse descendente (ou null) passa a ser filho do nó-pai do nó que está sendo retirado.
+    		filho = (alvo.getDireita() == null) ? alvo.getEsquerda() : alvo.getDireita();
+    		substituirFilho((profundidade == 0) ? null : caminho[profundidade - 1], alvo, filho);
+    	} else {
+    		/// O nó que está sendo retirado da árvore possui descendentes à esquerda e à direita.
+            /// Nesse caso, o antecessor do nó que está sendo retirado é localizado na sub-árvore esquerda desse nó
+    		/// e o substitui.
+    		removerNoAntecessor(alvo);
+    	}
+    	
+    	tamanho--;
+    	rebalancearCaminho();
+    	concluirMedicao(Operacao.REMOCAO);
+    	return removido;
     }
 
     /**
-     * Método recursivo responsável por localizar na árvore ou sub-árvore o antecessor do nó que deverá ser retirado. 
+     * Método iterativo responsável por localizar, na sub-árvore esquerda do nó que deverá ser retirado, o seu antecessor.
      * O antecessor do nó que deverá ser retirado da árvore corresponde
      * ao nó que armazena o item cuja chave é a maior, 
      * dentre as chaves menores do que a do item que deverá ser retirado.
-     * Depois de ser localizado na árvore ou sub-árvore, 
-     * o antecessor do nó que deverá ser retirado da árvore o substitui.
-     * Adicionalmente, a árvore ou sub-árvore é atualizada com a remoção do antecessor.
+     * Depois de ser localizado, o antecessor copia sua chave e seu item para o nó que deverá ser retirado
+     * e é, ele próprio, desligado da árvore. Os nós visitados são acrescentados ao caminho para o rebalanceamento.
      * @param itemRetirar: referência ao nó que armazena o item que deverá ser retirado da árvore.
-     * @param raizArvore: raiz da árvore ou sub-árvore em que o antecessor do nó que deverá ser retirado deverá ser localizado.
-     * @return a raiz atualizada da árvore ou sub-árvore após a remoção do antecessor do nó que foi retirado da árvore.
      */
-    protected No<K, V> removerNoAntecessor(No<K, V> itemRetirar, No<K, V> raizArvore) {
-        /// Se o antecessor do nó que deverá ser retirado da árvore ainda não foi encontrado...
-        if (raizArvore.getDireita() != null) {
-            /// Pesquise o antecessor na sub-árvore direita.
-            raizArvore.setDireita(removerNoAntecessor(itemRetirar, raizArvore.getDireita()));
-        } else {
-        	/// O antecessor do nó que deverá ser retirado da árvore foi encontrado e deverá substitui-lo.
-        	itemRetirar.setChave(raizArvore.getChave());
-            itemRetirar.setItem(raizArvore.getItem());
-            /// A raiz da árvore ou sub-árvore é atualizada com os descendentes à esquerda do antecessor.
-            /// Ou seja, retira-se o antecessor da árvore.
-            raizArvore = raizArvore.getEsquerda();
-        }
-        return raizArvore;
+    private void removerNoAntecessor(No<K, V> itemRetirar) {
+    	
+    	No<K, V> pai = itemRetirar;
+    	No<K, V> antecessor = itemRetirar.getEsquerda();
+    	
+    	empilhar(itemRetirar);
+    	/// O antecessor é o nó mais à direita da sub-árvore esquerda.
+    	while (antecessor.getDireita() != null) {
+    		empilhar(antecessor);
+    		pai = antecessor;
+    		antecessor = antecessor.getDireita();
+    	}
+    	
+    	/// O antecessor do nó que deverá ser retirado da árvore foi encontrado e deverá substitui-lo.
+    	itemRetirar.setChave(antecessor.getChave());
+    	itemRetirar.setItem(antecessor.getItem());
+    	
+    	/// Retira-se o antecessor da árvore: seu lugar é ocupado pelos seus descendentes à esquerda.
+    	if (pai == itemRetirar)
+    		pai.setEsquerda(antecessor.getEsquerda());
+    	else
+    		pai.setDireita(antecessor.getEsquerda());
     }
 
 	@Override
@@ -327,6 +669,11 @@ public class ABB<K, V> implements IMapeamento<K, V>{
 
 	@Override
 	public double getTempo() {
-		return (termino - inicio) / 1_000_000;
+		return (termino - inicio) / 1_000_000.0;
+	}
+	
+	@Override
+	public Medidor getMedidor() {
+		return medidor;
 	}
-}
\ No newline at end of file
+}
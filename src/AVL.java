@@ -15,53 +15,33 @@ public class AVL<K, V> extends ABB<K, V> {
     	super(comparador);
     }
     
-    public AVL(AVL<?, V> original, Function<V, K> funcaoChave, Comparator<K> comparador) {
-    	super(original, funcaoChave, comparador);
-    }
-       
     /**
-    * Método recursivo responsável por adicionar um item à árvore.
-    * @param raizArvore: raiz da árvore ou sub-árvore em que o item será adicionado.
-    * @param item: item que deverá ser adicionado à árvore.
-    * @return a raiz atualizada da árvore ou sub-árvore balanceada AVL em que o item foi adicionado.
-    */
-    @Override
-    protected No<K, V> inserir(No<K, V> raizArvore, K chave, V item) {
-    	
-    	return balancear(super.inserir(raizArvore, chave, item));
+     * Construtor da classe.
+     * Cria uma árvore AVL com os itens de outra estrutura de busca, organizados por uma nova chave.
+     * A árvore é construída em lote, em tempo linear após uma única ordenação das chaves.
+     */
+    public AVL(IMapeamento<?, V> original, Function<V, K> funcaoChave, Comparator<K> comparador) {
+    	super(original, funcaoChave, comparador);
     }
     
     /**
-    * Método recursivo responsável por localizar na árvore ou sub-árvore o antecessor do nó que deverá ser retirado. 
-    * O antecessor do nó que deverá ser retirado da árvore corresponde
-    * ao nó que armazena o item que é o maior, 
-    * dentre os itens menores do que o item que deverá ser retirado.
-    * Depois de ser localizado na árvore ou sub-árvore, 
-    * o antecessor do nó que deverá ser retirado da árvore o substitui.
-    * Adicionalmente, a árvore ou sub-árvore balanceada AVL é atualizada com a remoção do antecessor.
-    * @param itemRetirar: referência ao nó que armazena o item que deverá ser retirado da árvore.
-    * @param raizArvore: raiz da árvore ou sub-árvore em que o antecessor do nó que deverá ser retirado deverá ser localizado.
-    * @return a raiz atualizada da árvore ou sub-árvore balanceada AVL após a remoção do antecessor do nó que foi retirado da árvore.
-    */
-    @Override
-    protected No<K, V> removerNoAntecessor(No<K, V> itemRetirar, No<K, V> raizArvore) {
-    	
-        return balancear(super.removerNoAntecessor(itemRetirar, raizArvore));
+     * Construtor da classe.
+     * Cria uma árvore AVL com os itens do vetor informado, organizados pela chave extraída de cada item.
+     * A árvore é construída em lote, em tempo linear após uma única ordenação das chaves.
+     */
+    public AVL(V[] itens, Function<V, K> funcaoChave, Comparator<K> comparador) {
+    	super(itens, funcaoChave, comparador);
     }
-
+       
     /**
-    * Método recursivo responsável por localizar um item na árvore e retirá-lo da árvore.
-    * @param raizArvore: raiz da árvore ou sub-árvore da qual o item será retirado.
-    * @param itemRemover: item que deverá ser localizado e removido da árvore.
-    * @return a raiz atualizada da árvore ou sub-árvore balanceada AVL da qual o item foi retirado.
+    * Método responsável por restaurar o balanceamento AVL de uma sub-árvore.
+    * É executado pela árvore binária de busca sobre cada nó do caminho percorrido em uma inserção ou remoção,
+    * do nó mais profundo até a raiz, substituindo as chamadas recursivas de balanceamento.
+    * @param raizArvore: raiz da sub-árvore afetada pela operação.
+    * @return a raiz atualizada da sub-árvore balanceada AVL.
     */
     @Override
-    protected No<K, V> remover(No<K, V> raizArvore, K chaveRemover) {
-    	
-    	return balancear(super.remover(raizArvore, chaveRemover));
-    }
-
-    private No<K, V> balancear(No<K, V> raizArvore) {
+    protected No<K, V> balancear(No<K, V> raizArvore) {
 		
 		int fatorBalanceamento;
 		int fatorBalanceamentoFilho;
@@ -0,0 +1,310 @@
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Árvore AVL que pode ser pesquisada por várias threads enquanto outra a modifica.
+ *
+ * As escritas (inserção, substituição e remoção) reutilizam as operações e as rotações da {@link AVL},
+ * executadas uma de cada vez, com a trava de escrita de um {@link StampedLock}.
+ * As pesquisas são otimistas e não bloqueiam: percorrem a árvore sem travas e, ao final, validam o carimbo
+ * obtido no início. Se nenhuma escrita ocorreu no intervalo, o resultado é válido; caso contrário
+ * (ou caso o percurso sobre uma árvore em meio a uma rotação falhe ou não termine em {@value #MAXIMO_PASSOS} passos),
+ * a pesquisa é repetida com a trava de leitura. Como as escritas são raras em relação às pesquisas,
+ * quase todas as pesquisas terminam sem nenhuma escrita em memória compartilhada.
+ *
+ * Por isso, a duração e as comparações da última pesquisa ({@link #getTempo()} e {@link #getComparacoes()})
+ * são mantidas por thread, e as pesquisas só são registradas no medidor da árvore, cujos contadores são compartilhados,
+ * após {@link #setMedirPesquisas(boolean)}. As escritas são sempre registradas.
+ */
+public class AVLConcorrente<K, V> extends AVL<K, V> {
+
+	/** Limite de nós visitados por uma pesquisa otimista: maior do que a altura de qualquer árvore AVL com até 2^31 nós */
+	private static final int MAXIMO_PASSOS = 64;
+
+	/** Resultado de uma pesquisa cuja chave não está presente na árvore */
+	private static final Object AUSENTE = new Object();
+
+	/**
+	 * Medição da última pesquisa de uma thread.
+	 */
+	private static final class UltimaPesquisa {
+		long comparacoes;
+		long duracao;
+		/// indica se a última operação da thread foi uma pesquisa, medida aqui, ou uma escrita, medida pela ABB.
+		boolean foiPesquisa;
+	}
+
+	private final StampedLock trava = new StampedLock();
+
+	private final ThreadLocal<UltimaPesquisa> ultimaPesquisa = ThreadLocal.withInitial(UltimaPesquisa::new);
+
+	private volatile boolean medirPesquisas;
+
+	public AVLConcorrente() {
+		super();
+	}
+
+	public AVLConcorrente(Comparator<K> comparador) {
+		super(comparador);
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Cria uma árvore AVL concorrente com os itens de outra estrutura de busca, organizados por uma nova chave.
+	 */
+	public AVLConcorrente(IMapeamento<?, V> original, Function<V, K> funcaoChave, Comparator<K> comparador) {
+		super(original, funcaoChave, comparador);
+	}
+
+	public AVLConcorrente(V[] itens, Function<V, K> funcaoChave, Comparator<K> comparador) {
+		super(itens, funcaoChave, comparador);
+	}
+
+	/**
+	 * Percorre a árvore, da raiz até o nó da chave informada, sem travas.
+	 * @param medicao medição da pesquisa, em que é acumulada a quantidade de comparações realizadas.
+	 * @return o nó que contém a chave, ou null caso ela não esteja presente na árvore.
+	 * @throws IllegalStateException caso o percurso ultrapasse {@value #MAXIMO_PASSOS} nós, 
+	 * o que só ocorre quando a árvore é observada em meio a uma rotação.
+	 */
+	private No<K, V> descerSemTravas(K chave, UltimaPesquisa medicao) {
+
+		Comparator<K> comparador = getComparador();
+		No<K, V> atual = getRaiz();
+		int comparacao;
+
+		for (int passos = 0; atual != null; passos++) {
+			if (passos == MAXIMO_PASSOS)
+				throw new IllegalStateException("Percurso inconsistente.");
+			medicao.comparacoes++;
+			comparacao = comparador.compare(chave, atual.getChave());
+			if (comparacao == 0)
+				return atual;
+			atual = (comparacao < 0) ? atual.getEsquerda() : atual.getDireita();
+		}
+		return null;
+	}
+
+	/**
+	 * Pesquisa a chave informada: primeiro de forma otimista, sem travas; caso uma escrita tenha ocorrido 
+	 * durante o percurso, com a trava de leitura.
+	 * @return o item encontrado, ou {@link #AUSENTE} caso a chave não esteja presente.
+	 */
+	private Object localizar(K chave) {
+
+		UltimaPesquisa medicao = ultimaPesquisa.get();
+		long inicio = System.nanoTime();
+		long carimbo = trava.tryOptimisticRead();
+		No<K, V> encontrado;
+		Object resultado = null;
+		boolean valido = false;
+
+		medicao.comparacoes = 0;
+		if (carimbo != 0) {
+			try {
+				encontrado = descerSemTravas(chave, medicao);
+				/// o item é lido antes da validação: após validado o carimbo, ele corresponde a um estado consistente da árvore.
+				resultado = (encontrado == null) ? AUSENTE : encontrado.getItem();
+				valido = true;
+			} catch (RuntimeException percursoInconsistente) {
+				/// uma escrita simultânea deixou a árvore temporariamente inconsistente: a validação abaixo falhará.
+			}
+			valido = trava.validate(carimbo) && valido;
+		}
+
+		if (!valido) {
+			carimbo = trava.readLock();
+			try {
+				medicao.comparacoes = 0;
+				encontrado = descerSemTravas(chave, medicao);
+				resultado = (encontrado == null) ? AUSENTE : encontrado.getItem();
+			} finally {
+				trava.unlockRead(carimbo);
+			}
+		}
+
+		medicao.duracao = System.nanoTime() - inicio;
+		medicao.foiPesquisa = true;
+		if (medirPesquisas)
+			getMedidor().registrar(Operacao.PESQUISA, medicao.duracao, medicao.comparacoes);
+		return resultado;
+	}
+
+	/**
+	 * Define se as pesquisas são registradas no medidor da árvore (por padrão, não são).
+	 * O registro atualiza contadores compartilhados por todas as threads e limita, portanto, a escalabilidade das pesquisas.
+	 */
+	public void setMedirPesquisas(boolean medirPesquisas) {
+		this.medirPesquisas = medirPesquisas;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V pesquisar(K chave) {
+
+		Object resultado = localizar(chave);
+
+		if (resultado == AUSENTE)
+			throw new NoSuchElementException("O item não foi localizado na árvore!");
+		return (V) resultado;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V pesquisarOuPadrao(K chave, V padrao) {
+
+		Object resultado = localizar(chave);
+
+		return (resultado == AUSENTE) ? padrao : (V) resultado;
+	}
+
+	@Override
+	public boolean contem(K chave) {
+		return (localizar(chave) != AUSENTE);
+	}
+
+	@Override
+	public int inserir(K chave, V item) {
+
+		long carimbo = trava.writeLock();
+
+		try {
+			ultimaPesquisa.get().foiPesquisa = false;
+			return super.inserir(chave, item);
+		} finally {
+			trava.unlockWrite(carimbo);
+		}
+	}
+
+	@Override
+	public V computeIfAbsent(K chave, Function<? super K, ? extends V> funcaoCriacao) {
+
+		Object resultado = localizar(chave);
+		long carimbo;
+
+		/// caso a chave já esteja presente, a operação termina sem a trava de escrita.
+		if (resultado != AUSENTE) {
+			@SuppressWarnings("unchecked")
+			V encontrado = (V) resultado;
+			return encontrado;
+		}
+
+		carimbo = trava.writeLock();
+		try {
+			ultimaPesquisa.get().foiPesquisa = false;
+			return super.computeIfAbsent(chave, funcaoCriacao);
+		} finally {
+			trava.unlockWrite(carimbo);
+		}
+	}
+
+	@Override
+	public V upsert(K chave, V item) {
+
+		long carimbo = trava.writeLock();
+
+		try {
+			ultimaPesquisa.get().foiPesquisa = false;
+			return super.upsert(chave, item);
+		} finally {
+			trava.unlockWrite(carimbo);
+		}
+	}
+
+	@Override
+	public V remover(K chave) {
+
+		long carimbo = trava.writeLock();
+
+		try {
+			ultimaPesquisa.get().foiPesquisa = false;
+			return super.remover(chave);
+		} finally {
+			trava.unlockWrite(carimbo);
+		}
+	}
+
+	/**
+	 * Executa a ação informada sobre cada item da árvore, em ordem crescente de chave, com a trava de leitura:
+	 * as escritas aguardam o fim do percurso, que corresponde, portanto, a um único estado da árvore.
+	 */
+	@Override
+	public void paraCada(Consumer<? super V> acao) {
+
+		long carimbo = trava.readLock();
+
+		try {
+			super.paraCada(acao);
+		} finally {
+			trava.unlockRead(carimbo);
+		}
+	}
+
+	@Override
+	public void paraCadaEntre(K menor, K maior, Consumer<? super V> acao) {
+
+		long carimbo = trava.readLock();
+
+		try {
+			super.paraCadaEntre(menor, maior, acao);
+		} finally {
+			trava.unlockRead(carimbo);
+		}
+	}
+
+	@Override
+	public void caminhamentoEmOrdem(Appendable destino) throws IOException {
+
+		long carimbo = trava.readLock();
+
+		try {
+			super.caminhamentoEmOrdem(destino);
+		} finally {
+			trava.unlockRead(carimbo);
+		}
+	}
+
+	@Override
+	public int tamanho() {
+
+		long carimbo = trava.tryOptimisticRead();
+		int quantidade = super.tamanho();
+
+		if (!trava.validate(carimbo)) {
+			carimbo = trava.readLock();
+			try {
+				quantidade = super.tamanho();
+			} finally {
+				trava.unlockRead(carimbo);
+			}
+		}
+		return quantidade;
+	}
+
+	/**
+	 * Quantidade de comparações da última operação desta thread, caso tenha sido uma pesquisa;
+	 * caso contrário, da última escrita, de qualquer thread.
+	 */
+	@Override
+	public long getComparacoes() {
+
+		UltimaPesquisa medicao = ultimaPesquisa.get();
+
+		return medicao.foiPesquisa ? medicao.comparacoes : super.getComparacoes();
+	}
+
+	/**
+	 * Tempo da última operação desta thread, caso tenha sido uma pesquisa; caso contrário, da última escrita, de qualquer thread.
+	 */
+	@Override
+	public double getTempo() {
+
+		UltimaPesquisa medicao = ultimaPesquisa.get();
+
+		return medicao.foiPesquisa ? medicao.duracao / 1_000_000.0 : super.getTempo();
+	}
+}
@@ -0,0 +1,517 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Árvore AVL especializada para chaves inteiras primitivas.
+ * As chaves são armazenadas como int nos nós e comparadas diretamente com "<" e "==",
+ * sem conversão para Integer e sem passar por um Comparator. Os métodos com parâmetro int
+ * não alocam objetos nas pesquisas; os métodos de {@link IMapeamento}, com chave Integer,
+ * apenas delegam para eles.
+ */
+public class AVLInt<V> implements IMapeamento<Integer, V> {
+
+	private NoInt<V> raiz; // referência à raiz da árvore.
+	private int tamanho;
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+	private final Medidor medidor = new Medidor(); // instrumentação cumulativa de todas as operações da árvore.
+	private V resultadoOperacao; // item encontrado, criado ou substituído pela última operação computeIfAbsent/upsert.
+
+	/**
+	 *  Construtor da classe.
+	 *  Esse construtor cria uma nova árvore AVL de chaves inteiras vazia.
+	 */
+	public AVLInt() {
+		raiz = null;
+		tamanho = 0;
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Cria uma árvore AVL com os itens do vetor informado, organizados pela chave inteira extraída de cada item.
+	 * A árvore é construída em lote: as chaves são ordenadas uma única vez (a ordenação é dispensada 
+	 * quando os itens já estão em ordem crescente de chave, como os identificadores lidos do arquivo)
+	 * e a árvore perfeitamente balanceada é montada de baixo para cima, em tempo linear.
+	 * @param itens os itens da nova árvore.
+	 * @param funcaoChave a função que irá extrair a chave de cada item.
+	 * @throws IllegalArgumentException se dois itens produzirem a mesma chave.
+	 */
+	public AVLInt(V[] itens, ToIntFunction<? super V> funcaoChave) {
+
+		int quantidade = itens.length;
+		int[] chaves = new int[quantidade];
+		V[] ordenados = itens;
+		boolean emOrdem = true;
+		long[] chavesEPosicoes;
+
+		for (int i = 0; i < quantidade; i++) {
+			chaves[i] = funcaoChave.applyAsInt(itens[i]);
+			if ((i > 0) && (chaves[i] <= chaves[i - 1]))
+				emOrdem = false;
+		}
+
+		if (!emOrdem) {
+			/// Cada chave é combinada com a posição do seu item em um único long (chave nos 32 bits mais altos),
+			/// permitindo ordenar chaves e itens juntos sem objetos intermediários.
+			chavesEPosicoes = new long[quantidade];
+			for (int i = 0; i < quantidade; i++)
+				chavesEPosicoes[i] = ((long) chaves[i] << 32) | i;
+			Arrays.sort(chavesEPosicoes);
+
+			ordenados = Arrays.copyOf(itens, quantidade);
+			for (int i = 0; i < quantidade; i++) {
+				chaves[i] = (int) (chavesEPosicoes[i] >> 32);
+				ordenados[i] = itens[(int) chavesEPosicoes[i]];
+				if ((i > 0) && (chaves[i] == chaves[i - 1]))
+					throw new IllegalArgumentException("O item já foi inserido anteriormente na árvore.");
+			}
+		}
+
+		raiz = construirBalanceada(chaves, ordenados, 0, quantidade - 1);
+		tamanho = quantidade;
+	}
+
+	/**
+	 * Monta a sub-árvore perfeitamente balanceada com as chaves ordenadas do intervalo [inicio, fim].
+	 * @return a raiz da sub-árvore montada, ou null caso o intervalo seja vazio.
+	 */
+	private NoInt<V> construirBalanceada(int[] chaves, V[] itens, int inicio, int fim) {
+
+		int meio;
+		NoInt<V> raizArvore;
+
+		if (inicio > fim)
+			return null;
+
+		meio = (inicio + fim) >>> 1;
+		raizArvore = new NoInt<>(chaves[meio], itens[meio]);
+		raizArvore.setEsquerda(construirBalanceada(chaves, itens, inicio, meio - 1));
+		raizArvore.setDireita(construirBalanceada(chaves, itens, meio + 1, fim));
+		raizArvore.setAltura();
+		return raizArvore;
+	}
+
+	/**
+	 * Método booleano que indica se a árvore está vazia ou não.
+	 * @return verdadeiro se a árvore estiver vazia; falso, caso contrário.
+	 */
+	public boolean vazia() {
+		return (this.raiz == null);
+	}
+
+	/**
+	 * Localiza o nó da chave informada, registrando a quantidade de comparações e o tempo da pesquisa.
+	 * @param chave a chave procurada.
+	 * @return o nó que contém a chave, ou null caso ela não esteja presente na árvore.
+	 */
+	private NoInt<V> localizarNo(int chave) {
+
+		NoInt<V> procurado;
+
+		iniciarMedicao();
+		procurado = buscarNo(chave);
+		concluirMedicao(Operacao.PESQUISA);
+		return procurado;
+	}
+
+	/**
+	 * Desce iterativamente da raiz até o nó da chave informada, contando as comparações realizadas.
+	 * @return o nó que contém a chave, ou null caso ela não esteja presente na árvore.
+	 */
+	private NoInt<V> buscarNo(int chave) {
+
+		NoInt<V> atual = raiz;
+
+		while (atual != null) {
+			comparacoes++;
+			if (chave == atual.getChave())
+				break;
+			else if (chave < atual.getChave())
+				atual = atual.getEsquerda();
+			else
+				atual = atual.getDireita();
+		}
+		return atual;
+	}
+
+	/**
+	 * Zera a contagem de comparações e registra o início de uma operação.
+	 */
+	private void iniciarMedicao() {
+		comparacoes = 0;
+		inicio = System.nanoTime();
+	}
+
+	/**
+	 * Registra o término da operação iniciada por {@link #iniciarMedicao()}, 
+	 * acumulando sua duração e suas comparações no medidor da árvore.
+	 */
+	private void concluirMedicao(Operacao operacao) {
+		termino = System.nanoTime();
+		medidor.registrar(operacao, termino - inicio, comparacoes);
+	}
+
+	/**
+	 * Pesquisa o item associado à chave.
+	 * @param chave a chave do item que será pesquisado na árvore.
+	 * @return o valor associado à chave.
+	 * @throws NoSuchElementException se a chave não estiver presente na árvore.
+	 */
+	public V pesquisar(int chave) {
+
+		NoInt<V> procurado = localizarNo(chave);
+
+		if (procurado == null)
+			throw new NoSuchElementException("O item não foi localizado na árvore!");
+		return procurado.getItem();
+	}
+
+	public V pesquisarOuPadrao(int chave, V padrao) {
+
+		NoInt<V> procurado = localizarNo(chave);
+
+		return (procurado == null) ? padrao : procurado.getItem();
+	}
+
+	public boolean contem(int chave) {
+		return (localizarNo(chave) != null);
+	}
+
+	/**
+	 * Pesquisa o item associado à chave sem registrar a pesquisa no medidor da árvore, para as estruturas que a medem
+	 * como parte de uma operação própria (ver {@link CacheInt}). As comparações realizadas são informadas por {@link #getComparacoes()}.
+	 * @return o item associado à chave, ou o valor padrão caso ela não esteja presente na árvore.
+	 */
+	V pesquisarSemRegistro(int chave, V padrao) {
+
+		NoInt<V> procurado;
+
+		comparacoes = 0;
+		procurado = buscarNo(chave);
+		return (procurado == null) ? padrao : procurado.getItem();
+	}
+
+	/**
+	 * Método que encapsula a adição recursiva de itens à árvore, associando-o à chave fornecida.
+	 * @param chave a chave associada ao item que será inserido na árvore.
+	 * @param item o item que será inserido na árvore.
+	 * @return o tamanho atualizado da árvore após a execução da operação de inserção.
+	 * @throws IllegalArgumentException se um item com a mesma chave já estiver presente na árvore.
+	 */
+	public int inserir(int chave, V item) {
+
+		iniciarMedicao();
+		try {
+			this.raiz = inserir(this.raiz, chave, item);
+		} finally {
+			concluirMedicao(Operacao.INSERCAO);
+		}
+		tamanho++;
+		return tamanho;
+	}
+
+	private NoInt<V> inserir(NoInt<V> raizArvore, int chave, V item) {
+
+		if (raizArvore == null)
+			return new NoInt<>(chave, item);
+
+		comparacoes++;
+		if (chave < raizArvore.getChave())
+			raizArvore.setEsquerda(inserir(raizArvore.getEsquerda(), chave, item));
+		else if (chave > raizArvore.getChave())
+			raizArvore.setDireita(inserir(raizArvore.getDireita(), chave, item));
+		else
+			throw new IllegalArgumentException("O item já foi inserido anteriormente na árvore.");
+
+		return balancear(raizArvore);
+	}
+
+	/**
+	 * Retorna o item associado à chave ou, caso ela não esteja presente, cria o item e o insere
+	 * na posição em que a pesquisa terminou.
+	 * @param chave a chave do item.
+	 * @param funcaoCriacao função que cria o item, chamada apenas se a chave não estiver presente.
+	 * @return o item já existente ou o item recém-criado.
+	 */
+	public V computeIfAbsent(int chave, IntFunction<? extends V> funcaoCriacao) {
+
+		iniciarMedicao();
+		this.raiz = computeIfAbsent(this.raiz, chave, funcaoCriacao);
+		concluirMedicao(Operacao.ATUALIZACAO);
+		return resultadoOperacao;
+	}
+
+	private NoInt<V> computeIfAbsent(NoInt<V> raizArvore, int chave, IntFunction<? extends V> funcaoCriacao) {
+
+		if (raizArvore == null) {
+			resultadoOperacao = funcaoCriacao.apply(chave);
+			tamanho++;
+			return new NoInt<>(chave, resultadoOperacao);
+		}
+
+		comparacoes++;
+		if (chave < raizArvore.getChave())
+			raizArvore.setEsquerda(computeIfAbsent(raizArvore.getEsquerda(), chave, funcaoCriacao));
+		else if (chave > raizArvore.getChave())
+			raizArvore.setDireita(computeIfAbsent(raizArvore.getDireita(), chave, funcaoCriacao));
+		else {
+			resultadoOperacao = raizArvore.getItem();
+			return raizArvore;
+		}
+
+		return balancear(raizArvore);
+	}
+
+	/**
+	 * Associa o item à chave: insere-o, caso a chave ainda não esteja presente, ou substitui o item anterior.
+	 * @param chave a chave do item.
+	 * @param item o novo item associado à chave.
+	 * @return o item anteriormente associado à chave, ou null caso a chave tenha sido inserida.
+	 */
+	public V upsert(int chave, V item) {
+
+		iniciarMedicao();
+		resultadoOperacao = null;
+		this.raiz = upsert(this.raiz, chave, item);
+		concluirMedicao(Operacao.ATUALIZACAO);
+		return resultadoOperacao;
+	}
+
+	private NoInt<V> upsert(NoInt<V> raizArvore, int chave, V item) {
+
+		if (raizArvore == null) {
+			tamanho++;
+			return new NoInt<>(chave, item);
+		}
+
+		comparacoes++;
+		if (chave < raizArvore.getChave())
+			raizArvore.setEsquerda(upsert(raizArvore.getEsquerda(), chave, item));
+		else if (chave > raizArvore.getChave())
+			raizArvore.setDireita(upsert(raizArvore.getDireita(), chave, item));
+		else {
+			resultadoOperacao = raizArvore.getItem();
+			raizArvore.setItem(item);
+			return raizArvore;
+		}
+
+		return balancear(raizArvore);
+	}
+
+	/**
+	 * Método que encapsula a remoção recursiva de um item da árvore.
+	 * @param chave a chave do item que deverá ser localizado e removido da árvore.
+	 * @return o valor associado ao item removido.
+	 * @throws NoSuchElementException se a chave não estiver presente na árvore.
+	 */
+	public V remover(int chave) {
+
+		NoInt<V> alvo;
+		V removido;
+
+		iniciarMedicao();
+		alvo = buscarNo(chave);
+		if (alvo == null) {
+			concluirMedicao(Operacao.REMOCAO);
+			throw new NoSuchElementException("O item a ser removido não foi localizado na árvore!");
+		}
+
+		removido = alvo.getItem();
+		raiz = remover(raiz, chave);
+		tamanho--;
+		concluirMedicao(Operacao.REMOCAO);
+		return removido;
+	}
+
+	private NoInt<V> remover(NoInt<V> raizArvore, int chaveRemover) {
+
+		if (raizArvore == null)
+			throw new NoSuchElementException("O item a ser removido não foi localizado na árvore!");
+
+		if (chaveRemover == raizArvore.getChave()) {
+			if (raizArvore.getDireita() == null)
+				return raizArvore.getEsquerda();
+			else if (raizArvore.getEsquerda() == null)
+				return raizArvore.getDireita();
+			else
+				/// O nó possui descendentes à esquerda e à direita: é substituído pelo seu antecessor.
+				raizArvore.setEsquerda(removerNoAntecessor(raizArvore, raizArvore.getEsquerda()));
+		} else if (chaveRemover < raizArvore.getChave())
+			raizArvore.setEsquerda(remover(raizArvore.getEsquerda(), chaveRemover));
+		else
+			raizArvore.setDireita(remover(raizArvore.getDireita(), chaveRemover));
+
+		return balancear(raizArvore);
+	}
+
+	private NoInt<V> removerNoAntecessor(NoInt<V> itemRetirar, NoInt<V> raizArvore) {
+
+		if (raizArvore.getDireita() != null) {
+			raizArvore.setDireita(removerNoAntecessor(itemRetirar, raizArvore.getDireita()));
+			return balancear(raizArvore);
+		}
+
+		itemRetirar.setChave(raizArvore.getChave());
+		itemRetirar.setItem(raizArvore.getItem());
+		return raizArvore.getEsquerda();
+	}
+
+	private NoInt<V> balancear(NoInt<V> raizArvore) {
+
+		int fatorBalanceamento;
+
+		fatorBalanceamento = raizArvore.getFatorBalanceamento();
+
+		if (fatorBalanceamento == 2) {
+			// árvore desbalanceada à esquerda.
+			if (raizArvore.getEsquerda().getFatorBalanceamento() == -1)
+				// Rotação dupla
+				raizArvore.setEsquerda(rotacionarEsquerda(raizArvore.getEsquerda()));
+			raizArvore = rotacionarDireita(raizArvore);
+		} else if (fatorBalanceamento == -2) {
+			// árvore desbalanceada à direita.
+			if (raizArvore.getDireita().getFatorBalanceamento() == 1)
+				// Rotação dupla
+				raizArvore.setDireita(rotacionarDireita(raizArvore.getDireita()));
+			raizArvore = rotacionarEsquerda(raizArvore);
+		} else
+			raizArvore.setAltura();
+
+		return raizArvore;
+	}
+
+	private NoInt<V> rotacionarDireita(NoInt<V> p) {
+
+		NoInt<V> u = p.getEsquerda();
+
+		p.setEsquerda(u.getDireita());
+		u.setDireita(p);
+
+		p.setAltura();
+		u.setAltura();
+
+		return u;
+	}
+
+	private NoInt<V> rotacionarEsquerda(NoInt<V> p) {
+
+		NoInt<V> z = p.getDireita();
+
+		p.setDireita(z.getEsquerda());
+		z.setEsquerda(p);
+
+		p.setAltura();
+		z.setAltura();
+
+		return z;
+	}
+
+	/// Métodos de IMapeamento com chave Integer: apenas delegam para as versões de chave primitiva.
+
+	@Override
+	public int inserir(Integer chave, V item) {
+		return inserir(chave.intValue(), item);
+	}
+
+	@Override
+	public V pesquisar(Integer chave) {
+		return pesquisar(chave.intValue());
+	}
+
+	@Override
+	public V pesquisarOuPadrao(Integer chave, V padrao) {
+		return pesquisarOuPadrao(chave.intValue(), padrao);
+	}
+
+	@Override
+	public boolean contem(Integer chave) {
+		return contem(chave.intValue());
+	}
+
+	@Override
+	public V computeIfAbsent(Integer chave, Function<? super Integer, ? extends V> funcaoCriacao) {
+		return computeIfAbsent(chave.intValue(), (int novaChave) -> funcaoCriacao.apply(novaChave));
+	}
+
+	@Override
+	public V upsert(Integer chave, V item) {
+		return upsert(chave.intValue(), item);
+	}
+
+	@Override
+	public V remover(Integer chave) {
+		return remover(chave.intValue());
+	}
+
+	@Override
+	public int tamanho() {
+		return tamanho;
+	}
+
+	@Override
+	public String toString(){
+		return percorrer();
+	}
+
+	@Override
+	public String percorrer() {
+
+		StringBuilder resposta = new StringBuilder();
+
+		try {
+			percorrer(resposta);
+		} catch (IOException excecao) { /// não ocorre: StringBuilder não lança IOException.
+			throw new UncheckedIOException(excecao);
+		}
+		return resposta.toString();
+	}
+
+	/**
+	 * Escreve os itens da árvore no destino informado, em ordem crescente de chave, um por linha.
+	 * @throws IllegalStateException caso a árvore esteja vazia.
+	 */
+	@Override
+	public void percorrer(Appendable destino) throws IOException {
+
+		if (vazia())
+			throw new IllegalStateException("A árvore está vazia!");
+
+		IMapeamento.super.percorrer(destino);
+	}
+
+	@Override
+	public void paraCada(Consumer<? super V> acao) {
+		paraCada(raiz, acao);
+	}
+
+	private void paraCada(NoInt<V> raizArvore, Consumer<? super V> acao) {
+
+		if (raizArvore != null) {
+			paraCada(raizArvore.getEsquerda(), acao);
+			acao.accept(raizArvore.getItem());
+			paraCada(raizArvore.getDireita(), acao);
+		}
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000.0;
+	}
+
+	@Override
+	public Medidor getMedidor() {
+		return medidor;
+	}
+}
@@ -0,0 +1,196 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Árvore AVL que admite chaves repetidas (multimapa): cada nó armazena uma chave e a lista, em vetor ({@link ListaArray}),
+ * de todos os itens associados a ela, na ordem de inserção.
+ *
+ * A árvore de nós é uma {@link AVL} comum, com o mesmo balanceamento: há um nó por chave distinta, e os itens repetidos
+ * ocupam apenas uma posição a mais na lista do nó. Assim, índices secundários por atributos que se repetem
+ * (descrição, faixa de preço, data de validade) não precisam de um critério de desempate na chave:
+ * a pesquisa de uma chave custa O(log n) e retorna todos os k itens dela, e o percurso de um intervalo de chaves custa O(log n + k).
+ */
+public class AVLMultimapa<K, V> implements IMedicao {
+
+	private final AVL<K, ListaArray<V>> arvore;
+	private int tamanho; /// quantidade de itens, somando as listas de todas as chaves.
+
+	/**
+	 * Construtor da classe.
+	 * O comparador padrão de ordem natural será utilizado.
+	 */
+	public AVLMultimapa() {
+		arvore = new AVL<>();
+	}
+
+	public AVLMultimapa(Comparator<K> comparador) {
+		arvore = new AVL<>(comparador);
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Cria o multimapa com os itens de outra estrutura de busca, organizados por uma nova chave, que pode se repetir.
+	 * Os itens são ordenados uma única vez pela nova chave (de forma estável: os itens de mesma chave mantêm a ordem
+	 * da estrutura original), agrupados por chave e a árvore é construída em lote.
+	 * @param original a estrutura de busca original.
+	 * @param funcaoChave a função que irá extrair a nova chave de cada item.
+	 * @param comparador o comparador a ser utilizado para organizar as chaves.
+	 */
+	@SuppressWarnings("unchecked")
+	public AVLMultimapa(IMapeamento<?, V> original, Function<V, K> funcaoChave, Comparator<K> comparador) {
+
+		Object[] itens = new Object[original.tamanho()];
+		ListaArray<V>[] grupos;
+		int[] quantidade = {0};
+		int quantosGrupos = 0;
+
+		original.paraCada(item -> itens[quantidade[0]++] = item);
+		/// a ordenação de objetos de Arrays.sort é estável.
+		Arrays.sort(itens, 0, quantidade[0], (primeiro, segundo) -> comparador.compare(funcaoChave.apply((V) primeiro), funcaoChave.apply((V) segundo)));
+
+		grupos = (ListaArray<V>[]) new ListaArray<?>[quantidade[0]];
+		for (int i = 0; i < quantidade[0]; i++) {
+			if ((i == 0) || (comparador.compare(funcaoChave.apply((V) itens[i - 1]), funcaoChave.apply((V) itens[i])) != 0))
+				grupos[quantosGrupos++] = novaLista();
+			grupos[quantosGrupos - 1].inserirFinal((V) itens[i]);
+		}
+
+		/// a chave de cada grupo é a do seu primeiro item.
+		arvore = new AVL<>(Arrays.copyOf(grupos, quantosGrupos), grupo -> funcaoChave.apply(grupo.obter(0)), comparador);
+		tamanho = quantidade[0];
+	}
+
+	/// as operações das listas já são medidas como parte das operações da árvore.
+	private ListaArray<V> novaLista() {
+		return new ListaArray<>(1, Medidor.INATIVO);
+	}
+
+	/**
+	 * Associa mais um item à chave informada, após os itens que ela já possui, em uma única descida pela árvore.
+	 * @param chave a chave do item.
+	 * @param item o item a ser inserido.
+	 * @return a quantidade de itens do multimapa após a inserção.
+	 */
+	public int inserir(K chave, V item) {
+
+		arvore.computeIfAbsent(chave, nova -> novaLista()).inserirFinal(item);
+		return ++tamanho;
+	}
+
+	/**
+	 * Retorna todos os itens associados à chave informada, na ordem de inserção.
+	 * A sequência retornada é uma cópia: alterá-la não altera o multimapa.
+	 * @param chave a chave procurada.
+	 * @return os itens da chave (sequência vazia, caso a chave não esteja presente).
+	 */
+	public ListaArray<V> pesquisar(K chave) {
+
+		ListaArray<V> encontrados = arvore.pesquisarOuPadrao(chave, null);
+		ListaArray<V> copia = new ListaArray<>((encontrados == null) ? 1 : encontrados.tamanho(), Medidor.INATIVO);
+
+		if (encontrados != null)
+			encontrados.paraCada(copia::inserirFinal);
+		return copia;
+	}
+
+	/**
+	 * Quantidade de itens associados à chave informada.
+	 */
+	public int contar(K chave) {
+
+		ListaArray<V> encontrados = arvore.pesquisarOuPadrao(chave, null);
+
+		return (encontrados == null) ? 0 : encontrados.tamanho();
+	}
+
+	public boolean contem(K chave) {
+		return arvore.contem(chave);
+	}
+
+	/**
+	 * Remove, da chave informada, o primeiro item igual (equals) ao item informado.
+	 * Caso a chave fique sem itens, ela é removida da árvore.
+	 * @param chave a chave do item.
+	 * @param item o item a ser removido.
+	 * @return o item removido.
+	 * @throws NoSuchElementException caso a chave não esteja presente ou não possua o item informado.
+	 */
+	public V remover(K chave, V item) {
+
+		ListaArray<V> encontrados = arvore.pesquisarOuPadrao(chave, null);
+		V removido;
+
+		if (encontrados == null)
+			throw new NoSuchElementException("O item a ser removido não foi localizado na árvore!");
+		/// lança NoSuchElementException caso a chave não possua o item.
+		removido = encontrados.remover(item);
+		if (encontrados.vazia())
+			arvore.remover(chave);
+		tamanho--;
+		return removido;
+	}
+
+	/**
+	 * Remove a chave informada e todos os seus itens.
+	 * @param chave a chave a ser removida.
+	 * @return os itens removidos, na ordem de inserção.
+	 * @throws NoSuchElementException caso a chave não esteja presente.
+	 */
+	public ListaArray<V> removerTodos(K chave) {
+
+		ListaArray<V> removidos = arvore.remover(chave);
+
+		tamanho -= removidos.tamanho();
+		return removidos;
+	}
+
+	/**
+	 * Executa a ação informada sobre cada item cuja chave está no intervalo [menor, maior],
+	 * em ordem crescente de chave e, para cada chave, na ordem de inserção. Custo O(log n + k).
+	 * @param menor menor chave do intervalo (inclusive).
+	 * @param maior maior chave do intervalo (inclusive).
+	 * @param acao ação a ser executada sobre cada item do intervalo.
+	 */
+	public void paraCadaEntre(K menor, K maior, Consumer<? super V> acao) {
+		arvore.paraCadaEntre(menor, maior, itens -> itens.paraCada(acao));
+	}
+
+	/**
+	 * Executa a ação informada sobre cada item, em ordem crescente de chave e, para cada chave, na ordem de inserção.
+	 */
+	public void paraCada(Consumer<? super V> acao) {
+		arvore.paraCada(itens -> itens.paraCada(acao));
+	}
+
+	/**
+	 * Quantidade de itens, somando todas as chaves.
+	 */
+	public int tamanho() {
+		return tamanho;
+	}
+
+	/**
+	 * Quantidade de chaves distintas (nós da árvore).
+	 */
+	public int quantidadeChaves() {
+		return arvore.tamanho();
+	}
+
+	@Override
+	public long getComparacoes() {
+		return arvore.getComparacoes();
+	}
+
+	@Override
+	public double getTempo() {
+		return arvore.getTempo();
+	}
+
+	@Override
+	public Medidor getMedidor() {
+		return arvore.getMedidor();
+	}
+}
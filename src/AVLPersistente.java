@@ -0,0 +1,630 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Árvore AVL persistente: os nós nunca são alterados depois de criados.
+ *
+ * Cada escrita (inserção, substituição ou remoção) cria uma nova versão da árvore, copiando apenas os O(log n) nós
+ * do caminho entre a raiz e a posição alterada (e os nós envolvidos em rotações); todos os demais nós são compartilhados
+ * com a versão anterior. A nova versão é publicada por uma única escrita volátil da raiz.
+ *
+ * Por isso, {@link #snapshot()} é O(1): a cópia é apenas uma nova referência à raiz atual, e nenhuma escrita posterior
+ * a altera. Percursos longos (por exemplo, a geração de um relatório) podem ser feitos sobre uma cópia,
+ * sem travas e sem bloquear as escritas. As pesquisas também não usam travas; as escritas são executadas uma de cada vez.
+ *
+ * Uma pesquisa não escreve em memória compartilhada nem aloca objetos: a duração e as comparações da última pesquisa
+ * ({@link #getTempo()} e {@link #getComparacoes()}) são mantidas por thread, e as pesquisas só são registradas no medidor
+ * da árvore após {@link #setMedirPesquisas(boolean)}. As escritas são sempre registradas.
+ */
+public class AVLPersistente<K, V> implements IMapeamento<K, V> {
+
+	/**
+	 * Nó imutável da árvore. Armazena também a altura e a quantidade de nós da sua sub-árvore,
+	 * de modo que o tamanho de qualquer versão é obtido em O(1).
+	 */
+	private static final class NoPersistente<K, V> {
+
+		final K chave;
+		final V item;
+		final NoPersistente<K, V> esquerda;
+		final NoPersistente<K, V> direita;
+		final int altura;
+		final int tamanho;
+
+		NoPersistente(K chave, V item, NoPersistente<K, V> esquerda, NoPersistente<K, V> direita) {
+			this.chave = chave;
+			this.item = item;
+			this.esquerda = esquerda;
+			this.direita = direita;
+			this.altura = Math.max(altura(esquerda), altura(direita)) + 1;
+			this.tamanho = tamanho(esquerda) + tamanho(direita) + 1;
+		}
+	}
+
+	/**
+	 * Medição da última pesquisa de uma thread, em qualquer árvore persistente: as árvores são numerosas
+	 * (por exemplo, uma por produto, mais as cópias), e um único registro por thread evita um ThreadLocal por árvore.
+	 */
+	private static final class UltimaPesquisa {
+		long comparacoes;
+		long duracao;
+		/// árvore da última pesquisa da thread; null, caso a thread tenha escrito nela depois da pesquisa.
+		AVLPersistente<?, ?> arvore;
+	}
+
+	private static final ThreadLocal<UltimaPesquisa> ULTIMA_PESQUISA = ThreadLocal.withInitial(UltimaPesquisa::new);
+
+	/// raiz da versão atual; null, caso a árvore esteja vazia.
+	private volatile NoPersistente<K, V> raiz;
+	private final Comparator<K> comparador;
+
+	/// serializa as escritas: cada escrita cria a nova versão a partir da versão publicada pela anterior.
+	private final ReentrantLock escrita = new ReentrantLock();
+
+	/// nós criados pelas escritas desta árvore (as cópias do caminho), desde a sua criação,
+	/// e comparações da escrita em andamento. Ambos são alterados apenas com a trava de escrita.
+	private long nosCriados;
+	private long comparacoesEscrita;
+
+	/// comparações e tempo da última escrita concluída, por qualquer thread.
+	private volatile long comparacoes;
+	private volatile long duracao;
+	private final Medidor medidor;
+	private volatile boolean medirPesquisas;
+
+	/**
+	 * Construtor da classe.
+	 * O comparador padrão de ordem natural será utilizado.
+	 */
+	@SuppressWarnings("unchecked")
+	public AVLPersistente() {
+		this((Comparator<K>) Comparator.naturalOrder());
+	}
+
+	public AVLPersistente(Comparator<K> comparador) {
+		this(null, comparador, new Medidor());
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Cria uma árvore vazia cujas operações são registradas no medidor informado, que pode ser compartilhado
+	 * por várias árvores pequenas (ou {@link Medidor#INATIVO}, para não registrá-las).
+	 */
+	public AVLPersistente(Comparator<K> comparador, Medidor medidor) {
+		this(null, comparador, medidor);
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Cria uma árvore persistente com os itens de outra estrutura de busca, organizados por uma nova chave.
+	 * A árvore é construída em lote, em tempo linear após uma única ordenação das chaves.
+	 * @throws IllegalArgumentException se dois itens produzirem a mesma chave.
+	 */
+	public AVLPersistente(IMapeamento<?, V> original, Function<V, K> funcaoChave, Comparator<K> comparador) {
+
+		this(comparador);
+
+		@SuppressWarnings("unchecked")
+		Entrada<K, V>[] entradas = (Entrada<K, V>[]) new Entrada<?, ?>[original.tamanho()];
+		int[] quantidade = {0};
+
+		original.paraCada(item -> entradas[quantidade[0]++] = new Entrada<>(funcaoChave.apply(item), item));
+		raiz = construirOrdenando(entradas, quantidade[0]);
+	}
+
+	/**
+	 * Cria uma árvore com os itens informados, que já estão em ordem estritamente crescente da chave extraída de cada item
+	 * (por exemplo, pedidos em ordem de identificador). A árvore é construída em lote, em tempo linear, sem ordenação.
+	 * @param itens vetor com os itens, nas posições 0 a quantidade - 1.
+	 * @param quantidade quantidade de itens.
+	 * @param medidor medidor em que são registradas as operações da árvore.
+	 * @throws IllegalArgumentException se as chaves não estiverem em ordem estritamente crescente.
+	 */
+	static <K, V> AVLPersistente<K, V> ordenada(V[] itens, int quantidade, Function<V, K> funcaoChave, Comparator<K> comparador,
+			Medidor medidor) {
+
+		for (int i = 1; i < quantidade; i++)
+			if (comparador.compare(funcaoChave.apply(itens[i - 1]), funcaoChave.apply(itens[i])) >= 0)
+				throw new IllegalArgumentException("Os itens não estão em ordem estritamente crescente de chave.");
+		return new AVLPersistente<>(construirOrdenada(itens, 0, quantidade - 1, funcaoChave), comparador, medidor);
+	}
+
+	private static <K, V> NoPersistente<K, V> construirOrdenada(V[] itens, int inicio, int fim, Function<V, K> funcaoChave) {
+
+		int meio;
+
+		if (inicio > fim)
+			return null;
+
+		meio = (inicio + fim) >>> 1;
+		return new NoPersistente<>(funcaoChave.apply(itens[meio]), itens[meio],
+				construirOrdenada(itens, inicio, meio - 1, funcaoChave), construirOrdenada(itens, meio + 1, fim, funcaoChave));
+	}
+
+	/// versão já existente: usado pelas cópias.
+	private AVLPersistente(NoPersistente<K, V> raiz, Comparator<K> comparador, Medidor medidor) {
+		this.raiz = raiz;
+		this.comparador = comparador;
+		this.medidor = medidor;
+	}
+
+	private static int altura(NoPersistente<?, ?> no) {
+		return (no == null) ? -1 : no.altura;
+	}
+
+	private static int tamanho(NoPersistente<?, ?> no) {
+		return (no == null) ? 0 : no.tamanho;
+	}
+
+	/// ordena as entradas pela chave, rejeita chaves repetidas e constrói a árvore balanceada.
+	private NoPersistente<K, V> construirOrdenando(Entrada<K, V>[] entradas, int quantidade) {
+
+		Arrays.sort(entradas, 0, quantidade, (primeira, segunda) -> comparador.compare(primeira.getChave(), segunda.getChave()));
+		for (int i = 1; i < quantidade; i++)
+			if (comparador.compare(entradas[i - 1].getChave(), entradas[i].getChave()) == 0)
+				throw new IllegalArgumentException("O item já foi inserido anteriormente na árvore.");
+		return construirBalanceada(entradas, 0, quantidade - 1);
+	}
+
+	private NoPersistente<K, V> construirBalanceada(Entrada<K, V>[] entradas, int inicio, int fim) {
+
+		int meio;
+
+		if (inicio > fim)
+			return null;
+
+		meio = (inicio + fim) >>> 1;
+		return new NoPersistente<>(entradas[meio].getChave(), entradas[meio].getValor(),
+				construirBalanceada(entradas, inicio, meio - 1), construirBalanceada(entradas, meio + 1, fim));
+	}
+
+	/**
+	 * Retorna uma cópia da versão atual da árvore, em O(1): a cópia compartilha todos os nós com esta árvore,
+	 * e as escritas posteriores em qualquer uma das duas não alteram a outra.
+	 * As operações da cópia não são registradas em nenhum medidor.
+	 * @return uma árvore com o conteúdo atual desta árvore.
+	 */
+	public AVLPersistente<K, V> snapshot() {
+		return new AVLPersistente<>(raiz, comparador, Medidor.INATIVO);
+	}
+
+	/**
+	 * Quantidade de nós desta árvore que também pertencem à árvore informada (por exemplo, uma cópia anterior).
+	 * Como os nós são imutáveis, um nó compartilhado implica o compartilhamento de toda a sua sub-árvore.
+	 * @param outra a outra versão da árvore.
+	 * @return a quantidade de nós compartilhados, entre 0 e {@link #tamanho()}.
+	 */
+	public int nosCompartilhados(AVLPersistente<K, V> outra) {
+
+		Set<NoPersistente<K, V>> nosOutra = Collections.newSetFromMap(new IdentityHashMap<>());
+		NoPersistente<K, V> versaoAtual = raiz;
+
+		visitarNos(outra.raiz, no -> nosOutra.add(no));
+		return contarCompartilhados(versaoAtual, nosOutra);
+	}
+
+	private int contarCompartilhados(NoPersistente<K, V> no, Set<NoPersistente<K, V>> nosOutra) {
+
+		if (no == null)
+			return 0;
+		if (nosOutra.contains(no))
+			return no.tamanho;
+		return contarCompartilhados(no.esquerda, nosOutra) + contarCompartilhados(no.direita, nosOutra);
+	}
+
+	/**
+	 * Quantidade de nós criados pelas escritas desta árvore, desde a sua criação.
+	 * Uma cópia completa a cada escrita criaria {@link #tamanho()} nós por escrita.
+	 */
+	public long getNosCriados() {
+		escrita.lock();
+		try {
+			return nosCriados;
+		} finally {
+			escrita.unlock();
+		}
+	}
+
+	public Boolean vazia() {
+		return (raiz == null);
+	}
+
+	/// cria um nó na escrita em andamento, contabilizando-o.
+	private NoPersistente<K, V> criar(K chave, V item, NoPersistente<K, V> esquerda, NoPersistente<K, V> direita) {
+		nosCriados++;
+		return new NoPersistente<>(chave, item, esquerda, direita);
+	}
+
+	private NoPersistente<K, V> rotacionarDireita(NoPersistente<K, V> no) {
+
+		NoPersistente<K, V> filho = no.esquerda;
+
+		return criar(filho.chave, filho.item, filho.esquerda, criar(no.chave, no.item, filho.direita, no.direita));
+	}
+
+	private NoPersistente<K, V> rotacionarEsquerda(NoPersistente<K, V> no) {
+
+		NoPersistente<K, V> filho = no.direita;
+
+		return criar(filho.chave, filho.item, criar(no.chave, no.item, no.esquerda, filho.esquerda), filho.direita);
+	}
+
+	/**
+	 * Cria o nó com a chave, o item e as sub-árvores informadas, restaurando o balanceamento AVL por meio de rotações,
+	 * caso as alturas das sub-árvores difiram em mais de uma unidade.
+	 * @return a raiz da nova sub-árvore balanceada.
+	 */
+	private NoPersistente<K, V> balancear(K chave, V item, NoPersistente<K, V> esquerda, NoPersistente<K, V> direita) {
+
+		NoPersistente<K, V> no = criar(chave, item, esquerda, direita);
+		int fatorBalanceamento = altura(esquerda) - altura(direita);
+
+		if (fatorBalanceamento > 1) {
+			/// sub-árvore esquerda mais alta: rotação dupla caso o filho esquerdo penda para a direita.
+			if (altura(esquerda.esquerda) < altura(esquerda.direita))
+				no = criar(chave, item, rotacionarEsquerda(esquerda), direita);
+			return rotacionarDireita(no);
+		}
+		if (fatorBalanceamento < -1) {
+			if (altura(direita.direita) < altura(direita.esquerda))
+				no = criar(chave, item, esquerda, rotacionarDireita(direita));
+			return rotacionarEsquerda(no);
+		}
+		return no;
+	}
+
+	/**
+	 * Cria a nova versão da sub-árvore com o item associado à chave.
+	 * @param substituir indica se o item de uma chave já presente deve ser substituído; caso contrário,
+	 * uma chave já presente provoca IllegalArgumentException.
+	 * @param anterior vetor de uma posição em que é armazenado o item anteriormente associado à chave.
+	 * @return a raiz da nova versão da sub-árvore.
+	 */
+	private NoPersistente<K, V> inserir(NoPersistente<K, V> no, K chave, V item, boolean substituir, Object[] anterior) {
+
+		int comparacao;
+
+		if (no == null)
+			return criar(chave, item, null, null);
+
+		comparacoesEscrita++;
+		comparacao = comparador.compare(chave, no.chave);
+		if (comparacao < 0)
+			return balancear(no.chave, no.item, inserir(no.esquerda, chave, item, substituir, anterior), no.direita);
+		if (comparacao > 0)
+			return balancear(no.chave, no.item, no.esquerda, inserir(no.direita, chave, item, substituir, anterior));
+
+		if (!substituir)
+			throw new IllegalArgumentException("O item já foi inserido anteriormente na árvore.");
+		anterior[0] = no.item;
+		return criar(chave, item, no.esquerda, no.direita);
+	}
+
+	/**
+	 * Cria a nova versão da sub-árvore sem a chave informada.
+	 * @param removido vetor de uma posição em que é armazenado o item removido.
+	 * @return a raiz da nova versão da sub-árvore.
+	 * @throws NoSuchElementException se a chave não estiver presente na sub-árvore.
+	 */
+	private NoPersistente<K, V> remover(NoPersistente<K, V> no, K chave, Object[] removido) {
+
+		int comparacao;
+		NoPersistente<K, V> sucessor;
+
+		if (no == null)
+			throw new NoSuchElementException("O item a ser removido não foi localizado na árvore!");
+
+		comparacoesEscrita++;
+		comparacao = comparador.compare(chave, no.chave);
+		if (comparacao < 0)
+			return balancear(no.chave, no.item, remover(no.esquerda, chave, removido), no.direita);
+		if (comparacao > 0)
+			return balancear(no.chave, no.item, no.esquerda, remover(no.direita, chave, removido));
+
+		removido[0] = no.item;
+		if (no.esquerda == null)
+			return no.direita;
+		if (no.direita == null)
+			return no.esquerda;
+
+		/// o nó removido tem dois filhos: é substituído pelo seu sucessor, o menor nó da sub-árvore direita.
+		sucessor = no.direita;
+		while (sucessor.esquerda != null)
+			sucessor = sucessor.esquerda;
+		return balancear(sucessor.chave, sucessor.item, no.esquerda, removerMenor(no.direita));
+	}
+
+	private NoPersistente<K, V> removerMenor(NoPersistente<K, V> no) {
+
+		if (no.esquerda == null)
+			return no.direita;
+		return balancear(no.chave, no.item, removerMenor(no.esquerda), no.direita);
+	}
+
+	/**
+	 * Pesquisa a chave na versão atual da árvore, sem travas.
+	 * @return o nó que contém a chave, ou null caso ela não esteja presente.
+	 */
+	private NoPersistente<K, V> localizar(K chave) {
+
+		UltimaPesquisa medicao = ULTIMA_PESQUISA.get();
+		long inicio = System.nanoTime();
+		NoPersistente<K, V> atual = raiz;
+		long quantasComparacoes = 0;
+		int comparacao;
+
+		while (atual != null) {
+			quantasComparacoes++;
+			comparacao = comparador.compare(chave, atual.chave);
+			if (comparacao == 0)
+				break;
+			atual = (comparacao < 0) ? atual.esquerda : atual.direita;
+		}
+
+		medicao.duracao = System.nanoTime() - inicio;
+		medicao.comparacoes = quantasComparacoes;
+		medicao.arvore = this;
+		if (medirPesquisas)
+			medidor.registrar(Operacao.PESQUISA, medicao.duracao, quantasComparacoes);
+		return atual;
+	}
+
+	/// pesquisa, com a trava de escrita, contabilizando as comparações na escrita em andamento.
+	private NoPersistente<K, V> buscar(NoPersistente<K, V> raizVersao, K chave) {
+
+		NoPersistente<K, V> atual = raizVersao;
+		int comparacao;
+
+		while (atual != null) {
+			comparacoesEscrita++;
+			comparacao = comparador.compare(chave, atual.chave);
+			if (comparacao == 0)
+				return atual;
+			atual = (comparacao < 0) ? atual.esquerda : atual.direita;
+		}
+		return null;
+	}
+
+	/// registra a escrita concluída; a partir dela, getComparacoes e getTempo desta thread se referem à escrita.
+	private void concluirMedicao(Operacao operacao, long inicio, long quantasComparacoes) {
+
+		UltimaPesquisa medicao = ULTIMA_PESQUISA.get();
+
+		duracao = System.nanoTime() - inicio;
+		comparacoes = quantasComparacoes;
+		if (medicao.arvore == this)
+			medicao.arvore = null;
+		medidor.registrar(operacao, duracao, quantasComparacoes);
+	}
+
+	/**
+	 * Define se as pesquisas são registradas no medidor da árvore (por padrão, não são).
+	 * O registro atualiza contadores compartilhados por todas as threads e limita, portanto, a escalabilidade das pesquisas.
+	 */
+	public void setMedirPesquisas(boolean medirPesquisas) {
+		this.medirPesquisas = medirPesquisas;
+	}
+
+	@Override
+	public V pesquisar(K chave) {
+
+		NoPersistente<K, V> encontrado = localizar(chave);
+
+		if (encontrado == null)
+			throw new NoSuchElementException("O item não foi localizado na árvore!");
+		return encontrado.item;
+	}
+
+	@Override
+	public V pesquisarOuPadrao(K chave, V padrao) {
+
+		NoPersistente<K, V> encontrado = localizar(chave);
+
+		return (encontrado == null) ? padrao : encontrado.item;
+	}
+
+	@Override
+	public boolean contem(K chave) {
+		return (localizar(chave) != null);
+	}
+
+	/**
+	 * Insere o item na árvore, criando uma nova versão.
+	 * @return o tamanho da árvore após a inserção.
+	 * @throws IllegalArgumentException se um item com a mesma chave já estiver presente na árvore.
+	 */
+	@Override
+	public int inserir(K chave, V item) {
+
+		long inicio = System.nanoTime();
+
+		escrita.lock();
+		try {
+			comparacoesEscrita = 0;
+			try {
+				raiz = inserir(raiz, chave, item, false, new Object[1]);
+			} finally {
+				concluirMedicao(Operacao.INSERCAO, inicio, comparacoesEscrita);
+			}
+			return raiz.tamanho;
+		} finally {
+			escrita.unlock();
+		}
+	}
+
+	@Override
+	public V computeIfAbsent(K chave, Function<? super K, ? extends V> funcaoCriacao) {
+
+		NoPersistente<K, V> encontrado = localizar(chave);
+		long inicio;
+		V novo;
+
+		/// caso a chave já esteja presente, a operação termina sem a trava de escrita.
+		if (encontrado != null)
+			return encontrado.item;
+
+		escrita.lock();
+		try {
+			/// outra escrita pode ter inserido a chave depois da pesquisa sem travas.
+			inicio = System.nanoTime();
+			comparacoesEscrita = 0;
+			encontrado = buscar(raiz, chave);
+			if (encontrado != null)
+				return encontrado.item;
+
+			novo = funcaoCriacao.apply(chave);
+			raiz = inserir(raiz, chave, novo, false, new Object[1]);
+			concluirMedicao(Operacao.ATUALIZACAO, inicio, comparacoesEscrita);
+			return novo;
+		} finally {
+			escrita.unlock();
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V upsert(K chave, V item) {
+
+		long inicio = System.nanoTime();
+		Object[] anterior = new Object[1];
+
+		escrita.lock();
+		try {
+			comparacoesEscrita = 0;
+			raiz = inserir(raiz, chave, item, true, anterior);
+			concluirMedicao(Operacao.ATUALIZACAO, inicio, comparacoesEscrita);
+			return (V) anterior[0];
+		} finally {
+			escrita.unlock();
+		}
+	}
+
+	/**
+	 * Remove o item associado à chave, criando uma nova versão da árvore.
+	 * @return o item removido.
+	 * @throws NoSuchElementException se a chave não estiver presente na árvore.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remover(K chave) {
+
+		long inicio = System.nanoTime();
+		Object[] removido = new Object[1];
+
+		escrita.lock();
+		try {
+			comparacoesEscrita = 0;
+			try {
+				raiz = remover(raiz, chave, removido);
+			} finally {
+				concluirMedicao(Operacao.REMOCAO, inicio, comparacoesEscrita);
+			}
+			return (V) removido[0];
+		} finally {
+			escrita.unlock();
+		}
+	}
+
+	@Override
+	public int tamanho() {
+		return tamanho(raiz);
+	}
+
+	/**
+	 * Executa a ação informada sobre cada item da versão atual da árvore, em ordem crescente de chave.
+	 * Escritas simultâneas não afetam o percurso, que não usa travas.
+	 */
+	@Override
+	public void paraCada(Consumer<? super V> acao) {
+		visitarNos(raiz, no -> acao.accept(no.item));
+	}
+
+	/// caminhamento em ordem iterativo, com uma pilha explícita dos nós cujas sub-árvores direitas ainda serão visitadas.
+	private static <K, V> void visitarNos(NoPersistente<K, V> raizVersao, Consumer<NoPersistente<K, V>> acao) {
+
+		@SuppressWarnings("unchecked")
+		NoPersistente<K, V>[] pilha = (NoPersistente<K, V>[]) new NoPersistente<?, ?>[altura(raizVersao) + 1];
+		NoPersistente<K, V> atual = raizVersao;
+		int topo = 0;
+
+		while ((atual != null) || (topo > 0)) {
+			while (atual != null) {
+				pilha[topo++] = atual;
+				atual = atual.esquerda;
+			}
+			atual = pilha[--topo];
+			acao.accept(atual);
+			atual = atual.direita;
+		}
+	}
+
+	@Override
+	public String percorrer() {
+
+		StringBuilder resposta = new StringBuilder();
+
+		try {
+			percorrer(resposta);
+		} catch (IOException excecao) { /// não ocorre: StringBuilder não lança IOException.
+			throw new UncheckedIOException(excecao);
+		}
+		return resposta.toString();
+	}
+
+	/**
+	 * Escreve os itens da versão atual da árvore no destino informado, em ordem crescente de chave, um por linha.
+	 * @throws IllegalStateException caso a árvore esteja vazia.
+	 * @throws IOException caso ocorra um erro de escrita no destino.
+	 */
+	@Override
+	public void percorrer(Appendable destino) throws IOException {
+
+		if (vazia())
+			throw new IllegalStateException("A árvore está vazia!");
+
+		IMapeamento.super.percorrer(destino);
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	/**
+	 * Quantidade de comparações da última pesquisa desta thread, caso tenha sido feita nesta árvore, depois da última escrita
+	 * desta thread nela; caso contrário, da última escrita, de qualquer thread.
+	 */
+	@Override
+	public long getComparacoes() {
+
+		UltimaPesquisa medicao = ULTIMA_PESQUISA.get();
+
+		return (medicao.arvore == this) ? medicao.comparacoes : comparacoes;
+	}
+
+	/**
+	 * Tempo da última pesquisa desta thread, caso tenha sido feita nesta árvore, depois da última escrita desta thread nela;
+	 * caso contrário, da última escrita, de qualquer thread.
+	 */
+	@Override
+	public double getTempo() {
+
+		UltimaPesquisa medicao = ULTIMA_PESQUISA.get();
+
+		return ((medicao.arvore == this) ? medicao.duracao : duracao) / 1_000_000.0;
+	}
+
+	@Override
+	public Medidor getMedidor() {
+		return medidor;
+	}
+}
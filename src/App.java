@@ -1,13 +1,17 @@
 import java.nio.charset.Charset;
 import java.time.LocalDate;
-import java.util.NoSuchElementException;
+import java.util.Arrays;
 import java.util.Random;
 import java.util.Scanner;
-import java.util.function.Function;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
 
 public class App {
 
@@ -21,17 +25,45 @@ public class App {
     /** Quantidade de produtos cadastrados atualmente na lista */
     static int quantosProdutos = 0;
 
-    static AVL<String, Produto> produtosBalanceadosPorNome;
+    static AVLConcorrente<String, Produto> produtosBalanceadosPorNome;
     
-    static AVL<Integer, Produto> produtosBalanceadosPorId;
+    /** Catálogo de produtos: mantém a árvore por id, a árvore por nome e as tabelas de pedidos e de fornecedores 
+     *  por produto consistentes entre si. Inserções, atualizações e remoções de produtos devem ser feitas por ele */
+    static Catalogo<Produto> catalogo;
     
-    static TabelaHash<Produto, Lista<Pedido>> pedidosPorProduto;
+    /** Índice de prefixos das descrições normalizadas (sem caso e sem acentos), para a busca por nome e o autocompletar */
+    static TrieRadix<Produto> produtosPorPrefixo;
+    
+    /** Índice invertido das palavras das descrições, com os identificadores dos produtos em que cada palavra aparece */
+    static IndiceInvertido palavrasDosProdutos;
+    
+    /** Índice de trigramas das descrições, para a busca por nome tolerante a erros de digitação */
+    static IndiceAproximado<Produto> produtosAproximados;
+    
+    /** Maior distância de edição aceita entre o nome digitado e a descrição de um produto */
+    static final int DISTANCIA_MAXIMA = 2;
+    
+    /** Quantidade máxima de sugestões exibidas pelo autocompletar */
+    static final int MAXIMO_SUGESTOES = 10;
+    
+    static AVLInt<Produto> produtosBalanceadosPorId;
+    
+    static IMapeamento<Produto, AVLPersistente<Integer, Pedido>> pedidosPorProduto;
     
     static String nomeArquivoFornecedores;
     
-    static AVL<Integer, Fornecedor> fornecedoresBalanceadosPorDocumento;
+    static AVLInt<Fornecedor> fornecedoresBalanceadosPorDocumento;
     
-    static TabelaHash<Produto, Lista<Fornecedor>> fornecedoresPorProduto;
+    static IMapeamento<Produto, Lista<Fornecedor>> fornecedoresPorProduto;
+    
+    /** Nome do arquivo da imagem binária do estado (ver ImagemEstado), gravada na raiz do projeto */
+    static String nomeArquivoImagem;
+    
+    /** Pedidos gerados ou recuperados da imagem */
+    static Lista<Pedido> pedidos;
+    
+    /** Imagem cujos pedidos ainda não foram decodificados: são indexados no primeiro acesso a pedidosPorProduto */
+    static ImagemEstado imagemPendente;
     
     static void limparTela() {
         System.out.print("\033[H\033[2J");
@@ -74,6 +106,9 @@ public class App {
         System.out.println("2 - Gravar, em arquivo, pedidos de um produto");
         System.out.println("3 - Relatório de fornecedor, por documento");
         System.out.println("4 - Gravar, em arquivo, fornecedores de um produto");
+        System.out.println("5 - Procurar produtos, pelo início da descrição");
+        System.out.println("6 - Procurar produtos, por palavras da descrição");
+        System.out.println("7 - Procurar produto, por nome");
         System.out.println("0 - Sair");
         System.out.print("Digite sua opção: ");
         try {
@@ -92,38 +127,20 @@ public class App {
      * @param nomeArquivoDados Nome do arquivo de dados a ser aberto.
      * @return Uma árvore com os produtos carregados, ou vazia em caso de problemas de leitura.
      */
-    static <K> AVL<K, Produto> lerProdutos(String nomeArquivoDados, Function<Produto, K> extratorDeChave) {
+    static AVLInt<Produto> lerProdutos(String nomeArquivoDados, ToIntFunction<Produto> extratorDeChave) {
     	
-    	Scanner arquivo = null;
-    	int numProdutos;
-    	String linha;
-    	Produto produto;
-    	AVL<K, Produto> produtosCadastrados;
-    	K chave;
+    	Produto[] produtos;
+    	AVLInt<Produto> produtosCadastrados;
     	
     	try {
-    		arquivo = new Scanner(new File(nomeArquivoDados), Charset.forName("UTF-8"));
-    		
-    		numProdutos = Integer.parseInt(arquivo.nextLine());
-    		produtosCadastrados = new AVL<K, Produto>();
-    		
-    		for (int i = 0; i < numProdutos; i++) {
-    			linha = arquivo.nextLine();
-    			produto = Produto.criarDoTexto(linha);
-    			// extrai a nova chave (id, nome, etc.) para organizar a árvore conforme a consulta alvo
-    			chave = extratorDeChave.apply(produto);
-    			produtosCadastrados.inserir(chave, produto);
-    		}
-    		quantosProdutos = numProdutos;
-    		
+    		// o arquivo é mapeado em memória e interpretado byte a byte, em fatias processadas em paralelo 
+    		// (ver LeitorProdutosMapeado); os ids seguem a ordem das linhas do arquivo
+    		produtos = LeitorProdutosMapeado.lerProdutosEmParalelo(Path.of(nomeArquivoDados), ForkJoinPool.commonPool());
+    		// constrói a árvore em lote, organizada pela chave extraída (id, nome, etc.) conforme a consulta alvo
+    		produtosCadastrados = new AVLInt<>(produtos, extratorDeChave);
+    		quantosProdutos = produtos.length;
     	} catch (IOException excecaoArquivo) {
-    		produtosCadastrados = new AVL<K, Produto>();
-    	} finally {
-    		if (arquivo != null) {
-    			try {
-    				arquivo.close();
-    			} catch (Exception ignore) {}
-    		}
+    		produtosCadastrados = new AVLInt<Produto>();
     	}
     	
     	return produtosCadastrados;
@@ -137,21 +154,21 @@ public class App {
      * No momento da criação, são selecionados aleatoriamente até 6 produtos para o fornecedor,
      * e o fornecedor é associado aos seus produtos na tabela hash Produto -> Lista<Fornecedor>.
      */
-    static <K> AVL<K, Fornecedor> lerFornecedores(String nomeArquivoDados, Function<Fornecedor, K> extratorDeChave) {
+    static AVLInt<Fornecedor> lerFornecedores(String nomeArquivoDados, ToIntFunction<Fornecedor> extratorDeChave) {
     	
     	Scanner arquivo = null;
     	int numFornecedores;
     	String linha;
     	Fornecedor fornecedor;
-    	AVL<K, Fornecedor> fornecedoresCadastrados;
-    	K chave;
+    	Fornecedor[] fornecedores;
+    	AVLInt<Fornecedor> fornecedoresCadastrados;
     	Random sorteio = new Random(84);
     	
     	try {
     		arquivo = new Scanner(new File(nomeArquivoDados), Charset.forName("UTF-8"));
     		
     		numFornecedores = Integer.parseInt(arquivo.nextLine());
-    		fornecedoresCadastrados = new AVL<K, Fornecedor>();
+    		fornecedores = new Fornecedor[numFornecedores];
     		
     		for (int i = 0; i < numFornecedores; i++) {
     			linha = arquivo.nextLine();
@@ -161,21 +178,20 @@ public class App {
     			int quantidade = sorteio.nextInt(7); // 0..6
     			for (int j = 0; j < quantidade; j++) {
     				int id = sorteio.nextInt(quantosProdutos) + 10_000;
-    				try {
-    					Produto produto = produtosBalanceadosPorId.pesquisar(id);
+    				Produto produto = produtosBalanceadosPorId.pesquisarOuPadrao(id, null);
+    				// id inexistente: ignora
+    				if (produto != null) {
     					fornecedor.adicionarProduto(produto);
     					associarFornecedorAoProduto(produto, fornecedor);
-    				} catch (NoSuchElementException ignore) {
-    					// id inexistente: ignora
     				}
     			}
     			
-    			chave = extratorDeChave.apply(fornecedor);
-    			fornecedoresCadastrados.inserir(chave, fornecedor);
+    			fornecedores[i] = fornecedor;
     		}
+    		fornecedoresCadastrados = new AVLInt<>(fornecedores, extratorDeChave);
     		
     	} catch (IOException excecaoArquivo) {
-    		fornecedoresCadastrados = new AVL<K, Fornecedor>();
+    		fornecedoresCadastrados = new AVLInt<Fornecedor>();
     	} finally {
     		if (arquivo != null) {
     			try {
@@ -189,28 +205,19 @@ public class App {
     
     private static void associarFornecedorAoProduto(Produto produto, Fornecedor fornecedor) {
     	
-    	Lista<Fornecedor> fornecedoresDoProduto;
-    	try {
-    		fornecedoresDoProduto = fornecedoresPorProduto.pesquisar(produto);
-    	} catch (NoSuchElementException excecao) {
-    		fornecedoresDoProduto = new Lista<>();
-    		fornecedoresPorProduto.inserir(produto, fornecedoresDoProduto);
-    	}
+    	// uma única pesquisa: cria a lista de fornecedores na primeira ocorrência do produto
+    	Lista<Fornecedor> fornecedoresDoProduto = fornecedoresPorProduto.computeIfAbsent(produto, chave -> new Lista<>());
     	fornecedoresDoProduto.inserirFinal(fornecedor);
     }
     
-    static <K> Produto localizarProduto(ABB<K, Produto> produtosCadastrados, K procurado) {
+    static <K> Produto localizarProduto(IMapeamento<K, Produto> produtosCadastrados, K procurado) {
     	
     	Produto produto;
     	
     	cabecalho();
     	System.out.println("Localizando um produto...");
     	
-    	try {
-    		produto = produtosCadastrados.pesquisar(procurado);
-    	} catch (NoSuchElementException excecao) {
-    		produto = null;
-    	}
+    	produto = produtosCadastrados.pesquisarOuPadrao(procurado, null);
     	
     	System.out.println("Número de comparações realizadas: " + produtosCadastrados.getComparacoes());
     	System.out.println("Tempo de processamento da pesquisa: " + produtosCadastrados.getTempo() + " ms");
@@ -219,18 +226,14 @@ public class App {
     	
     }
     
-    static <K> Fornecedor localizarFornecedor(ABB<K, Fornecedor> fornecedoresCadastrados, K procurado) {
+    static <K> Fornecedor localizarFornecedor(IMapeamento<K, Fornecedor> fornecedoresCadastrados, K procurado) {
     	
     	Fornecedor fornecedor;
     	
     	cabecalho();
     	System.out.println("Localizando um fornecedor...");
     	
-    	try {
-    		fornecedor = fornecedoresCadastrados.pesquisar(procurado);
-    	} catch (NoSuchElementException excecao) {
-    		fornecedor = null;
-    	}
+    	fornecedor = fornecedoresCadastrados.pesquisarOuPadrao(procurado, null);
     	
     	System.out.println("Número de comparações realizadas: " + fornecedoresCadastrados.getComparacoes());
     	System.out.println("Tempo de processamento da pesquisa: " + fornecedoresCadastrados.getTempo() + " ms");
@@ -240,7 +243,7 @@ public class App {
     
     /** Localiza um produto na árvore de produtos organizados por id, a partir do código de produto informado pelo usuário, e o retorna. 
      *  Em caso de não encontrar o produto, retorna null */
-    static Produto localizarProdutoID(ABB<Integer, Produto> produtosCadastrados) {
+    static Produto localizarProdutoID(AVLInt<Produto> produtosCadastrados) {
         
         Integer idProduto = lerOpcao("Digite o identificador do produto desejado: ", Integer.class);
         
@@ -251,7 +254,7 @@ public class App {
         return localizarProduto(produtosCadastrados, idProduto);
     }
     
-    static Fornecedor localizarFornecedorID(ABB<Integer, Fornecedor> fornecedoresCadastrados) {
+    static Fornecedor localizarFornecedorID(AVLInt<Fornecedor> fornecedoresCadastrados) {
     	
     	Integer doc = lerOpcao("Digite o documento do fornecedor desejado: ", Integer.class);
     	
@@ -262,16 +265,83 @@ public class App {
     	return localizarFornecedor(fornecedoresCadastrados, doc);
     }
     
-    /** Localiza um produto na árvore de produtos organizados por nome, a partir do nome de produto informado pelo usuário, e o retorna. 
-     *  A busca não é sensível ao caso. Em caso de não encontrar o produto, retorna null */
-    static Produto localizarProdutoNome(ABB<String, Produto> produtosCadastrados) {
+    /** Localiza um produto no índice de descrições, a partir do nome de produto informado pelo usuário, e o retorna. 
+     *  A busca não é sensível ao caso nem aos acentos. Caso não haja um produto com o nome exato, retorna o de descrição
+     *  mais próxima, a até DISTANCIA_MAXIMA erros de digitação. Em caso de não encontrar o produto, retorna null */
+    static Produto localizarProdutoNome(TrieRadix<Produto> produtosCadastrados) {
         
     	String descricao;
+    	ListaArray<Produto> encontrados;
     	
     	System.out.println("Digite o nome ou a descrição do produto desejado:");
         descricao = teclado.nextLine();
         
-        return localizarProduto(produtosCadastrados, descricao);
+        cabecalho();
+        System.out.println("Localizando um produto...");
+        
+        encontrados = produtosCadastrados.pesquisar(descricao);
+        
+        System.out.println("Número de comparações realizadas: " + produtosCadastrados.getComparacoes());
+        System.out.println("Tempo de processamento da pesquisa: " + produtosCadastrados.getTempo() + " ms");
+        
+        if (encontrados.vazia()) {
+        	encontrados = produtosAproximados.pesquisar(descricao, DISTANCIA_MAXIMA, 1);
+        	System.out.println("Número de comparações realizadas na busca aproximada: " + produtosAproximados.getComparacoes());
+        	System.out.println("Tempo de processamento da busca aproximada: " + produtosAproximados.getTempo() + " ms");
+        }
+        
+        return encontrados.vazia() ? null : encontrados.obter(0);
+    }
+    
+    /** Lista, em ordem alfabética, até MAXIMO_SUGESTOES produtos cuja descrição começa pelo texto informado pelo usuário.
+     *  A busca não é sensível ao caso nem aos acentos. */
+    static void autocompletarProduto() {
+    	
+    	String inicio;
+    	ListaArray<Produto> sugestoes;
+    	
+    	System.out.println("Digite o início da descrição do produto desejado:");
+    	inicio = teclado.nextLine();
+    	
+    	cabecalho();
+    	sugestoes = produtosPorPrefixo.prefixo(inicio, MAXIMO_SUGESTOES);
+    	
+    	if (sugestoes.vazia())
+    		System.out.println("Nenhum produto encontrado.");
+    	else
+    		sugestoes.paraCada(System.out::println);
+    	System.out.println("Número de comparações realizadas: " + produtosPorPrefixo.getComparacoes());
+    	System.out.println("Tempo de processamento da pesquisa: " + produtosPorPrefixo.getTempo() + " ms");
+    }
+    
+    /** Lista os produtos cuja descrição contém todas as palavras informadas pelo usuário, em qualquer posição e ordem.
+     *  Os produtos são localizados pelo índice invertido e recuperados pela árvore de produtos organizados por id. */
+    static void produtosPorPalavras() {
+    	
+    	String consulta;
+    	int[] ids;
+    	Produto produto;
+    	int encontrados = 0;
+    	
+    	System.out.println("Digite uma ou mais palavras da descrição do produto desejado:");
+    	consulta = teclado.nextLine();
+    	
+    	cabecalho();
+    	ids = palavrasDosProdutos.pesquisar(consulta);
+    	
+    	if (ids.length == 0)
+    		System.out.println("Nenhum produto encontrado.");
+    	// o índice é mantido pelo catálogo; um id sem produto (removido durante a pesquisa) é ignorado
+    	for (int id : ids) {
+    		produto = produtosBalanceadosPorId.pesquisarOuPadrao(id, null);
+    		if (produto != null) {
+    			System.out.println(produto);
+    			encontrados++;
+    		}
+    	}
+    	System.out.println(encontrados + " produto(s) encontrado(s).");
+    	System.out.println("Número de comparações realizadas: " + palavrasDosProdutos.getComparacoes());
+    	System.out.println("Tempo de processamento da pesquisa: " + palavrasDosProdutos.getTempo() + " ms");
     }
     
     private static void mostrarProduto(Produto produto) {
@@ -297,13 +367,12 @@ public class App {
             quantProdutos = sorteio.nextInt(8) + 1;
             for (int j = 0; j < quantProdutos; j++) {
                 int id = sorteio.nextInt(7750) + 10_000;
-                try {
-                	Produto produto = produtosBalanceadosPorId.pesquisar(id);
+                Produto produto = produtosBalanceadosPorId.pesquisarOuPadrao(id, null);
+                // id sorteado inexistente: ignora
+                if (produto != null) {
                 	pedido.incluirProduto(produto);
-                	// indexa o pedido por produto na tabela hash (endereçamento separado)
+                	// indexa o pedido por produto na tabela hash
                 	inserirNaTabela(produto, pedido);
-                } catch (NoSuchElementException ignore) {
-                	// id sorteado inexistente: ignora
                 }
             }
             pedidos.inserirFinal(pedido);
@@ -313,22 +382,20 @@ public class App {
     
     private static void inserirNaTabela(Produto produto, Pedido pedido) {
         
-    	Lista<Pedido> pedidosDoProduto;
-    	
-    	try {
-    		pedidosDoProduto = pedidosPorProduto.pesquisar(produto);
-    	} catch (NoSuchElementException excecao) {
-    		// primeira ocorrência deste produto: cria o "bucket" encadeado que armazenará os pedidos
-    		pedidosDoProduto = new Lista<>();
-    		pedidosPorProduto.inserir(produto, pedidosDoProduto);
-    	}
-    	// adiciona o pedido ao bucket do produto
-    	pedidosDoProduto.inserirFinal(pedido);
+    	// uma única pesquisa: na primeira ocorrência deste produto, cria o "bucket" que armazenará os pedidos
+    	// (de forma atômica: threads concorrentes recebem sempre o mesmo bucket)
+    	AVLPersistente<Integer, Pedido> pedidosDoProduto = 
+    			pedidosPorProduto.computeIfAbsent(produto, chave -> new AVLPersistente<>(Integer::compare, Medidor.INATIVO));
+    	// adiciona o pedido ao bucket do produto, com o identificador do pedido como chave (o pedido aparece uma única vez,
+    	// mesmo que contenha o produto mais de uma vez); as escritas são serializadas pela própria árvore,
+    	// e os relatórios percorrem cópias do bucket
+    	pedidosDoProduto.computeIfAbsent(pedido.getIdPedido(), id -> pedido);
     }
     
     static void pedidosDoProduto() {
     	
-    	Lista<Pedido> pedidosDoProduto;
+    	decodificarPedidosPendentes();
+    	AVLPersistente<Integer, Pedido> pedidosDoProduto;
     	Produto produto = localizarProdutoID(produtosBalanceadosPorId);
     	if (produto == null) {
     		System.out.println("Produto não encontrado.");
@@ -336,16 +403,18 @@ public class App {
     	}
     	String nomeArquivo = "RelatorioProduto" + produto.hashCode() + ".txt";  
     	
-        FileWriter arquivoRelatorio = null;
+        BufferedWriter arquivoRelatorio = null;
         try {
-        	arquivoRelatorio = new FileWriter(nomeArquivo, Charset.forName("UTF-8"));
-        	try {
-        		// consulta O(1) média: acesso direto aos pedidos pelo produto como chave
-        		pedidosDoProduto = pedidosPorProduto.pesquisar(produto);
-        		arquivoRelatorio.append(pedidosDoProduto.toString()).append("\n");
-        	} catch (NoSuchElementException e) {
+        	arquivoRelatorio = new BufferedWriter(new FileWriter(nomeArquivo, Charset.forName("UTF-8")));
+        	// consulta O(1) média: acesso direto aos pedidos pelo produto como chave
+        	pedidosDoProduto = pedidosPorProduto.pesquisarOuPadrao(produto, null);
+        	if (pedidosDoProduto != null) {
+        		// os pedidos são escritos diretamente no arquivo, sem montar antes a string do relatório,
+        		// a partir de uma cópia O(1) do bucket: novos pedidos podem ser inseridos enquanto o relatório é gravado
+        		pedidosDoProduto.snapshot().percorrer(arquivoRelatorio);
+        		arquivoRelatorio.append("\n");
+        	} else
         		arquivoRelatorio.append("Nenhum pedido encontrado para o produto informado.\n");
-        	}
             System.out.println("Dados salvos em " + nomeArquivo);
         } catch(IOException excecao) {
             System.out.println("Problemas para criar o arquivo " + nomeArquivo + ". Tente novamente");        	
@@ -377,15 +446,15 @@ public class App {
     	
     	String nomeArquivo = "FornecedoresProduto" + produto.hashCode() + ".txt";
     	
-    	FileWriter arquivoRelatorio = null;
+    	BufferedWriter arquivoRelatorio = null;
     	try {
-    		arquivoRelatorio = new FileWriter(nomeArquivo, Charset.forName("UTF-8"));
-    		try {
-    			Lista<Fornecedor> fornecedores = fornecedoresPorProduto.pesquisar(produto);
-    			arquivoRelatorio.append(fornecedores.toString()).append("\n");
-    		} catch (NoSuchElementException e) {
+    		arquivoRelatorio = new BufferedWriter(new FileWriter(nomeArquivo, Charset.forName("UTF-8")));
+    		Lista<Fornecedor> fornecedores = fornecedoresPorProduto.pesquisarOuPadrao(produto, null);
+    		if (fornecedores != null) {
+    			fornecedores.percorrer(arquivoRelatorio);
+    			arquivoRelatorio.append("\n");
+    		} else
     			arquivoRelatorio.append("Nenhum fornecedor encontrado para o produto informado.\n");
-    		}
     		System.out.println("Dados salvos em " + nomeArquivo);
     	} catch (IOException excecao) {
     		System.out.println("Problemas para criar o arquivo " + nomeArquivo + ". Tente novamente");
@@ -398,22 +467,153 @@ public class App {
     	}
     }
     
+    /**
+     * Cria o catálogo de produtos sobre a árvore por id, registrando a árvore por nome como índice secundário,
+     * os índices de prefixos, de palavras e aproximado das descrições como índices de texto
+     * e as tabelas de pedidos e de fornecedores por produto como mapeamentos dependentes.
+     * @return O catálogo criado.
+     */
+    static Catalogo<Produto> criarCatalogo() {
+    	
+    	Catalogo<Produto> novo = new Catalogo<>(produtosBalanceadosPorId, Produto::hashCode);
+    	
+    	novo.registrarIndice("nome", produtosBalanceadosPorNome, produto -> produto.descricao);
+    	novo.registrarIndicePrefixos("prefixos", produtosPorPrefixo, produto -> produto.descricao);
+    	novo.registrarIndicePalavras("palavras", palavrasDosProdutos, produto -> produto.descricao);
+    	novo.registrarIndiceAproximado("aproximado", produtosAproximados, produto -> produto.descricao);
+    	novo.registrarDependente("pedidos", pedidosPorProduto, produto -> produto);
+    	novo.registrarDependente("fornecedores", fornecedoresPorProduto, produto -> produto);
+    	return novo;
+    }
+    
+    /**
+     * Recupera o estado (produtos, índices, fornecedores e pedidos) da imagem binária gravada na execução anterior.
+     * Os pedidos só são decodificados no primeiro acesso a eles (ver decodificarPedidosPendentes).
+     * @return true, caso o estado tenha sido recuperado; false, caso a imagem não exista, esteja corrompida 
+     * ou desatualizada em relação aos arquivos de dados.
+     */
+    static boolean carregarImagem() {
+    	
+    	ImagemEstado imagem;
+    	Produto[] produtos;
+    	Fornecedor[] fornecedores;
+    	
+    	try {
+    		imagem = ImagemEstado.abrir(Path.of(nomeArquivoImagem), Path.of(nomeArquivoDados), Path.of(nomeArquivoFornecedores));
+    		produtos = imagem.getProdutos();
+    		// os produtos já estão em ordem de id e de nome: as árvores são construídas em lote, sem reordenação
+    		produtosBalanceadosPorId = new AVLInt<>(produtos, Produto::hashCode);
+    		produtosBalanceadosPorNome = new AVLConcorrente<>(imagem.getProdutosPorNome(), produto -> produto.descricao, String::compareTo);
+    		produtosPorPrefixo = new TrieRadix<>(produtosBalanceadosPorNome, produto -> produto.descricao);
+    		palavrasDosProdutos = new IndiceInvertido(produtosBalanceadosPorId, produto -> produto.descricao, Produto::hashCode);
+    		produtosAproximados = new IndiceAproximado<>(produtosBalanceadosPorNome, produto -> produto.descricao);
+    		quantosProdutos = produtos.length;
+    		pedidosPorProduto = new TabelaHashConcorrente<>(quantosProdutos);
+    		fornecedoresPorProduto = new TabelaHashAberta<>(quantosProdutos);
+    		fornecedores = imagem.getFornecedores();
+    		for (Fornecedor fornecedor : fornecedores)
+    			fornecedor.getProdutos().paraCada(produto -> associarFornecedorAoProduto(produto, fornecedor));
+    		fornecedoresBalanceadosPorDocumento = new AVLInt<>(fornecedores, Fornecedor::hashCode);
+    		catalogo = criarCatalogo();
+    	} catch (IOException excecao) {
+    		return false;
+    	}
+    	imagemPendente = imagem;
+    	return true;
+    }
+    
+    /** Decodifica os pedidos da imagem carregada, caso ainda não tenham sido decodificados, e os indexa por produto. */
+    static void decodificarPedidosPendentes() {
+    	
+    	Produto[] produtos;
+    	int[] ids;
+    	int[] quantidades;
+    	Pedido[][] buckets;
+    	
+    	if (imagemPendente == null)
+    		return;
+    	try {
+    		pedidos = imagemPendente.getPedidos();
+    		produtos = imagemPendente.getProdutos();
+    	} catch (IOException excecao) {
+    		// não ocorre: os produtos da imagem já foram decodificados
+    		throw new UncheckedIOException(excecao);
+    	}
+    	imagemPendente = null;
+    	
+    	// os buckets são montados em lote, com os pedidos de cada produto em ordem de identificador (a ordem da lista de pedidos)
+    	// e, como em inserirNaTabela, uma única vez cada, mesmo que o pedido contenha o produto mais de uma vez.
+    	// Os produtos da imagem estão em ordem de identificador: o índice de cada um é localizado por busca binária.
+    	ids = new int[produtos.length];
+    	for (int i = 0; i < produtos.length; i++)
+    		ids[i] = produtos[i].hashCode();
+    	quantidades = new int[produtos.length];
+    	buckets = new Pedido[produtos.length][];
+    	pedidos.paraCada(pedido -> pedido.getProdutos().paraCada(produto -> quantidades[Arrays.binarySearch(ids, produto.hashCode())]++));
+    	for (int i = 0; i < produtos.length; i++)
+    		buckets[i] = new Pedido[quantidades[i]];
+    	Arrays.fill(quantidades, 0);
+    	pedidos.paraCada(pedido -> pedido.getProdutos().paraCada(produto -> {
+    		int indice = Arrays.binarySearch(ids, produto.hashCode());
+    		if ((quantidades[indice] == 0) || (buckets[indice][quantidades[indice] - 1] != pedido))
+    			buckets[indice][quantidades[indice]++] = pedido;
+    	}));
+    	// os produtos removidos do catálogo desde a carga da imagem não recebem os seus pedidos
+    	for (int i = 0; i < produtos.length; i++)
+    		if ((quantidades[i] > 0) && catalogo.getPrimario().contem(ids[i]))
+    			pedidosPorProduto.inserir(produtos[i], 
+    					AVLPersistente.ordenada(buckets[i], quantidades[i], Pedido::getIdPedido, Integer::compare, Medidor.INATIVO));
+    }
+    
+    /** Grava a imagem binária do estado atual, para que a próxima execução não precise recriá-lo. */
+    static void gravarImagem() {
+    	
+    	Produto[] produtos = new Produto[produtosBalanceadosPorId.tamanho()];
+    	Produto[] produtosPorNome = new Produto[produtosBalanceadosPorNome.tamanho()];
+    	Fornecedor[] fornecedores = new Fornecedor[fornecedoresBalanceadosPorDocumento.tamanho()];
+    	int[] posicao = {0, 0, 0};
+    	
+    	produtosBalanceadosPorId.paraCada(produto -> produtos[posicao[0]++] = produto);
+    	produtosBalanceadosPorNome.paraCada(produto -> produtosPorNome[posicao[1]++] = produto);
+    	fornecedoresBalanceadosPorDocumento.paraCada(fornecedor -> fornecedores[posicao[2]++] = fornecedor);
+    	try {
+    		ImagemEstado.gravar(Path.of(nomeArquivoImagem), Path.of(nomeArquivoDados), Path.of(nomeArquivoFornecedores), 
+    				produtos, produtosPorNome, pedidos, fornecedores);
+    	} catch (IOException excecao) {
+    		System.out.println("Não foi possível gravar a imagem do estado em " + nomeArquivoImagem + ".");
+    	}
+    }
+    
 	public static void main(String[] args) {
 		teclado = new Scanner(System.in, Charset.forName("UTF-8"));
         nomeArquivoDados = "produtos.txt";
         nomeArquivoFornecedores = "fornecedores.txt";
-        // Árvore por ID: leitura do arquivo e indexação por chave numérica (id)
-        produtosBalanceadosPorId = lerProdutos(nomeArquivoDados, Produto::hashCode);
-        // Árvore por nome: reindexação (sem IO), aproveitando os mesmos objetos Produto
-        produtosBalanceadosPorNome = new AVL<>(produtosBalanceadosPorId, produto -> produto.descricao, String::compareTo);
-        // Tabela hash Produto -> Lista<Pedido>: separação por encadeamento; fator de carga controlado
-        pedidosPorProduto = new TabelaHash<>((int)(quantosProdutos * 1.25));
-        // Tabela hash Produto -> Lista<Fornecedor>
-        fornecedoresPorProduto = new TabelaHash<>((int)(quantosProdutos * 1.25));
-        // Árvore de fornecedores por documento
-        fornecedoresBalanceadosPorDocumento = lerFornecedores(nomeArquivoFornecedores, Fornecedor::hashCode);
-        
-        gerarPedidos(25_000);
+        nomeArquivoImagem = "estado.bin";
+        // Partida a quente: estado recuperado da imagem binária da execução anterior, se estiver íntegra e atualizada
+        if (!carregarImagem()) {
+        	// Árvore por ID: leitura do arquivo e indexação por chave numérica primitiva (id), sem boxing
+        	produtosBalanceadosPorId = lerProdutos(nomeArquivoDados, Produto::hashCode);
+        	// Árvore por nome: reindexação (sem IO), aproveitando os mesmos objetos Produto
+        	produtosBalanceadosPorNome = new AVLConcorrente<>(produtosBalanceadosPorId, produto -> produto.descricao, String::compareTo);
+        	// Índice de prefixos das descrições normalizadas, para o autocompletar
+        	produtosPorPrefixo = new TrieRadix<>(produtosBalanceadosPorNome, produto -> produto.descricao);
+        	// Índice invertido das palavras das descrições, com listas de ids comprimidas
+        	palavrasDosProdutos = new IndiceInvertido(produtosBalanceadosPorId, produto -> produto.descricao, Produto::hashCode);
+        	// Índice de trigramas das descrições, para a busca por nome com erros de digitação
+        	produtosAproximados = new IndiceAproximado<>(produtosBalanceadosPorNome, produto -> produto.descricao);
+        	// Tabela hash Produto -> pedidos: concorrente, para que vários fluxos de ingestão de pedidos
+        	// e de geração de relatórios possam usá-la ao mesmo tempo. Pesquisas sem travas; escritas com travas por faixa de posições.
+        	pedidosPorProduto = new TabelaHashConcorrente<>(quantosProdutos);
+        	// Tabela hash Produto -> Lista<Fornecedor>
+        	fornecedoresPorProduto = new TabelaHashAberta<>(quantosProdutos);
+        	// Árvore de fornecedores por documento
+        	fornecedoresBalanceadosPorDocumento = lerFornecedores(nomeArquivoFornecedores, Fornecedor::hashCode);
+        	// Catálogo: mantém as árvores de produtos e as tabelas por produto consistentes
+        	catalogo = criarCatalogo();
+        	
+        	pedidos = gerarPedidos(25_000);
+        	gravarImagem();
+        }
        
         int opcao = -1;
       
@@ -424,6 +624,9 @@ public class App {
             	case 2 -> pedidosDoProduto(); 
             	case 3 -> System.out.println(relatorioDeFornecedor());
             	case 4 -> fornecedoresDoProduto();
+            	case 5 -> autocompletarProduto();
+            	case 6 -> produtosPorPalavras();
+            	case 7 -> mostrarProduto(localizarProdutoNome(produtosPorPrefixo));
             }
             pausa();
         } while(opcao != 0);       
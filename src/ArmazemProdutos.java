@@ -0,0 +1,325 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Armazenamento de produtos fora do heap, em colunas de largura fixa: cada campo (identificador, tipo, preço de custo,
+ * margem de lucro e data de validade) ocupa um {@link ByteBuffer} direto, e as descrições, codificadas em UTF-8,
+ * ficam em sequência em uma única área de texto, também direta. Cada produto é uma linha, identificada pela sua posição
+ * (0, 1, ..., tamanho - 1): os índices podem armazenar números de linha (int) em vez de referências a objetos.
+ *
+ * Para o coletor de lixo, o armazém inteiro são apenas os poucos objetos dos buffers, qualquer que seja a quantidade
+ * de produtos. Os produtos são obtidos, quando necessário, como visões ({@link ProdutoArmazenado}) de uma linha,
+ * que leem os dados diretamente das colunas.
+ *
+ * As linhas são apenas acrescentadas, em ordem crescente de identificador, e nunca alteradas nem removidas;
+ * por isso, a linha de um identificador é localizada por busca binária na coluna de identificadores, sem índice adicional.
+ * Cada coluna (e a área de texto) tem até 2 GB. As inclusões não são sincronizadas; depois delas,
+ * o armazém pode ser lido por várias threads ao mesmo tempo.
+ */
+public class ArmazemProdutos {
+
+	/** Tipos de produto, como no arquivo-texto (ver {@link Produto#criarDoTexto(String)}) */
+	static final byte NAO_PERECIVEL = 1;
+	static final byte PERECIVEL = 2;
+
+	private static final int CAPACIDADE_INICIAL = 1024;
+
+	/// colunas: um valor por linha, na posição linha * largura da coluna.
+	private ByteBuffer ids;
+	private ByteBuffer tipos;
+	private ByteBuffer custos;
+	private ByteBuffer margens;
+	private ByteBuffer validades; /// dias desde 01/01/1970 (LocalDate.toEpochDay), ou MotorPrecos.SEM_VALIDADE.
+	/// início da descrição de cada linha na área de texto; a descrição termina no início da seguinte (tamanho + 1 posições).
+	private ByteBuffer inicioDescricoes;
+	private ByteBuffer textos;
+
+	private int tamanho;
+	private int capacidade;
+
+	/**
+	 * Construtor da classe.
+	 * Cria um armazém vazio, com espaço inicial para 1024 produtos.
+	 */
+	public ArmazemProdutos() {
+		this(CAPACIDADE_INICIAL);
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Cria um armazém vazio, com espaço inicial para a quantidade informada de produtos
+	 * (e 32 bytes de descrição por produto); o espaço é dobrado sempre que se esgota.
+	 * @param capacidade a quantidade de produtos prevista.
+	 */
+	public ArmazemProdutos(int capacidade) {
+
+		this.capacidade = Math.max(1, capacidade);
+		ids = alocar((long) this.capacidade * Integer.BYTES);
+		tipos = alocar(this.capacidade);
+		custos = alocar((long) this.capacidade * Double.BYTES);
+		margens = alocar((long) this.capacidade * Double.BYTES);
+		validades = alocar((long) this.capacidade * Integer.BYTES);
+		inicioDescricoes = alocar((long) (this.capacidade + 1) * Integer.BYTES);
+		textos = alocar((long) this.capacidade * 32);
+		inicioDescricoes.putInt(0, 0);
+	}
+
+	private static ByteBuffer alocar(long bytes) {
+
+		if (bytes > Integer.MAX_VALUE)
+			throw new IllegalStateException("Capacidade do armazém de produtos esgotada: " + bytes + " bytes em uma coluna.");
+		return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+	}
+
+	/// cópia da coluna para um buffer com a capacidade informada; as posições além do conteúdo atual ficam livres.
+	private static ByteBuffer ampliar(ByteBuffer coluna, long bytes, int bytesUsados) {
+
+		ByteBuffer nova = alocar(bytes);
+
+		nova.put(0, coluna, 0, bytesUsados);
+		return nova;
+	}
+
+	/// garante espaço para mais uma linha, com uma descrição do tamanho informado.
+	private void garantirEspaco(int bytesDescricao) {
+
+		int usados = inicioDescricao(tamanho);
+		long necessarios = (long) usados + bytesDescricao;
+
+		if (tamanho == capacidade) {
+			capacidade = (int) Math.min(2L * capacidade, Integer.MAX_VALUE - 1);
+			if (capacidade == tamanho)
+				throw new IllegalStateException("Capacidade do armazém de produtos esgotada.");
+			ids = ampliar(ids, (long) capacidade * Integer.BYTES, tamanho * Integer.BYTES);
+			tipos = ampliar(tipos, capacidade, tamanho);
+			custos = ampliar(custos, (long) capacidade * Double.BYTES, tamanho * Double.BYTES);
+			margens = ampliar(margens, (long) capacidade * Double.BYTES, tamanho * Double.BYTES);
+			validades = ampliar(validades, (long) capacidade * Integer.BYTES, tamanho * Integer.BYTES);
+			inicioDescricoes = ampliar(inicioDescricoes, (long) (capacidade + 1) * Integer.BYTES, (tamanho + 1) * Integer.BYTES);
+		}
+		if (necessarios > textos.capacity())
+			textos = ampliar(textos, Math.min(Math.max(2L * textos.capacity(), necessarios), Integer.MAX_VALUE), usados);
+	}
+
+	/**
+	 * Inclui um produto no armazém, com os dados do produto informado (inclusive o seu identificador).
+	 * @param produto o produto a ser incluído, perecível ou não perecível.
+	 * @return a linha do produto no armazém.
+	 * @throws IllegalArgumentException se o identificador do produto não for maior do que o da última linha incluída.
+	 */
+	public int incluir(Produto produto) {
+
+		int diaValidade = produto.diaDeValidade();
+		LocalDate validade = (diaValidade == MotorPrecos.SEM_VALIDADE) ? null : LocalDate.ofEpochDay(diaValidade);
+
+		return incluir(produto.hashCode(), produto.getDescricao(), produto.getPrecoCusto(), produto.getMargemLucro(), validade);
+	}
+
+	/**
+	 * Inclui um produto no armazém.
+	 * @param id o identificador do produto, maior do que o da última linha incluída.
+	 * @param desc a descrição do produto (mínimo de 3 caracteres).
+	 * @param precoCusto o preço de custo do produto (mínimo 0.01).
+	 * @param margemLucro a margem de lucro do produto (mínimo 0.01).
+	 * @param validade a data de validade do produto perecível, que não pode ser anterior ao dia de hoje;
+	 * null para um produto não perecível.
+	 * @return a linha do produto no armazém.
+	 * @throws IllegalArgumentException caso os limites acima sejam desrespeitados.
+	 */
+	public int incluir(int id, String desc, double precoCusto, double margemLucro, LocalDate validade) {
+
+		byte[] bytes = desc.getBytes(StandardCharsets.UTF_8);
+
+		if ((validade != null) && validade.isBefore(LocalDate.now()))
+			throw new IllegalArgumentException("Data de validade do produto é anterior ao dia de hoje!");
+		return incluir(id, (validade == null) ? NAO_PERECIVEL : PERECIVEL, bytes, bytes.length, precoCusto, margemLucro,
+				(validade == null) ? MotorPrecos.SEM_VALIDADE : (int) validade.toEpochDay());
+	}
+
+	/**
+	 * Inclui um produto cuja descrição já está codificada em UTF-8 (por exemplo, copiada de um arquivo),
+	 * sem criar nenhuma String. A validade de um produto perecível deve ter sido verificada por quem inclui.
+	 * @param tipo {@link #NAO_PERECIVEL} ou {@link #PERECIVEL}.
+	 * @param desc vetor cujas primeiras posições contêm a descrição.
+	 * @param comprimento quantidade de bytes da descrição.
+	 * @param diaValidade dia da validade (LocalDate.toEpochDay), para um produto perecível; ignorado para um não perecível.
+	 * @return a linha do produto no armazém.
+	 * @throws IllegalArgumentException em caso de valores inválidos para os dados do produto.
+	 */
+	int incluir(int id, byte tipo, byte[] desc, int comprimento, double precoCusto, double margemLucro, int diaValidade) {
+
+		int linha = tamanho;
+		int inicio;
+
+		if ((caracteres(desc, comprimento) < 3) || !(precoCusto > 0.0) || !(margemLucro > 0.0)
+				|| ((tipo != NAO_PERECIVEL) && (tipo != PERECIVEL)))
+			throw new IllegalArgumentException("Valores inválidos para os dados do produto.");
+		if ((tamanho > 0) && (id <= getId(tamanho - 1)))
+			throw new IllegalArgumentException("Os produtos devem ser incluídos em ordem crescente de identificador: " + id);
+
+		garantirEspaco(comprimento);
+		inicio = inicioDescricao(linha);
+		textos.put(inicio, desc, 0, comprimento);
+		inicioDescricoes.putInt((linha + 1) * Integer.BYTES, inicio + comprimento);
+		ids.putInt(linha * Integer.BYTES, id);
+		tipos.put(linha, tipo);
+		custos.putDouble(linha * Double.BYTES, precoCusto);
+		margens.putDouble(linha * Double.BYTES, margemLucro);
+		validades.putInt(linha * Integer.BYTES, (tipo == PERECIVEL) ? diaValidade : MotorPrecos.SEM_VALIDADE);
+		tamanho++;
+		return linha;
+	}
+
+	/// quantidade de chars (UTF-16) do texto UTF-8: um por byte inicial de caractere, dois para os caracteres de 4 bytes.
+	private static int caracteres(byte[] utf8, int comprimento) {
+
+		int quantidade = 0;
+
+		for (int i = 0; i < comprimento; i++) {
+			if ((utf8[i] & 0xC0) != 0x80)
+				quantidade++;
+			if ((utf8[i] & 0xF8) == 0xF0)
+				quantidade++;
+		}
+		return quantidade;
+	}
+
+	public int tamanho() {
+		return tamanho;
+	}
+
+	public boolean vazio() {
+		return (tamanho == 0);
+	}
+
+	private void verificarLinha(int linha) {
+		if ((linha < 0) || (linha >= tamanho))
+			throw new IndexOutOfBoundsException("Linha inexistente no armazém de produtos: " + linha);
+	}
+
+	private int inicioDescricao(int linha) {
+		return inicioDescricoes.getInt(linha * Integer.BYTES);
+	}
+
+	public int getId(int linha) {
+		verificarLinha(linha);
+		return ids.getInt(linha * Integer.BYTES);
+	}
+
+	public boolean perecivel(int linha) {
+		verificarLinha(linha);
+		return (tipos.get(linha) == PERECIVEL);
+	}
+
+	public double getPrecoCusto(int linha) {
+		verificarLinha(linha);
+		return custos.getDouble(linha * Double.BYTES);
+	}
+
+	public double getMargemLucro(int linha) {
+		verificarLinha(linha);
+		return margens.getDouble(linha * Double.BYTES);
+	}
+
+	/**
+	 * Data de validade do produto da linha informada.
+	 * @return a data de validade, ou null para um produto não perecível.
+	 */
+	public LocalDate getDataDeValidade(int linha) {
+		return perecivel(linha) ? LocalDate.ofEpochDay(validades.getInt(linha * Integer.BYTES)) : null;
+	}
+
+	/// dia da validade (LocalDate.toEpochDay), ou MotorPrecos.SEM_VALIDADE para um produto não perecível.
+	int getDiaDeValidade(int linha) {
+		verificarLinha(linha);
+		return validades.getInt(linha * Integer.BYTES);
+	}
+
+	/**
+	 * Descrição do produto da linha informada, decodificada da área de texto a cada chamada.
+	 */
+	public String getDescricao(int linha) {
+
+		int inicio, comprimento;
+		byte[] bytes;
+
+		verificarLinha(linha);
+		inicio = inicioDescricao(linha);
+		comprimento = inicioDescricao(linha + 1) - inicio;
+		bytes = new byte[comprimento];
+		textos.get(inicio, bytes, 0, comprimento);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Valor de venda do produto da linha informada, com as mesmas regras de {@link ProdutoNaoPerecivel#valorDeVenda()}
+	 * e {@link ProdutoPerecivel#valorDeVenda()}, lendo os dados diretamente das colunas.
+	 * Para calcular o valor de muitos produtos, ver {@link MotorPrecos#avaliarCatalogo(ArmazemProdutos)}.
+	 */
+	public double valorDeVenda(int linha) {
+		return MotorPrecos.valorDeVenda(getPrecoCusto(linha), getMargemLucro(linha), getDiaDeValidade(linha), MotorPrecos.diaDeHoje());
+	}
+
+	/**
+	 * Copia as colunas de preço de custo, margem de lucro e validade das linhas [inicio, inicio + quantidade)
+	 * para as primeiras posições dos vetores informados.
+	 */
+	void copiarColunas(int inicio, int quantidade, double[] destinoCustos, double[] destinoMargens, int[] destinoValidades) {
+
+		if ((inicio < 0) || (quantidade < 0) || (inicio + quantidade > tamanho))
+			throw new IndexOutOfBoundsException("Linhas inexistentes no armazém de produtos: " + inicio + " a " + (inicio + quantidade - 1));
+		custos.asDoubleBuffer().get(inicio, destinoCustos, 0, quantidade);
+		margens.asDoubleBuffer().get(inicio, destinoMargens, 0, quantidade);
+		validades.asIntBuffer().get(inicio, destinoValidades, 0, quantidade);
+	}
+
+	/**
+	 * Localiza, por busca binária na coluna de identificadores, a linha do produto com o identificador informado.
+	 * @return a linha do produto, ou -1 caso nenhum produto do armazém tenha esse identificador.
+	 */
+	public int localizarLinha(int id) {
+
+		int inicio = 0;
+		int fim = tamanho - 1;
+		int meio, atual;
+
+		while (inicio <= fim) {
+			meio = (inicio + fim) >>> 1;
+			atual = ids.getInt(meio * Integer.BYTES);
+			if (atual == id)
+				return meio;
+			if (atual < id)
+				inicio = meio + 1;
+			else
+				fim = meio - 1;
+		}
+		return -1;
+	}
+
+	/**
+	 * Retorna uma visão do produto da linha informada: um {@link Produto} que não copia os dados do armazém.
+	 */
+	public ProdutoArmazenado produto(int linha) {
+		verificarLinha(linha);
+		return new ProdutoArmazenado(this, linha);
+	}
+
+	/**
+	 * Executa a ação informada sobre uma visão de cada produto do armazém, em ordem de linha (e de identificador).
+	 */
+	public void paraCada(Consumer<? super Produto> acao) {
+		for (int linha = 0; linha < tamanho; linha++)
+			acao.accept(new ProdutoArmazenado(this, linha));
+	}
+
+	/**
+	 * Quantidade de bytes ocupados pelas colunas e pela área de texto, fora do heap (incluindo o espaço ainda livre).
+	 */
+	public long bytesReservados() {
+		return (long) ids.capacity() + tipos.capacity() + custos.capacity() + margens.capacity() + validades.capacity()
+				+ inicioDescricoes.capacity() + textos.capacity();
+	}
+}
@@ -0,0 +1,104 @@
+import java.util.NoSuchElementException;
+
+/**
+ * Cache W-TinyLFU (ver {@link CacheMapeamento}) à frente de uma {@link AVLInt}, pesquisado diretamente
+ * por identificadores inteiros: um acerto não converte o identificador para Integer nem aloca objetos,
+ * e uma falha é repassada à pesquisa por int da árvore, registrada apenas no medidor do cache. 
+ * Apenas as chaves armazenadas no cache, após uma falha, são convertidas para Integer.
+ *
+ * As pesquisas por Integer, herdadas de {@link IMapeamento}, também são feitas pelos identificadores inteiros.
+ */
+public class CacheInt<V> extends CacheMapeamento<Integer, V> {
+
+	private final AVLInt<V> arvore;
+
+	/**
+	 * Cria o cache à frente da árvore informada.
+	 * @param arvore árvore cujas pesquisas serão armazenadas no cache.
+	 * @param capacidade quantidade máxima de chaves mantidas no cache.
+	 * @throws IllegalArgumentException caso a capacidade seja menor do que 2.
+	 */
+	public CacheInt(AVLInt<V> arvore, int capacidade) {
+		super(arvore, capacidade);
+		this.arvore = arvore;
+	}
+
+	/**
+	 * Pesquisa o identificador no cache e, em caso de falha, na árvore, armazenando no cache o item encontrado.
+	 * O código hash de um Integer é o próprio valor: o nó da chave é localizado pelo identificador, sem conversão.
+	 * @return o item encontrado, ou null caso o identificador não esteja na árvore.
+	 */
+	private V localizar(int chave) {
+
+		NoCache<Integer, V> no;
+		V item;
+
+		iniciarMedicao();
+		no = acessar(localizarCodigo(chave), chave);
+		if (no != null) {
+			concluirMedicao(Operacao.PESQUISA);
+			return no.item;
+		}
+		registrarFalha();
+		/// a pesquisa na árvore é medida como parte desta operação, e não é registrada também no medidor da árvore.
+		item = arvore.pesquisarSemRegistro(chave, null);
+		comparacoes += arvore.getComparacoes();
+		/// os identificadores ausentes da árvore não são armazenados no cache.
+		if (item != null)
+			armazenar(chave, chave, item);
+		concluirMedicao(Operacao.PESQUISA);
+		return item;
+	}
+
+	public V pesquisar(int chave) {
+
+		V item = localizar(chave);
+
+		if (item == null)
+			throw new NoSuchElementException("Item não encontrado!");
+		return item;
+	}
+
+	public V pesquisarOuPadrao(int chave, V padrao) {
+
+		V item = localizar(chave);
+
+		return (item == null) ? padrao : item;
+	}
+
+	public boolean contem(int chave) {
+		return (localizar(chave) != null);
+	}
+
+	/**
+	 * Retira o identificador informado do cache, caso esteja presente.
+	 * @param chave o identificador a ser invalidado.
+	 */
+	public void invalidar(int chave) {
+
+		NoCache<Integer, V> no = localizarCodigo(chave);
+
+		if (no != null)
+			descartar(no);
+	}
+
+	@Override
+	public V pesquisar(Integer chave) {
+		return pesquisar(chave.intValue());
+	}
+
+	@Override
+	public V pesquisarOuPadrao(Integer chave, V padrao) {
+		return pesquisarOuPadrao(chave.intValue(), padrao);
+	}
+
+	@Override
+	public boolean contem(Integer chave) {
+		return contem(chave.intValue());
+	}
+
+	@Override
+	public void invalidar(Integer chave) {
+		invalidar(chave.intValue());
+	}
+}
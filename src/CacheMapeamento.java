@@ -0,0 +1,529 @@
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Cache de pesquisas, de capacidade limitada, à frente de qualquer {@link IMapeamento}: as chaves mais procuradas
+ * são respondidas por uma tabela hash, sem percorrer a estrutura original.
+ *
+ * A política de permanência é a W-TinyLFU. As chaves recém-carregadas entram em uma pequena janela LRU (1% da capacidade);
+ * ao sair da janela, uma chave só é admitida na região principal se tiver sido procurada com mais frequência do que
+ * a chave que ela substituiria. A região principal é uma LRU segmentada: as chaves entram no segmento provatório
+ * e passam ao segmento protegido (80% da região) quando são procuradas novamente. Assim, uma sequência de chaves
+ * procuradas uma única vez (uma varredura) não expulsa as chaves frequentes.
+ *
+ * A frequência de cada chave é estimada por um esboço count-min com contadores de 4 bits, que registra
+ * também as chaves que não estão no cache. Os contadores são reduzidos à metade periodicamente,
+ * de modo que a estimativa acompanha mudanças no padrão de acesso.
+ *
+ * As chaves do cache são localizadas por uma tabela própria, com endereçamento aberto, pelo código hash de cada chave,
+ * armazenado no seu nó. Assim, um acerto consulta uma única posição (em geral) da tabela, os contadores da chave no esboço,
+ * que ficam em um mesmo bloco de 64 bytes, e as listas da sua região. As falhas são registradas no medidor do cache
+ * (ver {@link RetratoMedicao#getTaxaAcertosCache()}); as pesquisas por identificadores inteiros, sem conversão para Integer,
+ * são feitas por {@link CacheInt}.
+ *
+ * Toda escrita feita pelo cache (inserir, computeIfAbsent, upsert, remover) invalida a chave no cache antes de ser
+ * repassada à estrutura original. Escritas feitas diretamente na estrutura original não são vistas pelo cache:
+ * nesse caso, a chave deve ser invalidada com {@link #invalidar(Object)}. O cache não é seguro para uso por várias
+ * threads ao mesmo tempo.
+ */
+public class CacheMapeamento<K, V> implements IMapeamento<K, V> {
+
+	/** Regiões do cache em que uma chave pode estar */
+	private static final byte JANELA = 0, PROVATORIO = 1, PROTEGIDO = 2;
+
+	/**
+	 * Nó das listas LRU (duplamente encadeadas e circulares, com sentinela) de cada região.
+	 */
+	static final class NoCache<K, V> {
+
+		final K chave;
+		final int codigo; /// código hash da chave.
+		final V item;
+		byte regiao;
+		NoCache<K, V> anterior;
+		NoCache<K, V> proximo;
+
+		NoCache(K chave, int codigo, V item) {
+			this.chave = chave;
+			this.codigo = codigo;
+			this.item = item;
+			this.anterior = this;
+			this.proximo = this;
+		}
+	}
+
+	/**
+	 * Esboço count-min: estima, com erro apenas para mais, quantas vezes cada chave foi procurada recentemente.
+	 * Os contadores têm 4 bits (16 por long) e são agrupados em blocos de 8 longs (64 bytes): cada chave usa um único bloco,
+	 * em que cada uma das {@value #LINHAS} linhas tem 2 longs, e um contador de cada linha, escolhido por bits diferentes
+	 * do hash da chave. A estimativa é o menor dos contadores da chave. Com os contadores de uma chave no mesmo bloco,
+	 * o registro de uma procura altera uma única linha de cache do processador.
+	 */
+	private static final class EsbocoFrequencia {
+
+		private static final int LINHAS = 4;
+
+		private final long[] contadores;
+		private final int mascaraBlocos;  /// quantidade de blocos - 1.
+		private final int tamanhoAmostra; /// quantidade de registros após a qual os contadores são reduzidos à metade.
+		private int registros;
+
+		EsbocoFrequencia(int capacidade) {
+
+			int quantosLongs = Integer.highestOneBit(Math.max(64, capacidade - 1) << 1);
+
+			/// um long (16 contadores) por chave do cache, arredondado para potência de 2, em blocos de 8 longs:
+			/// com menos contadores, as colisões fazem chaves raras parecerem tão frequentes quanto as do cache.
+			contadores = new long[quantosLongs];
+			mascaraBlocos = quantosLongs / 8 - 1;
+			tamanhoAmostra = 10 * capacidade;
+		}
+
+		/// mistura os bits do código hash (finalizador do SplitMix64): todos os bits do resultado dependem de todos os do código.
+		private static long misturar(int codigo) {
+
+			long mistura = codigo * 0x9E3779B97F4A7C15L;
+
+			mistura = (mistura ^ (mistura >>> 30)) * 0xBF58476D1CE4E5B9L;
+			mistura = (mistura ^ (mistura >>> 27)) * 0x94D049BB133111EBL;
+			return mistura ^ (mistura >>> 31);
+		}
+
+		/// os 32 bits mais altos escolhem o bloco; cada linha usa 5 dos bits mais baixos: 1 para o long e 4 para o contador.
+		private int inicioBloco(long mistura) {
+			return ((int) (mistura >>> 32) & mascaraBlocos) << 3;
+		}
+
+		int frequencia(int codigo) {
+
+			long mistura = misturar(codigo);
+			int inicio = inicioBloco(mistura), menor = 15, bits;
+
+			for (int i = 0; i < LINHAS; i++) {
+				bits = (int) (mistura >>> (5 * i));
+				menor = Math.min(menor, (int) ((contadores[inicio + (i << 1) + (bits & 1)] >>> ((bits & 0x1E) << 1)) & 0xF));
+			}
+			return menor;
+		}
+
+		void registrar(int codigo) {
+
+			long mistura = misturar(codigo);
+			int inicio = inicioBloco(mistura), bits, posicao, deslocamento;
+
+			for (int i = 0; i < LINHAS; i++) {
+				bits = (int) (mistura >>> (5 * i));
+				posicao = inicio + (i << 1) + (bits & 1);
+				deslocamento = (bits & 0x1E) << 1;
+				/// contadores saturados em 15 não são incrementados.
+				if (((contadores[posicao] >>> deslocamento) & 0xF) < 15)
+					contadores[posicao] += 1L << deslocamento;
+			}
+			if (++registros >= tamanhoAmostra)
+				envelhecer();
+		}
+
+		/// reduz todos os contadores à metade: o deslocamento de cada long divide os 16 contadores ao mesmo tempo.
+		private void envelhecer() {
+
+			for (int i = 0; i < contadores.length; i++)
+				contadores[i] = (contadores[i] >>> 1) & 0x7777777777777777L;
+			registros /= 2;
+		}
+	}
+
+	private final IMapeamento<K, V> original;
+	private final EsbocoFrequencia esboco;
+
+	/// tabela de localização dos nós, com endereçamento aberto e sondagem linear, pelo código hash da chave.
+	/// Com no máximo "capacidade" nós e pelo menos o dobro disso em posições, as sequências de sondagem são curtas.
+	/// O vetor de códigos é paralelo ao de nós: a sondagem compara os códigos sem acessar os nós.
+	private final NoCache<K, V>[] posicoes;
+	private final int[] codigos;
+	private final int mascaraPosicoes;
+	private final int deslocamentoPosicoes; /// 32 - log2(quantidade de posições): bits descartados pela função hash.
+
+	private final NoCache<K, V> janela = new NoCache<>(null, 0, null);
+	private final NoCache<K, V> provatorio = new NoCache<>(null, 0, null);
+	private final NoCache<K, V> protegido = new NoCache<>(null, 0, null);
+	private final int capacidadeJanela;
+	private final int capacidadePrincipal;
+	private final int capacidadeProtegido;
+	private int quantosJanela;
+	private int quantosProvatorio;
+	private int quantosProtegido;
+
+	long comparacoes;
+	private long inicio;
+	private long termino;
+	private final Medidor medidor = new Medidor(); // instrumentação cumulativa das operações feitas por meio do cache.
+
+	/**
+	 * Cria o cache à frente da estrutura informada.
+	 * @param original estrutura cujas pesquisas serão armazenadas no cache.
+	 * @param capacidade quantidade máxima de chaves mantidas no cache.
+	 * @throws IllegalArgumentException caso a capacidade seja menor do que 2.
+	 */
+	public CacheMapeamento(IMapeamento<K, V> original, int capacidade) {
+
+		if (capacidade < 2)
+			throw new IllegalArgumentException("A capacidade do cache não pode ser menor do que 2.");
+		this.original = original;
+		posicoes = criarPosicoes(Integer.highestOneBit(capacidade - 1) << 2);
+		codigos = new int[posicoes.length];
+		mascaraPosicoes = posicoes.length - 1;
+		deslocamentoPosicoes = 32 - Integer.numberOfTrailingZeros(posicoes.length);
+		esboco = new EsbocoFrequencia(capacidade);
+		capacidadeJanela = Math.max(1, capacidade / 100);
+		capacidadePrincipal = capacidade - capacidadeJanela;
+		capacidadeProtegido = (int) (capacidadePrincipal * 0.8);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K, V> NoCache<K, V>[] criarPosicoes(int quantidade) {
+		return (NoCache<K, V>[]) new NoCache<?, ?>[quantidade];
+	}
+
+	/// posição inicial de sondagem do código hash: hashing multiplicativo, como em TabelaHashAberta.
+	private int posicaoInicial(int codigo) {
+		return (codigo * 0x9E3779B9) >>> deslocamentoPosicoes;
+	}
+
+	/**
+	 * Localiza, na tabela de posições, o nó da chave informada.
+	 * @return o nó da chave, ou null caso ela não esteja no cache.
+	 */
+	private NoCache<K, V> localizar(Object chave, int codigo) {
+
+		NoCache<K, V> no;
+
+		for (int posicao = posicaoInicial(codigo); (no = posicoes[posicao]) != null; posicao = (posicao + 1) & mascaraPosicoes) {
+			comparacoes++;
+			if ((codigos[posicao] == codigo) && no.chave.equals(chave))
+				return no;
+		}
+		return null;
+	}
+
+	/**
+	 * Localiza o nó pelo código hash, sem comparar as chaves: usado apenas por {@link CacheInt}, em que a chave
+	 * é um Integer, cujo código hash é o próprio valor.
+	 */
+	final NoCache<K, V> localizarCodigo(int codigo) {
+
+		NoCache<K, V> no;
+
+		for (int posicao = posicaoInicial(codigo); (no = posicoes[posicao]) != null; posicao = (posicao + 1) & mascaraPosicoes) {
+			comparacoes++;
+			if (codigos[posicao] == codigo)
+				return no;
+		}
+		return null;
+	}
+
+	/**
+	 * Retira o nó da tabela de posições. As posições seguintes da mesma sequência de sondagem são deslocadas
+	 * para trás, de modo que nenhuma sequência seja interrompida pela posição liberada.
+	 */
+	private void retirarPosicao(NoCache<K, V> retirado) {
+
+		int livre = posicaoInicial(retirado.codigo), posicao, inicial;
+		NoCache<K, V> no;
+
+		while (posicoes[livre] != retirado)
+			livre = (livre + 1) & mascaraPosicoes;
+		posicao = livre;
+		while (true) {
+			posicao = (posicao + 1) & mascaraPosicoes;
+			no = posicoes[posicao];
+			if (no == null)
+				break;
+			inicial = posicaoInicial(codigos[posicao]);
+			/// o nó pode ocupar a posição livre caso ela esteja entre a sua posição inicial e a sua posição atual (circularmente).
+			if (((posicao - inicial) & mascaraPosicoes) >= ((posicao - livre) & mascaraPosicoes)) {
+				posicoes[livre] = no;
+				codigos[livre] = codigos[posicao];
+				livre = posicao;
+			}
+		}
+		posicoes[livre] = null;
+	}
+
+	void iniciarMedicao() {
+		comparacoes = 0;
+		inicio = System.nanoTime();
+	}
+
+	void concluirMedicao(Operacao operacao) {
+		termino = System.nanoTime();
+		medidor.registrar(operacao, termino - inicio, comparacoes);
+	}
+
+	private static <K, V> void desligar(NoCache<K, V> no) {
+		no.anterior.proximo = no.proximo;
+		no.proximo.anterior = no.anterior;
+	}
+
+	/// insere o nó na posição mais recente (imediatamente antes da sentinela) da lista da região informada.
+	private void ligar(NoCache<K, V> no, NoCache<K, V> sentinela, byte regiao) {
+
+		no.regiao = regiao;
+		no.proximo = sentinela;
+		no.anterior = sentinela.anterior;
+		sentinela.anterior.proximo = no;
+		sentinela.anterior = no;
+		switch (regiao) {
+			case JANELA -> quantosJanela++;
+			case PROVATORIO -> quantosProvatorio++;
+			default -> quantosProtegido++;
+		}
+	}
+
+	private void retirar(NoCache<K, V> no) {
+
+		desligar(no);
+		switch (no.regiao) {
+			case JANELA -> quantosJanela--;
+			case PROVATORIO -> quantosProvatorio--;
+			default -> quantosProtegido--;
+		}
+	}
+
+	/**
+	 * Registra a procura da chave no esboço de frequências, esteja ela no cache ou não, e, caso esteja presente,
+	 * a marca como usada: na janela e no segmento protegido, ela passa a ser a mais recente; no segmento provatório,
+	 * ela é promovida ao segmento protegido.
+	 * @param no o nó da chave, ou null caso ela não esteja no cache.
+	 * @return o nó informado.
+	 */
+	final NoCache<K, V> acessar(NoCache<K, V> no, int codigo) {
+
+		NoCache<K, V> rebaixado;
+
+		esboco.registrar(codigo);
+		if (no == null)
+			return null;
+
+		retirar(no);
+		switch (no.regiao) {
+			case JANELA -> ligar(no, janela, JANELA);
+			default -> {
+				ligar(no, protegido, PROTEGIDO);
+				/// o segmento protegido excedeu o seu limite: a sua chave menos recente volta ao segmento provatório.
+				if (quantosProtegido > capacidadeProtegido) {
+					rebaixado = protegido.proximo;
+					retirar(rebaixado);
+					ligar(rebaixado, provatorio, PROVATORIO);
+				}
+			}
+		}
+		return no;
+	}
+
+	/**
+	 * Armazena, na janela, a chave recém-carregada da estrutura original. Caso a janela exceda a sua capacidade,
+	 * a sua chave menos recente (a candidata) passa à região principal; caso esta também exceda a sua capacidade,
+	 * permanece a mais frequente entre a candidata e a chave menos recente do segmento provatório (a vítima).
+	 */
+	final void armazenar(K chave, int codigo, V item) {
+
+		NoCache<K, V> novo = new NoCache<>(chave, codigo, item);
+		NoCache<K, V> candidata, vitima;
+		int posicao = posicaoInicial(codigo);
+
+		while (posicoes[posicao] != null)
+			posicao = (posicao + 1) & mascaraPosicoes;
+		posicoes[posicao] = novo;
+		codigos[posicao] = codigo;
+		ligar(novo, janela, JANELA);
+		if (quantosJanela <= capacidadeJanela)
+			return;
+
+		candidata = janela.proximo;
+		retirar(candidata);
+		ligar(candidata, provatorio, PROVATORIO);
+		if (quantosProvatorio + quantosProtegido <= capacidadePrincipal)
+			return;
+
+		vitima = provatorio.proximo;
+		if (vitima == candidata)
+			/// a candidata é a única chave do segmento provatório: a vítima é a chave menos recente do segmento protegido.
+			vitima = protegido.proximo;
+		if (esboco.frequencia(candidata.codigo) > esboco.frequencia(vitima.codigo))
+			descartar(vitima);
+		else
+			descartar(candidata);
+	}
+
+	final void descartar(NoCache<K, V> no) {
+		retirar(no);
+		retirarPosicao(no);
+	}
+
+	/**
+	 * Registra, no medidor, uma pesquisa que não foi respondida pelo cache.
+	 */
+	final void registrarFalha() {
+		medidor.registrarFalhaCache();
+	}
+
+	/**
+	 * Retira a chave informada do cache, caso esteja presente. Deve ser chamado após escritas feitas diretamente
+	 * na estrutura original, sem passar pelo cache.
+	 * @param chave a chave a ser invalidada.
+	 */
+	public void invalidar(K chave) {
+
+		NoCache<K, V> no = localizar(chave, chave.hashCode());
+
+		if (no != null)
+			descartar(no);
+	}
+
+	@Override
+	public V pesquisar(K chave) {
+
+		int codigo = chave.hashCode();
+		NoCache<K, V> no;
+		V item;
+
+		iniciarMedicao();
+		no = acessar(localizar(chave, codigo), codigo);
+		if (no != null) {
+			concluirMedicao(Operacao.PESQUISA);
+			return no.item;
+		}
+		registrarFalha();
+		try {
+			/// lança NoSuchElementException caso a chave não esteja na estrutura original.
+			item = original.pesquisar(chave);
+		} finally {
+			comparacoes += original.getComparacoes();
+			concluirMedicao(Operacao.PESQUISA);
+		}
+		armazenar(chave, codigo, item);
+		return item;
+	}
+
+	@Override
+	public V pesquisarOuPadrao(K chave, V padrao) {
+
+		int codigo = chave.hashCode();
+		NoCache<K, V> no;
+		V item;
+
+		iniciarMedicao();
+		no = acessar(localizar(chave, codigo), codigo);
+		if (no != null) {
+			concluirMedicao(Operacao.PESQUISA);
+			return no.item;
+		}
+		registrarFalha();
+		item = original.pesquisarOuPadrao(chave, null);
+		comparacoes += original.getComparacoes();
+		/// as chaves ausentes da estrutura original não são armazenadas no cache.
+		if (item != null)
+			armazenar(chave, codigo, item);
+		concluirMedicao(Operacao.PESQUISA);
+		return (item == null) ? padrao : item;
+	}
+
+	@Override
+	public boolean contem(K chave) {
+		return (pesquisarOuPadrao(chave, null) != null);
+	}
+
+	@Override
+	public int inserir(K chave, V item) {
+
+		int tamanho;
+
+		iniciarMedicao();
+		invalidar(chave);
+		tamanho = original.inserir(chave, item);
+		comparacoes += original.getComparacoes();
+		concluirMedicao(Operacao.INSERCAO);
+		return tamanho;
+	}
+
+	@Override
+	public V computeIfAbsent(K chave, Function<? super K, ? extends V> funcaoCriacao) {
+
+		V item;
+
+		iniciarMedicao();
+		invalidar(chave);
+		item = original.computeIfAbsent(chave, funcaoCriacao);
+		comparacoes += original.getComparacoes();
+		concluirMedicao(Operacao.ATUALIZACAO);
+		return item;
+	}
+
+	@Override
+	public V upsert(K chave, V item) {
+
+		V anterior;
+
+		iniciarMedicao();
+		invalidar(chave);
+		anterior = original.upsert(chave, item);
+		comparacoes += original.getComparacoes();
+		concluirMedicao(Operacao.ATUALIZACAO);
+		return anterior;
+	}
+
+	@Override
+	public V remover(K chave) {
+
+		V removido;
+
+		iniciarMedicao();
+		invalidar(chave);
+		removido = original.remover(chave);
+		comparacoes += original.getComparacoes();
+		concluirMedicao(Operacao.REMOCAO);
+		return removido;
+	}
+
+	@Override
+	public int tamanho() {
+		return original.tamanho();
+	}
+
+	@Override
+	public String percorrer() {
+		return original.percorrer();
+	}
+
+	@Override
+	public String toString() {
+		return original.toString();
+	}
+
+	@Override
+	public void paraCada(Consumer<? super V> acao) {
+		original.paraCada(acao);
+	}
+
+	/**
+	 * Quantidade de chaves atualmente armazenadas no cache.
+	 */
+	public int quantidadeEmCache() {
+		return quantosJanela + quantosProvatorio + quantosProtegido;
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000.0;
+	}
+
+	@Override
+	public Medidor getMedidor() {
+		return medidor;
+	}
+}
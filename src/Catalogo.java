@@ -0,0 +1,755 @@
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Catálogo de itens com um armazenamento principal, organizado pelo identificador inteiro de cada item,
+ * e um registro de índices secundários, cada um declarado com a função que extrai a sua chave de um item.
+ *
+ * Toda inserção, atualização ou remoção feita pelo catálogo é propagada, em uma única passagem, ao armazenamento principal
+ * e a todos os índices registrados. Antes de alterar qualquer estrutura, o catálogo verifica se a operação é válida em
+ * todas elas (por exemplo, se a nova chave de um índice já pertence a outro item): assim, ou a operação é aplicada
+ * a todos os índices, ou a nenhum. Caso um índice falhe durante a propagação, por um motivo que a verificação não antecipa,
+ * a operação é desfeita, na ordem inversa, nos índices já alterados e no armazenamento principal, e a exceção é relançada.
+ * As escritas são executadas uma de cada vez; as pesquisas são feitas diretamente nas estruturas (ver {@link #getPrimario()}),
+ * com as garantias de concorrência de cada uma.
+ *
+ * Há quatro tipos de índice (além dos caches, registrados com {@link #registrarCache}, cujas chaves são invalidadas a cada escrita):
+ * <ul>
+ * <li>índices secundários ({@link #registrarIndice}), que armazenam os próprios itens, por outra chave
+ * (por exemplo, produtos por descrição);</li>
+ * <li>índices secundários por chaves que se repetem ({@link #registrarIndiceMultiplo}), em um {@link AVLMultimapa}
+ * (por exemplo, produtos por data de validade);</li>
+ * <li>índices de texto ({@link #registrarIndicePrefixos}, {@link #registrarIndicePalavras} e {@link #registrarIndiceAproximado}),
+ * para as pesquisas por prefixo, por palavras e aproximada de uma chave de texto (por exemplo, a descrição dos produtos);</li>
+ * <li>mapeamentos dependentes ({@link #registrarDependente}), que associam outros dados aos itens
+ * (por exemplo, os pedidos de cada produto): a entrada de um item é removida com ele e, caso a sua chave mude, é movida.</li>
+ * </ul>
+ * O custo de manutenção de cada índice (tempo e comparações, por tipo de operação) é registrado em um medidor próprio
+ * (ver {@link #retratoManutencao(String)}).
+ */
+public class Catalogo<V> implements IMedicao {
+
+	/**
+	 * Índice registrado no catálogo. Cada operação retorna a quantidade de comparações realizadas na estrutura do índice
+	 * e deve ser aplicada por inteiro, ou lançar uma exceção sem alterar o índice.
+	 */
+	private abstract static class Indice<V> {
+
+		final String nome;
+		final Medidor medidor = new Medidor();
+
+		Indice(String nome) {
+			this.nome = nome;
+		}
+
+		/// indica se o item pode ser armazenado no índice no lugar do item substituído (null, em uma inserção).
+		abstract boolean aceita(V item, V substituido);
+
+		abstract long inserir(V item);
+
+		abstract long remover(V item);
+
+		abstract long atualizar(V antigo, V novo);
+
+		/// desfaz a operação, já aplicada ao índice, pela operação inversa.
+		void desfazer(Operacao operacao, V antigo, V novo) {
+			switch (operacao) {
+				case INSERCAO -> remover(novo);
+				case REMOCAO -> inserir(antigo);
+				default -> atualizar(novo, antigo);
+			}
+		}
+	}
+
+	private static final class Secundario<K, V> extends Indice<V> {
+
+		private final IMapeamento<K, V> mapeamento;
+		private final Function<? super V, ? extends K> extratorDeChave;
+
+		Secundario(String nome, IMapeamento<K, V> mapeamento, Function<? super V, ? extends K> extratorDeChave) {
+			super(nome);
+			this.mapeamento = mapeamento;
+			this.extratorDeChave = extratorDeChave;
+		}
+
+		@Override
+		boolean aceita(V item, V substituido) {
+
+			V atual = mapeamento.pesquisarOuPadrao(extratorDeChave.apply(item), null);
+
+			/// a chave está livre, ou pertence ao próprio item que está sendo substituído.
+			return (atual == null) || (atual == substituido);
+		}
+
+		@Override
+		long inserir(V item) {
+			mapeamento.inserir(extratorDeChave.apply(item), item);
+			return mapeamento.getComparacoes();
+		}
+
+		@Override
+		long remover(V item) {
+			mapeamento.remover(extratorDeChave.apply(item));
+			return mapeamento.getComparacoes();
+		}
+
+		@Override
+		long atualizar(V antigo, V novo) {
+
+			K chaveAntiga = extratorDeChave.apply(antigo);
+			K chaveNova = extratorDeChave.apply(novo);
+			long comparacoes;
+
+			if (chaveAntiga.equals(chaveNova)) {
+				mapeamento.upsert(chaveNova, novo);
+				return mapeamento.getComparacoes();
+			}
+			/// a nova chave é inserida antes da remoção da antiga: caso a inserção falhe, o índice não é alterado.
+			mapeamento.inserir(chaveNova, novo);
+			comparacoes = mapeamento.getComparacoes();
+			mapeamento.remover(chaveAntiga);
+			return comparacoes + mapeamento.getComparacoes();
+		}
+	}
+
+	private static final class Multiplo<K, V> extends Indice<V> {
+
+		private final AVLMultimapa<K, V> multimapa;
+		private final Function<? super V, ? extends K> extratorDeChave;
+
+		Multiplo(String nome, AVLMultimapa<K, V> multimapa, Function<? super V, ? extends K> extratorDeChave) {
+			super(nome);
+			this.multimapa = multimapa;
+			this.extratorDeChave = extratorDeChave;
+		}
+
+		@Override
+		boolean aceita(V item, V substituido) {
+			return true;
+		}
+
+		@Override
+		long inserir(V item) {
+			multimapa.inserir(extratorDeChave.apply(item), item);
+			return multimapa.getComparacoes();
+		}
+
+		@Override
+		long remover(V item) {
+			multimapa.remover(extratorDeChave.apply(item), item);
+			return multimapa.getComparacoes();
+		}
+
+		@Override
+		long atualizar(V antigo, V novo) {
+
+			long comparacoes = remover(antigo);
+
+			return comparacoes + inserir(novo);
+		}
+	}
+
+	private static final class Prefixos<V> extends Indice<V> {
+
+		private final TrieRadix<V> trie;
+		private final Function<? super V, String> extratorDeChave;
+
+		Prefixos(String nome, TrieRadix<V> trie, Function<? super V, String> extratorDeChave) {
+			super(nome);
+			this.trie = trie;
+			this.extratorDeChave = extratorDeChave;
+		}
+
+		@Override
+		boolean aceita(V item, V substituido) {
+			/// a trie não armazena chaves vazias.
+			return !TrieRadix.normalizar(extratorDeChave.apply(item)).isEmpty();
+		}
+
+		@Override
+		long inserir(V item) {
+			trie.inserir(extratorDeChave.apply(item), item);
+			return trie.getComparacoes();
+		}
+
+		@Override
+		long remover(V item) {
+			trie.remover(extratorDeChave.apply(item), item);
+			return trie.getComparacoes();
+		}
+
+		@Override
+		long atualizar(V antigo, V novo) {
+
+			long comparacoes = remover(antigo);
+
+			return comparacoes + inserir(novo);
+		}
+	}
+
+	private static final class Palavras<V> extends Indice<V> {
+
+		private final IndiceInvertido indice;
+		private final Function<? super V, String> extratorTexto;
+		private final ToIntFunction<? super V> extratorId;
+
+		Palavras(String nome, IndiceInvertido indice, Function<? super V, String> extratorTexto, ToIntFunction<? super V> extratorId) {
+			super(nome);
+			this.indice = indice;
+			this.extratorTexto = extratorTexto;
+			this.extratorId = extratorId;
+		}
+
+		@Override
+		boolean aceita(V item, V substituido) {
+			return true;
+		}
+
+		@Override
+		long inserir(V item) {
+			indice.inserir(extratorId.applyAsInt(item), extratorTexto.apply(item));
+			return indice.getComparacoes();
+		}
+
+		@Override
+		long remover(V item) {
+			indice.remover(extratorId.applyAsInt(item), extratorTexto.apply(item));
+			return indice.getComparacoes();
+		}
+
+		@Override
+		long atualizar(V antigo, V novo) {
+
+			long comparacoes = remover(antigo);
+
+			/// as duas versões têm o mesmo identificador: a antiga é removida antes, e restaurada caso a nova não possa ser inserida.
+			try {
+				return comparacoes + inserir(novo);
+			} catch (RuntimeException excecao) {
+				inserir(antigo);
+				throw excecao;
+			}
+		}
+	}
+
+	private static final class Aproximado<V> extends Indice<V> {
+
+		private final IndiceAproximado<V> indice;
+		private final Function<? super V, String> extratorDeChave;
+
+		Aproximado(String nome, IndiceAproximado<V> indice, Function<? super V, String> extratorDeChave) {
+			super(nome);
+			this.indice = indice;
+			this.extratorDeChave = extratorDeChave;
+		}
+
+		@Override
+		boolean aceita(V item, V substituido) {
+			return true;
+		}
+
+		@Override
+		long inserir(V item) {
+			indice.inserir(extratorDeChave.apply(item), item);
+			return indice.getComparacoes();
+		}
+
+		@Override
+		long remover(V item) {
+			indice.remover(extratorDeChave.apply(item), item);
+			return indice.getComparacoes();
+		}
+
+		@Override
+		long atualizar(V antigo, V novo) {
+
+			long comparacoes = remover(antigo);
+
+			return comparacoes + inserir(novo);
+		}
+	}
+
+	private static final class Invalidacao<K, V> extends Indice<V> {
+
+		private final CacheMapeamento<K, V> cache;
+		private final Function<? super V, ? extends K> extratorDeChave;
+
+		Invalidacao(String nome, CacheMapeamento<K, V> cache, Function<? super V, ? extends K> extratorDeChave) {
+			super(nome);
+			this.cache = cache;
+			this.extratorDeChave = extratorDeChave;
+		}
+
+		@Override
+		boolean aceita(V item, V substituido) {
+			return true;
+		}
+
+		@Override
+		long inserir(V item) {
+			cache.invalidar(extratorDeChave.apply(item));
+			return 0;
+		}
+
+		@Override
+		long remover(V item) {
+			cache.invalidar(extratorDeChave.apply(item));
+			return 0;
+		}
+
+		@Override
+		long atualizar(V antigo, V novo) {
+			cache.invalidar(extratorDeChave.apply(antigo));
+			cache.invalidar(extratorDeChave.apply(novo));
+			return 0;
+		}
+	}
+
+	private static final class Dependente<K, W, V> extends Indice<V> {
+
+		private final IMapeamento<K, W> mapeamento;
+		private final Function<? super V, ? extends K> extratorDeChave;
+		/// dados retirados pela última remoção, para desfazê-la (as escritas são serializadas pelo catálogo).
+		private W retirados;
+
+		Dependente(String nome, IMapeamento<K, W> mapeamento, Function<? super V, ? extends K> extratorDeChave) {
+			super(nome);
+			this.mapeamento = mapeamento;
+			this.extratorDeChave = extratorDeChave;
+		}
+
+		@Override
+		boolean aceita(V item, V substituido) {
+
+			K chave;
+
+			/// uma inserção não altera o mapeamento; uma atualização só pode mover a entrada para uma chave livre.
+			if (substituido == null)
+				return true;
+			chave = extratorDeChave.apply(item);
+			return chave.equals(extratorDeChave.apply(substituido)) || !mapeamento.contem(chave);
+		}
+
+		@Override
+		long inserir(V item) {
+			return 0;
+		}
+
+		@Override
+		long remover(V item) {
+
+			K chave = extratorDeChave.apply(item);
+			long comparacoes;
+
+			retirados = mapeamento.pesquisarOuPadrao(chave, null);
+			if (retirados == null)
+				return mapeamento.getComparacoes();
+			comparacoes = mapeamento.getComparacoes();
+			mapeamento.remover(chave);
+			return comparacoes + mapeamento.getComparacoes();
+		}
+
+		@Override
+		void desfazer(Operacao operacao, V antigo, V novo) {
+			switch (operacao) {
+				/// a inserção não altera o mapeamento; a remoção devolve os dados retirados.
+				case INSERCAO -> { }
+				case REMOCAO -> {
+					if (retirados != null)
+						mapeamento.inserir(extratorDeChave.apply(antigo), retirados);
+				}
+				default -> atualizar(novo, antigo);
+			}
+		}
+
+		@Override
+		long atualizar(V antigo, V novo) {
+
+			K chaveAntiga = extratorDeChave.apply(antigo);
+			K chaveNova = extratorDeChave.apply(novo);
+			W dados;
+			long comparacoes;
+
+			if (chaveAntiga.equals(chaveNova))
+				return 0;
+			dados = mapeamento.pesquisarOuPadrao(chaveAntiga, null);
+			comparacoes = mapeamento.getComparacoes();
+			if (dados == null)
+				return comparacoes;
+			/// a entrada é inserida na nova chave antes de ser removida da antiga: caso a inserção falhe, o mapeamento não é alterado.
+			mapeamento.inserir(chaveNova, dados);
+			comparacoes += mapeamento.getComparacoes();
+			mapeamento.remover(chaveAntiga);
+			return comparacoes + mapeamento.getComparacoes();
+		}
+	}
+
+	private final AVLInt<V> primario;
+	private final ToIntFunction<? super V> extratorId;
+	private final ListaArray<Indice<V>> indices;
+
+	/// serializa as escritas: cada operação é verificada e aplicada em todos os índices antes da seguinte.
+	private final ReentrantLock escrita = new ReentrantLock();
+
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+	private final Medidor medidor = new Medidor();
+
+	/**
+	 * Cria o catálogo sobre o armazenamento principal informado, que passa a ser alterado apenas pelo catálogo.
+	 * @param primario árvore com os itens, organizados pelo identificador.
+	 * @param extratorId função que extrai o identificador de cada item (a chave do armazenamento principal).
+	 */
+	public Catalogo(AVLInt<V> primario, ToIntFunction<? super V> extratorId) {
+		this.primario = primario;
+		this.extratorId = extratorId;
+		this.indices = new ListaArray<>(Medidor.INATIVO);
+	}
+
+	/**
+	 * Registra um índice secundário, que armazena os itens do catálogo pela chave extraída de cada um.
+	 * Caso o índice esteja vazio, ele é preenchido com os itens atuais do catálogo; caso contrário, ele deve ter sido
+	 * construído a partir dos itens atuais (por exemplo, em lote, a partir do armazenamento principal).
+	 * @param nome nome do índice, usado para consultar o seu custo de manutenção.
+	 * @param indice estrutura do índice, que passa a ser alterada apenas pelo catálogo.
+	 * @param extratorDeChave função que extrai a chave de cada item no índice.
+	 * @throws IllegalArgumentException caso já haja um índice com o mesmo nome, ou o índice informado não esteja vazio
+	 * e não tenha a mesma quantidade de itens do catálogo.
+	 */
+	public <K> void registrarIndice(String nome, IMapeamento<K, V> indice, Function<? super V, ? extends K> extratorDeChave) {
+		registrarPreenchendo(new Secundario<>(nome, indice, extratorDeChave), indice.tamanho(),
+				item -> indice.inserir(extratorDeChave.apply(item), item));
+	}
+
+	/**
+	 * Registra um índice secundário por uma chave que pode se repetir entre os itens do catálogo.
+	 * Caso o multimapa esteja vazio, ele é preenchido com os itens atuais do catálogo; caso contrário, ele deve ter sido
+	 * construído a partir dos itens atuais.
+	 * @param nome nome do índice, usado para consultar o seu custo de manutenção.
+	 * @param indice multimapa do índice, que passa a ser alterado apenas pelo catálogo.
+	 * @param extratorDeChave função que extrai a chave de cada item no índice.
+	 * @throws IllegalArgumentException caso já haja um índice com o mesmo nome, ou o multimapa informado não esteja vazio
+	 * e não tenha a mesma quantidade de itens do catálogo.
+	 */
+	public <K> void registrarIndiceMultiplo(String nome, AVLMultimapa<K, V> indice, Function<? super V, ? extends K> extratorDeChave) {
+		registrarPreenchendo(new Multiplo<>(nome, indice, extratorDeChave), indice.tamanho(),
+				item -> indice.inserir(extratorDeChave.apply(item), item));
+	}
+
+	/**
+	 * Registra um índice de prefixos, que armazena os itens do catálogo pela chave de texto extraída de cada um.
+	 * Caso a trie esteja vazia, ela é preenchida com os itens atuais do catálogo; caso contrário, ela deve ter sido
+	 * construída a partir dos itens atuais.
+	 * @param nome nome do índice, usado para consultar o seu custo de manutenção.
+	 * @param indice trie do índice, que passa a ser alterada apenas pelo catálogo.
+	 * @param extratorDeChave função que extrai a chave de texto de cada item.
+	 * @throws IllegalArgumentException caso já haja um índice com o mesmo nome, ou a trie informada não esteja vazia
+	 * e não tenha a mesma quantidade de itens do catálogo.
+	 */
+	public void registrarIndicePrefixos(String nome, TrieRadix<V> indice, Function<? super V, String> extratorDeChave) {
+		registrarPreenchendo(new Prefixos<>(nome, indice, extratorDeChave), indice.tamanho(),
+				item -> indice.inserir(extratorDeChave.apply(item), item));
+	}
+
+	/**
+	 * Registra um índice invertido das palavras do texto extraído de cada item, pelo identificador do item.
+	 * Caso o índice esteja vazio, ele é preenchido com os itens atuais do catálogo; caso contrário, ele deve ter sido
+	 * construído a partir dos itens atuais.
+	 * @param nome nome do índice, usado para consultar o seu custo de manutenção.
+	 * @param indice índice invertido, que passa a ser alterado apenas pelo catálogo.
+	 * @param extratorTexto função que extrai, de cada item, o texto cujas palavras são indexadas.
+	 * @throws IllegalArgumentException caso já haja um índice com o mesmo nome, ou o índice informado não esteja vazio
+	 * e não tenha a mesma quantidade de itens do catálogo.
+	 */
+	public void registrarIndicePalavras(String nome, IndiceInvertido indice, Function<? super V, String> extratorTexto) {
+		registrarPreenchendo(new Palavras<>(nome, indice, extratorTexto, extratorId), indice.tamanho(),
+				item -> indice.inserir(extratorId.applyAsInt(item), extratorTexto.apply(item)));
+	}
+
+	/**
+	 * Registra um índice para a pesquisa aproximada da chave de texto extraída de cada item.
+	 * Caso o índice esteja vazio, ele é preenchido com os itens atuais do catálogo; caso contrário, ele deve ter sido
+	 * construído a partir dos itens atuais.
+	 * @param nome nome do índice, usado para consultar o seu custo de manutenção.
+	 * @param indice índice de trigramas, que passa a ser alterado apenas pelo catálogo.
+	 * @param extratorDeChave função que extrai a chave de texto de cada item.
+	 * @throws IllegalArgumentException caso já haja um índice com o mesmo nome, ou o índice informado não esteja vazio
+	 * e não tenha a mesma quantidade de itens do catálogo.
+	 */
+	public void registrarIndiceAproximado(String nome, IndiceAproximado<V> indice, Function<? super V, String> extratorDeChave) {
+		registrarPreenchendo(new Aproximado<>(nome, indice, extratorDeChave), indice.tamanho(),
+				item -> indice.inserir(extratorDeChave.apply(item), item));
+	}
+
+	/// registra o índice, preenchendo-o com os itens atuais do catálogo caso esteja vazio.
+	private void registrarPreenchendo(Indice<V> indice, int tamanhoIndice, Consumer<? super V> preenchimento) {
+
+		escrita.lock();
+		try {
+			verificarNome(indice.nome);
+			if (tamanhoIndice == 0)
+				primario.paraCada(preenchimento);
+			else if (tamanhoIndice != primario.tamanho())
+				throw new IllegalArgumentException("O índice " + indice.nome + " não corresponde aos itens do catálogo.");
+			indices.inserirFinal(indice);
+		} finally {
+			escrita.unlock();
+		}
+	}
+
+	/**
+	 * Registra um mapeamento dependente, que associa outros dados aos itens do catálogo, pela chave extraída de cada item.
+	 * Ao remover um item, a sua entrada no mapeamento também é removida; caso uma atualização altere a sua chave,
+	 * a entrada é movida para a nova chave.
+	 * @param nome nome do mapeamento, usado para consultar o seu custo de manutenção.
+	 * @param mapeamento estrutura do mapeamento.
+	 * @param extratorDeChave função que extrai, de cada item, a sua chave no mapeamento.
+	 * @throws IllegalArgumentException caso já haja um índice com o mesmo nome.
+	 */
+	public <K> void registrarDependente(String nome, IMapeamento<K, ?> mapeamento, Function<? super V, ? extends K> extratorDeChave) {
+
+		escrita.lock();
+		try {
+			verificarNome(nome);
+			indices.inserirFinal(new Dependente<>(nome, mapeamento, extratorDeChave));
+		} finally {
+			escrita.unlock();
+		}
+	}
+
+	/**
+	 * Registra um cache de pesquisas sobre o armazenamento principal ou sobre um dos índices: a cada inserção,
+	 * atualização ou remoção, a chave do item é invalidada no cache.
+	 * @param nome nome do cache.
+	 * @param cache o cache a ser mantido consistente com o catálogo.
+	 * @param extratorDeChave função que extrai, de cada item, a sua chave no cache.
+	 * @throws IllegalArgumentException caso já haja um índice com o mesmo nome.
+	 */
+	public <K> void registrarCache(String nome, CacheMapeamento<K, V> cache, Function<? super V, ? extends K> extratorDeChave) {
+
+		escrita.lock();
+		try {
+			verificarNome(nome);
+			indices.inserirFinal(new Invalidacao<>(nome, cache, extratorDeChave));
+		} finally {
+			escrita.unlock();
+		}
+	}
+
+	private void verificarNome(String nome) {
+		if (localizarIndice(nome) != null)
+			throw new IllegalArgumentException("Já há um índice chamado " + nome + " no catálogo.");
+	}
+
+	private Indice<V> localizarIndice(String nome) {
+
+		for (int i = 0; i < indices.tamanho(); i++)
+			if (indices.obter(i).nome.equals(nome))
+				return indices.obter(i);
+		return null;
+	}
+
+	private void iniciarMedicao() {
+		comparacoes = 0;
+		inicio = System.nanoTime();
+	}
+
+	private void concluirMedicao(Operacao operacao) {
+		termino = System.nanoTime();
+		medidor.registrar(operacao, termino - inicio, comparacoes);
+	}
+
+	/// verifica, antes de qualquer alteração, se todos os índices aceitam o item no lugar do substituído.
+	private void verificarIndices(V item, V substituido) {
+
+		for (int i = 0; i < indices.tamanho(); i++)
+			if (!indices.obter(i).aceita(item, substituido)) {
+				concluirMedicao((substituido == null) ? Operacao.INSERCAO : Operacao.ATUALIZACAO);
+				throw new IllegalArgumentException("A chave do item já pertence a outro item no índice " + indices.obter(i).nome + ".");
+			}
+	}
+
+	/// aplica a operação, já aplicada ao armazenamento principal, em cada índice, registrando o seu custo no medidor do índice.
+	/// Caso um índice falhe, a operação é desfeita nos índices anteriores e no armazenamento principal, e a exceção é relançada.
+	private void propagar(Operacao operacao, int id, V antigo, V novo) {
+
+		Indice<V> indice;
+		long inicioIndice, comparacoesIndice;
+		int aplicados = 0;
+
+		try {
+			for (; aplicados < indices.tamanho(); aplicados++) {
+				indice = indices.obter(aplicados);
+				inicioIndice = System.nanoTime();
+				comparacoesIndice = switch (operacao) {
+					case INSERCAO -> indice.inserir(novo);
+					case REMOCAO -> indice.remover(antigo);
+					default -> indice.atualizar(antigo, novo);
+				};
+				indice.medidor.registrar(operacao, System.nanoTime() - inicioIndice, comparacoesIndice);
+				comparacoes += comparacoesIndice;
+			}
+		} catch (RuntimeException excecao) {
+			desfazer(operacao, id, antigo, novo, aplicados, excecao);
+			concluirMedicao(operacao);
+			throw excecao;
+		}
+	}
+
+	/// desfaz a operação nos índices já alterados, na ordem inversa, e no armazenamento principal.
+	/// As falhas ao desfazer são acrescentadas à exceção que causou a reversão.
+	private void desfazer(Operacao operacao, int id, V antigo, V novo, int aplicados, RuntimeException causa) {
+
+		for (int i = aplicados - 1; i >= 0; i--)
+			try {
+				indices.obter(i).desfazer(operacao, antigo, novo);
+			} catch (RuntimeException falha) {
+				causa.addSuppressed(falha);
+			}
+		switch (operacao) {
+			case INSERCAO -> primario.remover(id);
+			case REMOCAO -> primario.inserir(id, antigo);
+			default -> primario.upsert(id, antigo);
+		}
+	}
+
+	/**
+	 * Insere um novo item no armazenamento principal e em todos os índices.
+	 * @param item o novo item.
+	 * @throws IllegalArgumentException caso o identificador do item, ou a sua chave em algum índice, já pertença a outro item.
+	 * Nesse caso, nenhuma estrutura é alterada.
+	 */
+	public void inserir(V item) {
+
+		int id = extratorId.applyAsInt(item);
+
+		escrita.lock();
+		try {
+			iniciarMedicao();
+			if (primario.contem(id)) {
+				concluirMedicao(Operacao.INSERCAO);
+				throw new IllegalArgumentException("Já há um item com o identificador " + id + " no catálogo.");
+			}
+			verificarIndices(item, null);
+			primario.inserir(id, item);
+			comparacoes += primario.getComparacoes();
+			propagar(Operacao.INSERCAO, id, null, item);
+			concluirMedicao(Operacao.INSERCAO);
+		} finally {
+			escrita.unlock();
+		}
+	}
+
+	/**
+	 * Substitui o item de mesmo identificador pelo item informado, no armazenamento principal e em todos os índices.
+	 * @param item a nova versão do item.
+	 * @return a versão anterior do item.
+	 * @throws NoSuchElementException caso não haja um item com o identificador informado.
+	 * @throws IllegalArgumentException caso a nova chave do item em algum índice já pertença a outro item.
+	 * Nesse caso, nenhuma estrutura é alterada.
+	 */
+	public V atualizar(V item) {
+
+		int id = extratorId.applyAsInt(item);
+		V antigo;
+
+		escrita.lock();
+		try {
+			iniciarMedicao();
+			antigo = primario.pesquisarOuPadrao(id, null);
+			if (antigo == null) {
+				concluirMedicao(Operacao.ATUALIZACAO);
+				throw new NoSuchElementException("Item não encontrado!");
+			}
+			verificarIndices(item, antigo);
+			primario.upsert(id, item);
+			comparacoes += primario.getComparacoes();
+			propagar(Operacao.ATUALIZACAO, id, antigo, item);
+			concluirMedicao(Operacao.ATUALIZACAO);
+			return antigo;
+		} finally {
+			escrita.unlock();
+		}
+	}
+
+	/**
+	 * Remove o item do identificador informado do armazenamento principal e de todos os índices.
+	 * @param id identificador do item.
+	 * @return o item removido.
+	 * @throws NoSuchElementException caso não haja um item com o identificador informado.
+	 */
+	public V remover(int id) {
+
+		V removido;
+
+		escrita.lock();
+		try {
+			iniciarMedicao();
+			removido = primario.pesquisarOuPadrao(id, null);
+			if (removido == null) {
+				concluirMedicao(Operacao.REMOCAO);
+				throw new NoSuchElementException("Item não encontrado!");
+			}
+			primario.remover(id);
+			comparacoes += primario.getComparacoes();
+			propagar(Operacao.REMOCAO, id, removido, null);
+			concluirMedicao(Operacao.REMOCAO);
+			return removido;
+		} finally {
+			escrita.unlock();
+		}
+	}
+
+	/**
+	 * Pesquisa o item pelo identificador, no armazenamento principal.
+	 * @return o item encontrado, ou o valor padrão.
+	 */
+	public V pesquisarOuPadrao(int id, V padrao) {
+		return primario.pesquisarOuPadrao(id, padrao);
+	}
+
+	/**
+	 * Armazenamento principal do catálogo, para pesquisas. Ele deve ser alterado apenas pelo catálogo.
+	 */
+	public AVLInt<V> getPrimario() {
+		return primario;
+	}
+
+	public int tamanho() {
+		return primario.tamanho();
+	}
+
+	/**
+	 * Retorna uma cópia imutável do custo de manutenção do índice informado: tempo e comparações,
+	 * por tipo de operação propagada a ele pelo catálogo.
+	 * @param nome nome do índice.
+	 * @throws NoSuchElementException caso não haja um índice com o nome informado.
+	 */
+	public RetratoMedicao retratoManutencao(String nome) {
+
+		Indice<V> indice = localizarIndice(nome);
+
+		if (indice == null)
+			throw new NoSuchElementException("Índice não encontrado: " + nome);
+		return indice.medidor.retrato();
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000.0;
+	}
+
+	@Override
+	public Medidor getMedidor() {
+		return medidor;
+	}
+}
@@ -6,23 +6,51 @@ public class Fornecedor implements Comparable<Fornecedor> {
 	
 	private String nome;
 	private int documento;
-	private Lista<Produto> produtos;
+	private ISequencia<Produto> produtos;
 	
 	/**
-	 * Cria um fornecedor a partir do nome informado.
+	 * Cria um fornecedor a partir do nome informado, com o histórico de produtos em uma {@link ListaArray}.
 	 * O nome deve conter ao menos duas palavras; caso contrário, é lançada IllegalArgumentException.
 	 * O documento é gerado sequencialmente a partir do contador estático.
 	 * @param nome Nome completo do fornecedor.
 	 */
 	public Fornecedor(String nome) {
+		this(nome, new ListaArray<>());
+	}
+	
+	/**
+	 * Cria um fornecedor a partir do nome informado, com o histórico de produtos na sequência informada, vazia
+	 * (por exemplo, uma {@link Lista} encadeada ou uma {@link ListaArray}).
+	 * @param nome Nome completo do fornecedor.
+	 * @param produtos Sequência, vazia, em que os produtos do fornecedor serão armazenados.
+	 */
+	public Fornecedor(String nome, ISequencia<Produto> produtos) {
 		
+		if (!produtos.vazia()) {
+			throw new IllegalArgumentException("O histórico de produtos de um novo fornecedor deve estar vazio.");
+		}
+
 		if (nome == null || nome.trim().split("\\s+").length < 2) {
 			throw new IllegalArgumentException("Nome do fornecedor inválido. Informe pelo menos duas palavras.");
 		}
 		
 		this.nome = nome.trim();
 		this.documento = ultimoID++;
-		this.produtos = new Lista<>();
+		this.produtos = produtos;
+	}
+	
+	/**
+	 * Recria um fornecedor com o documento já atribuído (por exemplo, a um fornecedor gravado anteriormente).
+	 * Os próximos fornecedores criados recebem documentos posteriores a ele.
+	 * @param documento Documento do fornecedor.
+	 * @param nome Nome completo do fornecedor.
+	 */
+	Fornecedor(int documento, String nome) {
+		
+		this.nome = nome;
+		this.documento = documento;
+		this.produtos = new ListaArray<>();
+		ultimoID = Math.max(ultimoID, documento + 1);
 	}
 	
 	/**
@@ -45,7 +73,7 @@ public class Fornecedor implements Comparable<Fornecedor> {
 		return documento;
 	}
 	
-	public Lista<Produto> getProdutos() {
+	public ISequencia<Produto> getProdutos() {
 		return produtos;
 	}
 	
@@ -0,0 +1,106 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de valores não negativos (latências em nanossegundos, quantidades de comparações) 
+ * com faixas logarítmicas: cada potência de 2 é dividida em {@value #SUBFAIXAS} faixas de mesma largura,
+ * o que limita o erro relativo dos percentis a 25% com apenas {@value #FAIXAS} contadores, qualquer que seja o valor registrado.
+ * O registro de um valor não aloca objetos nem usa travas, e pode ser feito por várias threads ao mesmo tempo
+ * que outras leem o histograma por meio de {@link #retrato()}.
+ */
+public class Histograma {
+
+	private static final int BITS_SUBFAIXA = 2;
+	
+	/** Quantidade de faixas em que cada potência de 2 é dividida */
+	private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+	
+	/** Quantidade total de faixas: valores de 0 a SUBFAIXAS-1 têm uma faixa cada; os demais, SUBFAIXAS para cada potência de 2 até 2^62 */
+	static final int FAIXAS = SUBFAIXAS + (63 - BITS_SUBFAIXA) * SUBFAIXAS;
+
+	private final AtomicLongArray contagens = new AtomicLongArray(FAIXAS);
+	private final LongAdder soma = new LongAdder();
+	private final LongAccumulator maximo = new LongAccumulator(Long::max, 0);
+
+	/**
+	 * Calcula a faixa do histograma a que o valor pertence.
+	 * A posição do bit mais significativo do valor determina a potência de 2, 
+	 * e os BITS_SUBFAIXA bits seguintes determinam a faixa dentro dela.
+	 */
+	static int faixa(long valor) {
+
+		int expoente;
+
+		if (valor < SUBFAIXAS)
+			return (int) valor;
+		expoente = 63 - Long.numberOfLeadingZeros(valor);
+		return SUBFAIXAS + (expoente - BITS_SUBFAIXA) * SUBFAIXAS
+				+ (int) ((valor >>> (expoente - BITS_SUBFAIXA)) & (SUBFAIXAS - 1));
+	}
+
+	/**
+	 * Retorna o maior valor que pertence à faixa informada.
+	 */
+	static long limiteSuperior(int faixa) {
+
+		int expoente, subfaixa;
+
+		if (faixa < SUBFAIXAS)
+			return faixa;
+		expoente = (faixa - SUBFAIXAS) / SUBFAIXAS + BITS_SUBFAIXA;
+		subfaixa = (faixa - SUBFAIXAS) % SUBFAIXAS;
+		return ((long) ((SUBFAIXAS | subfaixa) + 1) << (expoente - BITS_SUBFAIXA)) - 1;
+	}
+
+	/**
+	 * Registra um valor no histograma. Valores negativos são registrados como 0.
+	 * @param valor valor a ser registrado.
+	 */
+	public void registrar(long valor) {
+
+		if (valor < 0)
+			valor = 0;
+		contagens.incrementAndGet(faixa(valor));
+		soma.add(valor);
+		maximo.accumulate(valor);
+	}
+
+	/**
+	 * Retorna uma cópia imutável do conteúdo atual do histograma.
+	 * Registros simultâneos à cópia podem ou não estar incluídos nela.
+	 */
+	public RetratoHistograma retrato() {
+
+		long[] copia = new long[FAIXAS];
+
+		for (int i = 0; i < FAIXAS; i++)
+			copia[i] = contagens.get(i);
+		return new RetratoHistograma(copia, soma.sum(), maximo.get());
+	}
+
+	/**
+	 * Retorna uma cópia imutável do conteúdo atual do histograma e o zera, de modo que cada registro 
+	 * feito por outras threads durante a operação entre na contagem desse retrato ou do próximo, nunca em ambos nem em nenhum.
+	 * A soma e o máximo, por outro lado, são apenas aproximados para os registros simultâneos à operação.
+	 */
+	public RetratoHistograma retratoEZerar() {
+
+		long[] copia = new long[FAIXAS];
+
+		for (int i = 0; i < FAIXAS; i++)
+			copia[i] = contagens.getAndSet(i, 0);
+		return new RetratoHistograma(copia, soma.sumThenReset(), maximo.getThenReset());
+	}
+
+	/**
+	 * Descarta todos os valores registrados.
+	 */
+	public void zerar() {
+
+		for (int i = 0; i < FAIXAS; i++)
+			contagens.set(i, 0);
+		soma.reset();
+		maximo.reset();
+	}
+}
@@ -1,3 +1,8 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
 public interface IMapeamento<K, V> extends IMedicao {
 
     public int inserir(K chave, V item);
@@ -5,4 +10,64 @@ public interface IMapeamento<K, V> extends IMedicao {
     public V remover(K chave);
     public int tamanho();
     public String percorrer();
+    
+    /**
+     * Escreve o conteúdo da estrutura diretamente no destino informado, em uma única passagem,
+     * sem montar antes uma string com todo o conteúdo. Por padrão, escreve cada item (ver {@link #paraCada(Consumer)})
+     * seguido de uma quebra de linha.
+     * @param destino destino da escrita (por exemplo, um Writer de arquivo ou um StringBuilder).
+     * @throws IOException caso ocorra um erro de escrita no destino.
+     */
+    public default void percorrer(Appendable destino) throws IOException {
+    	
+    	try {
+    		paraCada(item -> {
+    			try {
+    				destino.append(String.valueOf(item)).append('\n');
+    			} catch (IOException excecao) {
+    				throw new UncheckedIOException(excecao);
+    			}
+    		});
+    	} catch (UncheckedIOException excecao) {
+    		throw excecao.getCause();
+    	}
+    }
+    
+    /**
+     * Pesquisa o item associado à chave sem lançar exceção quando ela não é encontrada.
+     * @param chave a chave do item procurado.
+     * @param padrao valor retornado caso a chave não seja encontrada.
+     * @return o item associado à chave, ou o valor padrão.
+     */
+    public V pesquisarOuPadrao(K chave, V padrao);
+    
+    /**
+     * Indica se há um item associado à chave informada.
+     * @param chave a chave procurada.
+     * @return true caso a chave esteja armazenada; false, caso contrário.
+     */
+    public boolean contem(K chave);
+    
+    /**
+     * Retorna o item associado à chave. Caso a chave não esteja armazenada, o item é criado 
+     * pela função informada e inserido, em uma única pesquisa pela posição da chave.
+     * @param chave a chave do item.
+     * @param funcaoCriacao função que cria o item a partir da chave, chamada apenas se a chave não for encontrada.
+     * @return o item já existente ou o item recém-criado.
+     */
+    public V computeIfAbsent(K chave, Function<? super K, ? extends V> funcaoCriacao);
+    
+    /**
+     * Associa o item à chave: insere-o, caso a chave ainda não esteja armazenada, ou substitui o item anterior.
+     * @param chave a chave do item.
+     * @param item o novo item associado à chave.
+     * @return o item anteriormente associado à chave, ou null caso a chave tenha sido inserida.
+     */
+    public V upsert(K chave, V item);
+    
+    /**
+     * Executa a ação informada sobre cada item armazenado. Estruturas ordenadas visitam os itens em ordem crescente de chave.
+     * @param acao ação a ser executada sobre cada item.
+     */
+    public void paraCada(Consumer<? super V> acao);
 }
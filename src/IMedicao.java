@@ -1,5 +1,31 @@
 public interface IMedicao {
     
+	/**
+	 * Quantidade de comparações realizadas pela última operação.
+	 */
 	public long getComparacoes();
+	
+	/**
+	 * Tempo de processamento, em milissegundos, da última operação.
+	 */
     public double getTempo();
+    
+    /**
+     * Medidor com os contadores cumulativos e os histogramas de latência e de comparações de todas as operações da estrutura.
+     */
+    public Medidor getMedidor();
+    
+    /**
+     * Retorna uma cópia imutável da instrumentação cumulativa da estrutura.
+     */
+    public default RetratoMedicao retratoMedicao() {
+    	return getMedidor().retrato();
+    }
+    
+    /**
+     * Descarta a instrumentação cumulativa registrada até o momento.
+     */
+    public default void zerarMedicao() {
+    	getMedidor().zerar();
+    }
 } 
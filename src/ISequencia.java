@@ -0,0 +1,102 @@
+import java.io.IOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Sequência de itens com posições 0, 1, ..., tamanho - 1: as operações comuns à lista encadeada ({@link Lista})
+ * e à lista em vetor ({@link ListaArray}). Os itens são comparados por equals.
+ */
+public interface ISequencia<E> extends IMedicao {
+
+	public boolean vazia();
+	public int tamanho();
+
+	/**
+	 * Insere o item na posição informada, deslocando os itens a partir dela uma posição adiante.
+	 * @throws IndexOutOfBoundsException caso a posição não esteja entre 0 e o tamanho da sequência.
+	 */
+	public void inserir(E novo, int posicao);
+
+	/**
+	 * Insere o item após o último item da sequência.
+	 */
+	public void inserirFinal(E novo);
+
+	/**
+	 * Remove o item da posição informada.
+	 * @return o item removido.
+	 * @throws IllegalStateException caso a sequência esteja vazia.
+	 * @throws IndexOutOfBoundsException caso a posição seja inválida.
+	 */
+	public E remover(int posicao);
+
+	/**
+	 * Remove a primeira ocorrência de um item igual ao informado.
+	 * @return o item removido.
+	 * @throws IllegalStateException caso a sequência esteja vazia.
+	 * @throws java.util.NoSuchElementException caso o item não seja encontrado.
+	 */
+	public E remover(E elemento);
+
+	/**
+	 * Remove a primeira ocorrência de um item igual ao informado, sem lançar exceção quando ele não é encontrado:
+	 * a pesquisa e a remoção são feitas em um único percurso.
+	 * @param elemento item a ser removido (comparado por equals).
+	 * @param padrao valor retornado caso o item não seja encontrado.
+	 * @return o item removido, ou o valor padrão (também para uma sequência vazia).
+	 */
+	public E removerOuPadrao(E elemento, E padrao);
+
+	/**
+	 * Retorna o item da posição informada.
+	 * @throws IndexOutOfBoundsException caso a posição seja inválida.
+	 */
+	public E obter(int posicao);
+
+	/**
+	 * Pesquisa um item igual ao informado.
+	 * @throws java.util.NoSuchElementException caso o item não seja encontrado.
+	 */
+	public E pesquisar(E procurado);
+
+	/**
+	 * Pesquisa um item sem lançar exceção quando ele não é encontrado.
+	 * @param procurado item a ser localizado (comparado por equals).
+	 * @param padrao valor retornado caso o item não seja encontrado.
+	 * @return o item da sequência igual ao procurado, ou o valor padrão.
+	 */
+	public E pesquisarOuPadrao(E procurado, E padrao);
+
+	public boolean contem(E procurado);
+
+	/**
+	 * Escreve os itens no destino informado, um por linha, do primeiro ao último
+	 * (ou "A lista está vazia!", caso não haja itens), no mesmo formato de toString().
+	 * @throws IOException caso ocorra um erro de escrita no destino.
+	 */
+	public void percorrer(Appendable destino) throws IOException;
+
+	/**
+	 * Conta quantos itens atendem à condição estabelecida pelo predicado.
+	 */
+	public int contarRepeticoes(Predicate<E> condicional);
+
+	/**
+	 * Soma os valores extraídos de cada item, do primeiro ao último.
+	 * @throws IllegalStateException caso a sequência esteja vazia.
+	 */
+	public double calcularValorTotal(Function<E, Double> extrator);
+
+	/**
+	 * Soma os valores extraídos de cada item, do primeiro ao último, sem converter cada valor para Double.
+	 * @return a soma dos valores (0, para uma sequência vazia).
+	 */
+	public double somar(ToDoubleFunction<? super E> extrator);
+
+	/**
+	 * Executa a ação informada sobre cada item, do primeiro ao último.
+	 */
+	public void paraCada(Consumer<? super E> acao);
+}
@@ -0,0 +1,370 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Imagem binária do estado da aplicação: produtos (na ordem de identificador e na ordem de descrição),
+ * pedidos, com os seus produtos, e fornecedores, com os produtos associados a cada um.
+ * Permite reiniciar a aplicação sem reler o arquivo de produtos nem gerar os pedidos novamente.
+ *
+ * Formato (inteiros big-endian):
+ * <pre>
+ * cabeçalho ({@value #TAMANHO_CABECALHO} bytes):
+ *   0  assinatura "IMGESTAD"         8  versão do formato            12 tamanho dos dados
+ *   16 tamanho do arquivo de produtos      24 data de modificação do arquivo de produtos
+ *   32 tamanho do arquivo de fornecedores  40 data de modificação do arquivo de fornecedores (-1, caso não exista)
+ *   48 CRC32 dos dados                     52 CRC32 dos bytes 0 a 51 do cabeçalho
+ * dados: posições (relativas ao início dos dados) das seções, seguidas das seções:
+ *   PRODUTOS:     quantidade n; n registros de {@value #TAMANHO_REGISTRO_PRODUTO} bytes
+ *                 (id, tipo, posição e tamanho da descrição, preço de custo, margem de lucro, validade em dias desde 1970)
+ *   TEXTOS:       descrições e nomes, em UTF-8
+ *   ORDEM_NOME:   n índices de produtos, em ordem de descrição
+ *   PEDIDOS:      quantidade; para cada pedido: id, data, forma de pagamento, quantidade k e k índices de produtos
+ *   FORNECEDORES: quantidade; para cada fornecedor: documento, posição e tamanho do nome, quantidade k e k índices de produtos
+ * </pre>
+ * Os registros de produtos têm tamanho fixo, de modo que o produto de índice i está na posição 4 + i * {@value #TAMANHO_REGISTRO_PRODUTO}
+ * da seção de produtos.
+ *
+ * O arquivo é mapeado em memória e cada seção só é decodificada no primeiro acesso a ela (por uma única thread).
+ * A imagem é rejeitada (com IOException) caso a assinatura, a versão, o CRC do cabeçalho ou dos dados não confiram,
+ * ou caso os arquivos de origem tenham sido alterados depois da sua gravação.
+ */
+public class ImagemEstado {
+
+	private static final long ASSINATURA = 0x494D474553544144L; /// "IMGESTAD"
+	private static final int VERSAO = 1;
+
+	private static final int TAMANHO_CABECALHO = 56;
+	private static final int TAMANHO_REGISTRO_PRODUTO = 40;
+
+	private static final int PRODUTOS = 0, TEXTOS = 1, ORDEM_NOME = 2, PEDIDOS = 3, FORNECEDORES = 4;
+	private static final int QUANTAS_SECOES = 5;
+
+	private static final int NAO_PERECIVEL = 1, PERECIVEL = 2;
+
+	/// dados mapeados (a partir do fim do cabeçalho) e posição de cada seção.
+	private final ByteBuffer dados;
+	private final int[] secoes = new int[QUANTAS_SECOES];
+
+	/// seções já decodificadas.
+	private Produto[] produtos;
+	private Produto[] produtosPorNome;
+	private Lista<Pedido> pedidos;
+	private Fornecedor[] fornecedores;
+
+	private ImagemEstado(ByteBuffer dados) {
+
+		this.dados = dados;
+		for (int secao = 0; secao < QUANTAS_SECOES; secao++)
+			secoes[secao] = dados.getInt(4 * secao);
+	}
+
+	/**
+	 * Abre a imagem gravada no arquivo informado, conferindo o cabeçalho, o CRC dos dados e os arquivos de origem.
+	 * Nenhuma seção é decodificada.
+	 * @param arquivo arquivo da imagem.
+	 * @param origemProdutos arquivo de produtos a partir do qual a imagem foi gravada.
+	 * @param origemFornecedores arquivo de fornecedores a partir do qual a imagem foi gravada (pode não existir).
+	 * @return a imagem aberta.
+	 * @throws IOException caso a imagem não possa ser lida, esteja corrompida, tenha outra versão ou esteja desatualizada
+	 * em relação aos arquivos de origem.
+	 */
+	public static ImagemEstado abrir(Path arquivo, Path origemProdutos, Path origemFornecedores) throws IOException {
+
+		ByteBuffer conteudo;
+		ByteBuffer dados;
+		CRC32 crc = new CRC32();
+
+		try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+			if ((canal.size() < TAMANHO_CABECALHO) || (canal.size() > Integer.MAX_VALUE))
+				throw new IOException("Tamanho inválido para a imagem: " + canal.size() + " bytes.");
+			conteudo = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+		}
+
+		crc.update(conteudo.slice(0, TAMANHO_CABECALHO - 4));
+		if ((conteudo.getLong(0) != ASSINATURA) || ((int) crc.getValue() != conteudo.getInt(52)))
+			throw new IOException("Cabeçalho inválido na imagem " + arquivo + ".");
+		if (conteudo.getInt(8) != VERSAO)
+			throw new IOException("Versão " + conteudo.getInt(8) + " da imagem não é suportada.");
+		if ((conteudo.getLong(16) != tamanho(origemProdutos)) || (conteudo.getLong(24) != modificacao(origemProdutos))
+				|| (conteudo.getLong(32) != tamanho(origemFornecedores)) || (conteudo.getLong(40) != modificacao(origemFornecedores)))
+			throw new IOException("Os arquivos de origem foram alterados depois da gravação da imagem.");
+		if (conteudo.getInt(12) != conteudo.limit() - TAMANHO_CABECALHO)
+			throw new IOException("Imagem incompleta.");
+
+		dados = conteudo.slice(TAMANHO_CABECALHO, conteudo.getInt(12));
+		crc.reset();
+		crc.update(dados.duplicate());
+		if ((int) crc.getValue() != conteudo.getInt(48))
+			throw new IOException("CRC inválido nos dados da imagem " + arquivo + ".");
+
+		return new ImagemEstado(dados);
+	}
+
+	private static long tamanho(Path arquivo) throws IOException {
+		return Files.exists(arquivo) ? Files.size(arquivo) : -1;
+	}
+
+	private static long modificacao(Path arquivo) throws IOException {
+		return Files.exists(arquivo) ? Files.getLastModifiedTime(arquivo).toMillis() : -1;
+	}
+
+	/**
+	 * Produtos da imagem, em ordem de identificador. Os próximos produtos criados recebem identificadores posteriores aos deles.
+	 * @throws IOException caso algum produto seja inválido (por exemplo, com a validade vencida desde a gravação da imagem).
+	 */
+	public Produto[] getProdutos() throws IOException {
+
+		int posicao = secoes[PRODUTOS];
+		int id, tipo;
+		String descricao;
+		double precoCusto, margemLucro;
+
+		if (produtos == null) {
+			produtos = new Produto[dados.getInt(posicao)];
+			posicao += 4;
+			try {
+				for (int i = 0; i < produtos.length; i++, posicao += TAMANHO_REGISTRO_PRODUTO) {
+					id = dados.getInt(posicao);
+					tipo = dados.getInt(posicao + 4);
+					descricao = texto(dados.getInt(posicao + 8), dados.getInt(posicao + 12));
+					precoCusto = dados.getDouble(posicao + 16);
+					margemLucro = dados.getDouble(posicao + 24);
+					if (tipo == PERECIVEL)
+						produtos[i] = new ProdutoPerecivel(id, descricao, precoCusto, margemLucro, LocalDate.ofEpochDay(dados.getLong(posicao + 32)));
+					else
+						produtos[i] = new ProdutoNaoPerecivel(id, descricao, precoCusto, margemLucro);
+				}
+			} catch (RuntimeException excecao) {
+				produtos = null;
+				throw new IOException("Produto inválido na imagem: " + excecao.getMessage(), excecao);
+			}
+			if (produtos.length > 0)
+				Produto.reservarIDsAte(produtos[produtos.length - 1].hashCode() + 1);
+		}
+		return produtos;
+	}
+
+	/** Produtos da imagem, em ordem de descrição. */
+	public Produto[] getProdutosPorNome() throws IOException {
+
+		Produto[] porId = getProdutos();
+		int posicao = secoes[ORDEM_NOME];
+
+		if (produtosPorNome == null) {
+			produtosPorNome = new Produto[porId.length];
+			for (int i = 0; i < porId.length; i++, posicao += 4)
+				produtosPorNome[i] = porId[dados.getInt(posicao)];
+		}
+		return produtosPorNome;
+	}
+
+	/** Pedidos da imagem, na ordem de criação. Os próximos pedidos criados recebem identificadores posteriores aos deles. */
+	public Lista<Pedido> getPedidos() throws IOException {
+
+		Produto[] porId = getProdutos();
+		int posicao = secoes[PEDIDOS];
+		int quantidade, quantosProdutos;
+		Pedido pedido;
+
+		if (pedidos == null) {
+			pedidos = new Lista<>();
+			quantidade = dados.getInt(posicao);
+			posicao += 4;
+			for (int i = 0; i < quantidade; i++) {
+				pedido = new Pedido(dados.getInt(posicao), LocalDate.ofEpochDay(dados.getLong(posicao + 4)), dados.getInt(posicao + 12));
+				quantosProdutos = dados.getInt(posicao + 16);
+				posicao += 20;
+				for (int j = 0; j < quantosProdutos; j++, posicao += 4)
+					pedido.incluirProduto(porId[dados.getInt(posicao)]);
+				pedidos.inserirFinal(pedido);
+			}
+		}
+		return pedidos;
+	}
+
+	/** Fornecedores da imagem, em ordem de documento, com os seus produtos associados. */
+	public Fornecedor[] getFornecedores() throws IOException {
+
+		Produto[] porId = getProdutos();
+		int posicao = secoes[FORNECEDORES];
+		int quantosProdutos;
+
+		if (fornecedores == null) {
+			fornecedores = new Fornecedor[dados.getInt(posicao)];
+			posicao += 4;
+			for (int i = 0; i < fornecedores.length; i++) {
+				fornecedores[i] = new Fornecedor(dados.getInt(posicao), texto(dados.getInt(posicao + 4), dados.getInt(posicao + 8)));
+				quantosProdutos = dados.getInt(posicao + 12);
+				posicao += 16;
+				for (int j = 0; j < quantosProdutos; j++, posicao += 4)
+					fornecedores[i].adicionarProduto(porId[dados.getInt(posicao)]);
+			}
+		}
+		return fornecedores;
+	}
+
+	private String texto(int posicao, int tamanho) {
+
+		byte[] bytes = new byte[tamanho];
+
+		dados.get(secoes[TEXTOS] + posicao, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Grava a imagem do estado informado. A imagem é gravada em um arquivo temporário, que então substitui o arquivo de destino,
+	 * de modo que uma gravação interrompida nunca deixa uma imagem incompleta no destino.
+	 * @param destino arquivo da imagem.
+	 * @param origemProdutos arquivo de produtos a partir do qual o estado foi criado.
+	 * @param origemFornecedores arquivo de fornecedores a partir do qual o estado foi criado (pode não existir).
+	 * @param produtos produtos, em ordem crescente de identificador.
+	 * @param produtosPorNome os mesmos produtos, em ordem de descrição.
+	 * @param pedidos pedidos, na ordem de criação; todos os seus produtos devem estar em produtos.
+	 * @param fornecedores fornecedores, em ordem de documento; todos os seus produtos devem estar em produtos.
+	 * @throws IOException caso ocorra um erro de escrita.
+	 */
+	public static void gravar(Path destino, Path origemProdutos, Path origemFornecedores, Produto[] produtos, Produto[] produtosPorNome,
+			Lista<Pedido> pedidos, Fornecedor[] fornecedores) throws IOException {
+
+		ByteArrayOutputStream[] secoes = new ByteArrayOutputStream[QUANTAS_SECOES];
+		DataOutputStream[] saidas = new DataOutputStream[QUANTAS_SECOES];
+		int[] ids = new int[produtos.length];
+		ByteArrayOutputStream conteudo = new ByteArrayOutputStream();
+		ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+		CRC32 crc = new CRC32();
+		Path temporario;
+		int posicao, diaValidade;
+
+		for (int secao = 0; secao < QUANTAS_SECOES; secao++) {
+			secoes[secao] = new ByteArrayOutputStream();
+			saidas[secao] = new DataOutputStream(secoes[secao]);
+		}
+		for (int i = 0; i < produtos.length; i++)
+			ids[i] = produtos[i].hashCode();
+
+		saidas[PRODUTOS].writeInt(produtos.length);
+		/// os dados são lidos pelos métodos de acesso, e não pelos atributos: as visões de um armazém não os preenchem.
+		for (Produto produto : produtos) {
+			diaValidade = produto.diaDeValidade();
+			saidas[PRODUTOS].writeInt(produto.hashCode());
+			saidas[PRODUTOS].writeInt((diaValidade == MotorPrecos.SEM_VALIDADE) ? NAO_PERECIVEL : PERECIVEL);
+			gravarTexto(produto.getDescricao(), saidas[PRODUTOS], saidas[TEXTOS]);
+			saidas[PRODUTOS].writeDouble(produto.getPrecoCusto());
+			saidas[PRODUTOS].writeDouble(produto.getMargemLucro());
+			saidas[PRODUTOS].writeLong((diaValidade == MotorPrecos.SEM_VALIDADE) ? 0 : diaValidade);
+		}
+
+		for (Produto produto : produtosPorNome)
+			saidas[ORDEM_NOME].writeInt(indice(ids, produto));
+
+		saidas[PEDIDOS].writeInt(pedidos.tamanho());
+		try {
+			pedidos.paraCada(pedido -> {
+				try {
+					saidas[PEDIDOS].writeInt(pedido.getIdPedido());
+					saidas[PEDIDOS].writeLong(pedido.getDataPedido().toEpochDay());
+					saidas[PEDIDOS].writeInt(pedido.getFormaDePagamento());
+					saidas[PEDIDOS].writeInt(pedido.getQuantosProdutos());
+					gravarIndices(pedido.getProdutos(), ids, saidas[PEDIDOS]);
+				} catch (IOException excecao) {
+					throw new UncheckedIOException(excecao);
+				}
+			});
+		} catch (UncheckedIOException excecao) {
+			throw excecao.getCause();
+		}
+
+		saidas[FORNECEDORES].writeInt(fornecedores.length);
+		for (Fornecedor fornecedor : fornecedores) {
+			saidas[FORNECEDORES].writeInt(fornecedor.getDocumento());
+			gravarTexto(fornecedor.getNome(), saidas[FORNECEDORES], saidas[TEXTOS]);
+			saidas[FORNECEDORES].writeInt(fornecedor.getProdutos().tamanho());
+			gravarIndices(fornecedor.getProdutos(), ids, saidas[FORNECEDORES]);
+		}
+
+		/// posições das seções, seguidas das seções.
+		posicao = 4 * QUANTAS_SECOES;
+		try (DataOutputStream saida = new DataOutputStream(conteudo)) {
+			for (int secao = 0; secao < QUANTAS_SECOES; secao++) {
+				saida.writeInt(posicao);
+				posicao += secoes[secao].size();
+			}
+			for (int secao = 0; secao < QUANTAS_SECOES; secao++)
+				secoes[secao].writeTo(saida);
+		}
+		crc.update(conteudo.toByteArray());
+
+		cabecalho.putLong(0, ASSINATURA).putInt(8, VERSAO).putInt(12, conteudo.size())
+				.putLong(16, tamanho(origemProdutos)).putLong(24, modificacao(origemProdutos))
+				.putLong(32, tamanho(origemFornecedores)).putLong(40, modificacao(origemFornecedores))
+				.putInt(48, (int) crc.getValue());
+		crc.reset();
+		crc.update(cabecalho.array(), 0, TAMANHO_CABECALHO - 4);
+		cabecalho.putInt(52, (int) crc.getValue());
+
+		temporario = Files.createTempFile(destino.toAbsolutePath().getParent(), "imagem", ".tmp");
+		try {
+			try (OutputStream saida = Files.newOutputStream(temporario)) {
+				saida.write(cabecalho.array());
+				conteudo.writeTo(saida);
+			}
+			Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException excecao) {
+			/// a escrita ou a substituição do destino falhou: o temporário não é deixado na pasta.
+			try {
+				Files.deleteIfExists(temporario);
+			} catch (IOException falhaRemocao) {
+				excecao.addSuppressed(falhaRemocao);
+			}
+			throw excecao;
+		}
+	}
+
+	/// grava o texto na seção de textos e a sua posição e tamanho no registro.
+	private static void gravarTexto(String texto, DataOutputStream registro, DataOutputStream textos) throws IOException {
+
+		byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+
+		registro.writeInt(textos.size());
+		registro.writeInt(bytes.length);
+		textos.write(bytes);
+	}
+
+	private static void gravarIndices(ISequencia<Produto> produtos, int[] ids, DataOutputStream saida) throws IOException {
+
+		try {
+			produtos.paraCada(produto -> {
+				try {
+					saida.writeInt(indice(ids, produto));
+				} catch (IOException excecao) {
+					throw new UncheckedIOException(excecao);
+				}
+			});
+		} catch (UncheckedIOException excecao) {
+			throw excecao.getCause();
+		}
+	}
+
+	/// índice do produto no vetor de produtos, a partir do seu identificador.
+	private static int indice(int[] ids, Produto produto) {
+
+		int indice = Arrays.binarySearch(ids, produto.hashCode());
+
+		if (indice < 0)
+			throw new IllegalArgumentException("Produto ausente da imagem: " + produto.hashCode());
+		return indice;
+	}
+}
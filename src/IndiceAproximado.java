@@ -0,0 +1,379 @@
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Índice para pesquisa aproximada de textos: localiza os itens cuja chave normalizada (ver {@link TrieRadix#normalizar(String)})
+ * está a uma distância de edição (Levenshtein) limitada da consulta, tolerando erros de digitação.
+ *
+ * Cada chave é decomposta em trigramas (sequências de 3 caracteres, com espaços acrescentados ao início e ao fim),
+ * e cada trigrama aponta para as chaves em que aparece. Uma edição altera no máximo 3 trigramas de um texto: assim,
+ * uma chave a distância até d da consulta contém pelo menos (trigramas distintos da consulta - 3d) deles.
+ * Apenas as chaves que atingem esse limiar, e cujo comprimento difere do da consulta em até d, são verificadas pelo
+ * cálculo da distância de edição, restrito a uma faixa de largura 2d + 1 e interrompido assim que ultrapassa d.
+ * Quando o limiar não é positivo (consultas muito curtas para o limite informado), todas as chaves são verificadas.
+ *
+ * Os itens podem ser inseridos e removidos depois da construção (ver {@link #inserir(String, Object)} e {@link #remover(String, Object)}):
+ * a posição de um item removido é reaproveitada pela próxima inserção.
+ */
+public class IndiceAproximado<V> implements IMedicao {
+
+	/** Comprimento de cada fragmento (trigrama) indexado */
+	private static final int Q = 3;
+
+	/**
+	 * Lista, crescente, das posições das chaves em que um trigrama aparece.
+	 */
+	private static final class Ocorrencias {
+
+		int[] posicoes = new int[4];
+		int quantidade;
+
+		void acrescentar(int posicao) {
+
+			int indice;
+
+			/// na construção, as chaves são indexadas em ordem de posição: a nova posição é, em geral, a última.
+			if ((quantidade > 0) && (posicoes[quantidade - 1] >= posicao)) {
+				indice = Arrays.binarySearch(posicoes, 0, quantidade, posicao);
+				/// uma repetição do trigrama na mesma chave.
+				if (indice >= 0)
+					return;
+				indice = -indice - 1;
+			} else
+				indice = quantidade;
+			if (quantidade == posicoes.length)
+				posicoes = Arrays.copyOf(posicoes, 2 * quantidade);
+			System.arraycopy(posicoes, indice, posicoes, indice + 1, quantidade - indice);
+			posicoes[indice] = posicao;
+			quantidade++;
+		}
+
+		void retirar(int posicao) {
+
+			int indice = Arrays.binarySearch(posicoes, 0, quantidade, posicao);
+
+			if (indice < 0)
+				return;
+			quantidade--;
+			System.arraycopy(posicoes, indice + 1, posicoes, indice, quantidade - indice);
+		}
+	}
+
+	/// chaves e itens por posição; a posição de um item removido fica vazia (chave null) até ser reaproveitada.
+	private String[] chaves;
+	private Object[] itens;
+	private int quantasPosicoes;
+	private int[] livres = new int[4];
+	private int quantosLivres;
+	private int tamanho;
+	/// indica se a ordem das posições ainda é a ordem das chaves, como após a construção.
+	private boolean emOrdem = true;
+	private final TabelaHashAberta<String, Ocorrencias> trigramas;
+
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+	private final Medidor medidor = new Medidor();
+
+	/**
+	 * Constrói o índice com as chaves extraídas de cada item da estrutura informada (sem IO).
+	 * As chaves são armazenadas em ordem crescente: a posição de cada chave também é a sua ordem.
+	 * @param origem estrutura cujos itens serão indexados.
+	 * @param extratorDeChave função que extrai a chave de texto de cada item.
+	 */
+	public IndiceAproximado(IMapeamento<?, V> origem, Function<? super V, String> extratorDeChave) {
+
+		String[] lidas = new String[origem.tamanho()];
+		Object[] lidos = new Object[lidas.length];
+		Integer[] ordem = new Integer[lidas.length];
+		int[] quantos = {0};
+		String estendida;
+
+		origem.paraCada(item -> {
+			lidas[quantos[0]] = TrieRadix.normalizar(extratorDeChave.apply(item));
+			lidos[quantos[0]++] = item;
+		});
+		tamanho = quantos[0];
+		quantasPosicoes = tamanho;
+		for (int i = 0; i < tamanho; i++)
+			ordem[i] = i;
+		Arrays.sort(ordem, 0, tamanho, (a, b) -> lidas[a].compareTo(lidas[b]));
+
+		chaves = new String[tamanho];
+		itens = new Object[tamanho];
+		trigramas = new TabelaHashAberta<>(Math.max(1, tamanho));
+		for (int posicao = 0; posicao < tamanho; posicao++) {
+			chaves[posicao] = lidas[ordem[posicao]];
+			itens[posicao] = lidos[ordem[posicao]];
+			indexar(posicao);
+		}
+	}
+
+	/// acrescenta a posição às ocorrências de cada trigrama da sua chave.
+	private void indexar(int posicao) {
+
+		String estendida = estender(chaves[posicao]);
+
+		for (int i = 0; i + Q <= estendida.length(); i++)
+			trigramas.computeIfAbsent(estendida.substring(i, i + Q), trigrama -> new Ocorrencias()).acrescentar(posicao);
+	}
+
+	/**
+	 * Insere o item, associado à chave informada (normalizada antes da inserção).
+	 * @param chave chave de texto do item.
+	 * @param item item a ser indexado.
+	 */
+	public void inserir(String chave, V item) {
+
+		int posicao;
+
+		iniciarMedicao();
+		if (quantosLivres > 0)
+			posicao = livres[--quantosLivres];
+		else {
+			if (quantasPosicoes == chaves.length) {
+				chaves = Arrays.copyOf(chaves, Math.max(4, 2 * quantasPosicoes));
+				itens = Arrays.copyOf(itens, chaves.length);
+			}
+			posicao = quantasPosicoes++;
+		}
+		chaves[posicao] = TrieRadix.normalizar(chave);
+		itens[posicao] = item;
+		indexar(posicao);
+		tamanho++;
+		emOrdem = false;
+		concluirMedicao(Operacao.INSERCAO);
+	}
+
+	/**
+	 * Remove o item associado à chave informada (normalizada antes da remoção).
+	 * @param chave chave de texto do item.
+	 * @param item item a ser removido (o primeiro item igual a ele, entre os da chave).
+	 * @return true, caso o item tenha sido encontrado e removido; false, caso contrário.
+	 */
+	public boolean remover(String chave, V item) {
+
+		String normalizada = TrieRadix.normalizar(chave);
+		String estendida = estender(normalizada);
+		Ocorrencias ocorrencias;
+		int posicao = -1;
+
+		iniciarMedicao();
+		/// as posições candidatas são as do primeiro trigrama da chave.
+		ocorrencias = trigramas.pesquisarOuPadrao(estendida.substring(0, Q), null);
+		if (ocorrencias != null)
+			for (int i = 0; (i < ocorrencias.quantidade) && (posicao < 0); i++) {
+				comparacoes++;
+				if (normalizada.equals(chaves[ocorrencias.posicoes[i]]) && itens[ocorrencias.posicoes[i]].equals(item))
+					posicao = ocorrencias.posicoes[i];
+			}
+		if (posicao < 0) {
+			concluirMedicao(Operacao.REMOCAO);
+			return false;
+		}
+
+		for (int i = 0; i + Q <= estendida.length(); i++) {
+			ocorrencias = trigramas.pesquisar(estendida.substring(i, i + Q));
+			ocorrencias.retirar(posicao);
+			if (ocorrencias.quantidade == 0)
+				trigramas.remover(estendida.substring(i, i + Q));
+		}
+		chaves[posicao] = null;
+		itens[posicao] = null;
+		if (quantosLivres == livres.length)
+			livres = Arrays.copyOf(livres, 2 * quantosLivres);
+		livres[quantosLivres++] = posicao;
+		tamanho--;
+		concluirMedicao(Operacao.REMOCAO);
+		return true;
+	}
+
+	/// acrescenta Q - 1 espaços ao início e ao fim, para que o início e o fim da chave também formem trigramas próprios.
+	private static String estender(String normalizada) {
+		return "  " + normalizada + "  ";
+	}
+
+	private void iniciarMedicao() {
+		comparacoes = 0;
+		inicio = System.nanoTime();
+	}
+
+	private void concluirMedicao(Operacao operacao) {
+		termino = System.nanoTime();
+		medidor.registrar(operacao, termino - inicio, comparacoes);
+	}
+
+	/**
+	 * Calcula a distância de edição (inserções, remoções e substituições de caracteres) entre os dois textos,
+	 * limitada ao valor informado: o cálculo se restringe às posições que podem resultar em distância até o limite
+	 * e é interrompido assim que ele é ultrapassado.
+	 * @param a primeiro texto.
+	 * @param b segundo texto.
+	 * @param limite maior distância de interesse.
+	 * @return a distância de edição, caso não ultrapasse o limite; limite + 1, caso contrário.
+	 */
+	public static int distancia(String a, String b, int limite) {
+
+		int[] anterior, atual, troca;
+		int m = a.length(), n = b.length();
+		int fora = limite + 1;
+		int menorDaLinha, primeira, ultima;
+
+		if (Math.abs(m - n) > limite)
+			return fora;
+
+		anterior = new int[n + 1];
+		atual = new int[n + 1];
+		for (int j = 0; j <= n; j++)
+			anterior[j] = (j <= limite) ? j : fora;
+
+		for (int i = 1; i <= m; i++) {
+			primeira = Math.max(1, i - limite);
+			ultima = Math.min(n, i + limite);
+			atual[0] = (i <= limite) ? i : fora;
+			if (primeira > 1)
+				atual[primeira - 1] = fora;
+			menorDaLinha = atual[0];
+			for (int j = primeira; j <= ultima; j++) {
+				int substituicao = anterior[j - 1] + ((a.charAt(i - 1) == b.charAt(j - 1)) ? 0 : 1);
+				int custo = Math.min(substituicao, Math.min(anterior[j], atual[j - 1]) + 1);
+				atual[j] = Math.min(custo, fora);
+				menorDaLinha = Math.min(menorDaLinha, atual[j]);
+			}
+			if (ultima < n)
+				atual[ultima + 1] = fora;
+			if (menorDaLinha > limite)
+				return fora;
+			troca = anterior;
+			anterior = atual;
+			atual = troca;
+		}
+		return anterior[n];
+	}
+
+	/**
+	 * Retorna até k itens cuja chave normalizada está a distância de edição até d da consulta (normalizada antes da pesquisa),
+	 * dos mais próximos para os mais distantes; itens à mesma distância são ordenados pela chave.
+	 * @param consulta texto procurado, possivelmente com erros de digitação.
+	 * @param d maior distância de edição aceita.
+	 * @param k quantidade máxima de itens retornados.
+	 * @return os itens encontrados (lista vazia, caso nenhuma chave esteja a distância até d da consulta).
+	 * @throws IllegalArgumentException caso d ou k sejam negativos.
+	 */
+	@SuppressWarnings("unchecked")
+	public ListaArray<V> pesquisar(String consulta, int d, int k) {
+
+		String normalizada = TrieRadix.normalizar(consulta);
+		int[] candidatos, distancias;
+		long[] ordenados;
+		Integer[] ordem;
+		int quantos = 0, aceitos = 0;
+		ListaArray<V> encontrados;
+
+		if ((d < 0) || (k < 0))
+			throw new IllegalArgumentException("A distância máxima e a quantidade de itens não podem ser negativas.");
+
+		iniciarMedicao();
+		candidatos = filtrar(normalizada, d);
+		distancias = new int[candidatos.length];
+		for (int posicao : candidatos) {
+			comparacoes++;
+			int distancia = distancia(normalizada, chaves[posicao], d);
+			if (distancia <= d) {
+				candidatos[aceitos] = posicao;
+				distancias[aceitos++] = distancia;
+			}
+		}
+
+		/// ordena por distância e, na mesma distância, pela chave. Enquanto a posição de cada chave é a sua ordem,
+		/// cada par é codificado em um long, para uma única ordenação de primitivos.
+		ordenados = new long[aceitos];
+		if (emOrdem) {
+			for (int i = 0; i < aceitos; i++)
+				ordenados[i] = ((long) distancias[i] << 32) | candidatos[i];
+			Arrays.sort(ordenados);
+		} else {
+			ordem = new Integer[aceitos];
+			for (int i = 0; i < aceitos; i++)
+				ordem[i] = i;
+			Arrays.sort(ordem, (a, b) -> (distancias[a] != distancias[b]) ? Integer.compare(distancias[a], distancias[b])
+					: chaves[candidatos[a]].compareTo(chaves[candidatos[b]]));
+			for (int i = 0; i < aceitos; i++)
+				ordenados[i] = candidatos[ordem[i]];
+		}
+
+		encontrados = new ListaArray<>(Math.max(1, Math.min(k, aceitos)), Medidor.INATIVO);
+		for (int i = 0; (i < aceitos) && (quantos < k); i++, quantos++)
+			encontrados.inserirFinal((V) itens[(int) ordenados[i]]);
+		concluirMedicao(Operacao.PESQUISA);
+		return encontrados;
+	}
+
+	/**
+	 * Seleciona as posições das chaves que podem estar a distância até d da consulta: as que compartilham com ela
+	 * trigramas suficientes e cujo comprimento difere do da consulta em até d.
+	 */
+	private int[] filtrar(String normalizada, int d) {
+
+		String estendida = estender(normalizada);
+		String[] distintos = new String[estendida.length() - Q + 1];
+		int[] contagem, selecionados;
+		int limiar, quantosDistintos = 0, quantos = 0;
+		Ocorrencias ocorrencias;
+
+		/// cada trigrama distinto da consulta é contado uma única vez.
+		for (int i = 0; i < distintos.length; i++)
+			distintos[i] = estendida.substring(i, i + Q);
+		Arrays.sort(distintos);
+		for (int i = 0; i < distintos.length; i++)
+			if ((quantosDistintos == 0) || !distintos[i].equals(distintos[quantosDistintos - 1]))
+				distintos[quantosDistintos++] = distintos[i];
+		limiar = quantosDistintos - Q * d;
+
+		selecionados = new int[quantasPosicoes];
+		if (limiar <= 0) {
+			/// nenhum trigrama comum é exigido: todas as chaves de comprimento compatível são candidatas.
+			for (int i = 0; i < quantasPosicoes; i++)
+				if ((chaves[i] != null) && (Math.abs(chaves[i].length() - normalizada.length()) <= d))
+					selecionados[quantos++] = i;
+			return Arrays.copyOf(selecionados, quantos);
+		}
+
+		contagem = new int[quantasPosicoes];
+		for (int i = 0; i < quantosDistintos; i++) {
+			ocorrencias = trigramas.pesquisarOuPadrao(distintos[i], null);
+			if (ocorrencias == null)
+				continue;
+			comparacoes += ocorrencias.quantidade;
+			for (int j = 0; j < ocorrencias.quantidade; j++) {
+				int posicao = ocorrencias.posicoes[j];
+				/// a posição é selecionada ao atingir o limiar, uma única vez.
+				if ((++contagem[posicao] == limiar) && (Math.abs(chaves[posicao].length() - normalizada.length()) <= d))
+					selecionados[quantos++] = posicao;
+			}
+		}
+		return Arrays.copyOf(selecionados, quantos);
+	}
+
+	/**
+	 * Quantidade de itens indexados.
+	 */
+	public int tamanho() {
+		return tamanho;
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000.0;
+	}
+
+	@Override
+	public Medidor getMedidor() {
+		return medidor;
+	}
+}
@@ -0,0 +1,435 @@
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Índice invertido das palavras de um texto: para cada palavra normalizada (ver {@link TrieRadix#normalizar(String)}),
+ * armazena a lista ordenada dos identificadores inteiros dos itens em cujo texto ela aparece (lista de ocorrências).
+ *
+ * As listas são comprimidas em blocos de {@value #TAMANHO_BLOCO} identificadores: o primeiro identificador de cada bloco
+ * é armazenado integralmente, em um vetor de cabeçalhos, e os demais como diferenças para o anterior, codificadas com
+ * 7 bits por byte (1 byte para diferenças menores do que 128). Os cabeçalhos permitem saltar blocos inteiros sem decodificá-los.
+ *
+ * Uma consulta com várias palavras retorna os itens que contêm todas elas: a menor lista é decodificada, e as demais são
+ * percorridas por busca galopante (saltos de 1, 2, 4, ... blocos) até cada identificador candidato, de modo que o custo
+ * depende principalmente do tamanho da menor lista.
+ *
+ * Uma lista comprimida não é alterada depois de construída: a inserção ou a remoção de um item (ver {@link #inserir(int, String)})
+ * substitui as listas das palavras do seu texto por novas versões, com o custo de recomprimir cada uma delas.
+ */
+public class IndiceInvertido implements IMedicao {
+
+	/** Quantidade de identificadores por bloco comprimido */
+	private static final int TAMANHO_BLOCO = 64;
+
+	/** Identificador retornado por um cursor que já passou do último item da sua lista */
+	private static final int FIM = Integer.MAX_VALUE;
+
+	/**
+	 * Lista de ocorrências de uma palavra. Durante a construção do índice, os identificadores são acumulados em um vetor;
+	 * ao final, são ordenados, têm as repetições eliminadas e são comprimidos.
+	 */
+	private static final class ListaOcorrencias {
+
+		private int[] acumulados = new int[4];
+		private boolean ordenada = true;
+
+		int quantidade;
+		int[] primeiros;        /// primeiro identificador de cada bloco.
+		int[] deslocamentos;    /// posição, em dados, da diferença do segundo identificador de cada bloco.
+		byte[] dados;
+
+		void acrescentar(int id) {
+
+			if (quantidade == acumulados.length)
+				acumulados = Arrays.copyOf(acumulados, 2 * quantidade);
+			if ((quantidade > 0) && (id <= acumulados[quantidade - 1]))
+				ordenada = false;
+			acumulados[quantidade++] = id;
+		}
+
+		void comprimir() {
+
+			int[] ids = acumulados;
+			int distintos = 0;
+			int blocos, posicao = 0;
+			int diferenca;
+
+			if (!ordenada)
+				Arrays.sort(ids, 0, quantidade);
+			for (int i = 0; i < quantidade; i++)
+				if ((distintos == 0) || (ids[i] != ids[distintos - 1]))
+					ids[distintos++] = ids[i];
+			quantidade = distintos;
+
+			blocos = (quantidade + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO;
+			primeiros = new int[blocos];
+			deslocamentos = new int[blocos];
+			dados = new byte[5 * quantidade];
+			for (int i = 0; i < quantidade; i++) {
+				if ((i % TAMANHO_BLOCO) == 0) {
+					primeiros[i / TAMANHO_BLOCO] = ids[i];
+					deslocamentos[i / TAMANHO_BLOCO] = posicao;
+					continue;
+				}
+				diferenca = ids[i] - ids[i - 1];
+				while ((diferenca & ~0x7F) != 0) {
+					dados[posicao++] = (byte) ((diferenca & 0x7F) | 0x80);
+					diferenca >>>= 7;
+				}
+				dados[posicao++] = (byte) diferenca;
+			}
+			dados = Arrays.copyOf(dados, posicao);
+			acumulados = null;
+		}
+
+		int tamanhoBloco(int bloco) {
+			return Math.min(TAMANHO_BLOCO, quantidade - bloco * TAMANHO_BLOCO);
+		}
+
+		/// cria a lista comprimida com os identificadores informados, em ordem crescente e sem repetições.
+		static ListaOcorrencias comprimida(int[] ids, int quantidade) {
+
+			ListaOcorrencias nova = new ListaOcorrencias();
+
+			nova.acumulados = ids;
+			nova.quantidade = quantidade;
+			nova.comprimir();
+			return nova;
+		}
+	}
+
+	/**
+	 * Percorre uma lista de ocorrências em ordem crescente, decodificando apenas os blocos em que para.
+	 */
+	private final class Cursor {
+
+		private final ListaOcorrencias lista;
+		private int bloco;
+		private int indiceNoBloco;
+		private int posicao;
+		private int atual;
+
+		Cursor(ListaOcorrencias lista) {
+			this.lista = lista;
+			iniciarBloco(0);
+		}
+
+		private void iniciarBloco(int novoBloco) {
+			bloco = novoBloco;
+			indiceNoBloco = 0;
+			posicao = lista.deslocamentos[bloco];
+			atual = lista.primeiros[bloco];
+		}
+
+		/// avança para o identificador seguinte, ou para FIM, caso a lista tenha terminado.
+		private void proximo() {
+
+			int diferenca = 0;
+			int deslocamento = 0;
+			byte lido;
+
+			if (indiceNoBloco + 1 < lista.tamanhoBloco(bloco)) {
+				do {
+					lido = lista.dados[posicao++];
+					diferenca |= (lido & 0x7F) << deslocamento;
+					deslocamento += 7;
+				} while (lido < 0);
+				atual += diferenca;
+				indiceNoBloco++;
+			} else if (bloco + 1 < lista.primeiros.length)
+				iniciarBloco(bloco + 1);
+			else
+				atual = FIM;
+		}
+
+		/**
+		 * Avança até o primeiro identificador maior ou igual ao alvo. Os blocos seguintes são localizados por busca galopante
+		 * sobre os seus primeiros identificadores; apenas o bloco em que o alvo pode estar é decodificado.
+		 * @return o identificador encontrado, ou FIM, caso todos os identificadores restantes sejam menores do que o alvo.
+		 */
+		int avancarPara(int alvo) {
+
+			int[] primeiros = lista.primeiros;
+			int baixo, alto, meio, passo;
+
+			comparacoes++;
+			if (atual >= alvo)
+				return atual;
+
+			if ((bloco + 1 < primeiros.length) && (primeiros[bloco + 1] <= alvo)) {
+				baixo = bloco + 1;
+				passo = 1;
+				comparacoes++;
+				while ((baixo + passo < primeiros.length) && (primeiros[baixo + passo] <= alvo)) {
+					comparacoes++;
+					baixo += passo;
+					passo *= 2;
+				}
+				/// o último bloco com primeiro identificador menor ou igual ao alvo está entre baixo e alto.
+				alto = Math.min(baixo + passo, primeiros.length) - 1;
+				while (baixo < alto) {
+					meio = (baixo + alto + 1) >>> 1;
+					comparacoes++;
+					if (primeiros[meio] <= alvo)
+						baixo = meio;
+					else
+						alto = meio - 1;
+				}
+				iniciarBloco(baixo);
+			}
+
+			while (atual < alvo) {
+				comparacoes++;
+				proximo();
+			}
+			return atual;
+		}
+	}
+
+	private final TabelaHashAberta<String, ListaOcorrencias> listas;
+	private int quantosItens;
+
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+	private final Medidor medidor = new Medidor();
+
+	/**
+	 * Constrói o índice com as palavras do texto de cada item da estrutura informada (sem IO).
+	 * @param origem estrutura cujos itens serão indexados.
+	 * @param extratorTexto função que extrai, de cada item, o texto cujas palavras serão indexadas.
+	 * @param extratorId função que extrai o identificador inteiro de cada item.
+	 */
+	public <V> IndiceInvertido(IMapeamento<?, V> origem, Function<? super V, String> extratorTexto, ToIntFunction<? super V> extratorId) {
+
+		listas = new TabelaHashAberta<>(Math.max(1, origem.tamanho()));
+		origem.paraCada(item -> {
+			int id = extratorId.applyAsInt(item);
+			for (String palavra : palavras(extratorTexto.apply(item)))
+				listas.computeIfAbsent(palavra, chave -> new ListaOcorrencias()).acrescentar(id);
+			quantosItens++;
+		});
+		listas.paraCada(ListaOcorrencias::comprimir);
+	}
+
+	/**
+	 * Separa o texto normalizado em palavras: sequências de letras e dígitos.
+	 * @param texto texto a ser separado.
+	 * @return as palavras do texto, na ordem em que aparecem.
+	 */
+	public static String[] palavras(String texto) {
+
+		String normalizado = TrieRadix.normalizar(texto).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+
+		return normalizado.isEmpty() ? new String[0] : normalizado.split(" ");
+	}
+
+	private void iniciarMedicao() {
+		comparacoes = 0;
+		inicio = System.nanoTime();
+	}
+
+	private void concluirMedicao(Operacao operacao) {
+		termino = System.nanoTime();
+		medidor.registrar(operacao, termino - inicio, comparacoes);
+	}
+
+	/**
+	 * Retorna, em ordem crescente, os identificadores dos itens cujo texto contém todas as palavras da consulta.
+	 * A consulta é normalizada e separada em palavras da mesma forma que os textos indexados.
+	 * @param consulta uma ou mais palavras.
+	 * @return os identificadores encontrados (vetor vazio, caso nenhum item contenha todas as palavras, ou a consulta não tenha palavras).
+	 */
+	public int[] pesquisar(String consulta) {
+
+		String[] termos = palavras(consulta);
+		ListaOcorrencias[] encontradas = new ListaOcorrencias[termos.length];
+		int[] candidatos;
+		int quantos, mantidos;
+		Cursor cursor;
+
+		iniciarMedicao();
+		for (int i = 0; i < termos.length; i++) {
+			encontradas[i] = listas.pesquisarOuPadrao(termos[i], null);
+			comparacoes += listas.getComparacoes();
+			if (encontradas[i] == null) {
+				concluirMedicao(Operacao.PESQUISA);
+				return new int[0];
+			}
+		}
+		if (termos.length == 0) {
+			concluirMedicao(Operacao.PESQUISA);
+			return new int[0];
+		}
+
+		/// a menor lista define os candidatos; as demais só são consultadas nos pontos em que eles estão.
+		Arrays.sort(encontradas, (a, b) -> Integer.compare(a.quantidade, b.quantidade));
+		candidatos = decodificar(encontradas[0]);
+		quantos = candidatos.length;
+		for (int i = 1; (i < encontradas.length) && (quantos > 0); i++) {
+			cursor = new Cursor(encontradas[i]);
+			mantidos = 0;
+			for (int j = 0; j < quantos; j++)
+				if (cursor.avancarPara(candidatos[j]) == candidatos[j])
+					candidatos[mantidos++] = candidatos[j];
+			quantos = mantidos;
+		}
+		concluirMedicao(Operacao.PESQUISA);
+		return Arrays.copyOf(candidatos, quantos);
+	}
+
+	/**
+	 * Indexa as palavras do texto de um novo item.
+	 * @param id identificador do item.
+	 * @param texto texto cujas palavras serão indexadas.
+	 * @throws IllegalArgumentException caso o identificador já esteja na lista de alguma das palavras do texto.
+	 * Nesse caso, o índice não é alterado.
+	 */
+	public void inserir(int id, String texto) {
+
+		String[] termos = palavrasDistintas(texto);
+		ListaOcorrencias[] atuais = new ListaOcorrencias[termos.length];
+		int[] ids, novos;
+		int posicao;
+
+		iniciarMedicao();
+		/// as listas são verificadas antes de qualquer alteração.
+		for (int i = 0; i < termos.length; i++) {
+			atuais[i] = listas.pesquisarOuPadrao(termos[i], null);
+			comparacoes += listas.getComparacoes();
+			if ((atuais[i] != null) && (Arrays.binarySearch(decodificar(atuais[i]), id) >= 0)) {
+				concluirMedicao(Operacao.INSERCAO);
+				throw new IllegalArgumentException("O identificador " + id + " já está indexado pela palavra " + termos[i] + ".");
+			}
+		}
+		for (int i = 0; i < termos.length; i++) {
+			if (atuais[i] == null) {
+				listas.inserir(termos[i], ListaOcorrencias.comprimida(new int[] {id}, 1));
+				comparacoes += listas.getComparacoes();
+				continue;
+			}
+			ids = decodificar(atuais[i]);
+			posicao = -Arrays.binarySearch(ids, id) - 1;
+			novos = new int[ids.length + 1];
+			System.arraycopy(ids, 0, novos, 0, posicao);
+			novos[posicao] = id;
+			System.arraycopy(ids, posicao, novos, posicao + 1, ids.length - posicao);
+			listas.upsert(termos[i], ListaOcorrencias.comprimida(novos, novos.length));
+			comparacoes += listas.getComparacoes();
+		}
+		quantosItens++;
+		concluirMedicao(Operacao.INSERCAO);
+	}
+
+	/**
+	 * Retira o identificador do item das listas das palavras do seu texto. As palavras que ficam sem itens deixam de ser indexadas.
+	 * @param id identificador do item.
+	 * @param texto texto com o qual o item foi indexado.
+	 * @return true, caso o item tenha sido removido; false, caso o identificador não esteja na lista de alguma das palavras
+	 * do texto (nesse caso, o índice não é alterado).
+	 */
+	public boolean remover(int id, String texto) {
+
+		String[] termos = palavrasDistintas(texto);
+		int[][] ids = new int[termos.length][];
+		int[] posicoes = new int[termos.length];
+		int[] restantes;
+		ListaOcorrencias atual;
+
+		iniciarMedicao();
+		for (int i = 0; i < termos.length; i++) {
+			atual = listas.pesquisarOuPadrao(termos[i], null);
+			comparacoes += listas.getComparacoes();
+			if (atual != null) {
+				ids[i] = decodificar(atual);
+				posicoes[i] = Arrays.binarySearch(ids[i], id);
+			}
+			if ((atual == null) || (posicoes[i] < 0)) {
+				concluirMedicao(Operacao.REMOCAO);
+				return false;
+			}
+		}
+		for (int i = 0; i < termos.length; i++) {
+			if (ids[i].length == 1)
+				listas.remover(termos[i]);
+			else {
+				restantes = new int[ids[i].length - 1];
+				System.arraycopy(ids[i], 0, restantes, 0, posicoes[i]);
+				System.arraycopy(ids[i], posicoes[i] + 1, restantes, posicoes[i], restantes.length - posicoes[i]);
+				listas.upsert(termos[i], ListaOcorrencias.comprimida(restantes, restantes.length));
+			}
+			comparacoes += listas.getComparacoes();
+		}
+		quantosItens--;
+		concluirMedicao(Operacao.REMOCAO);
+		return true;
+	}
+
+	/// palavras do texto, cada uma uma única vez.
+	private static String[] palavrasDistintas(String texto) {
+
+		String[] termos = palavras(texto);
+		int distintos = 0;
+
+		Arrays.sort(termos);
+		for (int i = 0; i < termos.length; i++)
+			if ((distintos == 0) || !termos[i].equals(termos[distintos - 1]))
+				termos[distintos++] = termos[i];
+		return Arrays.copyOf(termos, distintos);
+	}
+
+	/// decodifica toda a lista de ocorrências.
+	private int[] decodificar(ListaOcorrencias lista) {
+
+		int[] ids = new int[lista.quantidade];
+		Cursor cursor = new Cursor(lista);
+
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = cursor.atual;
+			cursor.proximo();
+		}
+		comparacoes += ids.length;
+		return ids;
+	}
+
+	/**
+	 * Quantidade de itens indexados.
+	 */
+	public int tamanho() {
+		return quantosItens;
+	}
+
+	/**
+	 * Quantidade de palavras distintas indexadas.
+	 */
+	public int quantidadePalavras() {
+		return listas.tamanho();
+	}
+
+	/**
+	 * Espaço ocupado pelas listas de ocorrências comprimidas, em bytes: as diferenças codificadas e os cabeçalhos dos blocos.
+	 */
+	public long tamanhoEmBytes() {
+
+		long[] total = {0};
+
+		listas.paraCada(lista -> total[0] += lista.dados.length + 2L * Integer.BYTES * lista.primeiros.length);
+		return total[0];
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000.0;
+	}
+
+	@Override
+	public Medidor getMedidor() {
+		return medidor;
+	}
+}
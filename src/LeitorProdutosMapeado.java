@@ -0,0 +1,367 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Leitura do arquivo-texto de produtos (formato de {@link Produto#criarDoTexto(String)}) diretamente da memória:
+ * o arquivo é mapeado com {@link FileChannel#map}, e os separadores ';' e '\n' são localizados byte a byte.
+ * Preços, margens e datas são convertidos a partir dos próprios bytes, sem strings intermediárias;
+ * apenas a descrição de cada produto é materializada como String.
+ *
+ * O arquivo deve estar codificado em UTF-8 (ou ASCII), com quebras de linha '\n' ou "\r\n", e ter até 2 GB.
+ *
+ * A leitura em paralelo ({@link #lerProdutosEmParalelo(Path, ForkJoinPool)}) divide o arquivo em fatias
+ * terminadas em quebras de linha, interpretadas ao mesmo tempo pelas threads de um {@link ForkJoinPool}.
+ * A leitura para um {@link ArmazemProdutos} ({@link #lerArmazem(Path)}) copia os campos diretamente para as colunas
+ * do armazém, sem criar nenhum objeto por produto.
+ */
+public class LeitorProdutosMapeado {
+
+	/** Potências de 10 exatamente representáveis em double: uma única divisão por uma delas é corretamente arredondada */
+	private static final double[] POTENCIAS_DE_10 = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	/** Maior mantissa convertida exatamente para double (2^53) */
+	private static final long MAIOR_MANTISSA_EXATA = 1L << 53;
+
+	/** Tamanho mínimo, em bytes, de uma fatia da leitura em paralelo: arquivos menores são lidos por uma única thread */
+	private static final int TAMANHO_MINIMO_FATIA = 256 * 1024;
+
+	/** Fatias por thread do pool, para equilibrar a carga entre threads que terminem antes */
+	private static final int FATIAS_POR_THREAD = 4;
+
+	/**
+	 * Executa a ação informada para cada fatia de um intervalo [inicio, fim), dividindo o intervalo ao meio
+	 * até restar uma única fatia por tarefa.
+	 */
+	private static final class TarefaFatias extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int inicio;
+		private final int fim;
+		private final IntConsumer acao;
+
+		TarefaFatias(int inicio, int fim, IntConsumer acao) {
+			this.inicio = inicio;
+			this.fim = fim;
+			this.acao = acao;
+		}
+
+		@Override
+		protected void compute() {
+
+			int meio;
+
+			if (fim - inicio == 1)
+				acao.accept(inicio);
+			else {
+				meio = (inicio + fim) >>> 1;
+				invokeAll(new TarefaFatias(inicio, meio, acao), new TarefaFatias(meio, fim, acao));
+			}
+		}
+	}
+
+	/// conteúdo do arquivo: cada leitor tem a sua própria cópia do ByteBuffer (e, portanto, a sua própria posição).
+	private final ByteBuffer conteudo;
+	private final int limite;
+	private int posicao;
+
+	/// área de cópia das descrições, reaproveitada entre as linhas.
+	private byte[] descricao = new byte[128];
+
+	/// leitor do trecho [inicio, limite) do arquivo.
+	private LeitorProdutosMapeado(ByteBuffer conteudo, int inicio, int limite) {
+		this.conteudo = conteudo.duplicate();
+		this.limite = limite;
+		this.posicao = inicio;
+	}
+
+	private static ByteBuffer mapear(Path arquivo) throws IOException {
+
+		try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+			if (canal.size() > Integer.MAX_VALUE)
+				throw new IOException("Arquivo de produtos grande demais para ser mapeado: " + canal.size() + " bytes.");
+			/// o mapeamento permanece válido depois do fechamento do canal.
+			return canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+		}
+	}
+
+	/**
+	 * Lê os produtos do arquivo informado. A primeira linha contém a quantidade de produtos;
+	 * cada uma das linhas seguintes, os dados de um produto, no formato "tipo;descrição;preçoDeCusto;margemDeLucro;[dataDeValidade]".
+	 * Os produtos são criados na ordem do arquivo (e, portanto, recebem os identificadores nessa ordem).
+	 * @param arquivo caminho do arquivo de produtos.
+	 * @return vetor com os produtos, na ordem do arquivo.
+	 * @throws IOException caso o arquivo não possa ser lido ou tenha mais de 2 GB.
+	 * @throws NumberFormatException caso algum campo numérico ou data seja inválido, ou o arquivo termine antes do esperado.
+	 */
+	public static Produto[] lerProdutos(Path arquivo) throws IOException {
+
+		ByteBuffer conteudo = mapear(arquivo);
+		LeitorProdutosMapeado leitor = new LeitorProdutosMapeado(conteudo, 0, conteudo.limit());
+		Produto[] produtos = new Produto[(int) leitor.lerInteiro('\n')];
+		int primeiroID = Produto.reservarIDs(produtos.length);
+
+		for (int i = 0; i < produtos.length; i++)
+			produtos[i] = leitor.lerProduto(primeiroID + i);
+		return produtos;
+	}
+
+	/**
+	 * Lê os produtos do arquivo informado para um novo {@link ArmazemProdutos}, fora do heap.
+	 * Os produtos recebem os mesmos identificadores de {@link #lerProdutos(Path)}, e a linha de cada um no armazém
+	 * é a sua posição no arquivo.
+	 * @param arquivo caminho do arquivo de produtos.
+	 * @return armazém com os produtos, na ordem do arquivo.
+	 * @throws IOException caso o arquivo não possa ser lido ou tenha mais de 2 GB.
+	 * @throws NumberFormatException caso algum campo numérico ou data seja inválido, ou o arquivo termine antes do esperado.
+	 * @throws IllegalArgumentException caso os dados de algum produto sejam inválidos.
+	 */
+	public static ArmazemProdutos lerArmazem(Path arquivo) throws IOException {
+
+		ByteBuffer conteudo = mapear(arquivo);
+		LeitorProdutosMapeado leitor = new LeitorProdutosMapeado(conteudo, 0, conteudo.limit());
+		int quantidade = (int) leitor.lerInteiro('\n');
+		ArmazemProdutos armazem = new ArmazemProdutos(quantidade);
+		int primeiroID = Produto.reservarIDs(quantidade);
+		long hoje = LocalDate.now().toEpochDay();
+		int tipo, comprimento;
+		double precoCusto, margemLucro;
+		long diaValidade;
+
+		for (int i = 0; i < quantidade; i++) {
+			tipo = (int) leitor.lerInteiro(';');
+			comprimento = leitor.lerBytesTexto(';');
+			precoCusto = leitor.lerDecimal(';');
+			if (tipo == 2) {
+				margemLucro = leitor.lerDecimal(';');
+				diaValidade = leitor.lerData().toEpochDay();
+				if (diaValidade < hoje)
+					throw new IllegalArgumentException("Data de validade do produto é anterior ao dia de hoje!");
+				armazem.incluir(primeiroID + i, ArmazemProdutos.PERECIVEL, leitor.descricao, comprimento, precoCusto, margemLucro, (int) diaValidade);
+			} else {
+				margemLucro = leitor.lerDecimal('\n');
+				armazem.incluir(primeiroID + i, ArmazemProdutos.NAO_PERECIVEL, leitor.descricao, comprimento, precoCusto, margemLucro, 0);
+			}
+		}
+		return armazem;
+	}
+
+	/**
+	 * Lê os produtos do arquivo informado em paralelo, com as threads do pool informado.
+	 * O resultado é o mesmo de {@link #lerProdutos(Path)}, inclusive os identificadores, atribuídos na ordem das linhas do arquivo.
+	 *
+	 * Após a primeira linha, o arquivo é dividido em fatias de tamanhos aproximadamente iguais, cada uma terminada
+	 * em uma quebra de linha. As linhas de cada fatia são contadas em paralelo; a soma das contagens das fatias anteriores
+	 * indica a posição, no vetor de produtos, da primeira linha de cada fatia, e portanto o seu identificador,
+	 * dentro de uma faixa de identificadores reservada de uma só vez. Em seguida, as fatias são interpretadas em paralelo,
+	 * cada uma preenchendo o seu trecho do vetor de produtos.
+	 * @param arquivo caminho do arquivo de produtos.
+	 * @param pool pool de threads que executam a leitura.
+	 * @return vetor com os produtos, na ordem do arquivo.
+	 * @throws IOException caso o arquivo não possa ser lido ou tenha mais de 2 GB.
+	 * @throws NumberFormatException caso algum campo numérico ou data seja inválido, ou o arquivo termine antes do esperado.
+	 */
+	public static Produto[] lerProdutosEmParalelo(Path arquivo, ForkJoinPool pool) throws IOException {
+
+		ByteBuffer conteudo = mapear(arquivo);
+		LeitorProdutosMapeado cabecalho = new LeitorProdutosMapeado(conteudo, 0, conteudo.limit());
+		Produto[] produtos = new Produto[(int) cabecalho.lerInteiro('\n')];
+		int inicioDados = cabecalho.posicao;
+		int tamanhoDados = conteudo.limit() - inicioDados;
+		int quantasFatias = Math.max(1, Math.min(pool.getParallelism() * FATIAS_POR_THREAD, tamanhoDados / TAMANHO_MINIMO_FATIA));
+		int[] limites = new int[quantasFatias + 1];
+		int[] primeiraLinha = new int[quantasFatias + 1];
+		int primeiroID;
+
+		/// a fatia k é o trecho [limites[k], limites[k + 1]): cada limite é deslocado para o início da linha seguinte.
+		limites[0] = inicioDados;
+		limites[quantasFatias] = conteudo.limit();
+		for (int k = 1; k < quantasFatias; k++)
+			limites[k] = inicioDaProximaLinha(conteudo, Math.max(limites[k - 1], inicioDados + (int) ((long) tamanhoDados * k / quantasFatias)));
+
+		pool.invoke(new TarefaFatias(0, quantasFatias, k -> primeiraLinha[k + 1] = contarLinhas(conteudo, limites[k], limites[k + 1])));
+		for (int k = 1; k <= quantasFatias; k++)
+			primeiraLinha[k] += primeiraLinha[k - 1];
+		if (primeiraLinha[quantasFatias] < produtos.length)
+			throw new NumberFormatException("Fim inesperado do arquivo de produtos.");
+
+		primeiroID = Produto.reservarIDs(produtos.length);
+		pool.invoke(new TarefaFatias(0, quantasFatias, k -> {
+			LeitorProdutosMapeado leitor = new LeitorProdutosMapeado(conteudo, limites[k], limites[k + 1]);
+			/// linhas além da quantidade informada na primeira linha são ignoradas, como na leitura sequencial.
+			for (int i = primeiraLinha[k]; i < Math.min(primeiraLinha[k + 1], produtos.length); i++)
+				produtos[i] = leitor.lerProduto(primeiroID + i);
+		}));
+		return produtos;
+	}
+
+	/// posição seguinte à primeira quebra de linha a partir da posição informada (ou o fim do arquivo).
+	private static int inicioDaProximaLinha(ByteBuffer conteudo, int posicao) {
+
+		while ((posicao < conteudo.limit()) && (conteudo.get(posicao) != '\n'))
+			posicao++;
+		return Math.min(posicao + 1, conteudo.limit());
+	}
+
+	/// quantidade de linhas do trecho [inicio, fim): quebras de linha, mais a última linha, caso não termine em uma.
+	private static int contarLinhas(ByteBuffer conteudo, int inicio, int fim) {
+
+		int linhas = 0;
+
+		for (int i = inicio; i < fim; i++)
+			if (conteudo.get(i) == '\n')
+				linhas++;
+		if ((fim > inicio) && (conteudo.get(fim - 1) != '\n'))
+			linhas++;
+		return linhas;
+	}
+
+	/// lê os campos de uma linha, consumindo também a quebra de linha.
+	private Produto lerProduto(int id) {
+
+		int tipo = (int) lerInteiro(';');
+		String desc = lerTexto(';');
+		double precoCusto = lerDecimal(';');
+		double margemLucro;
+
+		if (tipo == 2) {
+			margemLucro = lerDecimal(';');
+			return new ProdutoPerecivel(id, desc, precoCusto, margemLucro, lerData());
+		}
+		margemLucro = lerDecimal('\n');
+		return new ProdutoNaoPerecivel(id, desc, precoCusto, margemLucro);
+	}
+
+	/**
+	 * Consome o separador informado (ou a quebra de linha, que encerra qualquer campo),
+	 * ignorando um '\r' que o preceda. No fim do arquivo, apenas a quebra de linha pode estar ausente.
+	 */
+	private void consumirSeparador(char separador) {
+
+		if ((posicao < limite) && (conteudo.get(posicao) == '\r'))
+			posicao++;
+		if (posicao == limite) {
+			if (separador != '\n')
+				throw new NumberFormatException("Fim inesperado do arquivo de produtos.");
+			return;
+		}
+		if ((conteudo.get(posicao) != separador) && (conteudo.get(posicao) != '\n'))
+			throw new NumberFormatException("Caractere inesperado na posição " + posicao + " do arquivo de produtos.");
+		posicao++;
+	}
+
+	private long lerInteiro(char separador) {
+
+		long valor = 0;
+		int inicio = posicao;
+		byte atual;
+
+		while ((posicao < limite) && ((atual = conteudo.get(posicao)) >= '0') && (atual <= '9')) {
+			valor = valor * 10 + (atual - '0');
+			posicao++;
+		}
+		if (posicao == inicio)
+			throw new NumberFormatException("Número esperado na posição " + inicio + " do arquivo de produtos.");
+		consumirSeparador(separador);
+		return valor;
+	}
+
+	/**
+	 * Lê um número decimal com '.' ou ',' como separador decimal: os dígitos são acumulados em uma mantissa inteira m,
+	 * e o valor é m / 10^k, sendo k a quantidade de casas decimais. O resultado é o mesmo de Double.parseDouble;
+	 * números com mais dígitos do que os representáveis exatamente são convertidos por Double.parseDouble.
+	 */
+	private double lerDecimal(char separador) {
+
+		int inicio = posicao;
+		long mantissa = 0;
+		int casasDecimais = -1;
+		int digitos = 0;
+		boolean negativo = false;
+		byte atual;
+
+		if ((posicao < limite) && (conteudo.get(posicao) == '-')) {
+			negativo = true;
+			posicao++;
+		}
+		while (posicao < limite) {
+			atual = conteudo.get(posicao);
+			if ((atual >= '0') && (atual <= '9')) {
+				mantissa = mantissa * 10 + (atual - '0');
+				digitos++;
+				if (mantissa >= MAIOR_MANTISSA_EXATA)
+					return lerDecimalLongo(inicio, separador);
+				if (casasDecimais >= 0)
+					casasDecimais++;
+			} else if (((atual == '.') || (atual == ',')) && (casasDecimais < 0))
+				casasDecimais = 0;
+			else
+				break;
+			posicao++;
+		}
+		if ((digitos == 0) || (casasDecimais >= POTENCIAS_DE_10.length))
+			return lerDecimalLongo(inicio, separador);
+
+		consumirSeparador(separador);
+		if (casasDecimais > 0)
+			return (negativo ? -mantissa : mantissa) / POTENCIAS_DE_10[casasDecimais];
+		return (negativo ? -mantissa : mantissa);
+	}
+
+	/// caso raro: o campo é convertido para String e interpretado por Double.parseDouble.
+	private double lerDecimalLongo(int inicio, char separador) {
+
+		posicao = inicio;
+		return Double.parseDouble(lerTexto(separador).trim().replace(",", "."));
+	}
+
+	/// lê uma data no formato dd/MM/yyyy, que encerra a linha.
+	private LocalDate lerData() {
+
+		int dia = (int) lerInteiro('/');
+		int mes = (int) lerInteiro('/');
+		int ano = (int) lerInteiro('\n');
+
+		try {
+			return LocalDate.of(ano, mes, dia);
+		} catch (RuntimeException excecao) {
+			throw new NumberFormatException("Data inválida: " + dia + "/" + mes + "/" + ano);
+		}
+	}
+
+	/// lê um campo de texto (decodificado como UTF-8) até o separador.
+	private String lerTexto(char separador) {
+		return new String(descricao, 0, lerBytesTexto(separador), StandardCharsets.UTF_8);
+	}
+
+	/// copia os bytes de um campo de texto, até o separador, para a área de cópia das descrições, retornando a quantidade de bytes.
+	private int lerBytesTexto(char separador) {
+
+		int inicio = posicao;
+		int fim;
+		byte atual;
+
+		while ((posicao < limite) && ((atual = conteudo.get(posicao)) != separador) && (atual != '\n'))
+			posicao++;
+		fim = posicao;
+		if ((fim > inicio) && (conteudo.get(fim - 1) == '\r'))
+			fim--;
+		consumirSeparador(separador);
+
+		if (fim - inicio > descricao.length)
+			descricao = new byte[Math.max(fim - inicio, 2 * descricao.length)];
+		conteudo.get(inicio, descricao, 0, fim - inicio);
+		return fim - inicio;
+	}
+}
@@ -1,8 +1,12 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 
-public class Lista<E> implements IMedicao {
+public class Lista<E> implements ISequencia<E> {
 
 	private Celula<E> primeiro;
 	private Celula<E> ultimo;
@@ -10,13 +14,44 @@ public class Lista<E> implements IMedicao {
 	private long comparacoes;
 	private long inicio;
 	private long termino;
+	private final Medidor medidor;
 	
+	/**
+	 * Cria uma lista vazia sem instrumentação cumulativa ({@link Medidor#INATIVO}): um medidor compartilhado pelas listas
+	 * sem medidor próprio, como as listas de produtos dos pedidos e dos fornecedores, seria atualizado por todas as threads.
+	 * Para medir as operações da lista, ver {@link #Lista(Medidor)}.
+	 */
 	public Lista() {
+		this(Medidor.INATIVO);
+	}
+	
+	/**
+	 * Cria uma lista vazia cujas operações são registradas no medidor informado.
+	 * @param medidor medidor da lista. {@link Medidor#INATIVO} desativa a instrumentação cumulativa.
+	 */
+	public Lista(Medidor medidor) {
 		
 		Celula<E> sentinela = new Celula<>();
 		
 		this.primeiro = this.ultimo = sentinela;
 		this.tamanho = 0;
+		this.medidor = medidor;
+	}
+	
+	/**
+	 * Zera a contagem de comparações e registra o início de uma operação.
+	 */
+	private void iniciarMedicao() {
+		comparacoes = 0;
+		inicio = System.nanoTime();
+	}
+	
+	/**
+	 * Registra o término da operação iniciada por {@link #iniciarMedicao()} no medidor da lista.
+	 */
+	private void concluirMedicao(Operacao operacao) {
+		termino = System.nanoTime();
+		medidor.registrar(operacao, termino - inicio, comparacoes);
 	}
 	
 	public boolean vazia() {
@@ -32,9 +67,15 @@ public class Lista<E> implements IMedicao {
 			throw new IndexOutOfBoundsException("Não foi possível inserir o item na lista: "
 					+ "a posição informada é inválida!");
 		
-		anterior = this.primeiro;
-		for (int i = 0; i < posicao; i++)
-			anterior = anterior.getProximo();
+		iniciarMedicao();
+		// inserção na última posição: a célula anterior é a última, sem percorrer a lista
+		if (posicao == this.tamanho)
+			anterior = this.ultimo;
+		else {
+			anterior = this.primeiro;
+			for (int i = 0; i < posicao; i++)
+				anterior = anterior.getProximo();
+		}
 				
 		novaCelula = new Celula<>(novo);
 			
@@ -46,17 +87,21 @@ public class Lista<E> implements IMedicao {
 		if (posicao == this.tamanho)  // a inserção ocorreu na última posição da lista
 			this.ultimo = novaCelula;
 			
-		this.tamanho++;		
+		this.tamanho++;
+		concluirMedicao(Operacao.INSERCAO);
 	}
 	
 	public void inserirFinal(E novo) {
 		
-		Celula<E> novaCelula = new Celula<>(novo);
+		Celula<E> novaCelula;
 		
+		iniciarMedicao();
+		novaCelula = new Celula<>(novo);
 		this.ultimo.setProximo(novaCelula);
 		this.ultimo = novaCelula;
 		
 		this.tamanho++;
+		concluirMedicao(Operacao.INSERCAO);
 	}
 	
 	private E removerProxima(Celula<E> anterior) {
@@ -81,6 +126,7 @@ public class Lista<E> implements IMedicao {
 	public E remover(int posicao) {
 		
 		Celula<E> anterior;
+		E removido;
 		
 		if (vazia())
 			throw new IllegalStateException("Não foi possível remover o item da lista: "
@@ -90,69 +136,153 @@ public class Lista<E> implements IMedicao {
 			throw new IndexOutOfBoundsException("Não foi possível remover o item da lista: "
 					+ "a posição informada é inválida!");
 			
+		iniciarMedicao();
 		anterior = this.primeiro;
 		for (int i = 0; i < posicao; i++)
 			anterior = anterior.getProximo();
 				
-		return (removerProxima(anterior));
+		removido = removerProxima(anterior);
+		concluirMedicao(Operacao.REMOCAO);
+		return removido;
 	}
 	
 	public E remover(E elemento) {
 		
-		Celula<E> anterior;
+		E removido;
 		
 		if (vazia())
 			throw new IllegalStateException("Não foi possível remover o item da lista: "
 					+ "a lista está vazia!");
 		
+		removido = removerOuPadrao(elemento, null);
+		if (removido == null)
+			throw new NoSuchElementException("Item não encontrado!");
+		return removido;
+	}
+	
+	/**
+	 * Remove a primeira ocorrência de um item igual ao informado sem lançar exceção quando ele não é encontrado,
+	 * localizando e desligando a célula em um único percurso.
+	 * @param elemento item a ser removido (comparado por equals).
+	 * @param padrao valor retornado caso o item não seja encontrado.
+	 * @return o item removido, ou o valor padrão (também para uma lista vazia).
+	 */
+	public E removerOuPadrao(E elemento, E padrao) {
+		
+		Celula<E> anterior;
+		E removido;
+		
+		iniciarMedicao();
 		anterior = this.primeiro;
-		while ((anterior.getProximo() != null) && !(anterior.getProximo().getItem().equals(elemento)))
+		while ((anterior.getProximo() != null) && !(anterior.getProximo().getItem().equals(elemento))) {
+			comparacoes++;
 			anterior = anterior.getProximo();
+		}
 		
-		if (anterior.getProximo() == null)
-			throw new NoSuchElementException("Item não encontrado!");
-		else {
-			return (removerProxima(anterior));
+		if (anterior.getProximo() == null) {
+			concluirMedicao(Operacao.REMOCAO);
+			return padrao;
 		}
+		comparacoes++;
+		removido = removerProxima(anterior);
+		concluirMedicao(Operacao.REMOCAO);
+		return removido;
+	}
+	
+	/**
+	 * Retorna o item da posição informada, percorrendo a lista até ela.
+	 * @throws IndexOutOfBoundsException caso a posição seja inválida.
+	 */
+	public E obter(int posicao) {
+		
+		Celula<E> aux;
+		
+		if ((posicao < 0) || (posicao >= this.tamanho))
+			throw new IndexOutOfBoundsException("Posição inválida na lista: " + posicao);
+		
+		aux = this.primeiro.getProximo();
+		for (int i = 0; i < posicao; i++)
+			aux = aux.getProximo();
+		return aux.getItem();
 	}
 	
 	public E pesquisar(E procurado) {
 		
+		E encontrado = pesquisarOuPadrao(procurado, null);
+		
+		if (encontrado == null)
+			throw new NoSuchElementException("Item não encontrado!");
+		return encontrado;
+	}
+	
+	/**
+	 * Pesquisa um item na lista sem lançar exceção quando ele não é encontrado.
+	 * @param procurado item a ser localizado (comparado por equals).
+	 * @param padrao valor retornado caso o item não seja encontrado.
+	 * @return o item da lista igual ao procurado, ou o valor padrão.
+	 */
+	public E pesquisarOuPadrao(E procurado, E padrao) {
+		
 		Celula<E> aux;
-		comparacoes = 0;
-		inicio = System.nanoTime();
+		iniciarMedicao();
 		
 		aux = this.primeiro.getProximo();
 		
 		while (aux != null) {
 			comparacoes++;
 			if (aux.getItem().equals(procurado)) {
-				termino = System.nanoTime();
+				concluirMedicao(Operacao.PESQUISA);
 				return aux.getItem();
 			}
 			aux = aux.getProximo();
 		}
 		
-		throw new NoSuchElementException("Item não encontrado!");
+		concluirMedicao(Operacao.PESQUISA);
+		return padrao;
+	}
+	
+	/**
+	 * Indica se a lista contém um item igual ao informado.
+	 * @param procurado item a ser localizado (comparado por equals).
+	 * @return true caso o item esteja na lista; false, caso contrário.
+	 */
+	public boolean contem(E procurado) {
+		return (pesquisarOuPadrao(procurado, null) != null);
 	}
 	
 	@Override
 	public String toString() {
 		
-		Celula<E> aux;
-		String listaString = "A lista está vazia!\n";
+		StringBuilder listaString = new StringBuilder();
 		
-		if (!vazia()) {
-			listaString = "";
+		try {
+			percorrer(listaString);
+		} catch (IOException excecao) { // não ocorre: StringBuilder não lança IOException.
+			throw new UncheckedIOException(excecao);
+		}
+		return listaString.toString();
+	}
+	
+	/**
+	 * Escreve os itens da lista no destino informado, um por linha, do primeiro ao último, 
+	 * no mesmo formato de {@link #toString()}, sem montar antes a string completa da lista.
+	 * @param destino destino da escrita (por exemplo, um Writer de arquivo ou um StringBuilder).
+	 * @throws IOException caso ocorra um erro de escrita no destino.
+	 */
+	public void percorrer(Appendable destino) throws IOException {
 		
-			aux = this.primeiro.getProximo();
+		Celula<E> aux;
 		
-			while (aux != null) {
-				listaString += aux.getItem() + "\n";
-				aux = aux.getProximo();
-			}
+		if (vazia()) {
+			destino.append("A lista está vazia!\n");
+			return;
+		}
+		
+		aux = this.primeiro.getProximo();
+		while (aux != null) {
+			destino.append(String.valueOf(aux.getItem())).append('\n');
+			aux = aux.getProximo();
 		}
-		return listaString;
 	}
 	
 	/**
@@ -196,6 +326,37 @@ public class Lista<E> implements IMedicao {
    		return (soma);
    	}
    	
+	/**
+	 * Soma os valores extraídos de cada item da lista, do primeiro ao último, sem converter cada valor para Double.
+	 * @param extrator uma função que extrai um valor numérico de cada elemento da lista.
+	 * @return a soma dos valores (0, para uma lista vazia).
+	 */
+	public double somar(ToDoubleFunction<? super E> extrator) {
+		
+		Celula<E> aux = primeiro.getProximo();
+		double soma = 0;
+		
+		while (aux != null) {
+			soma += extrator.applyAsDouble(aux.getItem());
+			aux = aux.getProximo();
+		}
+		return soma;
+	}
+	
+	/**
+	 * Executa a ação informada sobre cada item da lista, do primeiro ao último.
+	 * @param acao ação a ser executada sobre cada item.
+	 */
+	public void paraCada(Consumer<? super E> acao) {
+		
+		Celula<E> aux = primeiro.getProximo();
+		
+		while (aux != null) {
+			acao.accept(aux.getItem());
+			aux = aux.getProximo();
+		}
+	}
+	
 	public int tamanho() {
 		return tamanho;
 	}
@@ -207,6 +368,11 @@ public class Lista<E> implements IMedicao {
 
 	@Override
 	public double getTempo() {
-		return (termino - inicio) / 1_000_000;
+		return (termino - inicio) / 1_000_000.0;
+	}
+	
+	@Override
+	public Medidor getMedidor() {
+		return medidor;
 	}
 }
@@ -0,0 +1,290 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Lista armazenada em um vetor que cresce conforme necessário: os itens ocupam as posições 0 a tamanho - 1,
+ * em memória contígua. A inserção no final é O(1) amortizado (o vetor dobra de tamanho quando se esgota),
+ * e o acesso por posição é O(1); inserções e remoções em outras posições deslocam os itens seguintes.
+ *
+ * Tem as mesmas operações, mensagens de erro e formato de escrita da lista encadeada ({@link Lista}),
+ * e pode substituí-la onde a sequência é usada por meio de {@link ISequencia}.
+ */
+public class ListaArray<E> implements ISequencia<E> {
+
+	private static final int CAPACIDADE_INICIAL = 8;
+
+	private Object[] itens;
+	private int tamanho;
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+	private final Medidor medidor;
+
+	/**
+	 * Cria uma lista vazia sem instrumentação cumulativa ({@link Medidor#INATIVO}), como a {@link Lista}.
+	 * Para medir as operações da lista, ver {@link #ListaArray(Medidor)}.
+	 */
+	public ListaArray() {
+		this(Medidor.INATIVO);
+	}
+
+	/**
+	 * Cria uma lista vazia cujas operações são registradas no medidor informado.
+	 * @param medidor medidor da lista. {@link Medidor#INATIVO} desativa a instrumentação cumulativa.
+	 */
+	public ListaArray(Medidor medidor) {
+		this(CAPACIDADE_INICIAL, medidor);
+	}
+
+	/**
+	 * Cria uma lista vazia com espaço inicial para a quantidade informada de itens.
+	 * @param capacidade quantidade de itens prevista.
+	 * @param medidor medidor da lista.
+	 */
+	public ListaArray(int capacidade, Medidor medidor) {
+		this.itens = new Object[Math.max(1, capacidade)];
+		this.tamanho = 0;
+		this.medidor = medidor;
+	}
+
+	private void iniciarMedicao() {
+		comparacoes = 0;
+		inicio = System.nanoTime();
+	}
+
+	private void concluirMedicao(Operacao operacao) {
+		termino = System.nanoTime();
+		medidor.registrar(operacao, termino - inicio, comparacoes);
+	}
+
+	@SuppressWarnings("unchecked")
+	private E item(int posicao) {
+		return (E) itens[posicao];
+	}
+
+	/// garante espaço para mais um item, dobrando o vetor caso esteja cheio.
+	private void garantirEspaco() {
+		if (tamanho == itens.length)
+			itens = Arrays.copyOf(itens, 2 * itens.length);
+	}
+
+	@Override
+	public boolean vazia() {
+		return (tamanho == 0);
+	}
+
+	@Override
+	public int tamanho() {
+		return tamanho;
+	}
+
+	@Override
+	public void inserir(E novo, int posicao) {
+
+		if ((posicao < 0) || (posicao > this.tamanho))
+			throw new IndexOutOfBoundsException("Não foi possível inserir o item na lista: "
+					+ "a posição informada é inválida!");
+
+		iniciarMedicao();
+		garantirEspaco();
+		System.arraycopy(itens, posicao, itens, posicao + 1, tamanho - posicao);
+		itens[posicao] = novo;
+		tamanho++;
+		concluirMedicao(Operacao.INSERCAO);
+	}
+
+	@Override
+	public void inserirFinal(E novo) {
+
+		iniciarMedicao();
+		garantirEspaco();
+		itens[tamanho++] = novo;
+		concluirMedicao(Operacao.INSERCAO);
+	}
+
+	/// remove o item da posição, deslocando os seguintes uma posição para trás.
+	private E removerDaPosicao(int posicao) {
+
+		E removido = item(posicao);
+
+		System.arraycopy(itens, posicao + 1, itens, posicao, tamanho - posicao - 1);
+		itens[--tamanho] = null;
+		return removido;
+	}
+
+	@Override
+	public E remover(int posicao) {
+
+		E removido;
+
+		if (vazia())
+			throw new IllegalStateException("Não foi possível remover o item da lista: "
+					+ "a lista está vazia!");
+
+		if ((posicao < 0) || (posicao >= this.tamanho))
+			throw new IndexOutOfBoundsException("Não foi possível remover o item da lista: "
+					+ "a posição informada é inválida!");
+
+		iniciarMedicao();
+		removido = removerDaPosicao(posicao);
+		concluirMedicao(Operacao.REMOCAO);
+		return removido;
+	}
+
+	@Override
+	public E remover(E elemento) {
+
+		E removido;
+
+		if (vazia())
+			throw new IllegalStateException("Não foi possível remover o item da lista: "
+					+ "a lista está vazia!");
+
+		removido = removerOuPadrao(elemento, null);
+		if (removido == null)
+			throw new NoSuchElementException("Item não encontrado!");
+		return removido;
+	}
+
+	@Override
+	public E removerOuPadrao(E elemento, E padrao) {
+
+		int posicao;
+		E removido;
+
+		iniciarMedicao();
+		posicao = localizar(elemento);
+		if (posicao < 0) {
+			concluirMedicao(Operacao.REMOCAO);
+			return padrao;
+		}
+		removido = removerDaPosicao(posicao);
+		concluirMedicao(Operacao.REMOCAO);
+		return removido;
+	}
+
+	/// posição do primeiro item igual ao procurado, ou -1, contabilizando as comparações.
+	private int localizar(E procurado) {
+
+		for (int i = 0; i < tamanho; i++) {
+			comparacoes++;
+			if (itens[i].equals(procurado))
+				return i;
+		}
+		return -1;
+	}
+
+	@Override
+	public E obter(int posicao) {
+
+		if ((posicao < 0) || (posicao >= this.tamanho))
+			throw new IndexOutOfBoundsException("Posição inválida na lista: " + posicao);
+		return item(posicao);
+	}
+
+	@Override
+	public E pesquisar(E procurado) {
+
+		E encontrado = pesquisarOuPadrao(procurado, null);
+
+		if (encontrado == null)
+			throw new NoSuchElementException("Item não encontrado!");
+		return encontrado;
+	}
+
+	@Override
+	public E pesquisarOuPadrao(E procurado, E padrao) {
+
+		int posicao;
+
+		iniciarMedicao();
+		posicao = localizar(procurado);
+		concluirMedicao(Operacao.PESQUISA);
+		return (posicao < 0) ? padrao : item(posicao);
+	}
+
+	@Override
+	public boolean contem(E procurado) {
+		return (pesquisarOuPadrao(procurado, null) != null);
+	}
+
+	@Override
+	public String toString() {
+
+		StringBuilder listaString = new StringBuilder();
+
+		try {
+			percorrer(listaString);
+		} catch (IOException excecao) { /// não ocorre: StringBuilder não lança IOException.
+			throw new UncheckedIOException(excecao);
+		}
+		return listaString.toString();
+	}
+
+	@Override
+	public void percorrer(Appendable destino) throws IOException {
+
+		if (vazia()) {
+			destino.append("A lista está vazia!\n");
+			return;
+		}
+		for (int i = 0; i < tamanho; i++)
+			destino.append(String.valueOf(itens[i])).append('\n');
+	}
+
+	@Override
+	public int contarRepeticoes(Predicate<E> condicional) {
+
+		int repeticoes = 0;
+
+		for (int i = 0; i < tamanho; i++)
+			if (condicional.test(item(i)))
+				repeticoes++;
+		return repeticoes;
+	}
+
+	@Override
+	public double calcularValorTotal(Function<E, Double> extrator) {
+
+		if (vazia())
+			throw new IllegalStateException("A lista está vazia!");
+		return somar(item -> extrator.apply(item));
+	}
+
+	@Override
+	public double somar(ToDoubleFunction<? super E> extrator) {
+
+		double soma = 0;
+
+		for (int i = 0; i < tamanho; i++)
+			soma += extrator.applyAsDouble(item(i));
+		return soma;
+	}
+
+	@Override
+	public void paraCada(Consumer<? super E> acao) {
+		for (int i = 0; i < tamanho; i++)
+			acao.accept(item(i));
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000.0;
+	}
+
+	@Override
+	public Medidor getMedidor() {
+		return medidor;
+	}
+}
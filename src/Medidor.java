@@ -0,0 +1,107 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Instrumentação cumulativa das operações de uma estrutura de dados.
+ * Para cada tipo de {@link Operacao}, mantém um histograma das latências (em nanossegundos) 
+ * e um histograma da quantidade de comparações por operação. O registro não usa travas nem aloca objetos,
+ * de modo que o medidor pode permanecer ativo em produção e ser lido, a qualquer momento, por outras threads.
+ */
+public class Medidor {
+
+	/** Medidor que descarta todos os registros. Usado por estruturas internas, cujas operações já são medidas pela estrutura que as contém */
+	public static final Medidor INATIVO = new Medidor(false);
+
+	private static final Operacao[] OPERACOES = Operacao.values();
+
+	private final boolean ativo;
+	private final Histograma[] latencias;
+	private final Histograma[] comparacoes;
+	/// pesquisas não respondidas por um cache (ver CacheMapeamento): as demais pesquisas registradas são acertos.
+	private final LongAdder falhasCache = new LongAdder();
+
+	public Medidor() {
+		this(true);
+	}
+
+	private Medidor(boolean ativo) {
+
+		this.ativo = ativo;
+		latencias = new Histograma[ativo ? OPERACOES.length : 0];
+		comparacoes = new Histograma[ativo ? OPERACOES.length : 0];
+		for (int i = 0; i < latencias.length; i++) {
+			latencias[i] = new Histograma();
+			comparacoes[i] = new Histograma();
+		}
+	}
+
+	/**
+	 * Registra uma operação concluída.
+	 * @param operacao tipo da operação.
+	 * @param nanossegundos duração da operação, em nanossegundos.
+	 * @param quantasComparacoes quantidade de comparações realizadas pela operação.
+	 */
+	public void registrar(Operacao operacao, long nanossegundos, long quantasComparacoes) {
+
+		if (ativo) {
+			latencias[operacao.ordinal()].registrar(nanossegundos);
+			comparacoes[operacao.ordinal()].registrar(quantasComparacoes);
+		}
+	}
+
+	/**
+	 * Registra uma pesquisa que não foi respondida por um cache e foi repassada à estrutura original.
+	 * A pesquisa deve ser registrada também por {@link #registrar}, como as demais.
+	 */
+	public void registrarFalhaCache() {
+		if (ativo)
+			falhasCache.increment();
+	}
+
+	/**
+	 * Retorna uma cópia imutável dos contadores e histogramas atuais.
+	 */
+	public RetratoMedicao retrato() {
+		return retrato(false);
+	}
+
+	/**
+	 * Retorna uma cópia imutável dos contadores e histogramas atuais e os zera, 
+	 * de modo que leituras periódicas obtêm apenas as operações realizadas desde a leitura anterior.
+	 */
+	public RetratoMedicao retratoEZerar() {
+		return retrato(true);
+	}
+
+	private RetratoMedicao retrato(boolean zerar) {
+
+		RetratoHistograma[] retratosLatencias = new RetratoHistograma[OPERACOES.length];
+		RetratoHistograma[] retratosComparacoes = new RetratoHistograma[OPERACOES.length];
+		RetratoHistograma vazio = new RetratoHistograma(new long[Histograma.FAIXAS], 0, 0);
+		long falhas = zerar ? falhasCache.sumThenReset() : falhasCache.sum();
+
+		for (int i = 0; i < OPERACOES.length; i++) {
+			if (!ativo) {
+				retratosLatencias[i] = retratosComparacoes[i] = vazio;
+			} else if (zerar) {
+				retratosLatencias[i] = latencias[i].retratoEZerar();
+				retratosComparacoes[i] = comparacoes[i].retratoEZerar();
+			} else {
+				retratosLatencias[i] = latencias[i].retrato();
+				retratosComparacoes[i] = comparacoes[i].retrato();
+			}
+		}
+		return new RetratoMedicao(retratosLatencias, retratosComparacoes, falhas);
+	}
+
+	/**
+	 * Descarta todas as operações registradas.
+	 */
+	public void zerar() {
+
+		for (int i = 0; i < latencias.length; i++) {
+			latencias[i].zerar();
+			comparacoes[i].zerar();
+		}
+		falhasCache.reset();
+	}
+}
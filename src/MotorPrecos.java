@@ -0,0 +1,326 @@
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Cálculo em lote dos valores de venda de produtos e dos valores finais de pedidos, com as regras de
+ * {@link ProdutoNaoPerecivel#valorDeVenda()}, {@link ProdutoPerecivel#valorDeVenda()} e {@link Pedido#valorFinal()}.
+ *
+ * Os produtos são tratados como colunas: preços de custo, margens de lucro e dias de validade (dias desde 01/01/1970,
+ * ou {@link #SEM_VALIDADE} para os não perecíveis) em vetores paralelos. Cada valor de venda é calculado pela mesma
+ * expressão, sem chamadas virtuais e sem desvios por tipo de produto: o desconto por proximidade da validade é
+ * um fator (1 ou 1 - desconto) escolhido por comparação, e os produtos não perecíveis nunca atingem o prazo do desconto.
+ * Laços desse formato podem ser vetorizados pelo compilador JIT.
+ *
+ * O dia de hoje é obtido uma única vez, na criação do motor, e vale para todos os lotes calculados por ele.
+ * {@link #diaDeHoje()} o obtém sem alocar objetos, exceto na primeira consulta de cada dia.
+ */
+public class MotorPrecos {
+
+	/** Dia de validade dos produtos não perecíveis na coluna de validades */
+	static final int SEM_VALIDADE = Integer.MAX_VALUE;
+
+	/** Produtos por bloco nos cálculos sobre produtos que não estão em colunas: os vetores do bloco são reaproveitados */
+	private static final int TAMANHO_BLOCO = 1024;
+
+	private static final double FATOR_DESCONTO = 1.0 - ProdutoPerecivel.DESCONTO;
+
+	/**
+	 * Um dia, em dias desde 01/01/1970, e o intervalo [inicio, fim) de instantes (System.currentTimeMillis)
+	 * em que ele é o dia de hoje, no fuso horário padrão.
+	 */
+	private static final class Dia {
+
+		final int dia;
+		final long inicio;
+		final long fim;
+
+		Dia(LocalDate data, ZoneId fuso) {
+			dia = (int) data.toEpochDay();
+			inicio = data.atStartOfDay(fuso).toInstant().toEpochMilli();
+			fim = data.plusDays(1).atStartOfDay(fuso).toInstant().toEpochMilli();
+		}
+	}
+
+	/// último dia de hoje obtido: substituído, por inteiro, quando o instante atual sai do seu intervalo.
+	private static volatile Dia diaEmCache;
+
+	/// dia de hoje e último dia com desconto por proximidade da validade, em dias desde 01/01/1970.
+	private final int hoje;
+	private final int limiteDesconto;
+
+	/**
+	 * Construtor da classe.
+	 * Cria um motor que calcula os preços na data atual.
+	 */
+	public MotorPrecos() {
+		this(diaDeHoje());
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Cria um motor que calcula os preços na data informada.
+	 */
+	public MotorPrecos(LocalDate hoje) {
+		this((int) hoje.toEpochDay());
+	}
+
+	/// motor que calcula os preços no dia informado, em dias desde 01/01/1970.
+	MotorPrecos(int hoje) {
+		this.hoje = hoje;
+		this.limiteDesconto = (int) ultimoDiaComDesconto(hoje);
+	}
+
+	/**
+	 * Último dia de validade com desconto por proximidade da validade, no dia informado: hoje + {@value ProdutoPerecivel#PRAZO_DESCONTO}.
+	 * O prazo é a diferença, em dias, entre hoje e a validade. Period.getDays(), usado anteriormente, considera apenas
+	 * os dias que excedem os meses completos: um produto com validade daqui a um mês e dois dias recebia o desconto.
+	 */
+	static long ultimoDiaComDesconto(long hoje) {
+		return hoje + ProdutoPerecivel.PRAZO_DESCONTO;
+	}
+
+	/**
+	 * Dia de hoje (o mesmo de LocalDate.now().toEpochDay()), em dias desde 01/01/1970.
+	 * Em cada dia, apenas a primeira consulta cria objetos: as demais apenas comparam o instante atual com o intervalo do dia.
+	 * Uma mudança do fuso horário padrão é percebida apenas no fim do dia em cache.
+	 */
+	static int diaDeHoje() {
+
+		Dia atual = diaEmCache;
+		long agora = System.currentTimeMillis();
+		ZoneId fuso;
+
+		if ((atual != null) && (agora >= atual.inicio) && (agora < atual.fim))
+			return atual.dia;
+
+		fuso = ZoneId.systemDefault();
+		atual = new Dia(LocalDate.now(fuso), fuso);
+		diaEmCache = atual;
+		return atual.dia;
+	}
+
+	public LocalDate getHoje() {
+		return LocalDate.ofEpochDay(hoje);
+	}
+
+	/**
+	 * Valor de venda de um único produto, com os dados informados, no dia informado.
+	 * @param diaValidade dia da validade (LocalDate.toEpochDay), ou {@link #SEM_VALIDADE}.
+	 * @param hoje dia de hoje (LocalDate.toEpochDay).
+	 * @throws IllegalArgumentException caso a validade seja anterior ao dia de hoje.
+	 */
+	static double valorDeVenda(double precoCusto, double margemLucro, int diaValidade, long hoje) {
+
+		double precoVenda;
+
+		if (diaValidade < hoje)
+			throw new IllegalArgumentException("Data de validade do produto é anterior ao dia de hoje!");
+
+		precoVenda = (precoCusto * (1.0 + margemLucro));
+		if (diaValidade <= ultimoDiaComDesconto(hoje))
+			precoVenda = precoVenda * FATOR_DESCONTO;
+		return precoVenda;
+	}
+
+	/**
+	 * Valor de venda do produto informado, no dia de hoje deste motor.
+	 * @throws IllegalArgumentException caso o produto seja perecível e esteja vencido.
+	 */
+	public double valorDeVenda(Produto produto) {
+		return valorDeVenda(produto.getPrecoCusto(), produto.getMargemLucro(), produto.diaDeValidade(), hoje);
+	}
+
+	/// lança a exceção de produto vencido caso alguma das validades seja anterior ao dia de hoje.
+	private void verificarValidades(int[] validades, int quantidade) {
+
+		int menor = SEM_VALIDADE;
+
+		for (int i = 0; i < quantidade; i++)
+			menor = Math.min(menor, validades[i]);
+		if (menor < hoje)
+			throw new IllegalArgumentException("Data de validade do produto é anterior ao dia de hoje!");
+	}
+
+	/**
+	 * Calcula os valores de venda das primeiras posições das colunas informadas.
+	 * @param custos preços de custo.
+	 * @param margens margens de lucro.
+	 * @param validades dias de validade (LocalDate.toEpochDay), ou {@link #SEM_VALIDADE}.
+	 * @param quantidade quantidade de produtos (posições das colunas).
+	 * @param valores vetor em que são armazenados os valores de venda, nas mesmas posições.
+	 * @throws IllegalArgumentException caso algum produto esteja vencido; nesse caso, nenhum valor é calculado.
+	 */
+	public void calcularValoresDeVenda(double[] custos, double[] margens, int[] validades, int quantidade, double[] valores) {
+
+		verificarValidades(validades, quantidade);
+		for (int i = 0; i < quantidade; i++)
+			valores[i] = custos[i] * (1.0 + margens[i]) * ((validades[i] <= limiteDesconto) ? FATOR_DESCONTO : 1.0);
+	}
+
+	/**
+	 * Soma dos valores de venda das primeiras posições das colunas informadas (ver
+	 * {@link #calcularValoresDeVenda(double[], double[], int[], int, double[])}), em ordem de posição:
+	 * o resultado é o mesmo da soma dos valores de venda calculados um a um.
+	 */
+	public double somarValoresDeVenda(double[] custos, double[] margens, int[] validades, int quantidade) {
+		return acumularValoresDeVenda(0, custos, margens, validades, quantidade);
+	}
+
+	/// acrescenta à soma informada os valores de venda, um a um: a soma de um catálogo em blocos é igual à soma em um único bloco.
+	private double acumularValoresDeVenda(double soma, double[] custos, double[] margens, int[] validades, int quantidade) {
+
+		double[] valores = new double[Math.min(quantidade, TAMANHO_BLOCO)];
+		int tamanhoBloco;
+
+		verificarValidades(validades, quantidade);
+		for (int inicio = 0; inicio < quantidade; inicio += TAMANHO_BLOCO) {
+			tamanhoBloco = Math.min(TAMANHO_BLOCO, quantidade - inicio);
+			for (int i = 0; i < tamanhoBloco; i++)
+				valores[i] = custos[inicio + i] * (1.0 + margens[inicio + i])
+						* ((validades[inicio + i] <= limiteDesconto) ? FATOR_DESCONTO : 1.0);
+			for (int i = 0; i < tamanhoBloco; i++)
+				soma += valores[i];
+		}
+		return soma;
+	}
+
+	/**
+	 * Colunas de um bloco de produtos, preenchidas a partir dos próprios objetos.
+	 */
+	private static final class Colunas {
+
+		double[] custos;
+		double[] margens;
+		int[] validades;
+		int quantidade;
+
+		Colunas(int capacidade) {
+			custos = new double[capacidade];
+			margens = new double[capacidade];
+			validades = new int[capacidade];
+		}
+
+		void incluir(Produto produto) {
+			custos[quantidade] = produto.getPrecoCusto();
+			margens[quantidade] = produto.getMargemLucro();
+			validades[quantidade] = produto.diaDeValidade();
+			quantidade++;
+		}
+	}
+
+	/**
+	 * Calcula os valores de venda dos produtos informados.
+	 * @return vetor com o valor de venda de cada produto, na mesma posição do produto.
+	 * @throws IllegalArgumentException caso algum produto esteja vencido.
+	 */
+	public double[] calcularValoresDeVenda(Produto[] produtos) {
+
+		Colunas colunas = new Colunas(produtos.length);
+		double[] valores = new double[produtos.length];
+
+		for (Produto produto : produtos)
+			colunas.incluir(produto);
+		calcularValoresDeVenda(colunas.custos, colunas.margens, colunas.validades, colunas.quantidade, valores);
+		return valores;
+	}
+
+	/**
+	 * Valor total de venda do catálogo informado: a soma dos valores de venda de todos os produtos.
+	 * Os produtos são copiados para colunas em blocos, e cada bloco é calculado em uma única passada.
+	 * @throws IllegalArgumentException caso algum produto esteja vencido.
+	 */
+	public double avaliarCatalogo(Produto[] produtos) {
+
+		Colunas colunas = new Colunas(Math.min(produtos.length, TAMANHO_BLOCO));
+		double soma = 0;
+
+		for (int inicio = 0; inicio < produtos.length; inicio += TAMANHO_BLOCO) {
+			colunas.quantidade = 0;
+			for (int i = inicio; i < Math.min(produtos.length, inicio + TAMANHO_BLOCO); i++)
+				colunas.incluir(produtos[i]);
+			soma = acumularValoresDeVenda(soma, colunas.custos, colunas.margens, colunas.validades, colunas.quantidade);
+		}
+		return soma;
+	}
+
+	/**
+	 * Valor total de venda dos produtos do armazém informado, calculado diretamente sobre blocos das suas colunas.
+	 * @throws IllegalArgumentException caso algum produto esteja vencido.
+	 */
+	public double avaliarCatalogo(ArmazemProdutos armazem) {
+
+		Colunas colunas = new Colunas(Math.min(armazem.tamanho(), TAMANHO_BLOCO));
+		double soma = 0;
+
+		for (int inicio = 0; inicio < armazem.tamanho(); inicio += TAMANHO_BLOCO) {
+			colunas.quantidade = Math.min(TAMANHO_BLOCO, armazem.tamanho() - inicio);
+			armazem.copiarColunas(inicio, colunas.quantidade, colunas.custos, colunas.margens, colunas.validades);
+			soma = acumularValoresDeVenda(soma, colunas.custos, colunas.margens, colunas.validades, colunas.quantidade);
+		}
+		return soma;
+	}
+
+	/**
+	 * Valor final do pedido informado (ver {@link Pedido#valorFinal()}), no dia de hoje deste motor.
+	 * @throws IllegalStateException caso o pedido não contenha produtos.
+	 */
+	public double valorFinal(Pedido pedido) {
+
+		if (pedido.getQuantosProdutos() == 0)
+			throw new IllegalStateException("O pedido não contém produtos!");
+		return Pedido.valorFinal(somarValoresDeVenda(pedido), pedido.getFormaDePagamento());
+	}
+
+	/**
+	 * Soma dos valores de venda dos produtos do pedido informado, na ordem em que foram incluídos,
+	 * no dia de hoje deste motor (sem o desconto da forma de pagamento e sem arredondamento).
+	 * @throws IllegalArgumentException caso algum produto esteja vencido.
+	 */
+	public double somarValoresDeVenda(Pedido pedido) {
+
+		return pedido.getProdutos().somar(this::valorDeVenda);
+	}
+
+	/**
+	 * Recalcula os valores finais dos pedidos informados (ver {@link Pedido#valorFinal()}).
+	 * Os produtos de todos os pedidos são copiados para colunas, na ordem dos pedidos; os valores de venda são
+	 * calculados em uma única passada, e então somados por pedido, na mesma ordem em que cada pedido os somaria.
+	 * @return vetor com o valor final de cada pedido, na ordem da lista.
+	 * @throws IllegalStateException caso algum pedido não contenha produtos.
+	 * @throws IllegalArgumentException caso algum produto esteja vencido.
+	 */
+	public double[] calcularValoresFinais(Lista<Pedido> pedidos) {
+
+		int[] quantidades = {0, 0};
+		Colunas colunas;
+		Pedido[] vetorPedidos = new Pedido[pedidos.tamanho()];
+		int[] fimPedido = new int[pedidos.tamanho()];
+		double[] valores, valoresFinais = new double[pedidos.tamanho()];
+		double soma;
+		int inicio = 0;
+
+		/// quantidade de produtos de todos os pedidos, e a posição, nas colunas, seguinte ao último produto de cada pedido.
+		pedidos.paraCada(pedido -> {
+			if (pedido.getQuantosProdutos() == 0)
+				throw new IllegalStateException("O pedido não contém produtos!");
+			quantidades[0] += pedido.getQuantosProdutos();
+			vetorPedidos[quantidades[1]] = pedido;
+			fimPedido[quantidades[1]++] = quantidades[0];
+		});
+
+		colunas = new Colunas(quantidades[0]);
+		for (Pedido pedido : vetorPedidos)
+			pedido.getProdutos().paraCada(colunas::incluir);
+		valores = new double[colunas.quantidade];
+		calcularValoresDeVenda(colunas.custos, colunas.margens, colunas.validades, colunas.quantidade, valores);
+
+		for (int p = 0; p < vetorPedidos.length; p++) {
+			soma = 0;
+			for (int i = inicio; i < fimPedido[p]; i++)
+				soma += valores[i];
+			valoresFinais[p] = Pedido.valorFinal(soma, vetorPedidos[p].getFormaDePagamento());
+			inicio = fimPedido[p];
+		}
+		return valoresFinais;
+	}
+}
@@ -0,0 +1,83 @@
+public class NoInt<V> {
+
+	private int chave;          // chave identificadora (primitiva) do item armazenado no nodo da árvore.
+	private V item;             // contém os dados do item armazenado no nodo da árvore.
+	private NoInt<V> direita;   // referência ao nodo armazenado, na árvore, à direita do nó em questão.
+	private NoInt<V> esquerda;  // referência ao nodo armazenado, na árvore, à esquerda do nó em questão.
+	private int altura;
+	
+	public NoInt(int chave, V item) {
+		setChave(chave);
+		setItem(item);
+	    setDireita(null);
+	    setEsquerda(null);
+	    altura = 0;
+	}
+
+	public V getItem() {
+		return item;
+	}
+
+	public void setItem(V item) {
+		this.item = item;
+	}
+
+	public int getChave() {
+		return chave;
+	}
+
+	public void setChave(int chave) {
+		this.chave = chave;
+	}
+	
+	public NoInt<V> getDireita() {
+		return direita;
+	}
+
+	public void setDireita(NoInt<V> direita) {
+		this.direita = direita;
+	}
+
+	public NoInt<V> getEsquerda() {
+		return esquerda;
+	}
+
+	public void setEsquerda(NoInt<V> esquerda) {
+		this.esquerda = esquerda;
+	}
+	
+	private int getAltura(NoInt<V> no) {
+		
+		if (no != null)
+			return no.getAltura();
+		else
+			return -1;
+	}
+	
+	public int getAltura() {
+		return this.altura;
+	}
+
+	public void setAltura() {
+		
+		int alturaEsquerda, alturaDireita;
+		
+		alturaEsquerda = getAltura(esquerda);
+		alturaDireita = getAltura(direita);
+		
+		if (alturaEsquerda > alturaDireita)
+			altura = alturaEsquerda + 1;
+		else
+			altura = alturaDireita + 1;
+	}
+	
+	public int getFatorBalanceamento() {
+		
+		int alturaEsquerda, alturaDireita;
+		
+		alturaEsquerda = getAltura(esquerda);
+		alturaDireita = getAltura(direita);
+		
+		return (alturaEsquerda - alturaDireita);
+	}	
+}
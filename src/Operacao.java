@@ -0,0 +1,17 @@
+/**
+ * Tipos de operação registrados pelo {@link Medidor} de uma estrutura de dados.
+ */
+public enum Operacao {
+	
+	/** Pesquisa de um item pela chave (pesquisar, pesquisarOuPadrao, contem) */
+	PESQUISA,
+	
+	/** Inserção de um novo item */
+	INSERCAO,
+	
+	/** Pesquisa seguida de inserção ou substituição (computeIfAbsent, upsert) */
+	ATUALIZACAO,
+	
+	/** Remoção de um item */
+	REMOCAO
+}
@@ -2,6 +2,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.NoSuchElementException;
 import java.util.function.Predicate;
 
 public class Pedido implements Comparable<Pedido>{
@@ -14,7 +15,10 @@ public class Pedido implements Comparable<Pedido>{
 	private static final double DESCONTO_PG_A_VISTA = 0.15;
 	
 	/** Lista de produtos do pedido */
-	private Lista<Produto> produtos;
+	private ISequencia<Produto> produtos;
+	
+	/** Visão somente de leitura dos produtos, exposta por {@link #getProdutos()}: as inclusões passam por incluirProduto */
+	private ISequencia<Produto> produtosSomenteLeitura;
 	
 	/** Data de criação do pedido */
 	private LocalDate dataPedido;
@@ -25,42 +29,173 @@ public class Pedido implements Comparable<Pedido>{
 	/** Indica a forma de pagamento do pedido sendo: 1, pagamento à vista; 2, pagamento parcelado */
 	private int formaDePagamento;
 	
+	/** Indica que a soma dos valores de venda precisa ser recalculada (por exemplo, após incluir um produto vencido) */
+	private static final int TOTAL_INVALIDO = Integer.MIN_VALUE;
+	
+	/** Soma dos valores de venda dos produtos do pedido, na ordem de inclusão, atualizada a cada inclusão */
+	private double somaValores = 0;
+	
+	/** Dia (desde 01/01/1970) em que somaValores foi calculada: os preços dos perecíveis mudam de um dia para outro */
+	private int diaDoTotal = TOTAL_INVALIDO;
+	
+	/** Quantidade de produtos perecíveis no pedido: sem eles, somaValores vale para qualquer dia */
+	private int quantPereciveis = 0;
+	
+	/** Valor final correspondente a somaValores; NaN caso ainda não tenha sido calculado */
+	private double valorFinalCalculado = Double.NaN;
+	
 	/** Construtor do pedido.
-	 *  Deve criar a lista de produtos do pedido, 
+	 *  Deve criar a lista de produtos do pedido (uma {@link ListaArray}), 
 	 *  armazenar a data, o código identificador e a forma de pagamento informados para o pedido. 
 	 */  
 	public Pedido(LocalDate dataPedido, int formaDePagamento) {
+		this(dataPedido, formaDePagamento, new ListaArray<Produto>());
+	}
+	
+	/** Construtor do pedido com a sequência, vazia, em que os seus produtos serão armazenados
+	 *  (por exemplo, uma {@link Lista} encadeada ou uma {@link ListaArray}).
+	 *  @throws IllegalArgumentException caso a sequência informada não esteja vazia.
+	 */  
+	public Pedido(LocalDate dataPedido, int formaDePagamento, ISequencia<Produto> produtos) {
+		
+		if (!produtos.vazia()) {
+			throw new IllegalArgumentException("A lista de produtos de um novo pedido deve estar vazia.");
+		}
+		idPedido = reservarID();
+		this.produtos = produtos;
+		produtosSomenteLeitura = new SequenciaSomenteLeitura<>(produtos);
+		quantProdutos = 0;
+		diaDoTotal = MotorPrecos.diaDeHoje();
+		this.dataPedido = dataPedido;
+		this.formaDePagamento = formaDePagamento;
+	}
+	
+	/** Construtor do pedido com um código identificador já atribuído (por exemplo, a um pedido gravado anteriormente).
+	 *  Os próximos pedidos criados recebem códigos posteriores a ele.
+	 */
+	Pedido(int idPedido, LocalDate dataPedido, int formaDePagamento) {
 		
-		idPedido = ultimoID++;
-		produtos = new Lista<Produto>();
+		reservarIDsAte(idPedido + 1);
+		this.idPedido = idPedido;
+		produtos = new ListaArray<Produto>();
+		produtosSomenteLeitura = new SequenciaSomenteLeitura<>(produtos);
 		quantProdutos = 0;
+		diaDoTotal = MotorPrecos.diaDeHoje();
 		this.dataPedido = dataPedido;
 		this.formaDePagamento = formaDePagamento;
 	}
 	
+	private static synchronized int reservarID() {
+		return ultimoID++;
+	}
+	
+	private static synchronized void reservarIDsAte(int limite) {
+		ultimoID = Math.max(ultimoID, limite);
+	}
+	
 	/**
      * Inclui um produto neste pedido e aumenta a quantidade de produtos armazenados no pedido até o momento.
+     * O valor de venda do produto é somado ao total do pedido.
      * @param novo O produto a ser incluído no pedido
      * @return true/false indicando se a inclusão do produto no pedido foi realizada com sucesso.
      */
 	public boolean incluirProduto(Produto novo) {
 		
+		int hoje = MotorPrecos.diaDeHoje();
+		
 		if (novo == null) {
 			return false;
 		}
-		produtos.inserir(novo, quantProdutos);
+		produtos.inserirFinal(novo);
 		quantProdutos++;
+		
+		// a soma atual vale para hoje (verificado antes de contar o novo produto): o novo valor é calculado no mesmo dia
+		valorFinalCalculado = Double.NaN;
+		if (totalAtualizado(hoje)) {
+			diaDoTotal = hoje;
+			try {
+				somaValores += MotorPrecos.valorDeVenda(novo.getPrecoCusto(), novo.getMargemLucro(), novo.diaDeValidade(), hoje);
+			} catch (IllegalArgumentException vencido) {
+				// o produto já está vencido: o erro é informado pelo cálculo do valor final, como antes do total incremental
+				diaDoTotal = TOTAL_INVALIDO;
+			}
+		}
+		if (novo.diaDeValidade() != MotorPrecos.SEM_VALIDADE) {
+			quantPereciveis++;
+		}
+		return true;
+	}
+	
+	/**
+     * Remove um produto deste pedido (a primeira ocorrência igual ao produto informado) e diminui a quantidade de produtos armazenados.
+     * A soma dos valores de venda é recalculada no próximo cálculo do valor final: subtrair o valor do produto
+     * deixaria a soma com um arredondamento diferente do da soma, na ordem de inclusão, dos produtos restantes.
+     * @param produto O produto a ser removido do pedido
+     * @return true/false indicando se o produto estava no pedido e foi removido.
+     */
+	public boolean removerProduto(Produto produto) {
+		
+		Produto removido;
+		
+		if ((produto == null) || produtos.vazia()) {
+			return false;
+		}
+		try {
+			removido = produtos.remover(produto);
+		} catch (NoSuchElementException ausente) {
+			return false;
+		}
+		quantProdutos--;
+		if (removido.diaDeValidade() != MotorPrecos.SEM_VALIDADE) {
+			quantPereciveis--;
+		}
+		diaDoTotal = TOTAL_INVALIDO;
+		valorFinalCalculado = Double.NaN;
 		return true;
 	}
 	
+	/** Indica se somaValores corresponde aos produtos do pedido no dia informado. */
+	private boolean totalAtualizado(int hoje) {
+		return (diaDoTotal != TOTAL_INVALIDO) && ((diaDoTotal == hoje) || (quantPereciveis == 0));
+	}
+	
 	/**
      * Calcula e retorna o valor final do pedido (soma do valor de venda de todos os produtos do pedido).
      * Caso a forma de pagamento do pedido seja à vista, aplica o desconto correspondente.
+     * 
+     * A soma é mantida a cada inclusão de produto, e o valor final é guardado após o primeiro cálculo: 
+     * no mesmo dia (ou a qualquer momento, para pedidos sem perecíveis), a chamada é O(1) e não aloca objetos.
+     * Apenas na primeira chamada de um novo dia, pedidos com perecíveis têm a soma recalculada.
+     * Para recalcular o valor de muitos pedidos, ver {@link MotorPrecos#calcularValoresFinais(Lista)}.
      * @return Valor final do pedido (double)
+     * @throws IllegalStateException caso o pedido não contenha produtos.
+     * @throws IllegalArgumentException caso algum produto do pedido esteja vencido.
      */
 	public double valorFinal() {
 		
-		double valorPedido = produtos.calcularValorTotal((produto -> produto.valorDeVenda()));
+		int hoje = MotorPrecos.diaDeHoje();
+		
+		if (quantProdutos == 0) {
+			throw new IllegalStateException("O pedido não contém produtos!");
+		}
+		if (!totalAtualizado(hoje)) {
+			diaDoTotal = TOTAL_INVALIDO;
+			somaValores = new MotorPrecos(hoje).somarValoresDeVenda(this);
+			diaDoTotal = hoje;
+			valorFinalCalculado = Double.NaN;
+		}
+		if (Double.isNaN(valorFinalCalculado)) {
+			valorFinalCalculado = valorFinal(somaValores, formaDePagamento);
+		}
+		return valorFinalCalculado;
+	}
+	
+	/**
+     * Valor final de um pedido com a soma dos valores de venda dos produtos e a forma de pagamento informadas:
+     * aplica o desconto do pagamento à vista, se for o caso, e arredonda o valor para 2 casas decimais.
+     */
+	static double valorFinal(double valorPedido, int formaDePagamento) {
+		
 		BigDecimal valorPedidoBD;
 		
 		if (formaDePagamento == 1) {
@@ -145,12 +280,21 @@ public class Pedido implements Comparable<Pedido>{
     	return idPedido;
     }
     
+    public int getFormaDePagamento() {
+    	return formaDePagamento;
+    }
+    
     public int getQuantosProdutos() {
     	return quantProdutos;
     }
     
-    public Lista<Produto> getProdutos() {
-    	return produtos;
+    /**
+     * Retorna os produtos do pedido, na ordem de inclusão, em uma visão somente de leitura: 
+     * alterá-la diretamente tornaria inválidos a quantidade e o valor total mantidos pelo pedido.
+     * @return Visão dos produtos do pedido, que lança UnsupportedOperationException nas inserções e remoções
+     */
+    public ISequencia<Produto> getProdutos() {
+    	return produtosSomenteLeitura;
     }
     
 	/**
@@ -160,7 +304,7 @@ public class Pedido implements Comparable<Pedido>{
 	 */
 	public int repeticoes(Produto produto){
 		
-		Predicate<Produto> condicional = (prod -> prod.descricao.equals(produto.descricao));
+		Predicate<Produto> condicional = (prod -> prod.getDescricao().equals(produto.getDescricao()));
 		return produtos.contarRepeticoes(condicional);
 	}
 }
\ No newline at end of file
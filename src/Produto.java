@@ -25,12 +25,36 @@ public abstract class Produto implements Comparable<Produto>{
 			descricao = desc;
 			this.precoCusto = precoCusto;
 			this.margemLucro = margemLucro;
-			idProduto = ultimoID++;
+			idProduto = reservarIDs(1);
 		} else {
 			throw new IllegalArgumentException("Valores inválidos para os dados do produto.");
 		}
 	}
 	
+	/**
+	 * Reserva uma faixa de identificadores consecutivos, que não serão atribuídos a nenhum outro produto.
+	 * Permite criar produtos em paralelo (ver {@link #Produto(int, String, double, double)}) com os mesmos 
+	 * identificadores que receberiam se fossem criados um a um, na ordem da faixa.
+	 * @param quantidade Quantidade de identificadores reservados.
+	 * @return O primeiro identificador da faixa.
+	 */
+	static synchronized int reservarIDs(int quantidade) {
+		
+		int primeiro = ultimoID;
+		
+		ultimoID += quantidade;
+		return primeiro;
+	}
+	
+	/**
+	 * Reserva todos os identificadores menores do que o limite informado: os próximos produtos criados
+	 * receberão identificadores a partir dele. Usado ao recriar produtos com identificadores já atribuídos.
+	 * @param limite O menor identificador que ainda pode ser atribuído.
+	 */
+	static synchronized void reservarIDsAte(int limite) {
+		ultimoID = Math.max(ultimoID, limite);
+	}
+	
 	/**
      * Construtor completo. Os valores default, em caso de erro, são:
      * "Produto sem descrição", R$ 0.00, 0.0  
@@ -42,6 +66,35 @@ public abstract class Produto implements Comparable<Produto>{
 		init(desc, precoCusto, margemLucro);
 	}
 	
+	/**
+     * Construtor com identificador previamente reservado por {@link #reservarIDs(int)}. 
+     * Causa exceção em caso de valores inválidos para os dados do produto.
+     * @param id Identificador reservado para o produto
+     * @param desc Descrição do produto (mínimo de 3 caracteres)
+     * @param precoCusto Preço do produto (mínimo 0.01)
+     * @param margemLucro Margem de lucro (mínimo 0.01)
+     */
+	protected Produto(int id, String desc, double precoCusto, double margemLucro) {
+		
+		if ((desc.length() >= 3) && (precoCusto > 0.0) && (margemLucro > 0.0)) {
+			descricao = desc;
+			this.precoCusto = precoCusto;
+			this.margemLucro = margemLucro;
+			idProduto = id;
+		} else {
+			throw new IllegalArgumentException("Valores inválidos para os dados do produto.");
+		}
+	}
+	
+	/**
+     * Construtor das visões de produtos cujos dados são mantidos fora do objeto (ver {@link ProdutoArmazenado}):
+     * apenas o identificador é armazenado; a descrição, o preço e a margem são obtidos pela subclasse.
+     * @param id Identificador do produto
+     */
+	protected Produto(int id) {
+		idProduto = id;
+	}
+	
 	/**
      * Construtor sem margem de lucro - fica considerado o valor padrão de margem de lucro.
      * Os valores default, em caso de erro, são:
@@ -59,6 +112,30 @@ public abstract class Produto implements Comparable<Produto>{
      */
 	public abstract double valorDeVenda();
 	
+	/**
+     * Retorna a descrição do produto.
+     * @return String com a descrição (mínimo de 3 caracteres)
+     */
+	public String getDescricao() {
+		return descricao;
+	}
+	
+	public double getPrecoCusto() {
+		return precoCusto;
+	}
+	
+	public double getMargemLucro() {
+		return margemLucro;
+	}
+	
+	/**
+     * Dia da validade do produto, em dias desde 01/01/1970, para o cálculo de preços em lote ({@link MotorPrecos}).
+     * @return {@link MotorPrecos#SEM_VALIDADE} para produtos sem data de validade.
+     */
+	int diaDeValidade() {
+		return MotorPrecos.SEM_VALIDADE;
+	}
+	
 	/**
      * Descrição, em string, do produto, contendo sua descrição e o valor de venda.
      *  @return String com o formato:
@@ -69,7 +146,7 @@ public abstract class Produto implements Comparable<Produto>{
     	
     	NumberFormat moeda = NumberFormat.getCurrencyInstance();
     	
-    	return String.format("ID: " + idProduto + " NOME: " + descricao + ": " + moeda.format(valorDeVenda()));
+    	return String.format("ID: " + idProduto + " NOME: " + getDescricao() + ": " + moeda.format(valorDeVenda()));
     }
     
     @Override
@@ -0,0 +1,90 @@
+/**
+ * Visão (flyweight) de um produto mantido em um {@link ArmazemProdutos}: o objeto guarda apenas o armazém,
+ * a linha e o identificador do produto; a descrição, os preços e a validade são lidos das colunas do armazém
+ * a cada consulta. Criar uma visão é barato, e ela pode ser descartada logo após o uso.
+ *
+ * Igualdade, hash e ordem são os de {@link Produto} (pelo identificador): uma visão é igual ao produto
+ * de mesmo identificador, esteja ele no armazém ou no heap.
+ */
+public class ProdutoArmazenado extends Produto {
+
+	private final ArmazemProdutos armazem;
+	private final int linha;
+
+	ProdutoArmazenado(ArmazemProdutos armazem, int linha) {
+		super(armazem.getId(linha));
+		this.armazem = armazem;
+		this.linha = linha;
+	}
+
+	/**
+	 * Retorna a linha do produto no armazém.
+	 * @return Número da linha (a partir de 0)
+	 */
+	public int getLinha() {
+		return linha;
+	}
+
+	public boolean perecivel() {
+		return armazem.perecivel(linha);
+	}
+
+	@Override
+	public String getDescricao() {
+		return armazem.getDescricao(linha);
+	}
+
+	@Override
+	public double getPrecoCusto() {
+		return armazem.getPrecoCusto(linha);
+	}
+
+	@Override
+	public double getMargemLucro() {
+		return armazem.getMargemLucro(linha);
+	}
+
+	@Override
+	int diaDeValidade() {
+		return armazem.getDiaDeValidade(linha);
+	}
+
+	/**
+     * Retorna o valor de venda do produto, com as regras do produto perecível ou não perecível, conforme o seu tipo.
+     * @return Valor de venda do produto (double, positivo)
+     */
+	@Override
+	public double valorDeVenda() {
+		return armazem.valorDeVenda(linha);
+	}
+
+	/**
+	 * Cria uma cópia do produto no heap, com o mesmo identificador: um {@link ProdutoPerecivel}
+	 * ou um {@link ProdutoNaoPerecivel}, conforme o tipo.
+	 * @return Um produto com os dados da linha
+	 */
+	public Produto materializar() {
+
+		if (armazem.perecivel(linha))
+			return new ProdutoPerecivel(idProduto, getDescricao(), armazem.getPrecoCusto(linha), armazem.getMargemLucro(linha),
+					armazem.getDataDeValidade(linha));
+		return new ProdutoNaoPerecivel(idProduto, getDescricao(), armazem.getPrecoCusto(linha), armazem.getMargemLucro(linha));
+	}
+
+	/**
+     * Descrição, em string, do produto, no mesmo formato do produto perecível ou não perecível correspondente.
+     */
+	@Override
+	public String toString() {
+		return materializar().toString();
+	}
+
+	/**
+     * Gera uma linha de texto a partir dos dados do produto, no mesmo formato do produto perecível ou não perecível correspondente.
+     * @return Uma string no formato "tipo;descrição;preçoDeCusto;margemDeLucro;[dataDeValidade]"
+     */
+	@Override
+	public String gerarDadosTexto() {
+		return materializar().gerarDadosTexto();
+	}
+}
@@ -20,6 +20,19 @@ public class ProdutoNaoPerecivel extends Produto{
 	public ProdutoNaoPerecivel(String desc, double precoCusto) {
 		super(desc, precoCusto);
 	}
+	
+	/**
+     * Construtor com identificador previamente reservado (ver {@link Produto#reservarIDs(int)}). 
+     * Causa exceção em caso de valores inválidos para os dados do produto.
+     * @param id Identificador reservado para o produto
+     * @param desc Descrição do produto (mínimo de 3 caracteres)
+     * @param precoCusto Preço de compra do produto (mínimo 0.01)
+     * @param margemLucro Margem de lucro para a venda (mínimo 0.01)
+     * @throws IllegalArgumentException em caso dos limites acima serem desrespeitados.
+     */
+	public ProdutoNaoPerecivel(int id, String desc, double precoCusto, double margemLucro) {
+		super(id, desc, precoCusto, margemLucro);
+	}
 
 	/**
      * Retorna o valor de venda do produto, considerando seu preço de custo e margem de lucro
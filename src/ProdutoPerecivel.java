@@ -4,10 +4,10 @@ import java.time.format.DateTimeFormatter;
 public class ProdutoPerecivel extends Produto{
 
 	/** Desconto para proximidade de validade: 25% */
-	private static final double DESCONTO = 0.25;
+	static final double DESCONTO = 0.25;
 	
 	/** Prazo, em dias, para conceder o desconto por proximidade da validade */
-	private static final int PRAZO_DESCONTO = 7;
+	static final int PRAZO_DESCONTO = 7;
 	
 	/** Data de validade do produto. Não pode ser anterior à data da criação ou venda do produto. */
 	private LocalDate dataDeValidade;
@@ -47,28 +47,46 @@ public class ProdutoPerecivel extends Produto{
 		}
 		dataDeValidade = validade;
 	}
+	
+	/**
+     * Construtor com identificador previamente reservado (ver {@link Produto#reservarIDs(int)}). 
+     * Causa exceção em caso de valores inválidos para os dados do produto.
+     * @param id Identificador reservado para o produto
+     * @param desc Descrição do produto (mínimo de 3 caracteres)
+     * @param precoCusto Preço de compra do produto (mínimo 0.01)
+     * @param margemLucro Margem de lucro para a venda (mínimo 0.01)
+     * @param validade Data de validade do produto, que deve ser posterior à data atual.
+     * @throws IllegalArgumentException em caso dos limites acima serem desrespeitados.
+     */
+	public ProdutoPerecivel(int id, String desc, double precoCusto, double margemLucro, LocalDate validade) {
+		
+		super(id, desc, precoCusto, margemLucro);
+		
+		if (validade.isBefore(LocalDate.now())) {
+			throw new IllegalArgumentException("Data de validade do produto é anterior ao dia de hoje!");
+		}
+		dataDeValidade = validade;
+	}
 
 	/**
      * Retorna o valor de venda do produto, considerando seu preço de custo, margem de lucro e
-     * dias de validade. Se o prazo de validade estiver a menos de 7 dias, será concedido desconto de 25%.
+     * dias de validade. Se faltarem 7 dias ou menos para o fim da validade, será concedido desconto de 25%.
+     * O dia de hoje é consultado uma única vez; para calcular o valor de muitos produtos, ver {@link MotorPrecos}.
      * @return Valor de venda do produto (double, positivo)
+     * @throws IllegalArgumentException caso a data de validade seja anterior ao dia de hoje.
      */
 	@Override
 	public double valorDeVenda() {
-		
-		double precoVenda;
-		
-		if (dataDeValidade.isBefore(LocalDate.now())) {
-			throw new IllegalArgumentException("Data de validade do produto é anterior ao dia de hoje!");
-		}
-		
-		precoVenda = (precoCusto * (1.0 + margemLucro));
-				
-		if (LocalDate.now().until(dataDeValidade).getDays() <= PRAZO_DESCONTO) {
-			precoVenda = precoVenda * (1.0 - DESCONTO);
-		}
-		
-		return precoVenda;
+		return MotorPrecos.valorDeVenda(precoCusto, margemLucro, diaDeValidade(), MotorPrecos.diaDeHoje());
+	}
+	
+	public LocalDate getDataDeValidade() {
+		return dataDeValidade;
+	}
+	
+	@Override
+	int diaDeValidade() {
+		return (int) dataDeValidade.toEpochDay();
 	}
 	
 	/**
@@ -0,0 +1,88 @@
+/**
+ * Cópia imutável do conteúdo de um {@link Histograma} em um determinado instante.
+ * Os percentis são aproximados pelo maior valor da faixa em que caem, limitado ao máximo registrado.
+ */
+public final class RetratoHistograma {
+
+	private final long[] contagens;
+	private final long total;
+	private final long soma;
+	private final long maximo;
+
+	RetratoHistograma(long[] contagens, long soma, long maximo) {
+
+		long quantidade = 0;
+
+		for (long contagem : contagens)
+			quantidade += contagem;
+
+		this.contagens = contagens;
+		this.total = quantidade;
+		this.soma = soma;
+		this.maximo = maximo;
+	}
+
+	/**
+	 * Quantidade de valores registrados.
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	public long getSoma() {
+		return soma;
+	}
+
+	public long getMaximo() {
+		return maximo;
+	}
+
+	/**
+	 * Média dos valores registrados, ou 0 caso nenhum valor tenha sido registrado.
+	 */
+	public double getMedia() {
+		return (total == 0) ? 0.0 : (double) soma / total;
+	}
+
+	/**
+	 * Retorna o percentil informado dos valores registrados.
+	 * @param fracao fração dos valores que devem ser menores ou iguais ao percentil, entre 0 e 1 (por exemplo, 0.99 para o p99).
+	 * @return o percentil aproximado, ou 0 caso nenhum valor tenha sido registrado.
+	 * @throws IllegalArgumentException caso a fração não esteja entre 0 e 1.
+	 */
+	public long percentil(double fracao) {
+
+		long posicao, acumulado = 0;
+
+		if ((fracao < 0.0) || (fracao > 1.0))
+			throw new IllegalArgumentException("A fração do percentil deve estar entre 0 e 1.");
+		if (total == 0)
+			return 0;
+
+		posicao = Math.max(1, (long) Math.ceil(fracao * total));
+		for (int i = 0; i < contagens.length; i++) {
+			acumulado += contagens[i];
+			if (acumulado >= posicao)
+				return Math.min(Histograma.limiteSuperior(i), maximo);
+		}
+		return maximo;
+	}
+
+	public long getP50() {
+		return percentil(0.50);
+	}
+
+	public long getP99() {
+		return percentil(0.99);
+	}
+
+	public long getP999() {
+		return percentil(0.999);
+	}
+
+	@Override
+	public String toString() {
+		return "n=" + total + " média=" + String.format("%.1f", getMedia()) + " p50=" + getP50() 
+				+ " p99=" + getP99() + " p999=" + getP999() + " máx=" + maximo;
+	}
+}
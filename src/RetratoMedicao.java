@@ -0,0 +1,91 @@
+/**
+ * Cópia imutável dos contadores e histogramas de um {@link Medidor} em um determinado instante.
+ */
+public final class RetratoMedicao {
+
+	private final RetratoHistograma[] latencias;
+	private final RetratoHistograma[] comparacoes;
+	private final long falhasCache;
+
+	RetratoMedicao(RetratoHistograma[] latencias, RetratoHistograma[] comparacoes, long falhasCache) {
+		this.latencias = latencias;
+		this.comparacoes = comparacoes;
+		this.falhasCache = falhasCache;
+	}
+
+	/**
+	 * Quantidade de operações do tipo informado registradas.
+	 */
+	public long getQuantidade(Operacao operacao) {
+		return latencias[operacao.ordinal()].getTotal();
+	}
+
+	/**
+	 * Distribuição das latências, em nanossegundos, das operações do tipo informado.
+	 */
+	public RetratoHistograma getLatencias(Operacao operacao) {
+		return latencias[operacao.ordinal()];
+	}
+
+	/**
+	 * Distribuição da quantidade de comparações por operação do tipo informado.
+	 */
+	public RetratoHistograma getComparacoes(Operacao operacao) {
+		return comparacoes[operacao.ordinal()];
+	}
+
+	/**
+	 * Quantidade de pesquisas repassadas à estrutura original por um cache (0, caso a estrutura não seja um cache).
+	 */
+	public long getFalhasCache() {
+		return falhasCache;
+	}
+
+	/**
+	 * Quantidade de pesquisas respondidas por um cache, sem consultar a estrutura original.
+	 */
+	public long getAcertosCache() {
+		/// as falhas simultâneas ao retrato podem estar incluídas nele antes das pesquisas correspondentes.
+		return Math.max(0, getQuantidade(Operacao.PESQUISA) - falhasCache);
+	}
+
+	/**
+	 * Fração das pesquisas respondidas por um cache (0, caso ainda não tenha havido pesquisas).
+	 */
+	public double getTaxaAcertosCache() {
+
+		long pesquisas = getAcertosCache() + falhasCache;
+
+		return (pesquisas == 0) ? 0 : (double) getAcertosCache() / pesquisas;
+	}
+
+	/**
+	 * Fração das pesquisas repassadas à estrutura original por um cache (0, caso ainda não tenha havido pesquisas).
+	 */
+	public double getTaxaFalhasCache() {
+
+		long pesquisas = getAcertosCache() + falhasCache;
+
+		return (pesquisas == 0) ? 0 : (double) falhasCache / pesquisas;
+	}
+
+	/**
+	 * Representação, em texto, do retrato: uma linha por tipo de operação registrada, 
+	 * com a distribuição das latências (em nanossegundos) e das comparações, e as taxas de acertos e falhas de um cache.
+	 */
+	@Override
+	public String toString() {
+
+		StringBuilder texto = new StringBuilder();
+
+		for (Operacao operacao : Operacao.values()) {
+			if (getQuantidade(operacao) > 0)
+				texto.append(operacao).append(": latência(ns) ").append(getLatencias(operacao))
+					.append(" | comparações ").append(getComparacoes(operacao)).append("\n");
+		}
+		if (falhasCache > 0)
+			texto.append(String.format("CACHE: acertos %d (%.1f%%) | falhas %d (%.1f%%)\n", getAcertosCache(),
+					100 * getTaxaAcertosCache(), falhasCache, 100 * getTaxaFalhasCache()));
+		return (texto.length() == 0) ? "Nenhuma operação registrada.\n" : texto.toString();
+	}
+}
@@ -0,0 +1,127 @@
+import java.io.IOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Visão somente de leitura de uma {@link ISequencia}: as pesquisas, os percursos e a medição são repassados à sequência
+ * original, e as operações de inserção e remoção lançam UnsupportedOperationException.
+ * A visão não copia os itens: as alterações feitas na sequência original por quem a mantém são vistas imediatamente.
+ */
+public class SequenciaSomenteLeitura<E> implements ISequencia<E> {
+
+	private final ISequencia<E> original;
+
+	/**
+	 * Cria a visão da sequência informada.
+	 * @param original sequência cujos itens serão expostos somente para leitura.
+	 */
+	public SequenciaSomenteLeitura(ISequencia<E> original) {
+		this.original = original;
+	}
+
+	private static UnsupportedOperationException somenteLeitura() {
+		return new UnsupportedOperationException("A sequência não pode ser alterada por esta visão.");
+	}
+
+	@Override
+	public boolean vazia() {
+		return original.vazia();
+	}
+
+	@Override
+	public int tamanho() {
+		return original.tamanho();
+	}
+
+	@Override
+	public void inserir(E novo, int posicao) {
+		throw somenteLeitura();
+	}
+
+	@Override
+	public void inserirFinal(E novo) {
+		throw somenteLeitura();
+	}
+
+	@Override
+	public E remover(int posicao) {
+		throw somenteLeitura();
+	}
+
+	@Override
+	public E remover(E elemento) {
+		throw somenteLeitura();
+	}
+
+	@Override
+	public E removerOuPadrao(E elemento, E padrao) {
+		throw somenteLeitura();
+	}
+
+	@Override
+	public E obter(int posicao) {
+		return original.obter(posicao);
+	}
+
+	@Override
+	public E pesquisar(E procurado) {
+		return original.pesquisar(procurado);
+	}
+
+	@Override
+	public E pesquisarOuPadrao(E procurado, E padrao) {
+		return original.pesquisarOuPadrao(procurado, padrao);
+	}
+
+	@Override
+	public boolean contem(E procurado) {
+		return original.contem(procurado);
+	}
+
+	@Override
+	public void percorrer(Appendable destino) throws IOException {
+		original.percorrer(destino);
+	}
+
+	@Override
+	public int contarRepeticoes(Predicate<E> condicional) {
+		return original.contarRepeticoes(condicional);
+	}
+
+	@Override
+	public double calcularValorTotal(Function<E, Double> extrator) {
+		return original.calcularValorTotal(extrator);
+	}
+
+	@Override
+	public double somar(ToDoubleFunction<? super E> extrator) {
+		return original.somar(extrator);
+	}
+
+	@Override
+	public void paraCada(Consumer<? super E> acao) {
+		original.paraCada(acao);
+	}
+
+	@Override
+	public long getComparacoes() {
+		return original.getComparacoes();
+	}
+
+	@Override
+	public double getTempo() {
+		return original.getTempo();
+	}
+
+	@Override
+	public Medidor getMedidor() {
+		return original.getMedidor();
+	}
+
+	@Override
+	public String toString() {
+		return original.toString();
+	}
+}
@@ -1,38 +1,77 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class TabelaHash<K, V> implements IMapeamento<K, V> {
 
-	private Lista<Entrada<K, V>>[] tabelaHash; /// tabela que referenciará todas as listas lineares encadeadas.
+	private ISequencia<Entrada<K, V>>[] tabelaHash; /// tabela que referenciará todas as listas lineares encadeadas.
 								      /// Nesse caso, estamos utilizando uma tabela hash com endereçamento em separado,
 								      /// ou seja, os itens são armazenados em listas lineares encadeadas.
 
 	private int capacidade; /// tamanho da tabela hash.
 	                        /// deve ser um número primo grande para diminuirmos a probabilidade de colisões.
 
+	private ISequencia<Entrada<K, V>>[] tabelaAntiga; /// tabela anterior ao redimensionamento, cujas listas ainda estão sendo migradas.
+	                                             /// É null quando não há redimensionamento em andamento.
+	private int capacidadeAntiga;                /// tamanho da tabela anterior ao redimensionamento.
+	private int proximaMigracao;                 /// próxima posição da tabela antiga cuja lista deverá ser migrada.
+
+	private int quantidade; /// quantidade de itens armazenados, somando a tabela atual e a tabela em migração.
+
+	/** Fator de carga (itens / capacidade) a partir do qual a tabela é redimensionada */
+	private static final double FATOR_CARGA_MAXIMO = 0.75;
+
+	/** Quantidade de posições da tabela antiga migradas a cada operação durante o redimensionamento */
+	private static final int MIGRACOES_POR_OPERACAO = 4;
+
 	private int comparacoes;		// contador de operacoes para busca
 	private long inicio;
 	private long termino;
+	private final Medidor medidor = new Medidor(); // instrumentação cumulativa de todas as operações da tabela.
+	private final Supplier<ISequencia<Entrada<K, V>>> fabricaListas; /// cria a lista de cada posição da tabela.
 	
 	/**
 	 * Construtor da classe.
 	 * Esse método é responsável por inicializar a tabela hash que trabalha com endereçamento em separado.
 	 * Assim, esse método atribui, ao atributo "capacidade", dessa classe, o valor passado por meio do parâmetro "capacidade".
 	 * Esse método também cria um vetor, de tamanho "capacidade", de listas lineares; e o atribui ao atributo "tabelaHash".
-	 * Adicionalmente, cada posição do vetor é inicializada com uma lista encadeada vazia.
+	 * Cada posição do vetor recebe sua lista encadeada apenas quando o primeiro item é nela armazenado.
+	 * A capacidade informada é apenas a inicial: a tabela é redimensionada automaticamente
+	 * quando o fator de carga ultrapassa {@value #FATOR_CARGA_MAXIMO}.
 	 * @param capacidade: quantidade de posições da tabela hash. Cada posição é uma lista encadeada. 
 	 * @throws IllegalArgumentException caso a capacidade seja um número não positivo.
 	 */
-	@SuppressWarnings("unchecked")
 	public TabelaHash(int capacidade) {
+		/// as operações das listas já são medidas como parte das operações da tabela.
+		this(capacidade, () -> new Lista<>(Medidor.INATIVO));
+	}
+	
+	/**
+	 * Cria a tabela hash com a capacidade inicial informada, cujas posições armazenam seus itens
+	 * nas listas criadas pela fábrica informada (por exemplo, uma {@link Lista} encadeada ou uma {@link ListaArray}).
+	 * @param capacidade: quantidade inicial de posições da tabela hash.
+	 * @param fabricaListas: cria uma lista vazia para cada posição ocupada da tabela.
+	 * Recomenda-se que as listas usem {@link Medidor#INATIVO}, pois suas operações já são medidas pela tabela.
+	 * @throws IllegalArgumentException caso a capacidade seja um número não positivo.
+	 */
+	public TabelaHash(int capacidade, Supplier<ISequencia<Entrada<K, V>>> fabricaListas) {
 		
 		if (capacidade < 1) {
 			throw new IllegalStateException("A capacidade da tabela hash não pode ser menor do que 1.");
 		}
 		this.capacidade = capacidade;
-		tabelaHash = (Lista<Entrada<K, V>>[]) new Lista[capacidade]; 
-		
-		for (int i = 0; i < capacidade; i++)
-			tabelaHash[i] = new Lista<>();
+		this.fabricaListas = fabricaListas;
+		tabelaHash = criarTabela(capacidade);
+		tabelaAntiga = null;
+		quantidade = 0;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private ISequencia<Entrada<K, V>>[] criarTabela(int capacidade) {
+		return (ISequencia<Entrada<K, V>>[]) new ISequencia<?>[capacidade];
 	}
 	
 	/**
@@ -44,12 +83,203 @@ public class TabelaHash<K, V> implements IMapeamento<K, V> {
 	 * @return a posição que o item, cuja chave corresponde a que foi passada como parâmetro para esse método, deve ocupar na tabela hash.
 	 */
 	private int funcaoHash(K chave) {
+		return funcaoHash(chave, capacidade);
+	}
+	
+	private int funcaoHash(K chave, int capacidade) {
 		return Math.abs(chave.hashCode() % capacidade);
 	}
 	
+	/**
+	 * Retorna a lista encadeada associada à posição informada da tabela atual, criando-a caso ainda não exista.
+	 * @param posicao: posição da tabela hash.
+	 * @return a lista encadeada da posição.
+	 */
+	private ISequencia<Entrada<K, V>> listaDaPosicao(int posicao) {
+		
+		if (tabelaHash[posicao] == null)
+			tabelaHash[posicao] = fabricaListas.get();
+		return tabelaHash[posicao];
+	}
+	
+	/**
+	 * Retorna a lista encadeada da tabela antiga em que a chave informada pode estar armazenada,
+	 * ou null caso não haja redimensionamento em andamento ou essa lista já tenha sido migrada.
+	 * @param chave: chave do item procurado.
+	 * @return a lista encadeada da tabela antiga, ou null.
+	 */
+	private ISequencia<Entrada<K, V>> listaAntiga(K chave) {
+		
+		if (tabelaAntiga == null)
+			return null;
+		return tabelaAntiga[funcaoHash(chave, capacidadeAntiga)];
+	}
+	
+	/**
+	 * Inicia o redimensionamento da tabela hash.
+	 * A tabela atual passa a ser a tabela antiga e uma nova tabela, com aproximadamente o dobro da capacidade, é criada.
+	 * Os itens não são movidos neste momento: a cada operação posterior, algumas listas da tabela antiga
+	 * são migradas para a nova tabela (ver {@link #migrarPosicoes()}), de forma que nenhuma operação 
+	 * isolada pague o custo de rearranjar toda a tabela.
+	 */
+	private void iniciarRedimensionamento() {
+		
+		/// Caso ainda exista uma migração em andamento, ela é concluída antes do novo redimensionamento.
+		while (tabelaAntiga != null)
+			migrarPosicoes();
+		
+		tabelaAntiga = tabelaHash;
+		capacidadeAntiga = capacidade;
+		proximaMigracao = 0;
+		
+		capacidade = proximoPrimo(2 * capacidade + 1);
+		tabelaHash = criarTabela(capacidade);
+	}
+	
+	/**
+	 * Migra, da tabela antiga para a tabela atual, as listas de até {@value #MIGRACOES_POR_OPERACAO} posições.
+	 * Quando todas as posições da tabela antiga forem migradas, o redimensionamento é encerrado.
+	 */
+	private void migrarPosicoes() {
+		
+		ISequencia<Entrada<K, V>> lista;
+		
+		if (tabelaAntiga == null)
+			return;
+		
+		for (int i = 0; (i < MIGRACOES_POR_OPERACAO) && (proximaMigracao < capacidadeAntiga); i++) {
+			lista = tabelaAntiga[proximaMigracao];
+			if (lista != null) {
+				/// a lista antiga é descartada inteira após a cópia, sem remover os itens um a um.
+				lista.paraCada(entrada -> listaDaPosicao(funcaoHash(entrada.getChave())).inserirFinal(entrada));
+				tabelaAntiga[proximaMigracao] = null;
+			}
+			proximaMigracao++;
+		}
+		
+		if (proximaMigracao == capacidadeAntiga)
+			tabelaAntiga = null;
+	}
+	
+	/**
+	 * Retorna o menor número primo maior ou igual ao valor informado.
+	 * @param valor: limite inferior para o número primo.
+	 * @return o menor primo maior ou igual a "valor".
+	 */
+	private static int proximoPrimo(int valor) {
+		
+		boolean primo;
+		
+		if (valor <= 2)
+			return 2;
+		if (valor % 2 == 0)
+			valor++;
+		
+		do {
+			primo = true;
+			for (int divisor = 3; (long) divisor * divisor <= valor; divisor += 2) {
+				if (valor % divisor == 0) {
+					primo = false;
+					valor += 2;
+					break;
+				}
+			}
+		} while (!primo);
+		
+		return valor;
+	}
+	
+	/**
+	 * Localiza, sem lançar exceção, a entrada cuja chave corresponde à que foi passada como parâmetro.
+	 * Durante um redimensionamento, a lista da tabela antiga que ainda não foi migrada também é consultada.
+	 * Registra a quantidade de comparações e o tempo da pesquisa.
+	 * @param chave: chave do item que deve ser localizado na tabela hash.
+	 * @return a entrada encontrada, ou null caso a chave não esteja armazenada na tabela.
+	 */
+	private Entrada<K, V> localizarEntrada(K chave) {
+		
+		ISequencia<Entrada<K, V>> lista;
+		Entrada<K, V> procurado = new Entrada<>(chave, null);
+		Entrada<K, V> encontrado = null;
+		
+		migrarPosicoes();
+		
+		comparacoes++;
+		
+		/// pesquisa o item, cuja chave foi passada como parâmetro para esse método,
+		/// na lista encadeada associada à posição, da tabela hash, em que esse item deve estar armazenado.
+		lista = tabelaHash[funcaoHash(chave)];
+		if (lista != null) {
+			encontrado = lista.pesquisarOuPadrao(procurado, null);
+			comparacoes += lista.getComparacoes();
+		}
+		
+		/// durante um redimensionamento, o item pode estar em uma lista da tabela antiga que ainda não foi migrada.
+		if (encontrado == null) {
+			lista = listaAntiga(chave);
+			if (lista != null) {
+				encontrado = lista.pesquisarOuPadrao(procurado, null);
+				comparacoes += lista.getComparacoes();
+			}
+		}
+		
+		return encontrado;
+	}
+	
+	/**
+	 * Localiza a entrada da chave informada, registrando a operação como uma pesquisa.
+	 */
+	private Entrada<K, V> pesquisarEntrada(K chave) {
+		
+		Entrada<K, V> encontrado;
+		
+		iniciarMedicao();
+		encontrado = localizarEntrada(chave);
+		concluirMedicao(Operacao.PESQUISA);
+		return encontrado;
+	}
+	
+	/**
+	 * Zera a contagem de comparações e registra o início de uma operação.
+	 */
+	private void iniciarMedicao() {
+		comparacoes = 0;
+		inicio = System.nanoTime();
+	}
+	
+	/**
+	 * Registra o término da operação iniciada por {@link #iniciarMedicao()}, 
+	 * acumulando sua duração e suas comparações no medidor da tabela.
+	 */
+	private void concluirMedicao(Operacao operacao) {
+		termino = System.nanoTime();
+		medidor.registrar(operacao, termino - inicio, comparacoes);
+	}
+	
+	/**
+	 * Armazena uma nova entrada, cuja chave sabidamente não está na tabela, no final da lista encadeada da sua posição.
+	 * Caso o fator de carga ultrapasse {@value #FATOR_CARGA_MAXIMO} após a inserção, um redimensionamento incremental é iniciado.
+	 * @param entrada: entrada a ser armazenada.
+	 * @return a posição na tabela hash em que a entrada foi armazenada.
+	 */
+	private int armazenar(Entrada<K, V> entrada) {
+		
+		/// cálculo da posição da tabela hash em que o novo item deverá ser armazenado.
+		int posicao = funcaoHash(entrada.getChave());
+		
+		listaDaPosicao(posicao).inserirFinal(entrada);
+		quantidade++;
+		
+		if ((tabelaAntiga == null) && (quantidade > capacidade * FATOR_CARGA_MAXIMO))
+			iniciarRedimensionamento();
+		
+		return posicao;
+	}
+	
 	/**
 	 * Método responsável por inserir um novo item na tabela hash.
 	 * Não é permitido inserir, nessa tabela hash, mais de um item com uma mesma chave. 
+	 * Caso o fator de carga ultrapasse {@value #FATOR_CARGA_MAXIMO} após a inserção, um redimensionamento incremental é iniciado.
 	 * @param chave: chave do item que deve ser inserido na tabela hash.
 	 * @param item: referência ao item que deve ser inserido na tabela hash.
 	 * @return a posição na tabela hash em que o novo item foi inserido.
@@ -58,23 +288,22 @@ public class TabelaHash<K, V> implements IMapeamento<K, V> {
 	@Override
 	public int inserir(K chave, V item) {
 		
-		/// cálculo da posição da tabela hash em que o novo item deverá ser armazenado.
-		int posicao = funcaoHash(chave);
-		
-		Entrada<K, V> entrada = new Entrada<>(chave, item);
-		
 		/// pesquisa o item, passado como parâmetro para esse método, na lista encadeada 
 		/// associada à posição, da tabela hash, em que esse novo item deverá ser adicionado.
 		/// Se o item não for localizado, 
 		/// ele é inserido no final da lista encadeada 
 		/// associada à posição, da tabela hash, em que esse novo item será localizado. 
-		try {
-			tabelaHash[posicao].pesquisar(entrada);
+		int posicao;
+		
+		iniciarMedicao();
+		if (localizarEntrada(chave) != null) {
+			concluirMedicao(Operacao.INSERCAO);
 			throw new IllegalArgumentException("O item já havia sido inserido anteriormente na tabela hash!");
-		} catch (NoSuchElementException excecao) {
-			tabelaHash[posicao].inserirFinal(entrada);
-			return posicao;
 		}
+		
+		posicao = armazenar(new Entrada<>(chave, item));
+		concluirMedicao(Operacao.INSERCAO);
+		return posicao;
 	}
 	
 	/**
@@ -87,20 +316,61 @@ public class TabelaHash<K, V> implements IMapeamento<K, V> {
 	@Override
 	public V pesquisar(K chave) {
 		
-		/// cálculo da posição da tabela hash em que o item deve estar armazenado.
-		int posicao = funcaoHash(chave);
+		Entrada<K, V> encontrado = pesquisarEntrada(chave);
 		
-		comparacoes = 1;
+		if (encontrado == null)
+			throw new NoSuchElementException("Item não encontrado!");
+		return encontrado.getValor();
+	}
+	
+	@Override
+	public V pesquisarOuPadrao(K chave, V padrao) {
 		
-		Entrada<K, V> procurado = new Entrada<>(chave, null);
+		Entrada<K, V> encontrado = pesquisarEntrada(chave);
 		
-		inicio = System.nanoTime();
-		/// pesquisa o item, cuja chave foi passada como parâmetro para esse método,
-		/// na lista encadeada associada à posição, da tabela hash, em que esse item deve estar armazenado.
-		procurado = tabelaHash[posicao].pesquisar(procurado);
-		comparacoes += tabelaHash[posicao].getComparacoes();
-		termino = System.nanoTime();
-		return procurado.getValor();
+		return (encontrado == null) ? padrao : encontrado.getValor();
+	}
+	
+	@Override
+	public boolean contem(K chave) {
+		return (pesquisarEntrada(chave) != null);
+	}
+	
+	@Override
+	public V computeIfAbsent(K chave, Function<? super K, ? extends V> funcaoCriacao) {
+		
+		Entrada<K, V> encontrado;
+		V novo;
+		
+		iniciarMedicao();
+		encontrado = localizarEntrada(chave);
+		if (encontrado != null) {
+			concluirMedicao(Operacao.ATUALIZACAO);
+			return encontrado.getValor();
+		}
+		
+		novo = funcaoCriacao.apply(chave);
+		armazenar(new Entrada<>(chave, novo));
+		concluirMedicao(Operacao.ATUALIZACAO);
+		return novo;
+	}
+	
+	@Override
+	public V upsert(K chave, V item) {
+		
+		Entrada<K, V> encontrado;
+		V anterior = null;
+		
+		iniciarMedicao();
+		encontrado = localizarEntrada(chave);
+		if (encontrado == null) {
+			armazenar(new Entrada<>(chave, item));
+		} else {
+			anterior = encontrado.getValor();
+			encontrado.setValor(item);
+		}
+		concluirMedicao(Operacao.ATUALIZACAO);
+		return anterior;
 	}
 	
 	/**
@@ -113,15 +383,40 @@ public class TabelaHash<K, V> implements IMapeamento<K, V> {
 	@Override
 	public V remover(K chave) {
 		
-		/// cálculo da posição da tabela hash em que o item deve estar armazenado.
-		int posicao = funcaoHash(chave);
-		
 		Entrada<K, V> procurado = new Entrada<>(chave, null);
+		Entrada<K, V> removido;
+		
+		iniciarMedicao();
+		migrarPosicoes();
 		
 		/// remove o item, cuja chave foi passada como parâmetro para esse método,
-		/// da lista encadeada associada à posição, da tabela hash, em que esse item deve estar armazenado.	
-		procurado = tabelaHash[posicao].remover(procurado);
-		return procurado.getValor();
+		/// da lista encadeada associada à posição, da tabela hash, em que esse item deve estar armazenado.
+		/// Durante um redimensionamento, o item pode estar em uma lista da tabela antiga que ainda não foi migrada.
+		/// Cada lista é percorrida uma única vez: a entrada é localizada e desligada no mesmo percurso.
+		removido = removerDaLista(tabelaHash[funcaoHash(chave)], procurado);
+		if (removido == null)
+			removido = removerDaLista(listaAntiga(chave), procurado);
+		
+		if (removido == null) {
+			concluirMedicao(Operacao.REMOCAO);
+			throw new NoSuchElementException("Item não encontrado!");
+		}
+		
+		quantidade--;
+		concluirMedicao(Operacao.REMOCAO);
+		return removido.getValor();
+	}
+	
+	/// remove a entrada da lista (que pode ser null), contabilizando as comparações; retorna null caso ela não esteja na lista.
+	private Entrada<K, V> removerDaLista(ISequencia<Entrada<K, V>> lista, Entrada<K, V> procurado) {
+		
+		Entrada<K, V> removido;
+		
+		if (lista == null)
+			return null;
+		removido = lista.removerOuPadrao(procurado, null);
+		comparacoes += lista.getComparacoes();
+		return removido;
 	}
 	
 	@Override
@@ -136,18 +431,61 @@ public class TabelaHash<K, V> implements IMapeamento<K, V> {
 	 * Caso contrário, para todos os itens, armazenados na lista encadeada 
 	 * associada a uma posição da tabela hash, são incluídos seus dados, sempre usando
 	 * o polimorfismo do toString.
+	 * Caso haja um redimensionamento em andamento, ele é concluído antes do percurso.
 	 */
 	@Override
 	public String percorrer() {
-		String conteudo = "Tabela com " + capacidade + " posições e " + tamanho() + " itens\n";
+		
+		StringBuilder conteudo = new StringBuilder();
+		
+		try {
+			percorrer(conteudo);
+		} catch (IOException excecao) { /// não ocorre: StringBuilder não lança IOException.
+			throw new UncheckedIOException(excecao);
+		}
+		return conteudo.toString();
+	}
+	
+	/**
+	 * Escreve o conteúdo da tabela hash no destino informado, no mesmo formato de {@link #percorrer()}.
+	 * Cada lista é escrita diretamente no destino, sem montar antes a string completa da tabela.
+	 */
+	@Override
+	public void percorrer(Appendable destino) throws IOException {
+		
+		while (tabelaAntiga != null)
+			migrarPosicoes();
+		
+		destino.append("Tabela com ").append(String.valueOf(capacidade)).append(" posições e ")
+			.append(String.valueOf(tamanho())).append(" itens\n");
 		for (int i = 0; i < capacidade; i++) {
-			conteudo += "Posição[" + i + "]: ";
-			if (tabelaHash[i].vazia())
-				conteudo += "vazia\n";
-			else
-				conteudo += tabelaHash[i].toString() + "\n";
+			destino.append("Posição[").append(String.valueOf(i)).append("]: ");
+			if ((tabelaHash[i] == null) || tabelaHash[i].vazia())
+				destino.append("vazia\n");
+			else {
+				tabelaHash[i].percorrer(destino);
+				destino.append("\n");
+			}
 		}
-		return conteudo;
+	}
+
+	/**
+	 * Executa a ação informada sobre cada item da tabela, posição a posição.
+	 * Durante um redimensionamento, os itens ainda não migrados da tabela antiga também são visitados.
+	 */
+	@Override
+	public void paraCada(Consumer<? super V> acao) {
+		
+		Consumer<Entrada<K, V>> acaoEntrada = entrada -> acao.accept(entrada.getValor());
+		
+		for (int i = 0; i < capacidade; i++)
+			if (tabelaHash[i] != null)
+				tabelaHash[i].paraCada(acaoEntrada);
+		
+		if (tabelaAntiga != null)
+			for (int i = proximaMigracao; i < capacidadeAntiga; i++)
+				if (tabelaAntiga[i] != null)
+					tabelaAntiga[i].paraCada(acaoEntrada);
 	}
 
 	/**
@@ -159,11 +497,38 @@ public class TabelaHash<K, V> implements IMapeamento<K, V> {
 	
 	@Override
 	public int tamanho() {
-		int tamanho = 0;
-		for (int i = 0; i < capacidade; i++) {
-			tamanho += tabelaHash[i].tamanho();
-		}
-		return tamanho;
+		return quantidade;
+	}
+	
+	/**
+	 * Retorna a quantidade atual de posições da tabela hash. 
+	 * Durante um redimensionamento, corresponde à capacidade da nova tabela.
+	 * @return Inteiro positivo com a capacidade atual da tabela.
+	 */
+	public int getCapacidade() {
+		return capacidade;
+	}
+	
+	/**
+	 * Retorna o tamanho da maior lista encadeada da tabela, considerando também
+	 * as listas da tabela antiga ainda não migradas. Permite verificar se o redimensionamento 
+	 * mantém as listas (e, portanto, o custo das pesquisas) limitadas.
+	 * @return Inteiro, não negativo, com o tamanho da maior lista encadeada.
+	 */
+	public int maiorLista() {
+		
+		int maior = 0;
+		
+		for (int i = 0; i < capacidade; i++)
+			if ((tabelaHash[i] != null) && (tabelaHash[i].tamanho() > maior))
+				maior = tabelaHash[i].tamanho();
+		
+		if (tabelaAntiga != null)
+			for (int i = proximaMigracao; i < capacidadeAntiga; i++)
+				if ((tabelaAntiga[i] != null) && (tabelaAntiga[i].tamanho() > maior))
+					maior = tabelaAntiga[i].tamanho();
+		
+		return maior;
 	}
 
 	@Override
@@ -173,6 +538,11 @@ public class TabelaHash<K, V> implements IMapeamento<K, V> {
 
 	@Override
 	public double getTempo() {
-		return (termino - inicio) / 1_000_000;
+		return (termino - inicio) / 1_000_000.0;
+	}
+	
+	@Override
+	public Medidor getMedidor() {
+		return medidor;
 	}
 }
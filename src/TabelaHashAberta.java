@@ -0,0 +1,393 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class TabelaHashAberta<K, V> implements IMapeamento<K, V> {
+
+	private Object[] chaves;  /// vetor com as chaves dos itens armazenados. Posições livres contêm null.
+	private Object[] valores; /// vetor paralelo ao de chaves: valores[i] é o item associado a chaves[i].
+	                          /// Nesse caso, estamos utilizando uma tabela hash com endereçamento aberto e sondagem linear,
+	                          /// ou seja, os itens são armazenados diretamente nos vetores, sem listas encadeadas.
+
+	private int capacidade;   /// tamanho dos vetores. É sempre uma potência de 2.
+	private int mascara;      /// capacidade - 1: permite calcular (posição % capacidade) com um "e" bit a bit.
+	private int deslocamento; /// 32 - log2(capacidade): quantidade de bits descartados pela função hash.
+	private int quantidade;   /// quantidade de itens armazenados.
+
+	/** Fator de carga (itens / capacidade) a partir do qual a tabela é redimensionada */
+	private static final double FATOR_CARGA_MAXIMO = 0.6;
+
+	/** Constante multiplicativa (razão áurea) usada para espalhar os códigos hash pelas posições da tabela */
+	private static final int ESPALHAMENTO = 0x9E3779B9;
+
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+	private final Medidor medidor = new Medidor(); // instrumentação cumulativa de todas as operações da tabela.
+
+	/**
+	 * Construtor da classe.
+	 * Cria uma tabela hash com endereçamento aberto capaz de armazenar, sem redimensionamento,
+	 * a quantidade de itens informada. A capacidade efetiva é a menor potência de 2 que mantém
+	 * o fator de carga abaixo de {@value #FATOR_CARGA_MAXIMO}.
+	 * @param capacidade: quantidade esperada de itens.
+	 * @throws IllegalStateException caso a capacidade seja um número não positivo.
+	 */
+	public TabelaHashAberta(int capacidade) {
+
+		if (capacidade < 1) {
+			throw new IllegalStateException("A capacidade da tabela hash não pode ser menor do que 1.");
+		}
+		alocar(potenciaDeDoisParaCapacidade(capacidade));
+	}
+
+	private static int potenciaDeDoisParaCapacidade(int itens) {
+
+		int posicoes = 2;
+
+		while (posicoes * FATOR_CARGA_MAXIMO < itens)
+			posicoes *= 2;
+		return posicoes;
+	}
+
+	private void alocar(int capacidade) {
+
+		this.capacidade = capacidade;
+		mascara = capacidade - 1;
+		deslocamento = 32 - Integer.numberOfTrailingZeros(capacidade);
+		chaves = new Object[capacidade];
+		valores = new Object[capacidade];
+		quantidade = 0;
+	}
+
+	/**
+	 * Função de transformação da tabela hash: hashing multiplicativo de Fibonacci.
+	 * O código hash da chave é multiplicado pela constante de espalhamento e seus bits mais altos
+	 * determinam a posição inicial. Assim, chaves sequenciais (como os identificadores dos produtos)
+	 * são distribuídas uniformemente pela tabela.
+	 * @param chave: chave da qual desejamos saber a posição inicial na tabela hash.
+	 * @return a posição inicial de sondagem da chave.
+	 */
+	private int funcaoHash(Object chave) {
+		return (chave.hashCode() * ESPALHAMENTO) >>> deslocamento;
+	}
+
+	/**
+	 * Localiza a posição ocupada pela chave informada.
+	 * A sondagem começa na posição indicada pela função hash e avança posição a posição
+	 * até encontrar a chave ou uma posição livre.
+	 * @param chave: chave procurada.
+	 * @return a posição da chave na tabela ou, caso ela não esteja armazenada, -(posição livre encontrada) - 1.
+	 */
+	private int localizar(Object chave) {
+
+		int posicao = funcaoHash(chave);
+
+		while (chaves[posicao] != null) {
+			comparacoes++;
+			if (chaves[posicao].equals(chave))
+				return posicao;
+			posicao = (posicao + 1) & mascara;
+		}
+		return -posicao - 1;
+	}
+
+	/**
+	 * Zera a contagem de comparações e registra o início de uma operação.
+	 */
+	private void iniciarMedicao() {
+		comparacoes = 0;
+		inicio = System.nanoTime();
+	}
+
+	/**
+	 * Registra o término da operação iniciada por {@link #iniciarMedicao()}, 
+	 * acumulando sua duração e suas comparações no medidor da tabela.
+	 */
+	private void concluirMedicao(Operacao operacao) {
+		termino = System.nanoTime();
+		medidor.registrar(operacao, termino - inicio, comparacoes);
+	}
+
+	/**
+	 * Método responsável por inserir um novo item na tabela hash.
+	 * Não é permitido inserir, nessa tabela hash, mais de um item com uma mesma chave.
+	 * @param chave: chave do item que deve ser inserido na tabela hash.
+	 * @param item: referência ao item que deve ser inserido na tabela hash.
+	 * @return a posição na tabela hash em que o novo item foi inserido.
+	 * @throws IllegalArgumentException no caso de um item, com a mesma chave, já existir na tabela.
+	 */
+	@Override
+	public int inserir(K chave, V item) {
+
+		int posicao;
+
+		iniciarMedicao();
+		if (quantidade + 1 > capacidade * FATOR_CARGA_MAXIMO)
+			redimensionar();
+
+		posicao = localizar(chave);
+		if (posicao >= 0) {
+			concluirMedicao(Operacao.INSERCAO);
+			throw new IllegalArgumentException("O item já havia sido inserido anteriormente na tabela hash!");
+		}
+
+		posicao = -posicao - 1;
+		chaves[posicao] = chave;
+		valores[posicao] = item;
+		quantidade++;
+		concluirMedicao(Operacao.INSERCAO);
+		return posicao;
+	}
+
+	/**
+	 * Dobra a capacidade da tabela e reposiciona todos os itens nos novos vetores.
+	 */
+	private void redimensionar() {
+
+		Object[] chavesAntigas = chaves;
+		Object[] valoresAntigos = valores;
+		int posicao;
+
+		alocar(capacidade * 2);
+		for (int i = 0; i < chavesAntigas.length; i++) {
+			if (chavesAntigas[i] != null) {
+				posicao = funcaoHash(chavesAntigas[i]);
+				while (chaves[posicao] != null)
+					posicao = (posicao + 1) & mascara;
+				chaves[posicao] = chavesAntigas[i];
+				valores[posicao] = valoresAntigos[i];
+				quantidade++;
+			}
+		}
+	}
+
+	/**
+	 * Método responsável por localizar, na tabela hash, o item
+	 * cuja chave corresponde à que foi passada como parâmetro para esse método.
+	 * @param chave: chave do item que deve ser localizado na tabela hash.
+	 * @return uma referência ao item encontrado.
+	 * @throws NoSuchElementException caso o item não seja localizado na tabela hash.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public V pesquisar(K chave) {
+
+		int posicao;
+
+		iniciarMedicao();
+		posicao = localizar(chave);
+		concluirMedicao(Operacao.PESQUISA);
+
+		if (posicao < 0)
+			throw new NoSuchElementException("Item não encontrado!");
+		return (V) valores[posicao];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V pesquisarOuPadrao(K chave, V padrao) {
+
+		int posicao;
+
+		iniciarMedicao();
+		posicao = localizar(chave);
+		concluirMedicao(Operacao.PESQUISA);
+
+		return (posicao < 0) ? padrao : (V) valores[posicao];
+	}
+
+	@Override
+	public boolean contem(K chave) {
+
+		boolean encontrado;
+
+		iniciarMedicao();
+		encontrado = (localizar(chave) >= 0);
+		concluirMedicao(Operacao.PESQUISA);
+		return encontrado;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V computeIfAbsent(K chave, Function<? super K, ? extends V> funcaoCriacao) {
+
+		int posicao;
+		V novo;
+
+		iniciarMedicao();
+		if (quantidade + 1 > capacidade * FATOR_CARGA_MAXIMO)
+			redimensionar();
+
+		posicao = localizar(chave);
+		if (posicao >= 0) {
+			concluirMedicao(Operacao.ATUALIZACAO);
+			return (V) valores[posicao];
+		}
+
+		/// a posição livre encontrada pela sondagem é usada diretamente, sem uma segunda pesquisa.
+		novo = funcaoCriacao.apply(chave);
+		posicao = -posicao - 1;
+		chaves[posicao] = chave;
+		valores[posicao] = novo;
+		quantidade++;
+		concluirMedicao(Operacao.ATUALIZACAO);
+		return novo;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V upsert(K chave, V item) {
+
+		int posicao;
+		V anterior = null;
+
+		iniciarMedicao();
+		if (quantidade + 1 > capacidade * FATOR_CARGA_MAXIMO)
+			redimensionar();
+
+		posicao = localizar(chave);
+		if (posicao >= 0) {
+			anterior = (V) valores[posicao];
+			valores[posicao] = item;
+		} else {
+			posicao = -posicao - 1;
+			chaves[posicao] = chave;
+			valores[posicao] = item;
+			quantidade++;
+		}
+		concluirMedicao(Operacao.ATUALIZACAO);
+		return anterior;
+	}
+
+	/**
+	 * Método responsável por remover, da tabela hash, o item
+	 * cuja chave corresponde à que foi passada como parâmetro para esse método.
+	 * A remoção não deixa marcas ("lápides") na tabela: os itens seguintes da mesma sequência de sondagem
+	 * são deslocados para trás, de modo que as pesquisas continuam terminando na primeira posição livre.
+	 * @param chave: chave do item que deve ser removido da tabela hash.
+	 * @return uma referência ao item removido.
+	 * @throws NoSuchElementException caso o item não seja localizado na tabela hash.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remover(K chave) {
+
+		int livre, posicao, ideal;
+		V removido;
+
+		iniciarMedicao();
+		livre = localizar(chave);
+		if (livre < 0) {
+			concluirMedicao(Operacao.REMOCAO);
+			throw new NoSuchElementException("Item não encontrado!");
+		}
+
+		removido = (V) valores[livre];
+
+		/// Deslocamento para trás: percorre a sequência de sondagem após a posição liberada e
+		/// move para ela cada item cuja posição ideal não esteja entre a posição liberada e a posição atual do item.
+		posicao = livre;
+		while (true) {
+			posicao = (posicao + 1) & mascara;
+			if (chaves[posicao] == null)
+				break;
+			ideal = funcaoHash(chaves[posicao]);
+			if (((posicao - ideal) & mascara) >= ((posicao - livre) & mascara)) {
+				chaves[livre] = chaves[posicao];
+				valores[livre] = valores[posicao];
+				livre = posicao;
+			}
+		}
+		chaves[livre] = null;
+		valores[livre] = null;
+		quantidade--;
+		concluirMedicao(Operacao.REMOCAO);
+
+		return removido;
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	/**
+	 * Método responsável por percorrer todo o conteúdo da tabela hash e retornar sua representação, em string.
+	 * A string inclui, para cada posição ocupada, seu índice e o par chave-->item armazenado.
+	 */
+	@Override
+	public String percorrer() {
+
+		StringBuilder conteudo = new StringBuilder();
+
+		try {
+			percorrer(conteudo);
+		} catch (IOException excecao) { /// não ocorre: StringBuilder não lança IOException.
+			throw new UncheckedIOException(excecao);
+		}
+		return conteudo.toString();
+	}
+
+	/**
+	 * Escreve o conteúdo da tabela hash no destino informado, no mesmo formato de {@link #percorrer()},
+	 * sem montar antes a string completa.
+	 */
+	@Override
+	public void percorrer(Appendable destino) throws IOException {
+
+		destino.append("Tabela com ").append(String.valueOf(capacidade)).append(" posições e ")
+				.append(String.valueOf(quantidade)).append(" itens\n");
+		for (int i = 0; i < capacidade; i++) {
+			if (chaves[i] != null)
+				destino.append("Posição[").append(String.valueOf(i)).append("]: ")
+						.append(String.valueOf(chaves[i])).append("-->").append(String.valueOf(valores[i])).append("\n");
+		}
+	}
+
+	/**
+	 * Executa a ação informada sobre cada item da tabela, na ordem das posições ocupadas.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void paraCada(Consumer<? super V> acao) {
+
+		for (int i = 0; i < capacidade; i++)
+			if (chaves[i] != null)
+				acao.accept((V) valores[i]);
+	}
+
+	/**
+	 * Retorna o tamanho da tabela hash, ou seja, a quantidade de itens efetivamente armazenados no momento.
+	 * @return Inteiro, não negativo, com a quantidade de itens armazenados na tabela.
+	 */
+	@Override
+	public int tamanho() {
+		return quantidade;
+	}
+
+	/**
+	 * Retorna a quantidade atual de posições da tabela hash.
+	 * @return Inteiro positivo (potência de 2) com a capacidade atual da tabela.
+	 */
+	public int getCapacidade() {
+		return capacidade;
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000.0;
+	}
+
+	@Override
+	public Medidor getMedidor() {
+		return medidor;
+	}
+}
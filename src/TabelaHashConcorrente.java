@@ -0,0 +1,516 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Tabela hash com endereçamento em separado que pode ser usada por várias threads ao mesmo tempo.
+ *
+ * As escritas (inserção, substituição e remoção) são protegidas por travas distribuídas em faixas ("lock striping"):
+ * a posição p da tabela é protegida pela trava p % {@value #TRAVAS}, de modo que escritas em posições
+ * de faixas diferentes ocorrem em paralelo. As pesquisas não usam travas: os elementos das listas encadeadas
+ * são imutáveis (exceto pelo valor, volátil), e cada lista é publicada por uma escrita volátil na sua posição da tabela.
+ * Assim, uma pesquisa sempre percorre uma lista completa e consistente, ainda que desatualizada
+ * em relação a uma escrita simultânea.
+ *
+ * O redimensionamento adquire todas as travas, em ordem, e publica a nova tabela de uma só vez.
+ *
+ * Para que as pesquisas não escrevam em memória compartilhada, a duração e as comparações da última pesquisa
+ * ({@link #getTempo()} e {@link #getComparacoes()}) são mantidas por thread, e as pesquisas só são registradas
+ * no medidor da tabela, cujos contadores são compartilhados, após {@link #setMedirPesquisas(boolean)}.
+ * As escritas são sempre registradas.
+ */
+public class TabelaHashConcorrente<K, V> implements IMapeamento<K, V> {
+
+	/**
+	 * Elemento da lista encadeada de uma posição da tabela. A chave e o próximo elemento nunca mudam:
+	 * a remoção de um elemento recria os elementos anteriores a ele na lista.
+	 */
+	private static final class Elemento<K, V> {
+
+		final K chave;
+		final int hash;
+		volatile V valor;
+		final Elemento<K, V> proximo;
+
+		Elemento(K chave, int hash, V valor, Elemento<K, V> proximo) {
+			this.chave = chave;
+			this.hash = hash;
+			this.valor = valor;
+			this.proximo = proximo;
+		}
+	}
+
+	/** Quantidade de travas. Escritas em até TRAVAS faixas diferentes podem ocorrer em paralelo */
+	private static final int TRAVAS = 64;
+
+	/** Fator de carga (itens / capacidade) a partir do qual a tabela é redimensionada */
+	private static final double FATOR_CARGA_MAXIMO = 0.75;
+
+	/**
+	 * Medição da última pesquisa de uma thread.
+	 */
+	private static final class UltimaPesquisa {
+		long comparacoes;
+		long duracao;
+		/// indica se a última operação da thread foi uma pesquisa, medida aqui, ou uma escrita, medida nos campos compartilhados.
+		boolean foiPesquisa;
+	}
+
+	/// tabela com a primeira posição de cada lista encadeada. A capacidade é sempre uma potência de 2.
+	/// A referência é volátil: um redimensionamento substitui a tabela inteira.
+	private volatile AtomicReferenceArray<Elemento<K, V>> tabela;
+
+	private final ReentrantLock[] travas;
+	private final LongAdder quantidade = new LongAdder(); /// quantidade de itens, sem contenção entre as threads que a atualizam.
+
+	/// comparações e tempo da última escrita concluída, por qualquer thread.
+	private volatile long comparacoes;
+	private volatile long duracao;
+	private final Medidor medidor = new Medidor();
+
+	private final ThreadLocal<UltimaPesquisa> ultimaPesquisa = ThreadLocal.withInitial(UltimaPesquisa::new);
+
+	private volatile boolean medirPesquisas;
+
+	/**
+	 * Construtor da classe.
+	 * Cria uma tabela hash concorrente capaz de armazenar, sem redimensionamento, a quantidade de itens informada.
+	 * @param capacidade: quantidade esperada de itens.
+	 * @throws IllegalStateException caso a capacidade seja um número não positivo.
+	 */
+	public TabelaHashConcorrente(int capacidade) {
+
+		int posicoes = TRAVAS;
+
+		if (capacidade < 1)
+			throw new IllegalStateException("A capacidade da tabela hash não pode ser menor do que 1.");
+
+		while (posicoes * FATOR_CARGA_MAXIMO < capacidade)
+			posicoes *= 2;
+
+		tabela = new AtomicReferenceArray<>(posicoes);
+		travas = new ReentrantLock[TRAVAS];
+		for (int i = 0; i < TRAVAS; i++)
+			travas[i] = new ReentrantLock();
+	}
+
+	/**
+	 * Espalha os bits do código hash da chave, para que os bits mais baixos, usados para escolher a posição,
+	 * dependam também dos bits mais altos.
+	 */
+	private static int espalhar(Object chave) {
+
+		int hash = chave.hashCode();
+
+		return hash ^ (hash >>> 16);
+	}
+
+	private static int posicao(int hash, AtomicReferenceArray<?> tabela) {
+		return hash & (tabela.length() - 1);
+	}
+
+	/**
+	 * Localiza, sem travas, o elemento da chave informada. A pesquisa não escreve em memória compartilhada,
+	 * exceto quando as pesquisas são registradas no medidor.
+	 * @return o elemento encontrado, ou null caso a chave não esteja armazenada na tabela.
+	 */
+	private Elemento<K, V> localizar(Object chave) {
+
+		long inicio = System.nanoTime();
+		int hash = espalhar(chave);
+		int quantasComparacoes = 0;
+		AtomicReferenceArray<Elemento<K, V>> atual = tabela;
+		Elemento<K, V> elemento = atual.get(posicao(hash, atual));
+
+		while (elemento != null) {
+			quantasComparacoes++;
+			if ((elemento.hash == hash) && elemento.chave.equals(chave))
+				break;
+			elemento = elemento.proximo;
+		}
+		concluirPesquisa(Operacao.PESQUISA, inicio, quantasComparacoes);
+		return elemento;
+	}
+
+	/**
+	 * Adquire a trava da posição da chave na tabela atual.
+	 * Caso um redimensionamento substitua a tabela antes da aquisição, a trava é liberada e a operação, repetida sobre a nova tabela.
+	 * @return a tabela atual, cuja posição da chave está travada pela thread.
+	 */
+	private AtomicReferenceArray<Elemento<K, V>> travar(int hash) {
+
+		AtomicReferenceArray<Elemento<K, V>> atual;
+		ReentrantLock trava;
+
+		while (true) {
+			atual = tabela;
+			trava = travas[posicao(hash, atual) % TRAVAS];
+			trava.lock();
+			if (atual == tabela)
+				return atual;
+			trava.unlock();
+		}
+	}
+
+	private void destravar(int hash, AtomicReferenceArray<Elemento<K, V>> atual) {
+		travas[posicao(hash, atual) % TRAVAS].unlock();
+	}
+
+	/**
+	 * Registra a escrita concluída no medidor e como a última operação da tabela.
+	 */
+	private void concluirMedicao(Operacao operacao, long inicio, long quantasComparacoes) {
+
+		long tempo = System.nanoTime() - inicio;
+
+		ultimaPesquisa.get().foiPesquisa = false;
+		comparacoes = quantasComparacoes;
+		duracao = tempo;
+		medidor.registrar(operacao, tempo, quantasComparacoes);
+	}
+
+	/**
+	 * Registra a pesquisa concluída, sem travas, como a última operação da thread e, caso solicitado, no medidor.
+	 */
+	private void concluirPesquisa(Operacao operacao, long inicio, long quantasComparacoes) {
+
+		UltimaPesquisa medicao = ultimaPesquisa.get();
+
+		medicao.comparacoes = quantasComparacoes;
+		medicao.duracao = System.nanoTime() - inicio;
+		medicao.foiPesquisa = true;
+		if (medirPesquisas)
+			medidor.registrar(operacao, medicao.duracao, quantasComparacoes);
+	}
+
+	/**
+	 * Define se as pesquisas são registradas no medidor da tabela (por padrão, não são).
+	 * O registro atualiza contadores compartilhados por todas as threads e limita, portanto, a escalabilidade das pesquisas.
+	 */
+	public void setMedirPesquisas(boolean medirPesquisas) {
+		this.medirPesquisas = medirPesquisas;
+	}
+
+	/**
+	 * Dobra a capacidade da tabela, caso o fator de carga tenha sido ultrapassado.
+	 * Todas as travas são adquiridas, sempre na mesma ordem, antes da cópia: nenhuma escrita ocorre durante o redimensionamento,
+	 * mas as pesquisas continuam, sem bloqueio, sobre a tabela anterior até a publicação da nova.
+	 */
+	private void redimensionarSeNecessario() {
+
+		AtomicReferenceArray<Elemento<K, V>> antiga, nova;
+		Elemento<K, V> elemento;
+		int destino;
+
+		if (quantidade.sum() <= tabela.length() * FATOR_CARGA_MAXIMO)
+			return;
+
+		for (ReentrantLock trava : travas)
+			trava.lock();
+		try {
+			antiga = tabela;
+			/// outra thread pode ter redimensionado a tabela enquanto esta aguardava as travas.
+			if (quantidade.sum() <= antiga.length() * FATOR_CARGA_MAXIMO)
+				return;
+
+			nova = new AtomicReferenceArray<>(antiga.length() * 2);
+			for (int i = 0; i < antiga.length(); i++) {
+				elemento = antiga.get(i);
+				while (elemento != null) {
+					destino = posicao(elemento.hash, nova);
+					nova.set(destino, new Elemento<>(elemento.chave, elemento.hash, elemento.valor, nova.get(destino)));
+					elemento = elemento.proximo;
+				}
+			}
+			tabela = nova;
+		} finally {
+			for (int i = travas.length - 1; i >= 0; i--)
+				travas[i].unlock();
+		}
+	}
+
+	/**
+	 * Método responsável por inserir um novo item na tabela hash.
+	 * Não é permitido inserir, nessa tabela hash, mais de um item com uma mesma chave.
+	 * @param chave: chave do item que deve ser inserido na tabela hash.
+	 * @param item: referência ao item que deve ser inserido na tabela hash.
+	 * @return a posição na tabela hash em que o novo item foi inserido.
+	 * @throws IllegalArgumentException no caso de um item, com a mesma chave, já existir na tabela.
+	 */
+	@Override
+	public int inserir(K chave, V item) {
+
+		long inicio = System.nanoTime();
+		int quantasComparacoes = 0;
+		int hash = espalhar(chave), posicao;
+		AtomicReferenceArray<Elemento<K, V>> atual = travar(hash);
+
+		try {
+			posicao = posicao(hash, atual);
+			for (Elemento<K, V> elemento = atual.get(posicao); elemento != null; elemento = elemento.proximo) {
+				quantasComparacoes++;
+				if ((elemento.hash == hash) && elemento.chave.equals(chave))
+					throw new IllegalArgumentException("O item já havia sido inserido anteriormente na tabela hash!");
+			}
+			atual.set(posicao, new Elemento<>(chave, hash, item, atual.get(posicao)));
+			quantidade.increment();
+		} finally {
+			destravar(hash, atual);
+			concluirMedicao(Operacao.INSERCAO, inicio, quantasComparacoes);
+		}
+
+		redimensionarSeNecessario();
+		return posicao;
+	}
+
+	/**
+	 * Método responsável por localizar, na tabela hash, o item
+	 * cuja chave corresponde à que foi passada como parâmetro para esse método. A pesquisa não usa travas.
+	 * @param chave: chave do item que deve ser localizado na tabela hash.
+	 * @return uma referência ao item encontrado.
+	 * @throws NoSuchElementException caso o item não seja localizado na tabela hash.
+	 */
+	@Override
+	public V pesquisar(K chave) {
+
+		Elemento<K, V> encontrado = localizar(chave);
+
+		if (encontrado == null)
+			throw new NoSuchElementException("Item não encontrado!");
+		return encontrado.valor;
+	}
+
+	@Override
+	public V pesquisarOuPadrao(K chave, V padrao) {
+
+		Elemento<K, V> encontrado = localizar(chave);
+
+		return (encontrado == null) ? padrao : encontrado.valor;
+	}
+
+	@Override
+	public boolean contem(K chave) {
+		return (localizar(chave) != null);
+	}
+
+	/**
+	 * Retorna o item associado à chave ou, caso ela não esteja presente, cria o item e o insere, de forma atômica:
+	 * ainda que várias threads executem a operação com a mesma chave ao mesmo tempo, o item é criado uma única vez
+	 * e todas elas recebem o mesmo item. Caso a chave já esteja presente, a operação não usa travas
+	 * e é medida como uma pesquisa.
+	 * A função de criação é executada com a trava da posição adquirida, e não deve acessar a própria tabela.
+	 */
+	@Override
+	public V computeIfAbsent(K chave, Function<? super K, ? extends V> funcaoCriacao) {
+
+		long inicio = System.nanoTime();
+		int quantasComparacoes = 0;
+		int hash = espalhar(chave), posicao;
+		AtomicReferenceArray<Elemento<K, V>> atual = tabela;
+		Elemento<K, V> encontrado = atual.get(posicao(hash, atual));
+		V novo;
+
+		/// pesquisa sem travas: caso a chave já esteja presente, o item é retornado sem bloqueio.
+		for (; encontrado != null; encontrado = encontrado.proximo) {
+			quantasComparacoes++;
+			if ((encontrado.hash == hash) && encontrado.chave.equals(chave)) {
+				concluirPesquisa(Operacao.ATUALIZACAO, inicio, quantasComparacoes);
+				return encontrado.valor;
+			}
+		}
+
+		atual = travar(hash);
+		try {
+			/// outra thread pode ter inserido a chave entre a pesquisa sem travas e a aquisição da trava.
+			posicao = posicao(hash, atual);
+			for (Elemento<K, V> elemento = atual.get(posicao); elemento != null; elemento = elemento.proximo) {
+				quantasComparacoes++;
+				if ((elemento.hash == hash) && elemento.chave.equals(chave))
+					return elemento.valor;
+			}
+			novo = funcaoCriacao.apply(chave);
+			atual.set(posicao, new Elemento<>(chave, hash, novo, atual.get(posicao)));
+			quantidade.increment();
+		} finally {
+			destravar(hash, atual);
+			concluirMedicao(Operacao.ATUALIZACAO, inicio, quantasComparacoes);
+		}
+
+		redimensionarSeNecessario();
+		return novo;
+	}
+
+	@Override
+	public V upsert(K chave, V item) {
+
+		long inicio = System.nanoTime();
+		int quantasComparacoes = 0;
+		int hash = espalhar(chave), posicao;
+		AtomicReferenceArray<Elemento<K, V>> atual = travar(hash);
+		V anterior;
+
+		try {
+			posicao = posicao(hash, atual);
+			for (Elemento<K, V> elemento = atual.get(posicao); elemento != null; elemento = elemento.proximo) {
+				quantasComparacoes++;
+				if ((elemento.hash == hash) && elemento.chave.equals(chave)) {
+					anterior = elemento.valor;
+					elemento.valor = item;
+					return anterior;
+				}
+			}
+			atual.set(posicao, new Elemento<>(chave, hash, item, atual.get(posicao)));
+			quantidade.increment();
+		} finally {
+			destravar(hash, atual);
+			concluirMedicao(Operacao.ATUALIZACAO, inicio, quantasComparacoes);
+		}
+
+		redimensionarSeNecessario();
+		return null;
+	}
+
+	/**
+	 * Método responsável por remover, da tabela hash, o item
+	 * cuja chave corresponde à que foi passada como parâmetro para esse método.
+	 * Os elementos anteriores ao removido são recriados, para que pesquisas simultâneas, que percorrem a lista sem travas,
+	 * continuem vendo uma lista completa.
+	 * @param chave: chave do item que deve ser removido da tabela hash.
+	 * @return uma referência ao item removido.
+	 * @throws NoSuchElementException caso o item não seja localizado na tabela hash.
+	 */
+	@Override
+	public V remover(K chave) {
+
+		long inicio = System.nanoTime();
+		int quantasComparacoes = 0;
+		int hash = espalhar(chave), posicao;
+		AtomicReferenceArray<Elemento<K, V>> atual = travar(hash);
+		Elemento<K, V> primeiro, removido, novaLista;
+
+		try {
+			posicao = posicao(hash, atual);
+			primeiro = atual.get(posicao);
+			removido = primeiro;
+			while ((removido != null) && !((removido.hash == hash) && removido.chave.equals(chave))) {
+				quantasComparacoes++;
+				removido = removido.proximo;
+			}
+			if (removido == null)
+				throw new NoSuchElementException("Item não encontrado!");
+			quantasComparacoes++;
+
+			novaLista = removido.proximo;
+			for (Elemento<K, V> elemento = primeiro; elemento != removido; elemento = elemento.proximo)
+				novaLista = new Elemento<>(elemento.chave, elemento.hash, elemento.valor, novaLista);
+			atual.set(posicao, novaLista);
+			quantidade.decrement();
+		} finally {
+			destravar(hash, atual);
+			concluirMedicao(Operacao.REMOCAO, inicio, quantasComparacoes);
+		}
+		return removido.valor;
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	@Override
+	public String percorrer() {
+
+		StringBuilder conteudo = new StringBuilder();
+
+		try {
+			percorrer(conteudo);
+		} catch (IOException excecao) { /// não ocorre: StringBuilder não lança IOException.
+			throw new UncheckedIOException(excecao);
+		}
+		return conteudo.toString();
+	}
+
+	/**
+	 * Escreve o conteúdo da tabela hash no destino informado: para cada posição ocupada, seu índice e os pares chave-->item armazenados.
+	 * O percurso não usa travas e reflete o conteúdo de cada posição no momento em que ela é visitada.
+	 */
+	@Override
+	public void percorrer(Appendable destino) throws IOException {
+
+		AtomicReferenceArray<Elemento<K, V>> atual = tabela;
+		Elemento<K, V> elemento;
+
+		destino.append("Tabela com ").append(String.valueOf(atual.length())).append(" posições e ")
+				.append(String.valueOf(tamanho())).append(" itens\n");
+		for (int i = 0; i < atual.length(); i++) {
+			elemento = atual.get(i);
+			if (elemento != null) {
+				destino.append("Posição[").append(String.valueOf(i)).append("]: ");
+				for (; elemento != null; elemento = elemento.proximo)
+					destino.append(String.valueOf(elemento.chave)).append("-->").append(String.valueOf(elemento.valor)).append("\n");
+			}
+		}
+	}
+
+	/**
+	 * Executa a ação informada sobre cada item da tabela, posição a posição, sem travas.
+	 */
+	@Override
+	public void paraCada(Consumer<? super V> acao) {
+
+		AtomicReferenceArray<Elemento<K, V>> atual = tabela;
+
+		for (int i = 0; i < atual.length(); i++)
+			for (Elemento<K, V> elemento = atual.get(i); elemento != null; elemento = elemento.proximo)
+				acao.accept(elemento.valor);
+	}
+
+	/**
+	 * Retorna a quantidade de itens armazenados, sem percorrer a tabela.
+	 * Durante escritas simultâneas, o valor pode não incluir as escritas ainda em andamento.
+	 */
+	@Override
+	public int tamanho() {
+		return quantidade.intValue();
+	}
+
+	/**
+	 * Retorna a quantidade atual de posições da tabela hash.
+	 */
+	public int getCapacidade() {
+		return tabela.length();
+	}
+
+	/**
+	 * Quantidade de comparações da última operação desta thread, caso tenha sido uma pesquisa;
+	 * caso contrário, da última escrita, de qualquer thread.
+	 */
+	@Override
+	public long getComparacoes() {
+
+		UltimaPesquisa medicao = ultimaPesquisa.get();
+
+		return medicao.foiPesquisa ? medicao.comparacoes : comparacoes;
+	}
+
+	/**
+	 * Tempo da última operação desta thread, caso tenha sido uma pesquisa; caso contrário, da última escrita, de qualquer thread.
+	 */
+	@Override
+	public double getTempo() {
+
+		UltimaPesquisa medicao = ultimaPesquisa.get();
+
+		return (medicao.foiPesquisa ? medicao.duracao : duracao) / 1_000_000.0;
+	}
+
+	@Override
+	public Medidor getMedidor() {
+		return medidor;
+	}
+}
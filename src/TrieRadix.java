@@ -0,0 +1,368 @@
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Índice de prefixos (trie compactada, ou radix trie) sobre chaves de texto normalizadas.
+ *
+ * As chaves são normalizadas antes de indexadas e pesquisadas (ver {@link #normalizar(String)}): a pesquisa não é
+ * sensível ao caso, aos acentos nem a espaços repetidos. Cada aresta da trie é rotulada por um segmento de texto,
+ * e não por um único caractere: os nós existem apenas onde as chaves se ramificam ou terminam, de modo que a memória
+ * é proporcional à quantidade de segmentos distintos, e não ao total de caracteres. Chaves com prefixos comuns
+ * (como as descrições "Papel ...") compartilham o caminho desse prefixo.
+ *
+ * Os filhos de cada nó ficam ordenados pelo primeiro caractere do rótulo: o percurso em profundidade visita as chaves
+ * em ordem crescente, e uma enumeração por prefixo com limite k termina assim que encontra as k primeiras, em ordem.
+ * Vários itens podem ter a mesma chave normalizada; eles são retornados na ordem de inserção.
+ */
+public class TrieRadix<V> implements IMedicao {
+
+	/**
+	 * Nó da trie. O rótulo é o segmento da aresta que leva do pai até o nó; os itens são os das chaves que terminam nele.
+	 */
+	private static final class NoTrie<V> {
+
+		String rotulo;
+		char[] iniciais;          /// primeiro caractere do rótulo de cada filho, em ordem crescente.
+		NoTrie<V>[] filhos;
+		int quantosFilhos;
+		ListaArray<V> itens;      /// null, caso nenhuma chave termine no nó.
+
+		@SuppressWarnings("unchecked")
+		NoTrie(String rotulo) {
+			this.rotulo = rotulo;
+			this.iniciais = new char[0];
+			this.filhos = (NoTrie<V>[]) new NoTrie<?>[0];
+		}
+
+		/// posição do filho cujo rótulo começa pelo caractere informado, ou (-(ponto de inserção) - 1), como em Arrays.binarySearch.
+		int posicaoFilho(char inicial) {
+			return Arrays.binarySearch(iniciais, 0, quantosFilhos, inicial);
+		}
+
+		void inserirFilho(int posicao, NoTrie<V> filho) {
+
+			if (quantosFilhos == filhos.length) {
+				iniciais = Arrays.copyOf(iniciais, Math.max(2, 2 * quantosFilhos));
+				filhos = Arrays.copyOf(filhos, iniciais.length);
+			}
+			System.arraycopy(iniciais, posicao, iniciais, posicao + 1, quantosFilhos - posicao);
+			System.arraycopy(filhos, posicao, filhos, posicao + 1, quantosFilhos - posicao);
+			iniciais[posicao] = filho.rotulo.charAt(0);
+			filhos[posicao] = filho;
+			quantosFilhos++;
+		}
+
+		void removerFilho(int posicao) {
+
+			quantosFilhos--;
+			System.arraycopy(iniciais, posicao + 1, iniciais, posicao, quantosFilhos - posicao);
+			System.arraycopy(filhos, posicao + 1, filhos, posicao, quantosFilhos - posicao);
+			filhos[quantosFilhos] = null;
+		}
+	}
+
+	private final NoTrie<V> raiz = new NoTrie<>("");
+	private int tamanho;      /// quantidade de itens armazenados.
+	private int quantosNos;   /// quantidade de nós, incluindo a raiz.
+
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+	private final Medidor medidor;
+
+	public TrieRadix() {
+		this(new Medidor());
+	}
+
+	/**
+	 * Cria uma trie vazia cujas operações são registradas no medidor informado.
+	 * @param medidor medidor da trie. {@link Medidor#INATIVO} desativa a instrumentação cumulativa.
+	 */
+	public TrieRadix(Medidor medidor) {
+		this.medidor = medidor;
+		this.quantosNos = 1;
+	}
+
+	/**
+	 * Cria uma trie com os itens de outra estrutura, indexados pela chave extraída de cada item (sem IO).
+	 * @param origem estrutura cujos itens serão indexados.
+	 * @param extratorDeChave função que extrai a chave de texto de cada item.
+	 */
+	public TrieRadix(IMapeamento<?, V> origem, Function<V, String> extratorDeChave) {
+		this();
+		origem.paraCada(item -> inserir(extratorDeChave.apply(item), item));
+	}
+
+	/**
+	 * Normaliza uma chave de texto: remove os acentos, converte para minúsculas, elimina os espaços
+	 * do início e do fim e substitui cada sequência de espaços por um único espaço.
+	 * @param chave texto a ser normalizado.
+	 * @return o texto normalizado.
+	 */
+	public static String normalizar(String chave) {
+
+		String semAcentos = Normalizer.normalize(chave, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+
+		return semAcentos.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+	}
+
+	private void iniciarMedicao() {
+		comparacoes = 0;
+		inicio = System.nanoTime();
+	}
+
+	private void concluirMedicao(Operacao operacao) {
+		termino = System.nanoTime();
+		medidor.registrar(operacao, termino - inicio, comparacoes);
+	}
+
+	/// quantidade de caracteres iniciais em comum entre o rótulo e a chave, a partir da posição informada da chave.
+	private int prefixoComum(String rotulo, String chave, int posicao) {
+
+		int limite = Math.min(rotulo.length(), chave.length() - posicao);
+		int comum = 0;
+
+		while ((comum < limite) && (rotulo.charAt(comum) == chave.charAt(posicao + comum)))
+			comum++;
+		comparacoes += Math.min(comum + 1, limite);
+		return comum;
+	}
+
+	/**
+	 * Insere o item, associado à chave informada (normalizada antes da inserção).
+	 * Caso outros itens já tenham a mesma chave normalizada, o novo item é armazenado após eles.
+	 * @param chave chave de texto do item.
+	 * @param item item a ser indexado.
+	 * @throws IllegalArgumentException caso a chave normalizada seja vazia.
+	 */
+	public void inserir(String chave, V item) {
+
+		String normalizada = normalizar(chave);
+		NoTrie<V> atual = raiz;
+		NoTrie<V> filho, intermediario;
+		int posicao = 0;
+		int indice, comum;
+
+		if (normalizada.isEmpty())
+			throw new IllegalArgumentException("A chave de um item da trie não pode ser vazia.");
+
+		iniciarMedicao();
+		while (posicao < normalizada.length()) {
+			indice = atual.posicaoFilho(normalizada.charAt(posicao));
+			comparacoes++;
+			if (indice < 0) {
+				/// nenhuma chave continua por este caractere: o restante da chave é o rótulo de uma nova folha.
+				filho = new NoTrie<>(normalizada.substring(posicao));
+				atual.inserirFilho(-indice - 1, filho);
+				quantosNos++;
+				atual = filho;
+				break;
+			}
+			filho = atual.filhos[indice];
+			comum = prefixoComum(filho.rotulo, normalizada, posicao);
+			if (comum < filho.rotulo.length()) {
+				/// a chave diverge no meio do rótulo: a aresta é dividida por um nó intermediário com a parte comum.
+				intermediario = new NoTrie<>(filho.rotulo.substring(0, comum));
+				filho.rotulo = filho.rotulo.substring(comum);
+				intermediario.inserirFilho(0, filho);
+				atual.filhos[indice] = intermediario;
+				quantosNos++;
+				filho = intermediario;
+			}
+			atual = filho;
+			posicao += comum;
+		}
+
+		if (atual.itens == null)
+			atual.itens = new ListaArray<>(1, Medidor.INATIVO);
+		atual.itens.inserirFinal(item);
+		tamanho++;
+		concluirMedicao(Operacao.INSERCAO);
+	}
+
+	/**
+	 * Remove o item associado à chave informada (normalizada antes da remoção). A trie permanece compactada:
+	 * um nó que fica sem itens e sem filhos é retirado, e um nó sem itens com um único filho é fundido a ele.
+	 * @param chave chave de texto do item.
+	 * @param item item a ser removido (o primeiro item igual a ele, entre os da chave).
+	 * @return true, caso o item tenha sido encontrado e removido; false, caso contrário.
+	 */
+	public boolean remover(String chave, V item) {
+
+		String normalizada = normalizar(chave);
+		NoTrie<V> atual = raiz;
+		NoTrie<V> pai = null, avo = null;
+		NoTrie<V> filho;
+		int posicao = 0;
+		int indice, comum, indiceNoPai = -1, indiceDoPaiNoAvo = -1;
+		int encontrado = -1;
+
+		iniciarMedicao();
+		while (posicao < normalizada.length()) {
+			indice = atual.posicaoFilho(normalizada.charAt(posicao));
+			comparacoes++;
+			if (indice < 0)
+				break;
+			filho = atual.filhos[indice];
+			comum = prefixoComum(filho.rotulo, normalizada, posicao);
+			if (comum < filho.rotulo.length())
+				break;
+			avo = pai;
+			indiceDoPaiNoAvo = indiceNoPai;
+			pai = atual;
+			indiceNoPai = indice;
+			atual = filho;
+			posicao += comum;
+		}
+		if ((posicao == normalizada.length()) && (atual.itens != null))
+			for (int i = 0; (i < atual.itens.tamanho()) && (encontrado < 0); i++) {
+				comparacoes++;
+				if (atual.itens.obter(i).equals(item))
+					encontrado = i;
+			}
+		if (encontrado < 0) {
+			concluirMedicao(Operacao.REMOCAO);
+			return false;
+		}
+
+		atual.itens.remover(encontrado);
+		tamanho--;
+		if (atual.itens.vazia())
+			atual.itens = null;
+		if ((atual.itens == null) && (atual.quantosFilhos == 0)) {
+			/// a folha deixa de existir; o pai, se ficar sem itens e com um único filho, é fundido a ele.
+			pai.removerFilho(indiceNoPai);
+			quantosNos--;
+			if ((avo != null) && (pai.itens == null) && (pai.quantosFilhos == 1))
+				fundir(avo, indiceDoPaiNoAvo);
+		} else if ((atual.itens == null) && (atual.quantosFilhos == 1))
+			fundir(pai, indiceNoPai);
+		concluirMedicao(Operacao.REMOCAO);
+		return true;
+	}
+
+	/// substitui o filho informado, sem itens e com um único filho, por esse filho, com os dois rótulos concatenados.
+	private void fundir(NoTrie<V> pai, int indice) {
+
+		NoTrie<V> unico = pai.filhos[indice].filhos[0];
+
+		unico.rotulo = pai.filhos[indice].rotulo + unico.rotulo;
+		pai.filhos[indice] = unico;
+		quantosNos--;
+	}
+
+	/**
+	 * Desce pela trie seguindo o prefixo (já normalizado).
+	 * @param exato indica se o prefixo deve terminar exatamente em um nó, e não no meio do rótulo de uma aresta.
+	 * @return o nó mais alto cujas chaves começam pelo prefixo, ou null caso nenhuma chave comece por ele.
+	 */
+	private NoTrie<V> descer(String prefixo, boolean exato) {
+
+		NoTrie<V> atual = raiz;
+		NoTrie<V> filho;
+		int posicao = 0;
+		int indice, comum;
+
+		while (posicao < prefixo.length()) {
+			indice = atual.posicaoFilho(prefixo.charAt(posicao));
+			comparacoes++;
+			if (indice < 0)
+				return null;
+			filho = atual.filhos[indice];
+			comum = prefixoComum(filho.rotulo, prefixo, posicao);
+			/// o prefixo pode terminar no meio do rótulo: todas as chaves do filho começam por ele.
+			if ((comum < filho.rotulo.length()) && (exato || (posicao + comum < prefixo.length())))
+				return null;
+			atual = filho;
+			posicao += comum;
+		}
+		return atual;
+	}
+
+	/**
+	 * Retorna os itens cuja chave normalizada é igual à chave informada, após normalizada.
+	 * @param chave chave procurada.
+	 * @return os itens da chave, na ordem de inserção (lista vazia, caso a chave não esteja indexada).
+	 */
+	public ListaArray<V> pesquisar(String chave) {
+
+		String normalizada = normalizar(chave);
+		ListaArray<V> encontrados = new ListaArray<>(1, Medidor.INATIVO);
+		NoTrie<V> no;
+
+		iniciarMedicao();
+		no = descer(normalizada, true);
+		if ((no != null) && (no.itens != null))
+			no.itens.paraCada(encontrados::inserirFinal);
+		concluirMedicao(Operacao.PESQUISA);
+		return encontrados;
+	}
+
+	/**
+	 * Retorna, em ordem crescente de chave normalizada, até "limite" itens cuja chave começa pelo prefixo informado
+	 * (normalizado antes da pesquisa). O percurso termina assim que os itens pedidos são encontrados.
+	 * @param prefixo início das chaves procuradas. O prefixo vazio corresponde a todas as chaves.
+	 * @param limite quantidade máxima de itens retornados.
+	 * @return os primeiros itens, em ordem, cuja chave começa pelo prefixo (lista vazia, caso não haja nenhum).
+	 * @throws IllegalArgumentException caso o limite seja negativo.
+	 */
+	public ListaArray<V> prefixo(String prefixo, int limite) {
+
+		ListaArray<V> encontrados;
+		NoTrie<V> no;
+
+		if (limite < 0)
+			throw new IllegalArgumentException("O limite de itens não pode ser negativo.");
+
+		encontrados = new ListaArray<>(Math.max(1, Math.min(limite, tamanho)), Medidor.INATIVO);
+		iniciarMedicao();
+		no = descer(normalizar(prefixo), false);
+		if (no != null)
+			coletar(no, encontrados, limite);
+		concluirMedicao(Operacao.PESQUISA);
+		return encontrados;
+	}
+
+	/// percorre a sub-árvore em profundidade, em ordem crescente de chave, até reunir "limite" itens.
+	private void coletar(NoTrie<V> no, ListaArray<V> encontrados, int limite) {
+
+		if (encontrados.tamanho() >= limite)
+			return;
+		if (no.itens != null)
+			for (int i = 0; (i < no.itens.tamanho()) && (encontrados.tamanho() < limite); i++)
+				encontrados.inserirFinal(no.itens.obter(i));
+		for (int i = 0; (i < no.quantosFilhos) && (encontrados.tamanho() < limite); i++)
+			coletar(no.filhos[i], encontrados, limite);
+	}
+
+	/**
+	 * Quantidade de itens armazenados.
+	 */
+	public int tamanho() {
+		return tamanho;
+	}
+
+	/**
+	 * Quantidade de nós da trie, incluindo a raiz: um por segmento distinto das chaves.
+	 */
+	public int quantidadeNos() {
+		return quantosNos;
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000.0;
+	}
+
+	@Override
+	public Medidor getMedidor() {
+		return medidor;
+	}
+}
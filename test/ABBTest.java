@@ -0,0 +1,48 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ABBTest {
+
+	/**
+	 * Uma função de criação que escreve na própria árvore substituiria o caminho da descida de computeIfAbsent:
+	 * a operação é recusada e a árvore permanece com apenas a escrita feita pela função.
+	 */
+	@Test
+	void computeIfAbsentRecusaEscritaDaFuncaoDeCriacao() {
+
+		ABB<Integer, String> abb = new ABB<>(Integer::compare);
+		AVL<Integer, String> avl = new AVL<>(Integer::compare);
+		int[] chaves = {50, 25, 75, 10, 30, 60, 90};
+
+		for (ABB<Integer, String> arvore : List.of(abb, avl)) {
+			for (int chave : chaves)
+				arvore.inserir(chave, "item " + chave);
+
+			assertThrows(ConcurrentModificationException.class,
+					() -> arvore.computeIfAbsent(27, chave -> "item " + arvore.inserir(26, "item 26")));
+			assertEquals(chaves.length + 1, arvore.tamanho());
+			assertFalse(arvore.contem(27));
+			assertEquals("item 26", arvore.pesquisar(26));
+			assertEquals("item 25", arvore.pesquisar(25));
+			assertEquals("item 30", arvore.pesquisar(30));
+
+			/// uma escrita recusada (chave já presente) também desce pela árvore e é detectada.
+			assertThrows(ConcurrentModificationException.class, () -> arvore.computeIfAbsent(28, chave -> {
+				assertThrows(IllegalArgumentException.class, () -> arvore.inserir(50, "outro"));
+				return "item 28";
+			}));
+			assertFalse(arvore.contem(28));
+
+			/// pesquisas feitas pela função não alteram o caminho.
+			assertEquals("item 29 após item 30", arvore.computeIfAbsent(29, chave -> "item 29 após " + arvore.pesquisar(30)));
+			assertEquals(chaves.length + 2, arvore.tamanho());
+			assertEquals("item 29 após item 30", arvore.pesquisar(29));
+		}
+	}
+}
@@ -0,0 +1,137 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class AVLConcorrenteTest {
+
+	private static final int QUANTAS_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+	private static final int QUANTAS_ESCRITAS = 100_000;
+
+	/**
+	 * Teste de linearizabilidade: uma thread escritora insere chaves em ordem crescente e depois as remove,
+	 * também em ordem crescente, enquanto as demais pesquisam, sem travas, as chaves estáveis (inseridas antes
+	 * do início do teste e nunca removidas) e as chaves da escritora.
+	 * Como cada escrita é atômica e ocorre depois das anteriores, uma leitora que encontra a chave k na fase de inserção
+	 * deve encontrar, em seguida, todas as chaves menores do que k; na fase de remoção, uma leitora que não encontra
+	 * a chave k não deve encontrar, em seguida, nenhuma chave menor do que k. As chaves estáveis devem ser sempre
+	 * encontradas, mesmo durante as rotações provocadas pela escritora.
+	 */
+	@Test
+	void pesquisasSemTravasObservamAsEscritasEmOrdem() throws InterruptedException {
+
+		/// chaves estáveis: pares; chaves da escritora: ímpares, intercaladas com as estáveis para provocar rotações em toda a árvore.
+		int estaveis = QUANTAS_ESCRITAS;
+		AVLConcorrente<Integer, Integer> arvore = new AVLConcorrente<>();
+		Thread[] leitoras = new Thread[QUANTAS_THREADS - 1];
+		Throwable[] falhas = new Throwable[1];
+		boolean[] removendo = {false};
+		boolean[] concluida = {false};
+		Thread escritora;
+
+		for (int i = 0; i < estaveis; i++)
+			arvore.inserir(2 * i, 2 * i);
+
+		escritora = new Thread(() -> {
+			for (int i = 0; i < QUANTAS_ESCRITAS; i++)
+				arvore.inserir(2 * i + 1, 2 * i + 1);
+			synchronized (removendo) {
+				removendo[0] = true;
+			}
+			for (int i = 0; i < QUANTAS_ESCRITAS; i++)
+				arvore.remover(2 * i + 1);
+			synchronized (concluida) {
+				concluida[0] = true;
+			}
+		});
+
+		for (int t = 0; t < leitoras.length; t++) {
+			final int thread = t;
+			leitoras[t] = new Thread(() -> {
+				Random sorteio = new Random(thread);
+				int chave, anterior;
+				boolean fim = false, removendoAntes, removendoDepois, contemChave, contemAnterior;
+				while (!fim) {
+					synchronized (concluida) {
+						fim = concluida[0];
+					}
+					chave = 2 * sorteio.nextInt(estaveis);
+					if (!arvore.contem(chave))
+						throw new IllegalStateException("Chave estável não encontrada: " + chave);
+
+					chave = 2 * sorteio.nextInt(QUANTAS_ESCRITAS) + 1;
+					anterior = chave - 2 * (1 + sorteio.nextInt(16));
+					if (anterior < 0)
+						continue;
+					synchronized (removendo) {
+						removendoAntes = removendo[0];
+					}
+					/// a chave maior é sempre lida primeiro: as escritas a alcançam depois de alcançarem a anterior.
+					contemChave = arvore.contem(chave);
+					contemAnterior = arvore.contem(anterior);
+					synchronized (removendo) {
+						removendoDepois = removendo[0];
+					}
+					/// inserção em ordem crescente: se a chave já estava presente, a anterior também está.
+					if (!removendoDepois && contemChave && !contemAnterior)
+						throw new IllegalStateException("Inserção fora de ordem: " + chave + " visível antes de " + anterior);
+					/// remoção em ordem crescente: se a chave já havia sido removida, a anterior também foi.
+					if (removendoAntes && !contemChave && contemAnterior)
+						throw new IllegalStateException("Remoção fora de ordem: " + chave + " removida antes de " + anterior);
+				}
+			});
+			leitoras[t].setUncaughtExceptionHandler((threadComFalha, excecao) -> falhas[0] = excecao);
+			leitoras[t].start();
+		}
+		escritora.setUncaughtExceptionHandler((threadComFalha, excecao) -> falhas[0] = excecao);
+		escritora.start();
+
+		escritora.join();
+		for (Thread leitora : leitoras)
+			leitora.join();
+
+		assertNull(falhas[0], () -> "Falha em uma das threads: " + falhas[0]);
+		assertEquals(estaveis, arvore.tamanho());
+		for (int i = 0; i < estaveis; i++) {
+			assertTrue(arvore.contem(2 * i));
+			assertFalse(arvore.contem(2 * i + 1));
+		}
+	}
+
+	/**
+	 * As pesquisas só são registradas no medidor compartilhado da árvore quando solicitado;
+	 * as comparações da última pesquisa são sempre as da própria thread.
+	 */
+	@Test
+	void pesquisasSoSaoRegistradasNoMedidorQuandoSolicitado() throws InterruptedException {
+
+		AVLConcorrente<Integer, Integer> arvore = new AVLConcorrente<>();
+		long[] comparacoesDeOutraThread = {0};
+		Thread outra;
+
+		for (int i = 0; i < 1_000; i++)
+			arvore.inserir(i, i);
+
+		assertEquals(500, arvore.pesquisar(500));
+		assertEquals(0, arvore.retratoMedicao().getQuantidade(Operacao.PESQUISA));
+		assertTrue(arvore.getComparacoes() > 1);
+
+		/// a pesquisa da raiz, em outra thread, não altera as comparações da última pesquisa desta thread.
+		outra = new Thread(() -> {
+			arvore.contem(arvore.getRaiz().getChave());
+			comparacoesDeOutraThread[0] = arvore.getComparacoes();
+		});
+		outra.start();
+		outra.join();
+		assertEquals(1, comparacoesDeOutraThread[0]);
+		assertTrue(arvore.getComparacoes() > 1);
+
+		arvore.setMedirPesquisas(true);
+		assertFalse(arvore.contem(-1));
+		assertEquals(1, arvore.retratoMedicao().getQuantidade(Operacao.PESQUISA));
+	}
+}
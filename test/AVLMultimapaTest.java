@@ -0,0 +1,93 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+class AVLMultimapaTest {
+
+	private static Produto produto(int id, String descricao, double precoCusto) {
+		return new ProdutoNaoPerecivel(id, descricao, precoCusto, 0.2);
+	}
+
+	private static List<Integer> ids(ListaArray<Produto> produtos) {
+
+		List<Integer> ids = new ArrayList<>();
+
+		produtos.paraCada(produto -> ids.add(produto.hashCode()));
+		return ids;
+	}
+
+	private static List<Integer> entre(AVLMultimapa<Double, Produto> multimapa, double menor, double maior) {
+
+		List<Integer> ids = new ArrayList<>();
+
+		multimapa.paraCadaEntre(menor, maior, produto -> ids.add(produto.hashCode()));
+		return ids;
+	}
+
+	/** Os itens de uma chave repetida ficam no mesmo nó, na ordem de inserção, e a chave só sai da árvore com o seu último item */
+	@Test
+	void chavesRepetidasMantemTodosOsItens() {
+
+		AVLMultimapa<String, Produto> porNome = new AVLMultimapa<>(String::compareTo);
+		Produto[] produtos = {produto(1, "Caneta", 2), produto(2, "Lápis", 1), produto(3, "Caneta", 3), produto(4, "Caneta", 4)};
+
+		for (Produto produto : produtos)
+			porNome.inserir(produto.getDescricao(), produto);
+
+		assertEquals(4, porNome.tamanho());
+		assertEquals(2, porNome.quantidadeChaves());
+		assertEquals(3, porNome.contar("Caneta"));
+		assertEquals(List.of(1, 3, 4), ids(porNome.pesquisar("Caneta")));
+		/// a pesquisa retorna uma cópia.
+		porNome.pesquisar("Caneta").remover(0);
+		assertEquals(3, porNome.contar("Caneta"));
+
+		assertEquals(produtos[2], porNome.remover("Caneta", produtos[2]));
+		assertEquals(List.of(1, 4), ids(porNome.pesquisar("Caneta")));
+		assertThrows(NoSuchElementException.class, () -> porNome.remover("Caneta", produtos[1]));
+		assertThrows(NoSuchElementException.class, () -> porNome.remover("Borracha", produtos[1]));
+
+		porNome.remover("Lápis", produtos[1]);
+		assertFalse(porNome.contem("Lápis"));
+		assertEquals(1, porNome.quantidadeChaves());
+		assertEquals(List.of(1, 4), ids(porNome.removerTodos("Caneta")));
+		assertEquals(0, porNome.tamanho());
+		assertTrue(porNome.pesquisar("Caneta").vazia());
+	}
+
+	/**
+	 * O percurso de um intervalo visita as chaves de menor a maior, com os limites inclusive, e os itens de cada chave
+	 * na ordem de inserção; a construção a partir de outra estrutura preserva a ordem dela entre itens de mesma chave.
+	 */
+	@Test
+	void intervaloPercorreChavesEmOrdemComItensRepetidos() {
+
+		AVLInt<Produto> porId = new AVLInt<>();
+		AVLMultimapa<Double, Produto> porPreco;
+		double[] precos = {5, 2, 5, 8, 2, 5, 9, 1};
+
+		for (int i = 0; i < precos.length; i++)
+			porId.inserir(i + 1, produto(i + 1, "Produto " + (i + 1), precos[i]));
+		porPreco = new AVLMultimapa<>(porId, Produto::getPrecoCusto, Double::compare);
+
+		assertEquals(8, porPreco.tamanho());
+		assertEquals(5, porPreco.quantidadeChaves());
+		assertEquals(List.of(2, 5, 1, 3, 6), entre(porPreco, 2, 5));
+		assertEquals(List.of(1, 3, 6, 4), entre(porPreco, 2.5, 8));
+		assertEquals(List.of(1, 3, 6), entre(porPreco, 5, 5));
+		assertEquals(List.of(), entre(porPreco, 6, 7.5));
+		assertEquals(List.of(), entre(porPreco, 10, 20));
+
+		porPreco.inserir(5.0, produto(9, "Produto 9", 5));
+		porPreco.inserir(3.0, produto(10, "Produto 10", 3));
+		assertEquals(List.of(10, 1, 3, 6, 9), entre(porPreco, 2.0 + 1e-9, 5));
+		assertEquals(List.of(8, 2, 5, 10, 1, 3, 6, 9, 4, 7), entre(porPreco, 0, 100));
+	}
+}
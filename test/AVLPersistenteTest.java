@@ -0,0 +1,52 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class AVLPersistenteTest {
+
+	@Test
+	void pesquisasSoSaoRegistradasNoMedidorQuandoSolicitado() throws InterruptedException {
+
+		AVLPersistente<Integer, Integer> arvore = new AVLPersistente<>(Integer::compare);
+		AVLPersistente<Integer, Integer> copia;
+		long[] comparacoesDeOutraThread = {0};
+		long comparacoes;
+		Thread outra;
+
+		for (int i = 0; i < 1_000; i++)
+			arvore.inserir(i, i);
+		assertEquals(1_000, arvore.retratoMedicao().getQuantidade(Operacao.INSERCAO));
+
+		assertEquals(0, arvore.pesquisar(0));
+		assertEquals(7, arvore.computeIfAbsent(7, chave -> -1));
+		assertEquals(0, arvore.retratoMedicao().getQuantidade(Operacao.PESQUISA));
+		assertEquals(0, arvore.retratoMedicao().getQuantidade(Operacao.ATUALIZACAO));
+		comparacoes = arvore.getComparacoes();
+		assertTrue(comparacoes > 1);
+
+		/// as pesquisas em outra thread não alteram as comparações da última pesquisa desta thread; as de uma cópia são medidas nela.
+		outra = new Thread(() -> arvore.contem(-1));
+		outra.start();
+		outra.join();
+		assertEquals(comparacoes, arvore.getComparacoes());
+		copia = arvore.snapshot();
+		assertTrue(copia.contem(999));
+		assertTrue(copia.getComparacoes() > 1);
+		assertEquals(0, copia.retratoMedicao().getQuantidade(Operacao.PESQUISA));
+
+		/// após uma escrita desta thread, as comparações são as da escrita, as mesmas vistas por uma thread que não pesquisou na árvore.
+		arvore.upsert(999, -999);
+		outra = new Thread(() -> comparacoesDeOutraThread[0] = arvore.getComparacoes());
+		outra.start();
+		outra.join();
+		assertEquals(comparacoesDeOutraThread[0], arvore.getComparacoes());
+		assertEquals(1_000, arvore.retratoMedicao().getQuantidade(Operacao.INSERCAO));
+		assertEquals(1, arvore.retratoMedicao().getQuantidade(Operacao.ATUALIZACAO));
+
+		arvore.setMedirPesquisas(true);
+		assertFalse(arvore.contem(-1));
+		assertEquals(1, arvore.retratoMedicao().getQuantidade(Operacao.PESQUISA));
+	}
+}
@@ -0,0 +1,128 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class CacheMapeamentoTest {
+
+	private static final int CAPACIDADE = 100;
+
+	/** Chaves procuradas repetidamente, que devem permanecer no cache */
+	private static final int FREQUENTES = 50;
+
+	private static AVLInt<Integer> arvore(int quantidade) {
+
+		AVLInt<Integer> arvore = new AVLInt<>();
+
+		for (int i = 0; i < quantidade; i++)
+			arvore.inserir(i, Integer.valueOf(i));
+		return arvore;
+	}
+
+	/**
+	 * Uma varredura de chaves procuradas uma única vez, maior do que o cache, não expulsa as chaves frequentes:
+	 * na admissão, cada chave da varredura perde para a vítima do segmento provatório.
+	 */
+	@Test
+	void varreduraNaoExpulsaChavesFrequentes() {
+
+		CacheInt<Integer> cache = new CacheInt<>(arvore(10_000), CAPACIDADE);
+		RetratoMedicao retrato;
+
+		for (int rodada = 0; rodada < 10; rodada++)
+			for (int i = 0; i < FREQUENTES; i++)
+				cache.pesquisar(i);
+		for (int i = 0; i < 3 * CAPACIDADE; i++)
+			cache.pesquisar(1_000 + i);
+		assertTrue(cache.quantidadeEmCache() <= CAPACIDADE);
+
+		cache.zerarMedicao();
+		for (int i = 0; i < FREQUENTES; i++)
+			assertEquals(i, cache.pesquisar(i));
+		retrato = cache.retratoMedicao();
+		assertEquals(FREQUENTES, retrato.getQuantidade(Operacao.PESQUISA));
+		assertEquals(0, retrato.getFalhasCache());
+		assertEquals(1.0, retrato.getTaxaAcertosCache());
+	}
+
+	/** Acertos e falhas são contados no medidor do cache, e as pesquisas na árvore não são registradas no medidor dela */
+	@Test
+	void acertosEFalhasSaoRegistradosNoMedidor() {
+
+		AVLInt<Integer> arvore = arvore(1_000);
+		CacheMapeamento<Integer, Integer> cache = new CacheMapeamento<>(arvore, CAPACIDADE);
+		CacheInt<Integer> cacheInt = new CacheInt<>(arvore, CAPACIDADE);
+		RetratoMedicao retrato;
+
+		for (int vez = 0; vez < 4; vez++)
+			for (int i = 0; i < 10; i++) {
+				cache.pesquisar(i);
+				cacheInt.pesquisar(i);
+			}
+		assertFalse(cacheInt.contem(5_000));
+
+		retrato = cache.retratoMedicao();
+		assertEquals(40, retrato.getQuantidade(Operacao.PESQUISA));
+		assertEquals(10, retrato.getFalhasCache());
+		assertEquals(30, retrato.getAcertosCache());
+		assertEquals(0.75, retrato.getTaxaAcertosCache(), 1e-9);
+		assertEquals(0.25, retrato.getTaxaFalhasCache(), 1e-9);
+
+		retrato = cacheInt.retratoMedicao();
+		assertEquals(41, retrato.getQuantidade(Operacao.PESQUISA));
+		assertEquals(11, retrato.getFalhasCache());
+		/// apenas as falhas do CacheMapeamento são pesquisadas pela árvore com registro no seu medidor.
+		assertEquals(10, arvore.retratoMedicao().getQuantidade(Operacao.PESQUISA));
+	}
+
+	/** As escritas feitas pelo cache e as invalidações explícitas retiram a chave, e a próxima pesquisa lê a estrutura original */
+	@Test
+	void escritasEInvalidacoesRetiramAChave() {
+
+		AVLInt<Integer> arvore = arvore(1_000);
+		CacheInt<Integer> cache = new CacheInt<>(arvore, CAPACIDADE);
+
+		for (int i = 0; i < 10; i++)
+			cache.pesquisar(i);
+
+		assertEquals(3, cache.upsert(3, 300));
+		assertEquals(300, cache.pesquisar(3));
+		assertEquals(4, cache.remover(4));
+		assertFalse(cache.contem(4));
+		assertNull(cache.pesquisarOuPadrao(4, null));
+		cache.inserir(4, 400);
+		assertEquals(400, cache.pesquisar(4));
+
+		/// escrita direta na árvore: o cache ainda responde com a versão anterior, até a invalidação.
+		arvore.upsert(5, Integer.valueOf(500));
+		assertEquals(5, cache.pesquisar(5));
+		cache.invalidar(5);
+		assertEquals(500, cache.pesquisar(5));
+		arvore.remover(6);
+		cache.invalidar(Integer.valueOf(6));
+		assertFalse(cache.contem(6));
+	}
+
+	/** As escritas do catálogo invalidam o cache registrado */
+	@Test
+	void escritasDoCatalogoInvalidamOCache() {
+
+		AVLInt<Produto> primario = new AVLInt<>();
+		Catalogo<Produto> catalogo = new Catalogo<>(primario, Produto::hashCode);
+		CacheInt<Produto> cache = new CacheInt<>(primario, CAPACIDADE);
+		Produto original = new ProdutoNaoPerecivel(1, "Arroz", 10, 0.2);
+		Produto alterado = new ProdutoNaoPerecivel(1, "Arroz integral", 12, 0.2);
+
+		catalogo.registrarCache("cache por id", cache, Produto::hashCode);
+		catalogo.inserir(original);
+		assertSame(original, cache.pesquisar(1));
+
+		catalogo.atualizar(alterado);
+		assertSame(alterado, cache.pesquisar(1));
+		catalogo.remover(1);
+		assertFalse(cache.contem(1));
+	}
+}
@@ -0,0 +1,128 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CatalogoTest {
+
+	private AVLInt<Produto> primario;
+	private TabelaHashAberta<String, Produto> porNome;
+	private TrieRadix<Produto> prefixos;
+	private IndiceInvertido palavras;
+	private IndiceAproximado<Produto> aproximado;
+	private Catalogo<Produto> catalogo;
+
+	private static Produto produto(int id, String descricao) {
+		return new ProdutoNaoPerecivel(id, descricao, 10, 0.2);
+	}
+
+	private static AVLInt<Produto> produtos(Produto... itens) {
+
+		AVLInt<Produto> arvore = new AVLInt<>();
+
+		for (Produto item : itens)
+			arvore.inserir(item.hashCode(), item);
+		return arvore;
+	}
+
+	@BeforeEach
+	void criarCatalogo() {
+
+		primario = produtos(produto(1, "Papel sulfite"), produto(2, "Papel toalha"), produto(3, "Caneta azul"));
+		porNome = new TabelaHashAberta<>(16);
+		prefixos = new TrieRadix<>(primario, produto -> produto.descricao);
+		palavras = new IndiceInvertido(primario, produto -> produto.descricao, Produto::hashCode);
+		aproximado = new IndiceAproximado<>(primario, produto -> produto.descricao);
+		catalogo = new Catalogo<>(primario, Produto::hashCode);
+		catalogo.registrarIndice("nome", porNome, produto -> produto.descricao);
+		catalogo.registrarIndicePrefixos("prefixos", prefixos, produto -> produto.descricao);
+		catalogo.registrarIndicePalavras("palavras", palavras, produto -> produto.descricao);
+		catalogo.registrarIndiceAproximado("aproximado", aproximado, produto -> produto.descricao);
+	}
+
+	/** Um produto removido não é mais encontrado por prefixo, por palavras nem pela pesquisa aproximada */
+	@Test
+	void remocaoRetiraOProdutoDosIndicesDeTexto() {
+
+		int nosAntes = new TrieRadix<>(produtos(produto(1, "Papel sulfite"), produto(3, "Caneta azul")),
+				(Produto produto) -> produto.descricao).quantidadeNos();
+
+		catalogo.remover(2);
+
+		assertNull(porNome.pesquisarOuPadrao("Papel toalha", null));
+		assertEquals(1, prefixos.prefixo("papel", 10).tamanho());
+		assertTrue(prefixos.pesquisar("papel toalha").vazia());
+		/// a trie volta a ser compactada como se o produto nunca tivesse sido inserido.
+		assertEquals(nosAntes, prefixos.quantidadeNos());
+		assertArrayEquals(new int[] {1}, palavras.pesquisar("papel"));
+		assertArrayEquals(new int[0], palavras.pesquisar("toalha"));
+		assertEquals(2, palavras.tamanho());
+		assertTrue(aproximado.pesquisar("papel toalah", 2, 5).vazia());
+		assertEquals(2, aproximado.tamanho());
+	}
+
+	/** Após uma atualização, a descrição antiga deixa de ser encontrada e a nova passa a ser */
+	@Test
+	void atualizacaoSubstituiADescricaoNosIndicesDeTexto() {
+
+		Produto lapis = produto(3, "Lápis preto");
+
+		catalogo.atualizar(lapis);
+
+		assertTrue(prefixos.prefixo("caneta", 10).vazia());
+		assertSame(lapis, prefixos.prefixo("lapis", 10).obter(0));
+		assertArrayEquals(new int[0], palavras.pesquisar("caneta"));
+		assertArrayEquals(new int[] {3}, palavras.pesquisar("preto lapis"));
+		assertTrue(aproximado.pesquisar("caneta azull", 2, 5).vazia());
+		assertSame(lapis, aproximado.pesquisar("lapis pretto", 2, 5).obter(0));
+		/// os itens inseridos depois da construção continuam ordenados pela chave, na mesma distância.
+		catalogo.inserir(produto(4, "Papel crepom"));
+		assertEquals("Papel crepom", aproximado.pesquisar("papel", 8, 5).obter(0).descricao);
+	}
+
+	/**
+	 * Um índice que falha durante a propagação (aqui, um índice de palavras que já contém o identificador inserido)
+	 * faz com que a inserção seja desfeita no armazenamento principal e nos índices já alterados.
+	 */
+	@Test
+	void falhaPorChaveDuplicadaDesfazAInsercao() {
+
+		AVLInt<Produto> outros = produtos(produto(1, "Papel sulfite"), produto(2, "Papel toalha"), produto(4, "Borracha"));
+		Catalogo<Produto> inconsistente = new Catalogo<>(primario, Produto::hashCode);
+		TrieRadix<Produto> trie = new TrieRadix<>();
+		TabelaHashAberta<String, Produto> nomes = new TabelaHashAberta<>(16);
+		int nosAntes;
+
+		inconsistente.registrarIndice("nome", nomes, produto -> produto.descricao);
+		inconsistente.registrarIndicePrefixos("prefixos", trie, produto -> produto.descricao);
+		inconsistente.registrarIndicePalavras("palavras", new IndiceInvertido(outros, produto -> produto.descricao, Produto::hashCode),
+				produto -> produto.descricao);
+		nosAntes = trie.quantidadeNos();
+
+		assertThrows(IllegalArgumentException.class, () -> inconsistente.inserir(produto(4, "Borracha branca")));
+
+		assertFalse(primario.contem(4));
+		assertEquals(3, primario.tamanho());
+		assertFalse(nomes.contem("Borracha branca"));
+		assertEquals(3, nomes.tamanho());
+		assertTrue(trie.prefixo("borracha", 10).vazia());
+		assertEquals(nosAntes, trie.quantidadeNos());
+	}
+
+	/** Uma atualização recusada pela verificação dos índices não altera nenhuma estrutura */
+	@Test
+	void atualizacaoComNomeDeOutroProdutoNaoAlteraOsIndices() {
+
+		assertThrows(IllegalArgumentException.class, () -> catalogo.atualizar(produto(3, "Papel toalha")));
+
+		assertEquals("Caneta azul", primario.pesquisar(3).descricao);
+		assertArrayEquals(new int[] {3}, palavras.pesquisar("caneta"));
+		assertEquals(1, prefixos.prefixo("caneta", 10).tamanho());
+	}
+}
@@ -0,0 +1,127 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ImagemEstadoTest {
+
+	private static final LocalDate VALIDADE = LocalDate.now().plusMonths(6);
+
+	@TempDir
+	Path pasta;
+
+	private Path imagem, origemProdutos, origemFornecedores;
+	private Produto[] produtos;
+	private Lista<Pedido> pedidos;
+	private Fornecedor[] fornecedores;
+
+	@BeforeEach
+	void gravarImagem() throws IOException {
+
+		ArmazemProdutos armazem = new ArmazemProdutos();
+		Pedido pedido = new Pedido(LocalDate.now(), 2);
+
+		imagem = pasta.resolve("estado.bin");
+		origemProdutos = Files.writeString(pasta.resolve("produtos.txt"), "4\n");
+		origemFornecedores = pasta.resolve("fornecedores.txt");
+
+		/// o produto 3 é uma visão de um armazém: os seus dados só são obtidos pelos métodos de acesso.
+		produtos = new Produto[] {
+				new ProdutoNaoPerecivel(1, "Caneta azul", 2.5, 0.3),
+				new ProdutoPerecivel(2, "Pão de forma", 6.75, 0.15, VALIDADE),
+				armazem.produto(armazem.incluir(3, "Iogurte natural", 3.2, 0.25, VALIDADE)),
+				new ProdutoNaoPerecivel(4, "Borracha", 1.1, 0.4)};
+		pedido.incluirProduto(produtos[2]);
+		pedido.incluirProduto(produtos[0]);
+		pedidos = new Lista<>();
+		pedidos.inserirFinal(pedido);
+		fornecedores = new Fornecedor[] {new Fornecedor("Papelaria Central"), new Fornecedor("Laticínios do Vale")};
+		fornecedores[0].adicionarProduto(produtos[0]);
+		fornecedores[1].adicionarProduto(produtos[2]);
+
+		ImagemEstado.gravar(imagem, origemProdutos, origemFornecedores, produtos,
+				new Produto[] {produtos[3], produtos[0], produtos[2], produtos[1]}, pedidos, fornecedores);
+	}
+
+	/** Os produtos, a ordem por nome, os pedidos e os fornecedores lidos da imagem são os gravados */
+	@Test
+	void imagemGravadaERelidaPreservaOEstado() throws IOException {
+
+		ImagemEstado lida = ImagemEstado.abrir(imagem, origemProdutos, origemFornecedores);
+		Produto[] relidos = lida.getProdutos();
+		Pedido pedido;
+
+		assertEquals(produtos.length, relidos.length);
+		for (int i = 0; i < produtos.length; i++) {
+			assertEquals(produtos[i].hashCode(), relidos[i].hashCode());
+			assertEquals(produtos[i].getDescricao(), relidos[i].getDescricao());
+			assertEquals(produtos[i].getPrecoCusto(), relidos[i].getPrecoCusto());
+			assertEquals(produtos[i].getMargemLucro(), relidos[i].getMargemLucro());
+			assertEquals(produtos[i].diaDeValidade(), relidos[i].diaDeValidade());
+		}
+		assertInstanceOf(ProdutoPerecivel.class, relidos[2]);
+		assertEquals(VALIDADE, ((ProdutoPerecivel) relidos[2]).getDataDeValidade());
+		assertInstanceOf(ProdutoNaoPerecivel.class, relidos[3]);
+		assertArrayEquals(new Produto[] {relidos[3], relidos[0], relidos[2], relidos[1]}, lida.getProdutosPorNome());
+
+		assertEquals(1, lida.getPedidos().tamanho());
+		pedido = lida.getPedidos().obter(0);
+		assertEquals(pedidos.obter(0).getIdPedido(), pedido.getIdPedido());
+		assertEquals(2, pedido.getFormaDePagamento());
+		assertEquals(relidos[2], pedido.getProdutos().obter(0));
+		assertEquals(relidos[0], pedido.getProdutos().obter(1));
+
+		assertEquals(2, lida.getFornecedores().length);
+		assertEquals(fornecedores[1].getDocumento(), lida.getFornecedores()[1].getDocumento());
+		assertEquals("Laticínios do Vale", lida.getFornecedores()[1].getNome());
+		assertEquals(relidos[2], lida.getFornecedores()[1].getProdutos().obter(0));
+
+		/// nenhum arquivo temporário permanece na pasta após a gravação.
+		try (var arquivos = Files.list(pasta)) {
+			assertEquals(2, arquivos.count());
+		}
+	}
+
+	/** Uma imagem com os dados corrompidos é rejeitada, e a aplicação volta à leitura dos arquivos de origem */
+	@Test
+	void imagemComCRCInvalidoERejeitada() throws IOException {
+
+		byte[] conteudo = Files.readAllBytes(imagem);
+
+		conteudo[conteudo.length - 1] ^= 1;
+		Files.write(imagem, conteudo);
+
+		assertThrows(IOException.class, () -> ImagemEstado.abrir(imagem, origemProdutos, origemFornecedores));
+		App.nomeArquivoImagem = imagem.toString();
+		App.nomeArquivoDados = origemProdutos.toString();
+		App.nomeArquivoFornecedores = origemFornecedores.toString();
+		assertFalse(App.carregarImagem());
+	}
+
+	/** Uma imagem gravada antes da última alteração do arquivo de produtos é considerada desatualizada */
+	@Test
+	void imagemAnteriorAAlteracaoDaOrigemERejeitada() throws IOException {
+
+		FileTime modificacao = Files.getLastModifiedTime(origemProdutos);
+
+		Files.setLastModifiedTime(origemProdutos, FileTime.fromMillis(modificacao.toMillis() + 1_000));
+		assertThrows(IOException.class, () -> ImagemEstado.abrir(imagem, origemProdutos, origemFornecedores));
+
+		/// a mesma data de modificação, com a origem inalterada, volta a ser aceita; a criação do arquivo de fornecedores não.
+		Files.setLastModifiedTime(origemProdutos, modificacao);
+		ImagemEstado.abrir(imagem, origemProdutos, origemFornecedores);
+		Files.writeString(origemFornecedores, "0\n");
+		assertThrows(IOException.class, () -> ImagemEstado.abrir(imagem, origemProdutos, origemFornecedores));
+	}
+}
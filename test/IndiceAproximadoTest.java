@@ -0,0 +1,121 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class IndiceAproximadoTest {
+
+	/// distância de edição completa, sem faixa nem limite.
+	private static int levenshtein(String a, String b) {
+
+		int[][] custos = new int[a.length() + 1][b.length() + 1];
+
+		for (int i = 0; i <= a.length(); i++)
+			for (int j = 0; j <= b.length(); j++)
+				if ((i == 0) || (j == 0))
+					custos[i][j] = i + j;
+				else
+					custos[i][j] = Math.min(custos[i - 1][j - 1] + ((a.charAt(i - 1) == b.charAt(j - 1)) ? 0 : 1),
+							Math.min(custos[i - 1][j], custos[i][j - 1]) + 1);
+		return custos[a.length()][b.length()];
+	}
+
+	private static String sortear(Random sorteio, int minimo, int maximo) {
+
+		StringBuilder texto = new StringBuilder();
+		int comprimento = minimo + sorteio.nextInt(maximo - minimo + 1);
+
+		for (int i = 0; i < comprimento; i++)
+			texto.append((char) ('a' + sorteio.nextInt(4)));
+		return texto.toString();
+	}
+
+	/// aplica "edicoes" inserções, remoções ou substituições em posições sorteadas.
+	private static String editar(Random sorteio, String texto, int edicoes) {
+
+		StringBuilder editado = new StringBuilder(texto);
+
+		for (int i = 0; i < edicoes; i++) {
+			int posicao = sorteio.nextInt(editado.length() + 1);
+			switch (sorteio.nextInt(3)) {
+				case 0 -> editado.insert(posicao, (char) ('a' + sorteio.nextInt(4)));
+				case 1 -> { if (posicao < editado.length()) editado.deleteCharAt(posicao); }
+				default -> { if (posicao < editado.length()) editado.setCharAt(posicao, (char) ('a' + sorteio.nextInt(4))); }
+			}
+		}
+		return editado.toString();
+	}
+
+	/** A faixa e o limite não alteram a distância: até o limite, é a distância completa; acima dele, limite + 1 */
+	@Test
+	void distanciaNaFaixaIgualADistanciaCompleta() {
+
+		Random sorteio = new Random(42);
+		String a, b;
+
+		/// a diferença de comprimento igual ao limite: a única edição possível está na borda da faixa.
+		assertEquals(3, IndiceAproximado.distancia("abcdef", "abc", 3));
+		assertEquals(3, IndiceAproximado.distancia("abcdef", "abc", 2));
+		assertEquals(3, IndiceAproximado.distancia("kitten", "sitting", 3));
+		/// o alinhamento ótimo percorre a diagonal deslocada de 1: a distância 2 fica fora de uma faixa de limite 1.
+		assertEquals(2, IndiceAproximado.distancia("xabcdefgh", "abcdefghx", 2));
+		assertEquals(2, IndiceAproximado.distancia("xabcdefgh", "abcdefghx", 1));
+		assertEquals(4, IndiceAproximado.distancia("aaaa", "", 4));
+		assertEquals(0, IndiceAproximado.distancia("", "", 0));
+
+		for (int i = 0; i < 5_000; i++) {
+			a = sortear(sorteio, 0, 12);
+			b = (sorteio.nextBoolean()) ? editar(sorteio, a, sorteio.nextInt(5)) : sortear(sorteio, 0, 12);
+			for (int limite = 0; limite <= 4; limite++)
+				assertEquals(Math.min(levenshtein(a, b), limite + 1), IndiceAproximado.distancia(a, b, limite), a + " / " + b + " / " + limite);
+		}
+	}
+
+	/**
+	 * O filtro por trigramas não descarta nenhuma chave a distância até d: a pesquisa encontra as mesmas chaves
+	 * que a comparação com todas elas, na mesma ordem (distância e, depois, chave).
+	 */
+	@Test
+	void filtroPorTrigramasNaoDescartaChavesProximas() {
+
+		Random sorteio = new Random(7);
+		TreeSet<String> distintas = new TreeSet<>();
+		AVLInt<String> chaves = new AVLInt<>();
+		IndiceAproximado<String> indice;
+		List<String> esperadas;
+		int[] id = {0};
+
+		while (distintas.size() < 400)
+			distintas.add(sortear(sorteio, 1, 14));
+		distintas.forEach(chave -> chaves.inserir(id[0]++, chave));
+		indice = new IndiceAproximado<>(chaves, chave -> chave);
+
+		for (int i = 0; i < 300; i++) {
+			int d = sorteio.nextInt(4);
+			String base = distintas.stream().skip(sorteio.nextInt(distintas.size())).findFirst().get();
+			String consulta = editar(sorteio, base, sorteio.nextInt(d + 2));
+
+			esperadas = new ArrayList<>();
+			for (String chave : distintas)
+				if (levenshtein(consulta, chave) <= d)
+					esperadas.add(chave);
+			esperadas.sort(Comparator.comparingInt((String chave) -> levenshtein(consulta, chave)).thenComparing(Comparator.naturalOrder()));
+
+			assertEquals(esperadas, lista(indice.pesquisar(consulta, d, distintas.size())), consulta + " / " + d);
+			assertEquals(esperadas.subList(0, Math.min(3, esperadas.size())), lista(indice.pesquisar(consulta, d, 3)));
+		}
+	}
+
+	private static List<String> lista(ListaArray<String> encontrados) {
+
+		List<String> itens = new ArrayList<>();
+
+		encontrados.paraCada(itens::add);
+		return itens;
+	}
+}
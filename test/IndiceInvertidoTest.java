@@ -0,0 +1,103 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IndiceInvertidoTest {
+
+	/** Itens indexados: três blocos completos de 64 identificadores e um bloco parcial */
+	private static final int QUANTIDADE = 200;
+
+	/** Diferenças entre identificadores consecutivos, nos limites de 1, 2, 3 e 4 bytes da codificação de 7 bits por byte */
+	private static final int[] DIFERENCAS = {1, 127, 128, 16_383, 16_384, 1 << 21};
+
+	private int[] ids;
+	private IndiceInvertido indice;
+
+	/// palavras do item de índice i: "todos", "par", "terco" (múltiplos de 3), "borda" (primeiro e último de cada bloco) e "ultimo".
+	private static String texto(int i) {
+		return "todos" + ((i % 2 == 0) ? " par" : "") + ((i % 3 == 0) ? " terco" : "")
+				+ ((i % 64 == 0) || (i % 64 == 63) ? " borda" : "") + ((i == QUANTIDADE - 1) ? " ultimo" : "");
+	}
+
+	private int[] selecionados(IntPredicate condicao) {
+		return IntStream.range(0, QUANTIDADE).filter(condicao).map(i -> ids[i]).toArray();
+	}
+
+	@BeforeEach
+	void criarIndice() {
+
+		Integer[] indices = new Integer[QUANTIDADE];
+
+		ids = new int[QUANTIDADE];
+		ids[0] = 5;
+		for (int i = 1; i < QUANTIDADE; i++)
+			/// uma diferença de 5 bytes no meio do segundo bloco.
+			ids[i] = ids[i - 1] + ((i == 100) ? (1 << 28) : DIFERENCAS[i % DIFERENCAS.length]);
+		for (int i = 0; i < QUANTIDADE; i++)
+			indices[i] = i;
+		indice = new IndiceInvertido(new AVLInt<>(indices, i -> ids[i]), i -> texto(i), i -> ids[i]);
+	}
+
+	/** As listas comprimidas em blocos decodificam os mesmos identificadores, em ordem, nas bordas dos blocos e em todos os tamanhos de diferença */
+	@Test
+	void listasComprimidasPreservamOsIdentificadores() {
+
+		Integer[] consecutivos = new Integer[130];
+		IndiceInvertido compacto;
+
+		assertArrayEquals(ids, indice.pesquisar("todos"));
+		assertArrayEquals(selecionados(i -> (i % 64 == 0) || (i % 64 == 63)), indice.pesquisar("borda"));
+		assertArrayEquals(new int[] {ids[QUANTIDADE - 1]}, indice.pesquisar("Último"));
+		assertEquals(5, indice.quantidadePalavras());
+
+		/// diferenças de 1: um byte por identificador, exceto o primeiro de cada bloco, armazenado no cabeçalho.
+		for (int i = 0; i < consecutivos.length; i++)
+			consecutivos[i] = i;
+		compacto = new IndiceInvertido(new AVLInt<>(consecutivos, i -> i), i -> "item", i -> i);
+		assertEquals((130 - 3) + 3 * 2 * Integer.BYTES, compacto.tamanhoEmBytes());
+		assertArrayEquals(IntStream.range(0, 130).toArray(), compacto.pesquisar("item"));
+	}
+
+	/**
+	 * A interseção decodifica a menor lista e salta, pelos cabeçalhos, os blocos das demais que não contêm candidatos:
+	 * o resultado é o da interseção completa, com menos comparações do que a decodificação da maior lista.
+	 */
+	@Test
+	void intersecaoGalopanteIgualAIntersecaoCompleta() {
+
+		assertArrayEquals(selecionados(i -> i % 6 == 0), indice.pesquisar("par terco"));
+		assertArrayEquals(selecionados(i -> (i % 2 == 0) && ((i % 64 == 0) || (i % 64 == 63))), indice.pesquisar("borda par"));
+		assertArrayEquals(selecionados(i -> ((i % 64 == 0) || (i % 64 == 63)) && (i % 3 == 0)), indice.pesquisar("terco todos borda"));
+		assertArrayEquals(new int[0], indice.pesquisar("par inexistente"));
+		assertArrayEquals(new int[0], indice.pesquisar("ultimo par"));
+
+		assertArrayEquals(new int[] {ids[QUANTIDADE - 1]}, indice.pesquisar("todos ultimo"));
+		assertTrue(indice.getComparacoes() < 64, "comparações: " + indice.getComparacoes());
+	}
+
+	/** Inserções e remoções nas bordas dos blocos recomprimem as listas sem perder nem duplicar identificadores */
+	@Test
+	void insercaoERemocaoNasBordasDosBlocos() {
+
+		int[] semPrimeiroDoSegundoBloco = selecionados(i -> i != 64);
+		int novo = ids[QUANTIDADE - 1] + 1;
+
+		assertTrue(indice.remover(ids[64], texto(64)));
+		assertArrayEquals(semPrimeiroDoSegundoBloco, indice.pesquisar("todos"));
+		assertArrayEquals(selecionados(i -> (i != 64) && (i % 6 == 0)), indice.pesquisar("todos par terco"));
+		assertEquals(QUANTIDADE - 1, indice.tamanho());
+
+		indice.inserir(ids[64], texto(64));
+		assertArrayEquals(ids, indice.pesquisar("todos"));
+		indice.inserir(novo, "todos novo");
+		assertArrayEquals(IntStream.concat(Arrays.stream(ids), IntStream.of(novo)).toArray(), indice.pesquisar("todos"));
+		assertArrayEquals(new int[] {novo}, indice.pesquisar("novo todos"));
+	}
+}
@@ -0,0 +1,90 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LeitorProdutosMapeadoTest {
+
+	/** Quantidade de produtos: cerca de 2 MB de texto, o bastante para várias fatias de 256 KB com 4 threads */
+	private static final int QUANTIDADE = 60_000;
+
+	private static final String[] DESCRICOES = {"Fita adesiva Branco", "Caderno universitário", "Pão de forma", "Lápis Azul marinho"};
+
+	@TempDir
+	Path pasta;
+
+	/// arquivo de produtos com a quebra de linha informada, com produtos perecíveis e não perecíveis intercalados.
+	private Path gravarArquivo(String nome, String quebra) throws IOException {
+
+		StringBuilder texto = new StringBuilder(40 * QUANTIDADE);
+		Random sorteio = new Random(42);
+		LocalDate validade = LocalDate.now().plusYears(1);
+
+		texto.append(QUANTIDADE).append(quebra);
+		for (int i = 0; i < QUANTIDADE; i++) {
+			boolean perecivel = sorteio.nextBoolean();
+
+			texto.append(perecivel ? 2 : 1).append(';')
+				.append(DESCRICOES[i % DESCRICOES.length]).append(' ').append(i).append(';')
+				.append((1 + sorteio.nextInt(10_000)) / 100.0).append(';')
+				.append((5 + sorteio.nextInt(50)) / 100.0);
+			if (perecivel)
+				texto.append(';').append(validade.getDayOfMonth()).append('/').append(validade.getMonthValue())
+					.append('/').append(validade.getYear());
+			texto.append(quebra);
+		}
+		return Files.writeString(pasta.resolve(nome), texto, StandardCharsets.UTF_8);
+	}
+
+	private static void assertMesmosProdutos(Produto[] esperados, Produto[] lidos) {
+
+		assertEquals(esperados.length, lidos.length);
+		for (int i = 0; i < esperados.length; i++) {
+			/// cada leitura reserva a sua faixa de identificadores: os identificadores seguem a ordem das linhas em ambas.
+			assertEquals(esperados[i].hashCode() - esperados[0].hashCode(), lidos[i].hashCode() - lidos[0].hashCode());
+			assertEquals(esperados[i].getClass(), lidos[i].getClass());
+			assertEquals(esperados[i].getDescricao(), lidos[i].getDescricao());
+			assertEquals(esperados[i].getPrecoCusto(), lidos[i].getPrecoCusto());
+			assertEquals(esperados[i].getMargemLucro(), lidos[i].getMargemLucro());
+			if (esperados[i] instanceof ProdutoPerecivel perecivel)
+				assertEquals(perecivel.getDataDeValidade(), ((ProdutoPerecivel) lidos[i]).getDataDeValidade());
+		}
+	}
+
+	private void leituraEmParaleloIgualASequencial(String quebra) throws IOException {
+
+		Path arquivo = gravarArquivo("produtos.txt", quebra);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		Produto[] sequenciais, paralelos;
+
+		assertTrue(Files.size(arquivo) > 4 * 256 * 1024, "O arquivo deve ocupar mais de uma fatia por thread.");
+		try {
+			sequenciais = LeitorProdutosMapeado.lerProdutos(arquivo);
+			paralelos = LeitorProdutosMapeado.lerProdutosEmParalelo(arquivo, pool);
+		} finally {
+			pool.shutdown();
+		}
+		assertEquals(QUANTIDADE, sequenciais.length);
+		assertEquals(DESCRICOES[1] + " 1", sequenciais[1].getDescricao());
+		assertMesmosProdutos(sequenciais, paralelos);
+	}
+
+	@Test
+	void leituraEmParaleloIgualASequencialComLF() throws IOException {
+		leituraEmParaleloIgualASequencial("\n");
+	}
+
+	@Test
+	void leituraEmParaleloIgualASequencialComCRLF() throws IOException {
+		leituraEmParaleloIgualASequencial("\r\n");
+	}
+}
@@ -0,0 +1,90 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PedidoTest {
+
+	/**
+	 * O valor final mantido incrementalmente pelo pedido deve ser sempre igual ao recálculo completo,
+	 * após qualquer sequência de inclusões e remoções de produtos, perecíveis (com e sem desconto por proximidade
+	 * da validade) ou não, e com o valor final calculado ou não entre as operações.
+	 */
+	@Test
+	void valorFinalIncrementalIgualAoRecalculo() {
+
+		LocalDate hoje = LocalDate.now();
+		Random sorteio = new Random(42);
+		Produto[] produtos = new Produto[50];
+		List<Produto> incluidos;
+		Pedido pedido;
+		Produto produto;
+
+		for (int i = 0; i < produtos.length; i++) {
+			if ((i % 2) == 0)
+				produtos[i] = new ProdutoNaoPerecivel("Produto " + i, 1 + 100 * sorteio.nextDouble(), 0.05 + 0.5 * sorteio.nextDouble());
+			else
+				produtos[i] = new ProdutoPerecivel("Produto " + i, 1 + 100 * sorteio.nextDouble(), 0.05 + 0.5 * sorteio.nextDouble(),
+						hoje.plusDays(sorteio.nextInt(30)));
+		}
+
+		for (int p = 0; p < 200; p++) {
+			pedido = new Pedido(hoje, 1 + sorteio.nextInt(2));
+			incluidos = new ArrayList<>();
+			for (int operacao = 0; operacao < 50; operacao++) {
+				produto = produtos[sorteio.nextInt(produtos.length)];
+				if (incluidos.isEmpty() || (sorteio.nextInt(3) > 0)) {
+					assertTrue(pedido.incluirProduto(produto));
+					incluidos.add(produto);
+				} else if (incluidos.contains(produto) || (sorteio.nextInt(2) == 0)) {
+					produto = incluidos.get(sorteio.nextInt(incluidos.size()));
+					assertTrue(pedido.removerProduto(produto));
+					incluidos.remove(produto);
+				} else {
+					assertFalse(pedido.removerProduto(produto));
+				}
+
+				assertEquals(incluidos.size(), pedido.getQuantosProdutos());
+				if (!incluidos.isEmpty() && sorteio.nextBoolean())
+					assertEquals(new MotorPrecos(hoje).valorFinal(pedido), pedido.valorFinal(), 0.0);
+			}
+			if (!incluidos.isEmpty())
+				assertEquals(new MotorPrecos(hoje).valorFinal(pedido), pedido.valorFinal(), 0.0);
+		}
+	}
+
+	/** Os produtos expostos pelo pedido não podem ser alterados por fora dele, mas refletem as inclusões e remoções do pedido */
+	@Test
+	void produtosDoPedidoSaoSomenteLeitura() {
+
+		Pedido pedido = new Pedido(LocalDate.now(), 1);
+		Produto caneta = new ProdutoNaoPerecivel("Caneta azul", 2.5, 0.3);
+		Produto borracha = new ProdutoNaoPerecivel("Borracha", 1.1, 0.4);
+		ISequencia<Produto> produtos = pedido.getProdutos();
+		double valor;
+
+		pedido.incluirProduto(caneta);
+		valor = pedido.valorFinal();
+		assertThrows(UnsupportedOperationException.class, () -> produtos.inserirFinal(borracha));
+		assertThrows(UnsupportedOperationException.class, () -> produtos.inserir(borracha, 0));
+		assertThrows(UnsupportedOperationException.class, () -> produtos.remover(caneta));
+		assertThrows(UnsupportedOperationException.class, () -> produtos.remover(0));
+		assertEquals(1, produtos.tamanho());
+		assertEquals(valor, pedido.valorFinal(), 0.0);
+
+		pedido.incluirProduto(borracha);
+		assertEquals(2, produtos.tamanho());
+		assertSame(borracha, produtos.obter(1));
+		pedido.removerProduto(caneta);
+		assertSame(borracha, produtos.obter(0));
+		assertEquals(pedido.getQuantosProdutos(), produtos.tamanho());
+	}
+}
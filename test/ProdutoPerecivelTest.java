@@ -0,0 +1,51 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+class ProdutoPerecivelTest {
+
+	private static final double PRECO_CUSTO = 10.0;
+	private static final double MARGEM_LUCRO = 0.2;
+	private static final double SEM_DESCONTO = PRECO_CUSTO * (1.0 + MARGEM_LUCRO);
+	private static final double COM_DESCONTO = SEM_DESCONTO * (1.0 - ProdutoPerecivel.DESCONTO);
+
+	/**
+	 * Valor de venda do produto com a validade informada, pelo próprio produto, pelo motor de preços
+	 * e pelo cálculo em lote do motor: os três devem ser iguais.
+	 */
+	private static double valorDeVenda(LocalDate validade) {
+
+		LocalDate hoje = LocalDate.now();
+		ProdutoPerecivel produto = new ProdutoPerecivel("Iogurte", PRECO_CUSTO, MARGEM_LUCRO, validade);
+		MotorPrecos motor = new MotorPrecos(hoje);
+		double valor = produto.valorDeVenda();
+
+		assertEquals(valor, motor.valorDeVenda(produto));
+		assertArrayEquals(new double[] {valor}, motor.calcularValoresDeVenda(new Produto[] {produto}));
+		return valor;
+	}
+
+	/**
+	 * Com validade daqui a um mês e dois dias, faltam mais de 7 dias: não há desconto
+	 * (Period.getDays(), que ignora os meses, retornaria 2 e concederia o desconto).
+	 */
+	@Test
+	void validadeEmUmMesEDoisDiasNaoTemDesconto() {
+		assertEquals(SEM_DESCONTO, valorDeVenda(LocalDate.now().plusMonths(1).plusDays(2)), 1e-9);
+	}
+
+	@Test
+	void validadeEmAteSeteDiasTemDesconto() {
+
+		assertEquals(COM_DESCONTO, valorDeVenda(LocalDate.now()), 1e-9);
+		assertEquals(COM_DESCONTO, valorDeVenda(LocalDate.now().plusDays(ProdutoPerecivel.PRAZO_DESCONTO)), 1e-9);
+	}
+
+	@Test
+	void validadeEmOitoDiasNaoTemDesconto() {
+		assertEquals(SEM_DESCONTO, valorDeVenda(LocalDate.now().plusDays(ProdutoPerecivel.PRAZO_DESCONTO + 1)), 1e-9);
+	}
+}
@@ -0,0 +1,109 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TabelaHashConcorrenteTest {
+
+	private static final int QUANTAS_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+	private static final int OPERACOES_POR_THREAD = 50_000;
+	private static final int COMPARTILHADAS = 1_000;
+
+	/**
+	 * Teste de estresse: várias threads criam, ao mesmo tempo, as listas de pedidos de um mesmo conjunto de chaves
+	 * (padrão de App.inserirNaTabela), inserem e removem chaves exclusivas e pesquisam chaves de todas as threads.
+	 * Ao final, nenhuma lista pode ter sido criada em duplicidade, nenhum item pode ter sido perdido
+	 * e o tamanho da tabela deve corresponder ao seu conteúdo.
+	 */
+	@Test
+	void operacoesSimultaneasPreservamOConteudo() throws InterruptedException {
+
+		TabelaHashConcorrente<Integer, Lista<Integer>> tabela = new TabelaHashConcorrente<>(16);
+		Thread[] threads = new Thread[QUANTAS_THREADS];
+		Throwable[] falhas = new Throwable[1];
+		long itensNasListas = 0;
+		long[] contagem = {0};
+
+		for (int t = 0; t < QUANTAS_THREADS; t++) {
+			final int thread = t;
+			threads[t] = new Thread(() -> {
+				Random sorteio = new Random(thread);
+				Lista<Integer> lista;
+				Integer exclusiva;
+				for (int i = 0; i < OPERACOES_POR_THREAD; i++) {
+					/// chaves compartilhadas (negativas): criação atômica da lista na primeira ocorrência.
+					lista = tabela.computeIfAbsent(-1 - sorteio.nextInt(COMPARTILHADAS), chave -> new Lista<>(Medidor.INATIVO));
+					synchronized (lista) {
+						lista.inserirFinal(thread);
+					}
+					/// chaves exclusivas da thread: inseridas e, metade delas, removidas em seguida.
+					exclusiva = thread * OPERACOES_POR_THREAD + i;
+					tabela.inserir(exclusiva, new Lista<>(Medidor.INATIVO));
+					if ((i % 2) == 1)
+						tabela.remover(exclusiva - 1);
+					/// pesquisa sem travas de uma chave de outra thread, possivelmente em meio a um redimensionamento.
+					tabela.pesquisarOuPadrao(sorteio.nextInt(QUANTAS_THREADS * OPERACOES_POR_THREAD), null);
+				}
+			});
+			threads[t].setUncaughtExceptionHandler((threadComFalha, excecao) -> falhas[0] = excecao);
+			threads[t].start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+
+		assertNull(falhas[0], "Falha em uma das threads do teste de estresse.");
+
+		for (int chave = 1; chave <= COMPARTILHADAS; chave++)
+			itensNasListas += tabela.pesquisarOuPadrao(-chave, new Lista<>(Medidor.INATIVO)).tamanho();
+		assertEquals((long) QUANTAS_THREADS * OPERACOES_POR_THREAD, itensNasListas, "Itens perdidos nas listas compartilhadas.");
+
+		for (int thread = 0; thread < QUANTAS_THREADS; thread++)
+			for (int i = 0; i < OPERACOES_POR_THREAD; i++)
+				assertEquals((i % 2) == 1, tabela.contem(thread * OPERACOES_POR_THREAD + i),
+						"Conteúdo incorreto para a chave " + (thread * OPERACOES_POR_THREAD + i));
+
+		tabela.paraCada(item -> contagem[0]++);
+		assertEquals(contagem[0], tabela.tamanho());
+		assertTrue(tabela.tamanho() <= COMPARTILHADAS + QUANTAS_THREADS * OPERACOES_POR_THREAD / 2);
+	}
+
+	/**
+	 * As pesquisas sem travas não alteram os contadores compartilhados: só são registradas no medidor após
+	 * setMedirPesquisas(true), e as comparações da última pesquisa são as da própria thread.
+	 */
+	@Test
+	void pesquisasSoSaoRegistradasNoMedidorQuandoSolicitado() throws InterruptedException {
+
+		TabelaHashConcorrente<Integer, Integer> tabela = new TabelaHashConcorrente<>(16);
+		long comparacoes;
+		Thread outra;
+
+		for (int i = 0; i < 1_000; i++)
+			tabela.inserir(i, i);
+		assertEquals(1_000, tabela.retratoMedicao().getQuantidade(Operacao.INSERCAO));
+
+		assertEquals(7, tabela.computeIfAbsent(7, chave -> -1));
+		assertEquals(500, tabela.pesquisar(500));
+		assertEquals(0, tabela.retratoMedicao().getQuantidade(Operacao.PESQUISA));
+		assertEquals(0, tabela.retratoMedicao().getQuantidade(Operacao.ATUALIZACAO));
+		comparacoes = tabela.getComparacoes();
+		assertTrue(comparacoes >= 1);
+
+		/// as escritas de outra thread não alteram as comparações da última pesquisa desta thread.
+		outra = new Thread(() -> {
+			for (int i = 1_000; i < 2_000; i++)
+				tabela.inserir(i, i);
+		});
+		outra.start();
+		outra.join();
+		assertEquals(comparacoes, tabela.getComparacoes());
+
+		tabela.setMedirPesquisas(true);
+		assertFalse(tabela.contem(-1));
+		assertEquals(1, tabela.retratoMedicao().getQuantidade(Operacao.PESQUISA));
+	}
+}
@@ -0,0 +1,81 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TabelaHashTest {
+
+	private static final int CAPACIDADE_INICIAL = 1_009;
+
+	/** Maior lista aceitável: com fator de carga de no máximo 0,75 e chaves bem espalhadas, as listas têm poucos itens */
+	private static final int LIMITE_LISTA = 8;
+
+	/**
+	 * Após crescer até 10 vezes a capacidade inicial, a tabela deve ter sido redimensionada,
+	 * de modo que nenhuma lista encadeada (nem as da tabela antiga ainda não migradas) ultrapasse o limite.
+	 */
+	@Test
+	void listasPermanecemLimitadasAposCrescerComChavesSequenciais() {
+
+		TabelaHash<Integer, Integer> tabela = new TabelaHash<>(CAPACIDADE_INICIAL);
+
+		for (int i = 0; i < 10 * CAPACIDADE_INICIAL; i++) {
+			tabela.inserir(i, i);
+			assertTrue(tabela.maiorLista() <= LIMITE_LISTA, "Lista com " + tabela.maiorLista() + " itens após " + (i + 1) + " inserções.");
+		}
+		assertEquals(10 * CAPACIDADE_INICIAL, tabela.tamanho());
+		assertTrue(tabela.getCapacidade() >= 10 * CAPACIDADE_INICIAL);
+	}
+
+	@Test
+	void listasPermanecemLimitadasAposCrescerComChavesAleatorias() {
+
+		TabelaHash<Integer, Integer> tabela = new TabelaHash<>(CAPACIDADE_INICIAL);
+		Random sorteio = new Random(42);
+		int chave;
+
+		while (tabela.tamanho() < 10 * CAPACIDADE_INICIAL) {
+			chave = sorteio.nextInt();
+			tabela.upsert(chave, chave);
+		}
+		assertTrue(tabela.maiorLista() <= LIMITE_LISTA, "Lista com " + tabela.maiorLista() + " itens.");
+		assertTrue(tabela.getCapacidade() >= 10 * CAPACIDADE_INICIAL);
+	}
+
+	/**
+	 * A remoção localiza e desliga a entrada em um único percurso de cada lista, sem pesquisá-la antes,
+	 * inclusive para as chaves ainda na tabela antiga durante um redimensionamento.
+	 */
+	@Test
+	void remocaoPercorreCadaListaUmaUnicaVez() {
+
+		Medidor medidorListas = new Medidor();
+		TabelaHash<Integer, Integer> tabela = new TabelaHash<>(17, () -> new Lista<>(medidorListas));
+		RetratoMedicao retrato;
+
+		/// as remoções são intercaladas às inserções, enquanto as listas da tabela antiga ainda estão sendo migradas.
+		for (int i = 0; i < 2_000; i++) {
+			tabela.inserir(i, -i);
+			if (i % 3 == 0) {
+				medidorListas.zerar();
+				assertEquals(-i / 2, tabela.remover(i / 2));
+				retrato = medidorListas.retrato();
+				assertEquals(0, retrato.getQuantidade(Operacao.PESQUISA));
+				/// uma remoção na lista da tabela atual e, caso a chave não esteja nela, outra na lista da tabela antiga.
+				assertTrue(retrato.getQuantidade(Operacao.REMOCAO) <= 2);
+				assertFalse(tabela.contem(i / 2));
+				tabela.inserir(i / 2, -i / 2);
+			}
+		}
+
+		for (int i = 0; i < 2_000; i++)
+			assertEquals(-i, tabela.remover(i));
+		assertEquals(0, tabela.tamanho());
+		assertThrows(NoSuchElementException.class, () -> tabela.remover(0));
+	}
+}
@@ -0,0 +1,72 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TrieRadixTest {
+
+	private static String itens(ListaArray<String> lista) {
+
+		StringBuilder texto = new StringBuilder();
+
+		lista.paraCada(item -> texto.append(texto.isEmpty() ? "" : ",").append(item));
+		return texto.toString();
+	}
+
+	/** Uma chave que diverge no meio de um rótulo divide a aresta em um nó intermediário com a parte comum */
+	@Test
+	void insercaoDivideArestaNoPontoDeDivergencia() {
+
+		TrieRadix<String> trie = new TrieRadix<>();
+
+		trie.inserir("Papel sulfite", "sulfite");
+		assertEquals(2, trie.quantidadeNos());
+
+		/// "papel " passa a ser o rótulo do nó intermediário, com os filhos "sulfite" e "toalha".
+		trie.inserir("Papel toalha", "toalha");
+		assertEquals(4, trie.quantidadeNos());
+
+		/// uma chave que termina no meio do rótulo "papel " também divide a aresta, e os seus itens ficam no novo nó.
+		trie.inserir("papel", "papel");
+		assertEquals(5, trie.quantidadeNos());
+
+		/// uma chave já existente não cria nós.
+		trie.inserir("PAPEL   Sulfite", "sulfite 2");
+		assertEquals(5, trie.quantidadeNos());
+		assertEquals(4, trie.tamanho());
+
+		assertEquals("sulfite,sulfite 2", itens(trie.pesquisar("papel sulfite")));
+		assertEquals("toalha", itens(trie.pesquisar("Papél toalha")));
+		assertEquals("papel", itens(trie.pesquisar("papel")));
+		assertEquals("papel", itens(trie.pesquisar(" papel ")));
+		assertTrue(trie.pesquisar("pap").vazia());
+		assertTrue(trie.pesquisar("papel sulfites").vazia());
+		assertThrows(IllegalArgumentException.class, () -> trie.inserir("   ", "vazia"));
+	}
+
+	/** A enumeração por prefixo retorna os primeiros itens em ordem de chave e para no limite, inclusive entre itens de uma mesma chave */
+	@Test
+	void prefixoRespeitaOrdemELimite() {
+
+		TrieRadix<String> trie = new TrieRadix<>();
+
+		for (String chave : new String[] {"pera", "papel toalha", "pão", "papel sulfite", "papelão", "caneta", "papel crepom"})
+			trie.inserir(chave, chave);
+		trie.inserir("papel crepom", "papel crepom 2");
+
+		assertEquals("pão,papel crepom,papel crepom 2", itens(trie.prefixo("pa", 3)));
+		assertEquals("papel crepom,papel crepom 2,papel sulfite,papel toalha,papelão", itens(trie.prefixo("PAPEL", 10)));
+		/// o limite interrompe a enumeração entre os itens de uma mesma chave.
+		assertEquals("papel crepom", itens(trie.prefixo("papel c", 1)));
+		/// um prefixo que termina no meio de um rótulo.
+		assertEquals("papel sulfite", itens(trie.prefixo("papel s", 5)));
+		assertEquals("papelão", itens(trie.prefixo("papela", 5)));
+		assertEquals("pera", itens(trie.prefixo("pe", 5)));
+		assertTrue(trie.prefixo("pa", 0).vazia());
+		assertTrue(trie.prefixo("papel x", 5).vazia());
+		assertTrue(trie.prefixo("lapis", 5).vazia());
+		assertEquals(8, trie.prefixo("", 100).tamanho());
+		assertThrows(IllegalArgumentException.class, () -> trie.prefixo("pa", -1));
+	}
+}